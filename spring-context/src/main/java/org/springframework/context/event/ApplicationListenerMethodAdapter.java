@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodInvokers;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.ResolvableType;
@@ -76,6 +77,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final Method targetMethod;
 
+	private final MethodInvokers.Invoker invoker;
+
 	private final AnnotatedElementKey methodKey;
 
 	private final List<ResolvableType> declaredEventTypes;
@@ -95,6 +98,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	public ApplicationListenerMethodAdapter(String beanName, Class<?> targetClass, Method method) {
 		this.beanName = beanName;
 		this.method = BridgeMethodResolver.findBridgedMethod(method);
+		this.invoker = MethodInvokers.forMethod(this.method);
 		this.targetMethod = (!Proxy.isProxyClass(targetClass) ?
 				AopUtils.getMostSpecificMethod(method, targetClass) : this.method);
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
@@ -299,7 +303,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 		ReflectionUtils.makeAccessible(this.method);
 		try {
-			return this.method.invoke(bean, args);
+			return this.invoker.invoke(bean, args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(this.method, bean, args);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 
+import org.springframework.core.MethodInvokers;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -37,6 +38,8 @@ public class ScheduledMethodRunnable implements Runnable {
 
 	private final Method method;
 
+	private final MethodInvokers.Invoker invoker;
+
 
 	/**
 	 * Create a {@code ScheduledMethodRunnable} for the given target instance,
@@ -47,6 +50,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, Method method) {
 		this.target = target;
 		this.method = method;
+		this.invoker = MethodInvokers.forMethod(method);
 	}
 
 	/**
@@ -59,6 +63,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, String methodName) throws NoSuchMethodException {
 		this.target = target;
 		this.method = target.getClass().getMethod(methodName);
+		this.invoker = MethodInvokers.forMethod(this.method);
 	}
 
 
@@ -81,7 +86,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public void run() {
 		try {
 			ReflectionUtils.makeAccessible(this.method);
-			this.method.invoke(this.target);
+			this.invoker.invoke(this.target);
 		}
 		catch (InvocationTargetException ex) {
 			ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmarks for invoking a method through a {@link MethodInvokers} invoker
+ * backed by a method handle, compared to {@link Method#invoke}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MethodInvokersBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class InvocationData {
+
+		@Param({"noArgs", "twoArgs"})
+		public String methodName;
+
+		public Greeter target;
+
+		public Method method;
+
+		public Object[] args;
+
+		public MethodInvokers.Invoker invoker;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.target = new Greeter();
+			if (this.methodName.equals("noArgs")) {
+				this.method = ReflectionUtils.findMethod(Greeter.class, "greet");
+				this.args = new Object[0];
+			}
+			else {
+				this.method = ReflectionUtils.findMethod(Greeter.class, "greet", String.class, int.class);
+				this.args = new Object[] {"Spring", 3};
+			}
+			ReflectionUtils.makeAccessible(this.method);
+			this.invoker = MethodInvokers.createInvoker(this.method, true);
+		}
+	}
+
+	@Benchmark
+	public void reflection(InvocationData data, Blackhole bh) throws Exception {
+		bh.consume(data.method.invoke(data.target, data.args));
+	}
+
+	@Benchmark
+	public void invoker(InvocationData data, Blackhole bh) throws Exception {
+		bh.consume(data.invoker.invoke(data.target, data.args));
+	}
+
+
+	public static class Greeter {
+
+		public String greet() {
+			return "Hello";
+		}
+
+		public String greet(String name, int times) {
+			return (times > 0 ? "Hello " + name : "Bye " + name);
+		}
+	}
+
+}
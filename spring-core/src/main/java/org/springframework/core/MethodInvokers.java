@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Factory for {@link Invoker}s, the common strategy that framework dispatch
+ * points, such as handler, listener and scheduled methods, use to invoke a
+ * given {@link Method} repeatedly.
+ *
+ * <p>By default an invoker delegates to {@link Method#invoke}. If the
+ * {@value #USE_METHOD_HANDLES_PROPERTY_NAME} property is set, an invoker is
+ * backed by a {@link MethodHandle} adapted to a single generic signature
+ * instead, which avoids the access checks and argument copying of
+ * {@link Method#invoke} on every call. This is not done within a GraalVM
+ * native image, or if no method handle can be obtained.
+ *
+ * <p>Invokers are cached per method. Callers that invoke the same method
+ * repeatedly should nevertheless keep the invoker rather than look it up on
+ * every invocation.
+ *
+ * @since 5.3
+ * @see Method#invoke
+ */
+public final class MethodInvokers {
+
+	/**
+	 * System property that instructs Spring to invoke methods through method
+	 * handles rather than reflectively.
+	 * <p>The default is "false".
+	 */
+	public static final String USE_METHOD_HANDLES_PROPERTY_NAME = "spring.methodhandles.use";
+
+	private static final boolean shouldUseMethodHandles =
+			(!GraalDetector.inImageCode() && SpringProperties.getFlag(USE_METHOD_HANDLES_PROPERTY_NAME));
+
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private static final MethodHandle WRAP_EXCEPTION;
+
+	static {
+		try {
+			WRAP_EXCEPTION = MethodHandles.lookup().findStatic(MethodInvokers.class, "wrapException",
+					MethodType.methodType(Object.class, Throwable.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to look up exception handler: " + ex);
+		}
+	}
+
+	private static final Map<Method, Invoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	private MethodInvokers() {
+	}
+
+
+	/**
+	 * Return an {@link Invoker} for the given method, making the method
+	 * accessible if necessary.
+	 * @param method the method to invoke
+	 * @return the invoker, possibly cached
+	 */
+	public static Invoker forMethod(Method method) {
+		Invoker invoker = invokerCache.get(method);
+		if (invoker == null) {
+			invoker = createInvoker(method, shouldUseMethodHandles);
+			invokerCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
+	static Invoker createInvoker(Method method, boolean useMethodHandles) {
+		ReflectionUtils.makeAccessible(method);
+		if (useMethodHandles) {
+			try {
+				return new MethodHandleInvoker(method, MethodHandles.lookup().unreflect(method));
+			}
+			catch (IllegalAccessException ex) {
+				// Fall back on reflection below
+			}
+		}
+		return method::invoke;
+	}
+
+	@SuppressWarnings("unused")
+	private static Object wrapException(Throwable ex) throws InvocationTargetException {
+		throw new InvocationTargetException(ex);
+	}
+
+
+	/**
+	 * Strategy to invoke a specific method, with the same contract as
+	 * {@link Method#invoke}.
+	 */
+	@FunctionalInterface
+	public interface Invoker {
+
+		/**
+		 * Invoke the method on the given target with the given arguments.
+		 * @param target the target instance, or {@code null} for a static method
+		 * @param args the arguments to pass, matching the method signature
+		 * @return the return value, or {@code null} for a {@code void} method
+		 * @throws InvocationTargetException if the method itself throws an exception
+		 * @throws IllegalAccessException if the method is not accessible
+		 * @throws IllegalArgumentException if the target or arguments do not
+		 * match the method signature
+		 */
+		@Nullable
+		Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws InvocationTargetException, IllegalAccessException;
+	}
+
+
+	/**
+	 * {@link Invoker} backed by a {@link MethodHandle} of type
+	 * {@code (Object, Object[])Object}.
+	 */
+	private static final class MethodHandleInvoker implements Invoker {
+
+		private final MethodHandle handle;
+
+		private final boolean isStatic;
+
+		MethodHandleInvoker(Method method, MethodHandle handle) {
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			handle = handle.asFixedArity();
+			// Wrap exceptions from the method itself, like Method#invoke does,
+			// to tell them apart from argument adaptation failures below
+			MethodType type = handle.type();
+			MethodHandle wrapper = MethodHandles.dropArguments(
+					WRAP_EXCEPTION.asType(MethodType.methodType(type.returnType(), Throwable.class)),
+					1, type.parameterList());
+			handle = MethodHandles.catchException(handle, Throwable.class, wrapper);
+			if (this.isStatic) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			int parameterCount = method.getParameterCount();
+			this.handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+					.asSpreader(Object[].class, parameterCount)
+					.asType(INVOKER_TYPE);
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args) throws InvocationTargetException {
+			if (target == null && !this.isStatic) {
+				throw new NullPointerException("Target must not be null for an instance method");
+			}
+			Object[] argsToUse = (args != null ? args : EMPTY_ARGS);
+			try {
+				return (Object) this.handle.invokeExact(target, argsToUse);
+			}
+			catch (InvocationTargetException | IllegalArgumentException ex) {
+				throw ex;
+			}
+			catch (ClassCastException | WrongMethodTypeException ex) {
+				throw new IllegalArgumentException("argument type mismatch", ex);
+			}
+			catch (NullPointerException ex) {
+				// null for a primitive parameter: no message, like Method#invoke
+				throw new IllegalArgumentException(null, ex);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new UndeclaredThrowableException(ex);
+			}
+		}
+	}
+
+}
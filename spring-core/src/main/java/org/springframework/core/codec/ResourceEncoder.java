@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,13 @@
 
 package org.springframework.core.codec;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import reactor.core.publisher.Flux;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -72,7 +74,24 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 			String logPrefix = Hints.getLogPrefix(hints);
 			logger.debug(logPrefix + "Writing [" + resource + "]");
 		}
+		if (resource instanceof ByteArrayResource) {
+			return wrap(((ByteArrayResource) resource).getByteArray(), bufferFactory);
+		}
 		return DataBufferUtils.read(resource, bufferFactory, this.bufferSize);
 	}
 
+	/**
+	 * Wrap the content of a {@link ByteArrayResource} in read-only buffers of
+	 * up to the buffer size each, rather than copying it into new buffers.
+	 */
+	private Flux<DataBuffer> wrap(byte[] bytes, DataBufferFactory bufferFactory) {
+		int bufferSize = this.bufferSize;
+		int count = (bytes.length + bufferSize - 1) / bufferSize;
+		return Flux.range(0, count).map(index -> {
+			int offset = index * bufferSize;
+			int length = Math.min(bufferSize, bytes.length - offset);
+			return bufferFactory.wrap(ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer());
+		});
+	}
+
 }
@@ -30,8 +30,11 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -554,6 +557,91 @@ public abstract class DataBufferUtils {
 				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 	}
 
+	/**
+	 * Split the given stream of data buffers on the given delimiters, relaying
+	 * one data buffer per delimited frame.
+	 * <p>A frame that starts and ends within a single source buffer is relayed
+	 * as a {@linkplain DataBuffer#retainedSlice(int, int) retained slice} of
+	 * that buffer, without copying. Only frames that cross buffer boundaries
+	 * are {@linkplain DataBufferFactory#join(List) joined}. Any remaining bytes
+	 * without a trailing delimiter are relayed as the last frame when the
+	 * source completes.
+	 * <p>Note that the returned data buffers have to be
+	 * {@linkplain #release(DataBuffer) released} by the caller.
+	 * @param buffers the data buffers to split
+	 * @param delimiters the delimiters to split on; if several match at the
+	 * same position, the longest one is used
+	 * @param stripDelimiter whether to remove the delimiter from each frame
+	 * @param maxByteCount the max number of bytes in a single frame, including
+	 * its delimiter, or -1 for unlimited
+	 * @return a flux of delimited frames
+	 * @throws DataBufferLimitException if maxByteCount is exceeded
+	 * @since 5.3
+	 */
+	public static Flux<DataBuffer> split(Publisher<? extends DataBuffer> buffers, byte[][] delimiters,
+			boolean stripDelimiter, int maxByteCount) {
+
+		Assert.notNull(buffers, "'buffers' must not be null");
+		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
+
+		return Flux.defer(() -> {
+			DelimiterMatcher matcher = createMatcher(delimiters);
+			LimitedDataBufferList chunks = new LimitedDataBufferList(maxByteCount);
+			return Flux.from(buffers)
+					.concatMapIterable(buffer -> splitBuffer(buffer, matcher, chunks, stripDelimiter))
+					.concatWith(Mono.defer(() -> {
+						if (chunks.isEmpty()) {
+							return Mono.empty();
+						}
+						DataBuffer lastBuffer = chunks.get(0).factory().join(chunks);
+						chunks.clear();
+						return Mono.just(lastBuffer);
+					}))
+					.doOnTerminate(chunks::releaseAndClear)
+					.doOnCancel(chunks::releaseAndClear)
+					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+		});
+	}
+
+	private static List<DataBuffer> splitBuffer(DataBuffer buffer, DelimiterMatcher matcher,
+			LimitedDataBufferList chunks, boolean stripDelimiter) {
+
+		List<DataBuffer> result = null;
+		try {
+			do {
+				int endIndex = matcher.match(buffer);
+				if (endIndex == -1) {
+					// If add raises DataBufferLimitException, the retained buffer
+					// is released along with the other chunks on termination
+					chunks.add(retain(buffer));
+					break;
+				}
+				int startIndex = buffer.readPosition();
+				DataBuffer slice = buffer.retainedSlice(startIndex, endIndex - startIndex + 1);
+				chunks.add(slice);
+				DataBuffer frame = (chunks.size() == 1 ? slice : slice.factory().join(chunks));
+				chunks.clear();
+				if (stripDelimiter) {
+					frame.writePosition(frame.writePosition() - matcher.delimiterLength());
+				}
+				result = (result != null ? result : new ArrayList<>());
+				result.add(frame);
+				buffer.readPosition(endIndex + 1);
+			}
+			while (buffer.readableByteCount() > 0);
+		}
+		catch (DataBufferLimitException ex) {
+			if (result != null) {
+				result.forEach(DataBufferUtils::release);
+			}
+			throw ex;
+		}
+		finally {
+			release(buffer);
+		}
+		return (result != null ? result : Collections.emptyList());
+	}
+
 	/**
 	 * Return a {@link Matcher} for the given delimiter.
 	 * The matcher can be used to find the delimiters in data buffers.
@@ -573,16 +661,17 @@ public abstract class DataBufferUtils {
 	 * @since 5.2
 	 */
 	public static Matcher matcher(byte[]... delimiters) {
+		return createMatcher(delimiters);
+	}
+
+	private static DelimiterMatcher createMatcher(byte[]... delimiters) {
 		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
 		if (delimiters.length == 1) {
-			return matcher(delimiters[0]);
+			Assert.isTrue(delimiters[0].length > 0, "Delimiter must not be empty");
+			return new KnuthMorrisPrattMatcher(delimiters[0]);
 		}
 		else {
-			Matcher[] matchers = new Matcher[delimiters.length];
-			for (int i = 0; i < delimiters.length; i++) {
-				matchers[i] = matcher(delimiters[i]);
-			}
-			return new CompositeMatcher(matchers);
+			return new MultipleMatcher(delimiters);
 		}
 	}
 
@@ -615,6 +704,19 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * {@link Matcher} that also exposes the length of the matched delimiter,
+	 * so that {@link #split} can strip it without copying the delimiter.
+	 */
+	private interface DelimiterMatcher extends Matcher {
+
+		/**
+		 * Return the length of the delimiter found by the last successful match.
+		 */
+		int delimiterLength();
+	}
+
+
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
 		private final ReadableByteChannel channel;
@@ -888,7 +990,7 @@ public abstract class DataBufferUtils {
 	 * Implementation of {@link Matcher} that uses the Knuth-Morris-Pratt algorithm.
 	 * @see <a href="https://www.nayuki.io/page/knuth-morris-pratt-string-matching">Knuth-Morris-Pratt string matching</a>
 	 */
-	private static class KnuthMorrisPrattMatcher implements Matcher {
+	private static class KnuthMorrisPrattMatcher implements DelimiterMatcher {
 
 		private final byte[] delimiter;
 
@@ -942,6 +1044,11 @@ public abstract class DataBufferUtils {
 			return Arrays.copyOf(this.delimiter, this.delimiter.length);
 		}
 
+		@Override
+		public int delimiterLength() {
+			return this.delimiter.length;
+		}
+
 		@Override
 		public void reset() {
 			this.matches = 0;
@@ -950,56 +1057,96 @@ public abstract class DataBufferUtils {
 
 
 	/**
-	 * Implementation of {@link Matcher} that wraps several other matchers.
+	 * Implementation of {@link Matcher} that looks for several delimiters in a
+	 * single pass over the buffer, tracking the Knuth-Morris-Pratt state of each
+	 * delimiter side by side. While no delimiter is partially matched, bytes
+	 * that cannot start any delimiter are skipped through a lookup table.
 	 */
-	private static class CompositeMatcher implements Matcher {
+	private static class MultipleMatcher implements DelimiterMatcher {
 
 		private static final byte[] NO_DELIMITER = new byte[0];
 
-		private final Matcher[] matchers;
+		private final byte[][] delimiters;
+
+		private final int[][] tables;
 
-		byte[] longestDelimiter = NO_DELIMITER;
+		private final boolean[] startBytes = new boolean[256];
 
-		public CompositeMatcher(Matcher[] matchers) {
-			this.matchers = matchers;
+		private final int[] matches;
+
+		private int partialMatches;
+
+		private byte[] matchedDelimiter = NO_DELIMITER;
+
+		public MultipleMatcher(byte[][] delimiters) {
+			this.delimiters = new byte[delimiters.length][];
+			this.tables = new int[delimiters.length][];
+			this.matches = new int[delimiters.length];
+			for (int i = 0; i < delimiters.length; i++) {
+				Assert.isTrue(delimiters[i].length > 0, "Delimiter must not be empty");
+				this.delimiters[i] = Arrays.copyOf(delimiters[i], delimiters[i].length);
+				this.tables[i] = KnuthMorrisPrattMatcher.longestSuffixPrefixTable(delimiters[i]);
+				this.startBytes[delimiters[i][0] & 0xFF] = true;
+			}
 		}
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			this.longestDelimiter = NO_DELIMITER;
-			int bestEndIdx = Integer.MAX_VALUE;
-
-
-			for (Matcher matcher : this.matchers) {
-				int endIdx = matcher.match(dataBuffer);
-				if (endIdx != -1 &&
-						endIdx <= bestEndIdx &&
-						matcher.delimiter().length > this.longestDelimiter.length) {
-					bestEndIdx = endIdx;
-					this.longestDelimiter = matcher.delimiter();
+			this.matchedDelimiter = NO_DELIMITER;
+			int end = dataBuffer.writePosition();
+			for (int i = dataBuffer.readPosition(); i < end; i++) {
+				byte b = dataBuffer.getByte(i);
+				if (this.partialMatches == 0 && !this.startBytes[b & 0xFF]) {
+					continue;
+				}
+				byte[] found = NO_DELIMITER;
+				int partialMatches = 0;
+				for (int j = 0; j < this.delimiters.length; j++) {
+					byte[] delimiter = this.delimiters[j];
+					int matches = this.matches[j];
+					while (matches > 0 && b != delimiter[matches]) {
+						matches = this.tables[j][matches - 1];
+					}
+					if (b == delimiter[matches]) {
+						matches++;
+						if (matches == delimiter.length) {
+							if (delimiter.length > found.length) {
+								found = delimiter;
+							}
+							matches = 0;
+						}
+					}
+					this.matches[j] = matches;
+					if (matches > 0) {
+						partialMatches++;
+					}
+				}
+				this.partialMatches = partialMatches;
+				if (found != NO_DELIMITER) {
+					reset();
+					this.matchedDelimiter = found;
+					return i;
 				}
 			}
-			if (bestEndIdx == Integer.MAX_VALUE) {
-				this.longestDelimiter = NO_DELIMITER;
-				return -1;
-			}
-			else {
-				reset();
-				return bestEndIdx;
-			}
+			return -1;
 		}
 
 		@Override
 		public byte[] delimiter() {
-			Assert.state(this.longestDelimiter != NO_DELIMITER, "Illegal state!");
-			return this.longestDelimiter;
+			Assert.state(this.matchedDelimiter != NO_DELIMITER, "Illegal state!");
+			return Arrays.copyOf(this.matchedDelimiter, this.matchedDelimiter.length);
+		}
+
+		@Override
+		public int delimiterLength() {
+			Assert.state(this.matchedDelimiter != NO_DELIMITER, "Illegal state!");
+			return this.matchedDelimiter.length;
 		}
 
 		@Override
 		public void reset() {
-			for (Matcher matcher : this.matchers) {
-				matcher.reset();
-			}
+			Arrays.fill(this.matches, 0);
+			this.partialMatches = 0;
 		}
 	}
 
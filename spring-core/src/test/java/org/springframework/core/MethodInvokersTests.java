@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.springframework.util.ReflectionUtils.findMethod;
+
+/**
+ * Unit tests for {@link MethodInvokers}.
+ */
+class MethodInvokersTests {
+
+	private final TestBean bean = new TestBean();
+
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void invokeInstanceMethod(boolean useMethodHandles) throws Exception {
+		Method method = findMethod(TestBean.class, "concat", String.class, int.class);
+		assertThat(MethodInvokers.createInvoker(method, useMethodHandles).invoke(this.bean, "a", 1)).isEqualTo("a1");
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void invokeStaticMethod(boolean useMethodHandles) throws Exception {
+		Method method = findMethod(TestBean.class, "twice", int.class);
+		assertThat(MethodInvokers.createInvoker(method, useMethodHandles).invoke(null, 2)).isEqualTo(4);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void invokeVoidMethod(boolean useMethodHandles) throws Exception {
+		Method method = findMethod(TestBean.class, "increment");
+		MethodInvokers.Invoker invoker = MethodInvokers.createInvoker(method, useMethodHandles);
+		assertThat(invoker.invoke(this.bean)).isNull();
+		assertThat(invoker.invoke(this.bean, (Object[]) null)).isNull();
+		assertThat(this.bean.count).isEqualTo(2);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void invokeVarargsMethod(boolean useMethodHandles) throws Exception {
+		Method method = findMethod(TestBean.class, "join", String[].class);
+		Object[] args = new Object[] {new String[] {"a", "b"}};
+		assertThat(MethodInvokers.createInvoker(method, useMethodHandles).invoke(this.bean, args)).isEqualTo("ab");
+	}
+
+	@Test
+	void invokerIsCached() {
+		Method method = findMethod(TestBean.class, "increment");
+		assertThat(MethodInvokers.forMethod(method)).isSameAs(MethodInvokers.forMethod(method));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void exceptionFromMethod(boolean useMethodHandles) {
+		Method method = findMethod(TestBean.class, "fail");
+		assertThatExceptionOfType(InvocationTargetException.class)
+				.isThrownBy(() -> MethodInvokers.createInvoker(method, useMethodHandles).invoke(this.bean))
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void illegalArguments(boolean useMethodHandles) {
+		Method method = findMethod(TestBean.class, "concat", String.class, int.class);
+		MethodInvokers.Invoker invoker = MethodInvokers.createInvoker(method, useMethodHandles);
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(this.bean, 1, "a"));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(this.bean, "a", null));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(this.bean, "a"));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke("bean", "a", 1));
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class TestBean {
+
+		private int count;
+
+		String concat(String value, int number) {
+			return value + number;
+		}
+
+		static int twice(int number) {
+			return number * 2;
+		}
+
+		void increment() {
+			this.count++;
+		}
+
+		String join(String... values) {
+			return String.join("", values);
+		}
+
+		void fail() {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.core.codec;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Publisher;
@@ -74,6 +75,36 @@ class ResourceEncoderTests extends AbstractEncoderTests<ResourceEncoder> {
 				.verifyComplete());
 	}
 
+	@Test
+	public void encodeByteArrayResourceWithBufferSize() {
+		ResourceEncoder encoder = new ResourceEncoder(2);
+		Resource resource = new ByteArrayResource("foobar".getBytes(UTF_8));
+
+		Flux<DataBuffer> result = encoder.encode(Flux.just(resource), this.bufferFactory,
+				ResolvableType.forClass(Resource.class), null, null);
+
+		StepVerifier.create(result)
+				.consumeNextWith(readOnlyBytes("fo"))
+				.consumeNextWith(readOnlyBytes("ob"))
+				.consumeNextWith(readOnlyBytes("ar"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void encodeEmptyByteArrayResource() {
+		Flux<DataBuffer> result = this.encoder.encode(Flux.just(new ByteArrayResource(new byte[0])),
+				this.bufferFactory, ResolvableType.forClass(Resource.class), null, null);
+
+		StepVerifier.create(result).verifyComplete();
+	}
+
+	private Consumer<DataBuffer> readOnlyBytes(String expected) {
+		return buffer -> {
+			assertThat(buffer.asByteBuffer().isReadOnly()).isTrue();
+			expectBytes(expected.getBytes(UTF_8)).accept(buffer);
+		};
+	}
+
 	@Override
 	protected void testEncodeError(Publisher<?> input, ResolvableType outputType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
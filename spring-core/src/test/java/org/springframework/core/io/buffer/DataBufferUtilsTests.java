@@ -903,6 +903,75 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 	}
 
 
+	@ParameterizedDataBufferAllocatingTest
+	void multipleMatcher(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("a\nb\r\nc");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+		int result = matcher.match(foo);
+		assertThat(result).isEqualTo(1);
+		assertThat(matcher.delimiter()).isEqualTo("\n".getBytes(StandardCharsets.UTF_8));
+		foo.readPosition(2);
+		result = matcher.match(foo);
+		assertThat(result).isEqualTo(4);
+		assertThat(matcher.delimiter()).isEqualTo("\r\n".getBytes(StandardCharsets.UTF_8));
+		foo.readPosition(5);
+		result = matcher.match(foo);
+		assertThat(result).isEqualTo(-1);
+
+		release(foo);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void split(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("foo\nba"), stringBuffer("r\r"), stringBuffer("\nbaz\n\nqux"));
+		byte[][] delimiters = {"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)};
+		Flux<DataBuffer> result = DataBufferUtils.split(source, delimiters, true, -1);
+
+		StepVerifier.create(result)
+				.consumeNextWith(stringConsumer("foo"))
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.consumeNextWith(stringConsumer(""))
+				.consumeNextWith(stringConsumer("qux"))
+				.verifyComplete();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void splitWithSingleDelimiter(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> source = Flux.just(stringBuffer("foo\r\nba"), stringBuffer("r\r"), stringBuffer("\nbaz"));
+		byte[][] delimiters = {"\r\n".getBytes(StandardCharsets.UTF_8)};
+		Flux<DataBuffer> result = DataBufferUtils.split(source, delimiters, true, -1);
+
+		StepVerifier.create(result)
+				.consumeNextWith(stringConsumer("foo"))
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.verifyComplete();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void splitWithLimit(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> source = Flux.just(stringBuffer("foo\nba"), stringBuffer("rbaz\nqux\n"));
+		byte[][] delimiters = {"\n".getBytes(StandardCharsets.UTF_8)};
+		Flux<DataBuffer> result = DataBufferUtils.split(source, delimiters, false, 5);
+
+		StepVerifier.create(result)
+				.consumeNextWith(stringConsumer("foo\n"))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+
 	private static class ZeroDemandSubscriber extends BaseSubscriber<DataBuffer> {
 
 		@Override
@@ -26,6 +26,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodInvokers;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.SynthesizingMethodParameter;
@@ -73,6 +74,9 @@ public class HandlerMethod {
 	@Nullable
 	private HandlerMethod resolvedFromHandlerMethod;
 
+	@Nullable
+	private volatile MethodInvokers.Invoker invoker;
+
 	protected Log logger = defaultLogger;
 
 
@@ -138,6 +142,7 @@ public class HandlerMethod {
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
+		this.invoker = handlerMethod.getInvoker();
 	}
 
 	/**
@@ -153,6 +158,7 @@ public class HandlerMethod {
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod;
+		this.invoker = handlerMethod.getInvoker();
 	}
 
 
@@ -214,6 +220,21 @@ public class HandlerMethod {
 		return this.bridgedMethod;
 	}
 
+	/**
+	 * Return the {@link MethodInvokers.Invoker} for the
+	 * {@link #getBridgedMethod() bridged method}, resolved once and shared
+	 * with copies of this handler method.
+	 * @since 5.3
+	 */
+	protected MethodInvokers.Invoker getInvoker() {
+		MethodInvokers.Invoker invoker = this.invoker;
+		if (invoker == null) {
+			invoker = MethodInvokers.forMethod(this.bridgedMethod);
+			this.invoker = invoker;
+		}
+		return invoker;
+	}
+
 	/**
 	 * Return the method parameters for this handler method.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,8 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
@@ -108,6 +110,9 @@ import org.springframework.util.xml.StaxUtils;
  * property on this bean, possibly customize the marshaller and unmarshaller by setting
  * properties, schemas, adapters, and listeners, and to refer to it.
  *
+ * <p>As of 5.3, the JAXB marshallers and unmarshallers used by this class may
+ * be kept in bounded pools and reused across calls, see {@link #setPoolSize}.
+ *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
  * @author Rossen Stoyanchev
@@ -199,6 +204,12 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 
 	private boolean processExternalEntities = false;
 
+	@Nullable
+	private BlockingQueue<Marshaller> marshallerPool;
+
+	@Nullable
+	private BlockingQueue<Unmarshaller> unmarshallerPool;
+
 
 	/**
 	 * Set multiple JAXB context paths. The given array of context paths gets
@@ -407,6 +418,28 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 		this.checkForXmlRootElement = checkForXmlRootElement;
 	}
 
+	/**
+	 * Specify the maximum number of idle JAXB {@code Marshaller} and
+	 * {@code Unmarshaller} instances to keep for reuse by
+	 * {@link #marshal(Object, Result, MimeContainer) marshal} and
+	 * {@link #unmarshal(Source, MimeContainer) unmarshal}.
+	 * <p>Instances are created through {@link #createMarshaller()} and
+	 * {@link #createUnmarshaller()} when none is idle, and are only returned
+	 * to the pool after successful use, with their per-call attachment
+	 * handling reset.
+	 * <p>Only enable pooling if subclasses that override these methods,
+	 * {@link #initJaxbMarshaller} or {@link #initJaxbUnmarshaller}, neither
+	 * rely on being called for every operation nor customize the instances
+	 * per operation.
+	 * <p>Default is 0, i.e. new instances are created for every call.
+	 * @since 5.3
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize >= 0, "Pool size must not be negative");
+		this.marshallerPool = (poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null);
+		this.unmarshallerPool = (poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null);
+	}
+
 	/**
 	 * Specify a JAXB mapped class for partial unmarshalling.
 	 * @see javax.xml.bind.Unmarshaller#unmarshal(javax.xml.transform.Source, Class)
@@ -698,8 +731,9 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 	@Override
 	public void marshal(Object graph, Result result, @Nullable MimeContainer mimeContainer) throws XmlMappingException {
 		try {
-			Marshaller marshaller = createMarshaller();
-			if (this.mtomEnabled && mimeContainer != null) {
+			Marshaller marshaller = obtainMarshaller();
+			boolean attachments = (this.mtomEnabled && mimeContainer != null);
+			if (attachments) {
 				marshaller.setAttachmentMarshaller(new Jaxb2AttachmentMarshaller(mimeContainer));
 			}
 			if (StaxUtils.isStaxResult(result)) {
@@ -708,6 +742,13 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 			else {
 				marshaller.marshal(graph, result);
 			}
+			if (attachments) {
+				marshaller.setAttachmentMarshaller(null);
+			}
+			BlockingQueue<Marshaller> pool = this.marshallerPool;
+			if (pool != null) {
+				pool.offer(marshaller);
+			}
 		}
 		catch (JAXBException ex) {
 			throw convertJaxbException(ex);
@@ -732,6 +773,12 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 		}
 	}
 
+	private Marshaller obtainMarshaller() {
+		BlockingQueue<Marshaller> pool = this.marshallerPool;
+		Marshaller marshaller = (pool != null ? pool.poll() : null);
+		return (marshaller != null ? marshaller : createMarshaller());
+	}
+
 	private void marshalStaxResult(Marshaller jaxbMarshaller, Object graph, Result staxResult) throws JAXBException {
 		XMLStreamWriter streamWriter = StaxUtils.getXMLStreamWriter(staxResult);
 		if (streamWriter != null) {
@@ -793,19 +840,29 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 		source = processSource(source);
 
 		try {
-			Unmarshaller unmarshaller = createUnmarshaller();
-			if (this.mtomEnabled && mimeContainer != null) {
+			Unmarshaller unmarshaller = obtainUnmarshaller();
+			boolean attachments = (this.mtomEnabled && mimeContainer != null);
+			if (attachments) {
 				unmarshaller.setAttachmentUnmarshaller(new Jaxb2AttachmentUnmarshaller(mimeContainer));
 			}
+			Object result;
 			if (StaxUtils.isStaxSource(source)) {
-				return unmarshalStaxSource(unmarshaller, source);
+				result = unmarshalStaxSource(unmarshaller, source);
 			}
 			else if (this.mappedClass != null) {
-				return unmarshaller.unmarshal(source, this.mappedClass).getValue();
+				result = unmarshaller.unmarshal(source, this.mappedClass).getValue();
 			}
 			else {
-				return unmarshaller.unmarshal(source);
+				result = unmarshaller.unmarshal(source);
 			}
+			if (attachments) {
+				unmarshaller.setAttachmentUnmarshaller(null);
+			}
+			BlockingQueue<Unmarshaller> pool = this.unmarshallerPool;
+			if (pool != null) {
+				pool.offer(unmarshaller);
+			}
+			return result;
 		}
 		catch (NullPointerException ex) {
 			if (!isSupportDtd()) {
@@ -837,6 +894,12 @@ public class Jaxb2Marshaller implements MimeMarshaller, MimeUnmarshaller, Generi
 		}
 	}
 
+	private Unmarshaller obtainUnmarshaller() {
+		BlockingQueue<Unmarshaller> pool = this.unmarshallerPool;
+		Unmarshaller unmarshaller = (pool != null ? pool.poll() : null);
+		return (unmarshaller != null ? unmarshaller : createUnmarshaller());
+	}
+
 	protected Object unmarshalStaxSource(Unmarshaller jaxbUnmarshaller, Source staxSource) throws JAXBException {
 		XMLStreamReader streamReader = StaxUtils.getXMLStreamReader(staxSource);
 		if (streamReader != null) {
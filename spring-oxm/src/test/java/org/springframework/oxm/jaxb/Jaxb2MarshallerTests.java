@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,15 @@
 package org.springframework.oxm.jaxb;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import javax.activation.DataHandler;
 import javax.activation.FileDataSource;
@@ -386,6 +390,79 @@ public class Jaxb2MarshallerTests extends AbstractMarshallerTests<Jaxb2Marshalle
 	}
 
 
+	@Test
+	public void marshallerPoolDisabledByDefault() throws Exception {
+		List<javax.xml.bind.Marshaller> created = new ArrayList<>();
+		marshaller = createPoolingMarshaller(created, null);
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void marshallerPoolReuse() throws Exception {
+		List<javax.xml.bind.Marshaller> created = new ArrayList<>();
+		marshaller = createPoolingMarshaller(created, 4);
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		StringWriter writer = new StringWriter();
+		marshaller.marshal(flights, new StreamResult(writer));
+		assertThat(created).hasSize(1);
+		DifferenceEvaluator ev = chain(Default, downgradeDifferencesToEqual(XML_STANDALONE));
+		assertThat(XmlContent.from(writer)).isSimilarTo(EXPECTED_STRING, ev);
+	}
+
+	@Test
+	public void marshallerPoolAfterFailure() throws Exception {
+		List<javax.xml.bind.Marshaller> created = new ArrayList<>();
+		marshaller = createPoolingMarshaller(created, 4);
+		Writer failingWriter = new Writer() {
+			@Override
+			public void write(char[] chars, int off, int len) throws IOException {
+				throw new IOException("Connection closed");
+			}
+			@Override
+			public void flush() throws IOException {
+				throw new IOException("Connection closed");
+			}
+			@Override
+			public void close() {
+			}
+		};
+		assertThatExceptionOfType(XmlMappingException.class).isThrownBy(() ->
+				marshaller.marshal(flights, new StreamResult(failingWriter)));
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void marshallerPoolSizeZero() throws Exception {
+		List<javax.xml.bind.Marshaller> created = new ArrayList<>();
+		marshaller = createPoolingMarshaller(created, 0);
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		marshaller.marshal(flights, new StreamResult(new StringWriter()));
+		assertThat(created).hasSize(2);
+	}
+
+	private Jaxb2Marshaller createPoolingMarshaller(List<javax.xml.bind.Marshaller> created, Integer poolSize)
+			throws Exception {
+
+		Jaxb2Marshaller marshaller = new Jaxb2Marshaller() {
+			@Override
+			public javax.xml.bind.Marshaller createMarshaller() {
+				javax.xml.bind.Marshaller jaxbMarshaller = super.createMarshaller();
+				created.add(jaxbMarshaller);
+				return jaxbMarshaller;
+			}
+		};
+		marshaller.setContextPath(CONTEXT_PATH);
+		if (poolSize != null) {
+			marshaller.setPoolSize(poolSize);
+		}
+		marshaller.afterPropertiesSet();
+		return marshaller;
+	}
+
+
 	@XmlRootElement
 	@SuppressWarnings("unused")
 	public static class DummyRootElement {
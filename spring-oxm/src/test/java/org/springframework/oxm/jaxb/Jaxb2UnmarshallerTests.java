@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,13 @@ package org.springframework.oxm.jaxb;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.activation.DataHandler;
 import javax.activation.FileDataSource;
 import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
@@ -33,12 +36,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.oxm.AbstractUnmarshallerTests;
+import org.springframework.oxm.XmlMappingException;
 import org.springframework.oxm.jaxb.test.FlightType;
 import org.springframework.oxm.jaxb.test.Flights;
 import org.springframework.oxm.mime.MimeContainer;
 import org.springframework.util.xml.StaxUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -145,4 +150,60 @@ public class Jaxb2UnmarshallerTests extends AbstractUnmarshallerTests<Jaxb2Marsh
 		testFlights(f);
 	}
 
+	@Test
+	public void unmarshallerPoolDisabledByDefault() throws Exception {
+		List<Unmarshaller> created = new ArrayList<>();
+		unmarshaller = createPoolingUnmarshaller(created, null);
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void unmarshallerPoolReuse() throws Exception {
+		List<Unmarshaller> created = new ArrayList<>();
+		unmarshaller = createPoolingUnmarshaller(created, 4);
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		assertThat(created).hasSize(1);
+	}
+
+	@Test
+	public void unmarshallerPoolAfterFailure() throws Exception {
+		List<Unmarshaller> created = new ArrayList<>();
+		unmarshaller = createPoolingUnmarshaller(created, 4);
+		String invalid = INPUT_STRING.replace("42", "forty-two");
+		assertThatExceptionOfType(XmlMappingException.class).isThrownBy(() ->
+				unmarshaller.unmarshal(new StreamSource(new StringReader(invalid))));
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void unmarshallerPoolSizeZero() throws Exception {
+		List<Unmarshaller> created = new ArrayList<>();
+		unmarshaller = createPoolingUnmarshaller(created, 0);
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		testFlights(unmarshaller.unmarshal(new StreamSource(new StringReader(INPUT_STRING))));
+		assertThat(created).hasSize(2);
+	}
+
+	private Jaxb2Marshaller createPoolingUnmarshaller(List<Unmarshaller> created, Integer poolSize) throws Exception {
+		Jaxb2Marshaller unmarshaller = new Jaxb2Marshaller() {
+			@Override
+			public Unmarshaller createUnmarshaller() {
+				Unmarshaller jaxbUnmarshaller = super.createUnmarshaller();
+				created.add(jaxbUnmarshaller);
+				return jaxbUnmarshaller;
+			}
+		};
+		unmarshaller.setContextPath("org.springframework.oxm.jaxb.test");
+		unmarshaller.setSchema(new ClassPathResource("org/springframework/oxm/flight.xsd"));
+		if (poolSize != null) {
+			unmarshaller.setPoolSize(poolSize);
+		}
+		unmarshaller.afterPropertiesSet();
+		return unmarshaller;
+	}
+
 }
@@ -86,6 +86,19 @@ public class MediaType extends MimeType implements Serializable {
 	 */
 	public static final String APPLICATION_CBOR_VALUE = "application/cbor";
 
+	/**
+	 * Public constant media type for {@code application/cbor-seq}
+	 * (RFC 8742), a sequence of CBOR data items.
+	 * @since 5.3
+	 */
+	public static final MediaType APPLICATION_CBOR_SEQ;
+
+	/**
+	 * A String equivalent of {@link MediaType#APPLICATION_CBOR_SEQ}.
+	 * @since 5.3
+	 */
+	public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
 	/**
 	 * Public constant media type for {@code application/x-www-form-urlencoded}.
 	 */
@@ -129,6 +142,18 @@ public class MediaType extends MimeType implements Serializable {
 	@Deprecated
 	public static final String APPLICATION_JSON_UTF8_VALUE = "application/json;charset=UTF-8";
 
+	/**
+	 * Public constant media type for {@code application/x-ndjson}.
+	 * @since 5.3
+	 */
+	public static final MediaType APPLICATION_NDJSON;
+
+	/**
+	 * A String equivalent of {@link MediaType#APPLICATION_NDJSON}.
+	 * @since 5.3
+	 */
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
 	/**
 	 * Public constant media type for {@code application/octet-stream}.
 	 */
@@ -375,9 +400,11 @@ public class MediaType extends MimeType implements Serializable {
 		ALL = new MediaType("*", "*");
 		APPLICATION_ATOM_XML = new MediaType("application", "atom+xml");
 		APPLICATION_CBOR = new MediaType("application", "cbor");
+		APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
 		APPLICATION_FORM_URLENCODED = new MediaType("application", "x-www-form-urlencoded");
 		APPLICATION_JSON = new MediaType("application", "json");
 		APPLICATION_JSON_UTF8 = new MediaType("application", "json", StandardCharsets.UTF_8);
+		APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
 		APPLICATION_OCTET_STREAM = new MediaType("application", "octet-stream");
 		APPLICATION_PDF = new MediaType("application", "pdf");
 		APPLICATION_PROBLEM_JSON = new MediaType("application", "problem+json");
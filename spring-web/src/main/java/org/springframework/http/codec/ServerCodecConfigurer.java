@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,13 +84,17 @@ public interface ServerCodecConfigurer extends CodecConfigurer {
 
 		/**
 		 * Configure the {@code HttpMessageReader} to use for multipart requests.
-		 * <p>By default, if
-		 * <a href="https://github.com/synchronoss/nio-multipart">Synchronoss NIO Multipart</a>
-		 * is present, this is set to
+		 * <p>By default, this is set to
 		 * {@link org.springframework.http.codec.multipart.MultipartHttpMessageReader
 		 * MultipartHttpMessageReader} created with an instance of
+		 * {@link org.springframework.http.codec.multipart.DefaultPartHttpMessageReader
+		 * DefaultPartHttpMessageReader}, along with a
+		 * {@link org.springframework.http.codec.multipart.PartEventHttpMessageReader
+		 * PartEventHttpMessageReader}. A
 		 * {@link org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader
-		 * SynchronossPartHttpMessageReader}.
+		 * SynchronossPartHttpMessageReader} can be configured instead, if
+		 * <a href="https://github.com/synchronoss/nio-multipart">Synchronoss NIO Multipart</a>
+		 * is present.
 		 * <p>Note that {@link #maxInMemorySize(int)} and/or
 		 * {@link #enableLoggingRequestDetails(boolean)}, if configured, will be
 		 * applied to the given reader, if applicable.
@@ -16,12 +16,16 @@
 
 package org.springframework.http.codec;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -37,6 +41,8 @@ import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.json.Jackson2CodecSupport;
+import org.springframework.http.converter.json.EncodedValueCache;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
@@ -46,6 +52,13 @@ import org.springframework.util.StringUtils;
 /**
  * {@code HttpMessageWriter} for {@code "text/event-stream"} responses.
  *
+ * <p>Each event is written as a single data buffer, with field names and
+ * delimiters encoded once per charset. By default every event is flushed
+ * as soon as it is written; see {@link #setMaxEventsPerFlush(int)} and
+ * {@link #setMaxFlushDelay(Duration)} to coalesce writes, and
+ * {@link #setEncodedEventCache(EncodedValueCache)} to encode an event only
+ * once when writing it to many subscribers.
+ *
  * @author Sebastien Deleuze
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
@@ -57,10 +70,20 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 
 	private static final List<MediaType> WRITABLE_MEDIA_TYPES = Collections.singletonList(MediaType.TEXT_EVENT_STREAM);
 
+	private static final int MAX_PENDING_FLUSHES = 256;
+
 
 	@Nullable
 	private final Encoder<?> encoder;
 
+	private int maxEventsPerFlush = 1;
+
+	@Nullable
+	private Duration maxFlushDelay;
+
+	@Nullable
+	private EncodedValueCache encodedEventCache;
+
 
 	/**
 	 * Constructor without an {@code Encoder}. In this mode only {@code String}
@@ -88,6 +111,53 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 		return this.encoder;
 	}
 
+	/**
+	 * Configure the maximum number of events to write before flushing, in
+	 * order to coalesce the writes of frequent events.
+	 * <p>By default this is set to 1, i.e. every event is flushed as soon as
+	 * it is written. When set to a higher value, consider also setting a
+	 * {@link #setMaxFlushDelay(Duration) max flush delay}, since events
+	 * are otherwise held back until enough have accumulated, or until the
+	 * end of the stream.
+	 * @param maxEventsPerFlush the number of events per flush
+	 * @since 5.3
+	 */
+	public void setMaxEventsPerFlush(int maxEventsPerFlush) {
+		Assert.isTrue(maxEventsPerFlush > 0, "Max events per flush must be positive");
+		this.maxEventsPerFlush = maxEventsPerFlush;
+	}
+
+	/**
+	 * Configure the maximum time to hold back an event before flushing, when
+	 * {@link #setMaxEventsPerFlush(int) max events per flush} is higher than 1.
+	 * Events are then flushed when either limit is reached.
+	 * <p>Note that with a max flush delay, events are consumed from the source
+	 * as they are produced, and wait in memory if the client is slower than
+	 * the source, rather than holding back the source. If more than 256
+	 * flushes are pending, the write fails with an overflow error.
+	 * <p>By default this is not set.
+	 * @param maxFlushDelay the maximum delay, or {@code null} for none
+	 * @since 5.3
+	 */
+	public void setMaxFlushDelay(@Nullable Duration maxFlushDelay) {
+		this.maxFlushDelay = maxFlushDelay;
+	}
+
+	/**
+	 * Configure a cache for encoded events, in order to encode an event only
+	 * once when the same event instance is written to many subscribers, e.g.
+	 * when broadcasting. The cache is keyed by the identity of the stream
+	 * element, i.e. the {@link ServerSentEvent} or the event data, and should
+	 * therefore only be configured for immutable types. Cached events are
+	 * written as read-only buffers wrapping the cached bytes.
+	 * <p>By default this is not set.
+	 * @param encodedEventCache the cache to use, dedicated to this writer
+	 * @since 5.3
+	 */
+	public void setEncodedEventCache(@Nullable EncodedValueCache encodedEventCache) {
+		this.encodedEventCache = encodedEventCache;
+	}
+
 	@Override
 	public List<MediaType> getWritableMediaTypes() {
 		return WRITABLE_MEDIA_TYPES;
@@ -108,82 +178,128 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 		DataBufferFactory bufferFactory = message.bufferFactory();
 
 		message.getHeaders().setContentType(mediaType);
-		return message.writeAndFlushWith(encode(input, elementType, mediaType, bufferFactory, hints));
+		Flux<DataBuffer> events = encode(input, elementType, mediaType, bufferFactory, hints);
+		return message.writeAndFlushWith(groupForFlush(events)
+				.doOnDiscard(Object.class, ServerSentEventHttpMessageWriter::releaseDiscarded));
+	}
+
+	private Flux<Publisher<DataBuffer>> groupForFlush(Flux<DataBuffer> events) {
+		if (this.maxEventsPerFlush == 1) {
+			return events.map(Flux::just);
+		}
+		// A delay-triggered flush may happen without demand from the server,
+		// which bufferTimeout signals as an overflow error unless buffered
+		Flux<List<DataBuffer>> groups = (this.maxFlushDelay != null ?
+				events.bufferTimeout(this.maxEventsPerFlush, this.maxFlushDelay)
+						.onBackpressureBuffer(MAX_PENDING_FLUSHES, ServerSentEventHttpMessageWriter::releaseDiscarded) :
+				events.buffer(this.maxEventsPerFlush));
+		return groups.map(Flux::fromIterable);
+	}
+
+	private static void releaseDiscarded(Object discarded) {
+		// Groups of events may be discarded as a whole when queued for flushing
+		if (discarded instanceof Collection) {
+			((Collection<?>) discarded).forEach(ServerSentEventHttpMessageWriter::releaseDiscarded);
+		}
+		else if (discarded instanceof PooledDataBuffer) {
+			DataBufferUtils.release((PooledDataBuffer) discarded);
+		}
 	}
 
-	private Flux<Publisher<DataBuffer>> encode(Publisher<?> input, ResolvableType elementType,
+	private Flux<DataBuffer> encode(Publisher<?> input, ResolvableType elementType,
 			MediaType mediaType, DataBufferFactory factory, Map<String, Object> hints) {
 
 		ResolvableType dataType = (ServerSentEvent.class.isAssignableFrom(elementType.toClass()) ?
 				elementType.getGeneric() : elementType);
+		Charset charset = mediaType.getCharset();
+		Assert.notNull(charset, "Expected MediaType with charset");
+		FrameBytes frameBytes = FrameBytes.forCharset(charset);
 
 		return Flux.from(input).map(element -> {
+			EncodedValueCache cache = this.encodedEventCache;
+			if (cache == null || !cache.isCacheable(element)) {
+				return encodeEvent(element, dataType, mediaType, frameBytes, factory, hints);
+			}
+			Object jsonView = hints.get(Jackson2CodecSupport.JSON_VIEW_HINT);
+			byte[] bytes = cache.get(element, mediaType, dataType, jsonView);
+			if (bytes == null) {
+				DataBuffer buffer = encodeEvent(element, dataType, mediaType, frameBytes, factory, hints);
+				bytes = new byte[buffer.readableByteCount()];
+				buffer.read(bytes);
+				DataBufferUtils.release(buffer);
+				cache.put(element, bytes, mediaType, dataType, jsonView);
+			}
+			return factory.wrap(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+		});
+	}
+
+	private DataBuffer encodeEvent(Object element, ResolvableType dataType, MediaType mediaType,
+			FrameBytes frameBytes, DataBufferFactory factory, Map<String, Object> hints) {
+
+		ServerSentEvent<?> sse = (element instanceof ServerSentEvent ?
+				(ServerSentEvent<?>) element : ServerSentEvent.builder().data(element).build());
 
-			ServerSentEvent<?> sse = (element instanceof ServerSentEvent ?
-					(ServerSentEvent<?>) element : ServerSentEvent.builder().data(element).build());
+		Charset charset = frameBytes.charset;
+		String id = sse.id();
+		String event = sse.event();
+		Duration retry = sse.retry();
+		String comment = sse.comment();
+		Object data = sse.data();
 
-			StringBuilder sb = new StringBuilder();
-			String id = sse.id();
-			String event = sse.event();
-			Duration retry = sse.retry();
-			String comment = sse.comment();
-			Object data = sse.data();
+		DataBuffer buffer = factory.allocateBuffer();
+		try {
 			if (id != null) {
-				writeField("id", id, sb);
+				writeField(frameBytes.id, id, frameBytes, buffer);
 			}
 			if (event != null) {
-				writeField("event", event, sb);
+				writeField(frameBytes.event, event, frameBytes, buffer);
 			}
 			if (retry != null) {
-				writeField("retry", retry.toMillis(), sb);
+				writeField(frameBytes.retry, String.valueOf(retry.toMillis()), frameBytes, buffer);
 			}
 			if (comment != null) {
-				sb.append(':').append(StringUtils.replace(comment, "\n", "\n:")).append("\n");
+				writeField(frameBytes.comment, StringUtils.replace(comment, "\n", "\n:"), frameBytes, buffer);
 			}
-			if (data != null) {
-				sb.append("data:");
-			}
-
-			Flux<DataBuffer> result;
 			if (data == null) {
-				result = Flux.just(encodeText(sb + "\n", mediaType, factory));
+				return buffer.write(frameBytes.newline);
 			}
-			else if (data instanceof String) {
-				data = StringUtils.replace((String) data, "\n", "\ndata:");
-				result = Flux.just(encodeText(sb + (String) data + "\n\n", mediaType, factory));
+			buffer.write(frameBytes.data);
+			if (data instanceof String) {
+				buffer.write(StringUtils.replace((String) data, "\n", "\ndata:"), charset);
+				return buffer.write(frameBytes.eventEnd);
 			}
-			else {
-				result = encodeEvent(sb.toString(), data, dataType, mediaType, factory, hints);
-			}
-
-			return result.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
-		});
+		}
+		catch (RuntimeException ex) {
+			DataBufferUtils.release(buffer);
+			throw ex;
+		}
+		return encodeData(buffer, data, dataType, mediaType, frameBytes, factory, hints);
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T> Flux<DataBuffer> encodeEvent(String eventContent, T data, ResolvableType dataType,
-			MediaType mediaType, DataBufferFactory factory, Map<String, Object> hints) {
+	private <T> DataBuffer encodeData(DataBuffer eventContent, T data, ResolvableType dataType,
+			MediaType mediaType, FrameBytes frameBytes, DataBufferFactory factory, Map<String, Object> hints) {
 
 		if (this.encoder == null) {
+			DataBufferUtils.release(eventContent);
 			throw new CodecException("No SSE encoder configured and the data is not String.");
 		}
-		return Flux.just(factory.join(Arrays.asList(
-				encodeText(eventContent, mediaType, factory),
-				((Encoder<T>) this.encoder).encodeValue(data, factory, dataType, mediaType, hints),
-				encodeText("\n\n", mediaType, factory))));
-	}
-
-	private void writeField(String fieldName, Object fieldValue, StringBuilder sb) {
-		sb.append(fieldName);
-		sb.append(':');
-		sb.append(fieldValue.toString());
-		sb.append("\n");
+		DataBuffer encodedData;
+		try {
+			encodedData = ((Encoder<T>) this.encoder).encodeValue(data, factory, dataType, mediaType, hints);
+		}
+		catch (RuntimeException ex) {
+			DataBufferUtils.release(eventContent);
+			throw ex;
+		}
+		return factory.join(Arrays.asList(eventContent, encodedData,
+				factory.wrap(ByteBuffer.wrap(frameBytes.eventEnd).asReadOnlyBuffer())));
 	}
 
-	private DataBuffer encodeText(CharSequence text, MediaType mediaType, DataBufferFactory bufferFactory) {
-		Assert.notNull(mediaType.getCharset(), "Expected MediaType with charset");
-		byte[] bytes = text.toString().getBytes(mediaType.getCharset());
-		return bufferFactory.wrap(bytes); // wrapping, not allocating
+	private void writeField(byte[] fieldName, String fieldValue, FrameBytes frameBytes, DataBuffer buffer) {
+		buffer.write(fieldName);
+		buffer.write(fieldValue, frameBytes.charset);
+		buffer.write(frameBytes.newline);
 	}
 
 	@Override
@@ -207,4 +323,46 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 		return Hints.none();
 	}
 
+
+
+	/**
+	 * Field names and delimiters of the event stream format, encoded once
+	 * per charset.
+	 */
+	private static final class FrameBytes {
+
+		private static final Map<Charset, FrameBytes> cache = new ConcurrentHashMap<>(4);
+
+		final Charset charset;
+
+		final byte[] id;
+
+		final byte[] event;
+
+		final byte[] retry;
+
+		final byte[] comment;
+
+		final byte[] data;
+
+		final byte[] newline;
+
+		final byte[] eventEnd;
+
+		private FrameBytes(Charset charset) {
+			this.charset = charset;
+			this.id = "id:".getBytes(charset);
+			this.event = "event:".getBytes(charset);
+			this.retry = "retry:".getBytes(charset);
+			this.comment = ":".getBytes(charset);
+			this.data = "data:".getBytes(charset);
+			this.newline = "\n".getBytes(charset);
+			this.eventEnd = "\n\n".getBytes(charset);
+		}
+
+		static FrameBytes forCharset(Charset charset) {
+			return cache.computeIfAbsent(charset, FrameBytes::new);
+		}
+	}
+
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.cbor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.LimitedDataBufferList;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+
+/**
+ * Splits a stream of CBOR encoded data buffers of arbitrary size into one
+ * data buffer per top-level data item, as soon as the last byte of an item
+ * has been received.
+ *
+ * <p>Only the headers of data items are inspected (RFC 7049, section 2),
+ * in order to find item boundaries without parsing values, which allows for
+ * non-blocking decoding since Jackson does not provide a non-blocking CBOR
+ * parser. Content that lies within a single source buffer is relayed as a
+ * retained slice of that buffer.
+ *
+ * @since 5.3
+ */
+final class CborItemSplitter {
+
+	private static final long INDEFINITE = -1;
+
+	private static final int NONE = 0;
+
+	private static final int ITEM = 1;
+
+	private static final int DISCARD = 2;
+
+
+	private final boolean splitArrayElements;
+
+	private final LimitedDataBufferList item;
+
+	// Number of data items left in each open container, or INDEFINITE
+	private long[] containers = new long[8];
+
+	private int depth;
+
+	private boolean inArray;
+
+	private long arrayRemaining;
+
+	private int headMajorType;
+
+	private int headBytesRemaining;
+
+	private long headArgument;
+
+	private long payloadRemaining;
+
+
+	private CborItemSplitter(boolean splitArrayElements, int maxInMemorySize) {
+		this.splitArrayElements = splitArrayElements;
+		this.item = new LimitedDataBufferList(maxInMemorySize);
+	}
+
+
+	/**
+	 * Split the given stream of data buffers into top-level CBOR data items.
+	 * @param buffers the source data buffers
+	 * @param splitArrayElements if {@code true} and a top-level data item is
+	 * an array, each element is returned individually immediately after it
+	 * is received
+	 * @param maxInMemorySize the maximum number of bytes of a single item,
+	 * or -1 for unlimited
+	 * @return one data buffer per data item
+	 */
+	public static Flux<DataBuffer> split(Publisher<DataBuffer> buffers, boolean splitArrayElements,
+			int maxInMemorySize) {
+
+		return Flux.defer(() -> {
+			CborItemSplitter splitter = new CborItemSplitter(splitArrayElements, maxInMemorySize);
+			return Flux.from(buffers)
+					.concatMapIterable(splitter::splitBuffer)
+					.concatWith(Mono.defer(splitter::endOfInput))
+					.doOnTerminate(splitter.item::releaseAndClear)
+					.doOnCancel(splitter.item::releaseAndClear)
+					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+		});
+	}
+
+
+	private List<DataBuffer> splitBuffer(DataBuffer buffer) {
+		List<DataBuffer> result = new ArrayList<>();
+		try {
+			int end = buffer.writePosition();
+			int itemStart = buffer.readPosition();
+			int index = itemStart;
+			while (index < end) {
+				int signal;
+				if (this.payloadRemaining > 0) {
+					int count = (int) Math.min(this.payloadRemaining, end - index);
+					index += count;
+					this.payloadRemaining -= count;
+					signal = (this.payloadRemaining == 0 ? itemCompleted() : NONE);
+				}
+				else {
+					signal = readHeadByte(buffer.getByte(index++) & 0xff);
+				}
+				if (signal == ITEM) {
+					this.item.add(buffer.retainedSlice(itemStart, index - itemStart));
+					result.add(joinItem());
+					itemStart = index;
+				}
+				else if (signal == DISCARD) {
+					this.item.releaseAndClear();
+					itemStart = index;
+				}
+			}
+			if (itemStart < end) {
+				this.item.add(buffer.retainedSlice(itemStart, end - itemStart));
+			}
+			return result;
+		}
+		catch (RuntimeException ex) {
+			result.forEach(DataBufferUtils::release);
+			this.item.releaseAndClear();
+			throw ex;
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	private DataBuffer joinItem() {
+		DataBuffer result = (this.item.size() == 1 ? this.item.get(0) :
+				this.item.get(0).factory().join(new ArrayList<>(this.item)));
+		this.item.clear();
+		return result;
+	}
+
+	private Mono<DataBuffer> endOfInput() {
+		if (this.item.isEmpty() && this.depth == 0 && !this.inArray &&
+				this.headBytesRemaining == 0 && this.payloadRemaining == 0) {
+			return Mono.empty();
+		}
+		return Mono.error(new DecodingException("Incomplete CBOR data item at end of input"));
+	}
+
+
+	private int readHeadByte(int b) {
+		if (this.headBytesRemaining > 0) {
+			this.headArgument = (this.headArgument << 8) | b;
+			return (--this.headBytesRemaining == 0 ? headCompleted() : NONE);
+		}
+		this.headMajorType = b >>> 5;
+		int info = b & 0x1f;
+		this.headArgument = 0;
+		if (info < 24) {
+			this.headArgument = info;
+			return headCompleted();
+		}
+		else if (info < 28) {
+			this.headBytesRemaining = 1 << (info - 24);
+			return NONE;
+		}
+		else if (info == 31) {
+			return indefiniteOrBreak();
+		}
+		throw new DecodingException("Invalid CBOR data item header: 0x" + Integer.toHexString(b));
+	}
+
+	private int headCompleted() {
+		long argument = this.headArgument;
+		if (argument < 0 && this.headMajorType >= 2 && this.headMajorType <= 5) {
+			throw new DecodingException("Unsupported CBOR length: " + Long.toUnsignedString(argument));
+		}
+		switch (this.headMajorType) {
+			case 2:
+			case 3:
+				// byte string, text string
+				this.payloadRemaining = argument;
+				return (argument > 0 ? NONE : itemCompleted());
+			case 4:
+				// array
+				if (this.depth == 0 && this.splitArrayElements && !this.inArray) {
+					this.inArray = (argument != 0);
+					this.arrayRemaining = argument;
+					return DISCARD;
+				}
+				return openContainer(argument);
+			case 5:
+				// map
+				if (argument > Long.MAX_VALUE / 2) {
+					throw new DecodingException("Unsupported CBOR length: " + argument);
+				}
+				return openContainer(argument * 2);
+			case 6:
+				// tag, followed by a single data item
+				return openContainer(1);
+			default:
+				// unsigned integer, negative integer, simple value, float
+				return itemCompleted();
+		}
+	}
+
+	private int indefiniteOrBreak() {
+		switch (this.headMajorType) {
+			case 2:
+			case 3:
+			case 5:
+				return openContainer(INDEFINITE);
+			case 4:
+				if (this.depth == 0 && this.splitArrayElements && !this.inArray) {
+					this.inArray = true;
+					this.arrayRemaining = INDEFINITE;
+					return DISCARD;
+				}
+				return openContainer(INDEFINITE);
+			case 7:
+				// "break" stop code
+				if (this.depth > 0 && this.containers[this.depth - 1] == INDEFINITE) {
+					this.depth--;
+					return itemCompleted();
+				}
+				if (this.depth == 0 && this.inArray && this.arrayRemaining == INDEFINITE) {
+					this.inArray = false;
+					return DISCARD;
+				}
+				throw new DecodingException("Unexpected CBOR break stop code");
+			default:
+				throw new DecodingException(
+						"Invalid CBOR indefinite length for major type " + this.headMajorType);
+		}
+	}
+
+	private int openContainer(long itemCount) {
+		if (itemCount == 0) {
+			return itemCompleted();
+		}
+		if (this.depth == this.containers.length) {
+			this.containers = Arrays.copyOf(this.containers, this.depth * 2);
+		}
+		this.containers[this.depth++] = itemCount;
+		return NONE;
+	}
+
+	private int itemCompleted() {
+		while (this.depth > 0) {
+			long remaining = this.containers[this.depth - 1];
+			if (remaining == INDEFINITE) {
+				return NONE;
+			}
+			if (remaining > 1) {
+				this.containers[this.depth - 1] = remaining - 1;
+				return NONE;
+			}
+			this.depth--;
+		}
+		if (this.inArray && this.arrayRemaining != INDEFINITE && --this.arrayRemaining == 0) {
+			this.inArray = false;
+		}
+		return ITEM;
+	}
+
+}
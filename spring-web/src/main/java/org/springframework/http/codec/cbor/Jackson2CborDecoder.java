@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,12 +28,17 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.AbstractJackson2Decoder;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
 
 /**
- * Decode bytes into CBOR and convert to Object's with Jackson.
- * Stream decoding is not supported yet.
+ * Decode a byte stream into CBOR and convert to Object's with Jackson.
+ *
+ * <p>As of 5.3, decoding to a {@link Flux} is supported in a non-blocking
+ * manner: the input is split into top-level CBOR data items, or into the
+ * elements of a top-level array, and each is decoded as soon as all of its
+ * bytes have been received.
  *
  * @author Sebastien Deleuze
  * @since 5.2
@@ -43,7 +48,8 @@ import org.springframework.util.MimeType;
 public class Jackson2CborDecoder extends AbstractJackson2Decoder {
 
 	public Jackson2CborDecoder() {
-		this(Jackson2ObjectMapperBuilder.cbor().build(), MediaType.APPLICATION_CBOR);
+		this(Jackson2ObjectMapperBuilder.cbor().build(),
+				MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR_SEQ);
 	}
 
 	public Jackson2CborDecoder(ObjectMapper mapper, MimeType... mimeTypes) {
@@ -53,8 +59,17 @@ public class Jackson2CborDecoder extends AbstractJackson2Decoder {
 
 
 	@Override
-	public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
-		throw new UnsupportedOperationException("Does not support stream decoding yet");
+	public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
+		return CborItemSplitter.split(processed, true, getMaxInMemorySize())
+				.handle((dataBuffer, sink) -> {
+					Object value = decode(dataBuffer, elementType, mimeType, hints);
+					if (value != null) {
+						sink.next(value);
+					}
+				});
 	}
 
 }
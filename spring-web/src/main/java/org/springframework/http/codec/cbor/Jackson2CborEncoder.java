@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,12 @@
 
 package org.springframework.http.codec.cbor;
 
-import java.util.Map;
+import java.util.Collections;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
-import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
-import org.springframework.core.ResolvableType;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.AbstractJackson2Encoder;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
@@ -33,8 +29,13 @@ import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
 
 /**
- * Encode from an {@code Object} to bytes of CBOR objects using Jackson.
- * Stream encoding is not supported yet.
+ * Encode from an {@code Object} stream to a byte stream of CBOR objects using Jackson.
+ * For non-streaming use cases, {@link Flux} elements are collected into a
+ * {@link java.util.List} before serialization for performance reason.
+ *
+ * <p>As of 5.3, {@code "application/cbor-seq"} is supported as a streaming
+ * media type (RFC 8742): each element is encoded and flushed as soon as it
+ * is available, with no separator in between.
  *
  * @author Sebastien Deleuze
  * @since 5.2
@@ -44,18 +45,13 @@ import org.springframework.util.MimeType;
 public class Jackson2CborEncoder extends AbstractJackson2Encoder {
 
 	public Jackson2CborEncoder() {
-		this(Jackson2ObjectMapperBuilder.cbor().build(), MediaType.APPLICATION_CBOR);
+		this(Jackson2ObjectMapperBuilder.cbor().build(), MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR_SEQ);
 	}
 
 	public Jackson2CborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
 		super(mapper, mimeTypes);
 		Assert.isAssignable(CBORFactory.class, mapper.getFactory().getClass());
-	}
-
-
-	@Override
-	public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
-		throw new UnsupportedOperationException("Does not support stream encoding yet");
+		setStreamingMediaTypes(Collections.singletonList(MediaType.APPLICATION_CBOR_SEQ));
 	}
 
 }
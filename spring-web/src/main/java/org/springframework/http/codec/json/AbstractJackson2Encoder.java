@@ -18,6 +18,7 @@ package org.springframework.http.codec.json;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -28,7 +29,6 @@ import java.util.Map;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -45,9 +45,12 @@ import org.springframework.core.codec.EncodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.converter.json.EncodedValueCache;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
@@ -73,11 +76,15 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		STREAM_SEPARATORS = new HashMap<>(4);
 		STREAM_SEPARATORS.put(MediaType.APPLICATION_STREAM_JSON, NEWLINE_SEPARATOR);
 		STREAM_SEPARATORS.put(MediaType.parseMediaType("application/stream+x-jackson-smile"), new byte[0]);
+		STREAM_SEPARATORS.put(MediaType.APPLICATION_CBOR_SEQ, new byte[0]);
 	}
 
 
 	private final List<MediaType> streamingMediaTypes = new ArrayList<>(1);
 
+	@Nullable
+	private EncodedValueCache encodedValueCache;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -99,6 +106,21 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		this.streamingMediaTypes.addAll(mediaTypes);
 	}
 
+	/**
+	 * Configure a cache for the serialized form of immutable values that are
+	 * encoded over and over again, such as reference data. Cached values are
+	 * written as read-only buffers wrapping the cached bytes, without
+	 * serialization.
+	 * <p>By default this is not set. The cache applies to single values, i.e.
+	 * {@link Mono} input and {@link #encodeValue}, but not to the elements of
+	 * a {@link Flux}.
+	 * @param encodedValueCache the cache to use, dedicated to this encoder
+	 * @since 5.3
+	 */
+	public void setEncodedValueCache(@Nullable EncodedValueCache encodedValueCache) {
+		this.encodedValueCache = encodedValueCache;
+	}
+
 
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -116,6 +138,7 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		Assert.notNull(elementType, "'elementType' must not be null");
 
 		if (inputStream instanceof Mono) {
+			// A single buffer, as expected for a Mono by writers that set the Content-Length
 			return Mono.from(inputStream)
 					.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
 					.flux();
@@ -125,14 +148,15 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			if (separator != null) { // streaming
 				try {
 					ObjectWriter writer = createObjectWriter(elementType, mimeType, hints);
-					ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
+					ChunkedDataBufferOutputStream outputStream = new ChunkedDataBufferOutputStream(bufferFactory);
 					JsonEncoding encoding = getJsonEncoding(mimeType);
-					JsonGenerator generator = getObjectMapper().getFactory().createGenerator(byteBuilder, encoding);
+					JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
 					SequenceWriter sequenceWriter = writer.writeValues(generator);
 
 					return Flux.from(inputStream)
-							.map(value -> encodeStreamingValue(value, bufferFactory, hints, sequenceWriter, byteBuilder,
-									separator));
+							.concatMapIterable(value -> encodeStreamingValue(value, hints, sequenceWriter,
+									outputStream, separator))
+							.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 				}
 				catch (IOException ex) {
 					return Flux.error(ex);
@@ -142,8 +166,8 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 				ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
 				return Flux.from(inputStream)
 						.collectList()
-						.map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
-						.flux();
+						.flatMapIterable(list -> encodeValueToBuffers(list, bufferFactory, listType, mimeType, hints))
+						.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 			}
 
 		}
@@ -153,72 +177,113 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 	public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
 			ResolvableType valueType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
+		List<DataBuffer> buffers = encodeValueToBuffers(value, bufferFactory, valueType, mimeType, hints);
+		if (buffers.isEmpty()) {
+			return bufferFactory.allocateBuffer(0);
+		}
+		return (buffers.size() == 1 ? buffers.get(0) : bufferFactory.join(buffers));
+	}
+
+	/**
+	 * Serialize the given value straight into data buffers allocated from the
+	 * given factory. Large values are spread across several buffers rather than
+	 * collected into a single contiguous array, which suits {@link Flux} output;
+	 * {@link #encodeValue} joins them into a single buffer.
+	 */
+	private List<DataBuffer> encodeValueToBuffers(Object value, DataBufferFactory bufferFactory,
+			ResolvableType valueType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		EncodedValueCache cache = this.encodedValueCache;
+		if (cache == null || !cache.isCacheable(value)) {
+			return serializeValue(value, bufferFactory, valueType, mimeType, hints);
+		}
+		Object jsonView = (hints != null ? hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
+		byte[] bytes = cache.get(value, mimeType, valueType, jsonView);
+		if (bytes != null) {
+			logValue(hints, value);
+		}
+		else {
+			List<DataBuffer> buffers = serializeValue(value, bufferFactory, valueType, mimeType, hints);
+			int byteCount = 0;
+			for (DataBuffer buffer : buffers) {
+				byteCount += buffer.readableByteCount();
+			}
+			bytes = new byte[byteCount];
+			int offset = 0;
+			for (DataBuffer buffer : buffers) {
+				int count = buffer.readableByteCount();
+				buffer.read(bytes, offset, count);
+				offset += count;
+				DataBufferUtils.release(buffer);
+			}
+			cache.put(value, bytes, mimeType, valueType, jsonView);
+		}
+		return Collections.singletonList(bufferFactory.wrap(ByteBuffer.wrap(bytes).asReadOnlyBuffer()));
+	}
+
+	private List<DataBuffer> serializeValue(Object value, DataBufferFactory bufferFactory,
+			ResolvableType valueType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
 		ObjectWriter writer = createObjectWriter(valueType, mimeType, hints);
-		ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
+		ChunkedDataBufferOutputStream outputStream = new ChunkedDataBufferOutputStream(bufferFactory);
 		JsonEncoding encoding = getJsonEncoding(mimeType);
 
 		logValue(hints, value);
 
 		try {
-			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(byteBuilder, encoding);
+			// Closing the generator returns its internal buffer to Jackson's BufferRecycler
+			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
 			writer.writeValue(generator, value);
-			generator.flush();
+			generator.close();
 		}
 		catch (InvalidDefinitionException ex) {
+			outputStream.release();
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
 		}
 		catch (JsonProcessingException ex) {
+			outputStream.release();
 			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
+			outputStream.release();
+			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
 		}
 
-		byte[] bytes = byteBuilder.toByteArray();
-		DataBuffer buffer = bufferFactory.allocateBuffer(bytes.length);
-		buffer.write(bytes);
-
-		return buffer;
+		return outputStream.drain();
 	}
 
-	private DataBuffer encodeStreamingValue(Object value, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints,
-			SequenceWriter sequenceWriter, ByteArrayBuilder byteArrayBuilder, byte[] separator) {
+	private List<DataBuffer> encodeStreamingValue(Object value, @Nullable Map<String, Object> hints,
+			SequenceWriter sequenceWriter, ChunkedDataBufferOutputStream outputStream, byte[] separator) {
 
 		logValue(hints, value);
 
 		try {
 			sequenceWriter.write(value);
 			sequenceWriter.flush();
+			outputStream.write(separator);
 		}
 		catch (InvalidDefinitionException ex) {
+			outputStream.release();
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
 		}
 		catch (JsonProcessingException ex) {
+			outputStream.release();
 			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
+			outputStream.release();
+			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
 		}
 
-		byte[] bytes = byteArrayBuilder.toByteArray();
-		byteArrayBuilder.reset();
-
-		int offset;
-		int length;
-		if (bytes.length > 0 && bytes[0] == ' ') {
-			// SequenceWriter writes an unnecessary space in between values
-			offset = 1;
-			length = bytes.length - 1;
-		}
-		else {
-			offset = 0;
-			length = bytes.length;
+		List<DataBuffer> buffers = outputStream.drain();
+		if (!buffers.isEmpty() && !getObjectMapper().getFactory().canHandleBinaryNatively()) {
+			DataBuffer first = buffers.get(0);
+			if (first.readableByteCount() > 0 && first.getByte(first.readPosition()) == ' ') {
+				// SequenceWriter writes an unnecessary space in between textual values
+				first.readPosition(first.readPosition() + 1);
+			}
 		}
-		DataBuffer buffer = bufferFactory.allocateBuffer(length + separator.length);
-		buffer.write(bytes, offset, length);
-		buffer.write(separator);
-
-		return buffer;
+		return buffers;
 	}
 
 	private void logValue(@Nullable Map<String, Object> hints, Object value) {
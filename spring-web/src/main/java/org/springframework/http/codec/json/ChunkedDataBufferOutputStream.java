@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link OutputStream} that writes into a sequence of {@link DataBuffer DataBuffers}
+ * allocated from a {@link DataBufferFactory}, so that serialized output does not
+ * have to be collected into a contiguous byte array first.
+ *
+ * <p>Buffers are allocated on demand, starting small and doubling in size up to
+ * a maximum chunk size. Output that exceeds the maximum chunk size is spread
+ * across several buffers rather than copied into a larger one.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since 5.3
+ */
+final class ChunkedDataBufferOutputStream extends OutputStream {
+
+	private static final int MIN_CHUNK_SIZE = 256;
+
+	private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+
+	private final DataBufferFactory bufferFactory;
+
+	private final List<DataBuffer> buffers = new ArrayList<>(1);
+
+	@Nullable
+	private DataBuffer current;
+
+	private int nextChunkSize = MIN_CHUNK_SIZE;
+
+
+	ChunkedDataBufferOutputStream(DataBufferFactory bufferFactory) {
+		this.bufferFactory = bufferFactory;
+	}
+
+
+	@Override
+	public void write(int b) {
+		writableBuffer(1).write((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		while (len > 0) {
+			DataBuffer buffer = writableBuffer(len);
+			int count = Math.min(len, buffer.writableByteCount());
+			buffer.write(b, off, count);
+			off += count;
+			len -= count;
+		}
+	}
+
+	private DataBuffer writableBuffer(int required) {
+		DataBuffer buffer = this.current;
+		if (buffer != null && buffer.writableByteCount() > 0) {
+			return buffer;
+		}
+		int size = Math.min(Math.max(required, this.nextChunkSize), MAX_CHUNK_SIZE);
+		this.nextChunkSize = Math.min(size * 2, MAX_CHUNK_SIZE);
+		buffer = this.bufferFactory.allocateBuffer(size);
+		this.buffers.add(buffer);
+		this.current = buffer;
+		return buffer;
+	}
+
+	/**
+	 * Return the buffers written so far, and start over with an empty list.
+	 * The caller becomes responsible for releasing the returned buffers.
+	 */
+	List<DataBuffer> drain() {
+		if (this.buffers.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<DataBuffer> result = new ArrayList<>(this.buffers);
+		this.buffers.clear();
+		this.current = null;
+		this.nextChunkSize = MIN_CHUNK_SIZE;
+		return result;
+	}
+
+	/**
+	 * Release the buffers written so far, e.g. after a serialization error.
+	 */
+	void release() {
+		this.buffers.forEach(DataBufferUtils::release);
+		this.buffers.clear();
+		this.current = null;
+	}
+
+}
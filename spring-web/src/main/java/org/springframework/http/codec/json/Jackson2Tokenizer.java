@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -90,12 +91,23 @@ final class Jackson2Tokenizer {
 
 	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
 		int bufferSize = dataBuffer.readableByteCount();
-		byte[] bytes = new byte[bufferSize];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
+		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+		byte[] bytes;
+		int offset;
+		if (byteBuffer.hasArray()) {
+			// Feed the backing array directly: the parser consumes all input
+			// below, before the buffer is released
+			bytes = byteBuffer.array();
+			offset = byteBuffer.arrayOffset() + byteBuffer.position();
+		}
+		else {
+			bytes = new byte[bufferSize];
+			byteBuffer.get(bytes);
+			offset = 0;
+		}
 
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			this.inputFeeder.feedInput(bytes, offset, offset + bufferSize);
 			List<TokenBuffer> result = parseTokenBufferFlux();
 			assertInMemorySize(bufferSize, result);
 			return result;
@@ -106,6 +118,9 @@ final class Jackson2Tokenizer {
 		catch (IOException ex) {
 			throw Exceptions.propagate(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -184,7 +199,8 @@ final class Jackson2Tokenizer {
 		}
 
 		if (this.objectDepth == 0 && (this.arrayDepth == 0 || this.arrayDepth == 1) &&
-				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
+				(token == JsonToken.END_OBJECT || token.isScalarValue() ||
+						(token == JsonToken.END_ARRAY && this.arrayDepth == 1))) {
 			result.add(this.tokenBuffer);
 			this.tokenBuffer = createToken();
 		}
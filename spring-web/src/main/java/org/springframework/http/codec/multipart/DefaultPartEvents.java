@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.multipart;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementations of {@link PartEvent} and subtypes, as created by
+ * {@link PartEventHttpMessageReader}.
+ *
+ * @since 5.3
+ */
+abstract class DefaultPartEvents {
+
+	// Static DataBufferFactory to wrap form field values.
+	private static final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+
+	/**
+	 * Create a new {@link FormPartEvent} with the given parameters.
+	 * @param headers the part headers
+	 * @param value the form field value
+	 * @return the created event
+	 */
+	public static FormPartEvent form(HttpHeaders headers, String value) {
+		Assert.notNull(headers, "Headers must not be null");
+		Assert.notNull(value, "Value must not be null");
+		return new DefaultFormPartEvent(headers, value);
+	}
+
+	/**
+	 * Create a new {@link PartEvent} or {@link FilePartEvent} with the given
+	 * parameters.
+	 * @param headers the part headers
+	 * @param content the content chunk
+	 * @param last whether this is the last event of the part
+	 * @return {@link FilePartEvent} if the headers contain a filename,
+	 * or a plain {@link PartEvent} otherwise
+	 */
+	public static PartEvent create(HttpHeaders headers, DataBuffer content, boolean last) {
+		Assert.notNull(headers, "Headers must not be null");
+		Assert.notNull(content, "Content must not be null");
+		return (MultipartUtils.filename(headers) != null ?
+				new DefaultFilePartEvent(headers, content, last) :
+				new DefaultPartEvent(headers, content, last));
+	}
+
+
+	/**
+	 * Abstract base class for the events in this class.
+	 */
+	private abstract static class AbstractPartEvent implements PartEvent {
+
+		private final HttpHeaders headers;
+
+		protected AbstractPartEvent(HttpHeaders headers) {
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link PartEvent}.
+	 */
+	private static class DefaultPartEvent extends AbstractPartEvent {
+
+		private final DataBuffer content;
+
+		private final boolean last;
+
+		public DefaultPartEvent(HttpHeaders headers, DataBuffer content, boolean last) {
+			super(headers);
+			this.content = content;
+			this.last = last;
+		}
+
+		@Override
+		public DataBuffer content() {
+			return this.content;
+		}
+
+		@Override
+		public boolean isLast() {
+			return this.last;
+		}
+
+		@Override
+		public String toString() {
+			return "PartEvent '" + name() + "', last=" + this.last;
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FilePartEvent}.
+	 */
+	private static final class DefaultFilePartEvent extends DefaultPartEvent implements FilePartEvent {
+
+		public DefaultFilePartEvent(HttpHeaders headers, DataBuffer content, boolean last) {
+			super(headers, content, last);
+		}
+
+		@Override
+		public String toString() {
+			return "FilePartEvent '" + name() + "', filename='" + filename() + "', last=" + isLast();
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FormPartEvent}.
+	 */
+	private static final class DefaultFormPartEvent extends AbstractPartEvent implements FormPartEvent {
+
+		private final String value;
+
+		public DefaultFormPartEvent(HttpHeaders headers, String value) {
+			super(headers);
+			this.value = value;
+		}
+
+		@Override
+		public String value() {
+			return this.value;
+		}
+
+		@Override
+		public DataBuffer content() {
+			byte[] bytes = this.value.getBytes(MultipartUtils.charset(headers()));
+			return bufferFactory.wrap(bytes);
+		}
+
+		@Override
+		public boolean isLast() {
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "FormPartEvent '" + name() + "=" + this.value + "'";
+		}
+	}
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.LoggingCodecSupport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default {@code HttpMessageReader} for parsing {@code "multipart/form-data"}
+ * requests to a stream of {@link Part}s.
+ *
+ * <p>The request body is parsed in a fully non-blocking manner, as data
+ * arrives, without relying on a third-party library. Parts that fit within the
+ * {@link #setMaxInMemorySize(int) in-memory limit} are kept in memory, while
+ * larger file parts are streamed to a temporary file in the
+ * {@link #setFileStorageDirectory(Path) file storage directory}, chunk by
+ * chunk, on the {@link #setBlockingOperationScheduler(Scheduler) blocking
+ * operation scheduler}. Temporary files can be removed through
+ * {@link Part#delete()}. For parts obtained through
+ * {@link org.springframework.web.server.ServerWebExchange#getMultipartData()},
+ * this is done when the handling of the request completes. If reading fails,
+ * the temporary files of the parts read so far are deleted as well.
+ *
+ * <p>The number of parts, and the disk usage per part and per request, are
+ * limited by default, see {@link #setMaxParts}, {@link #setMaxDiskUsagePerPart}
+ * and {@link #setMaxDiskUsagePerRequest}.
+ *
+ * <p>This reader can be provided to {@link MultipartHttpMessageReader} in order
+ * to aggregate all parts into a Map.
+ *
+ * @since 5.3
+ * @see PartEventHttpMessageReader
+ * @see MultipartHttpMessageReader
+ */
+public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements HttpMessageReader<Part> {
+
+	private static final String IDENTIFIER = "spring-multipart";
+
+
+	private int maxInMemorySize = 256 * 1024;
+
+	private int maxHeadersSize = 8 * 1024;
+
+	private long maxDiskUsagePerPart = 100 * 1024 * 1024;
+
+	private long maxDiskUsagePerRequest = 256 * 1024 * 1024;
+
+	private int maxParts = 128;
+
+	private Scheduler blockingOperationScheduler = Schedulers.boundedElastic();
+
+	private Mono<Path> fileStorageDirectory = Mono.defer(this::defaultFileStorageDirectory).cache();
+
+	private Charset headersCharset = StandardCharsets.UTF_8;
+
+
+	/**
+	 * Configure the maximum amount of memory that is allowed to use per part.
+	 * When the limit is exceeded:
+	 * <ul>
+	 * <li>file parts are written to a temporary file.
+	 * <li>non-file parts are rejected with
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException DataBufferLimitException}.
+	 * </ul>
+	 * <p>By default this is set to 256K.
+	 * @param maxInMemorySize the in-memory limit in bytes; if set to -1 this
+	 * limit is not enforced, and all parts are kept in memory
+	 */
+	public void setMaxInMemorySize(int maxInMemorySize) {
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+	/**
+	 * Get the {@link #setMaxInMemorySize configured} maximum in-memory size.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Configure the maximum amount of memory allowed per headers section of
+	 * each part. When the limit is exceeded, parsing is aborted with a
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException DataBufferLimitException}.
+	 * <p>By default this is set to 8K.
+	 * @param byteCount the maximum amount of memory for headers
+	 */
+	public void setMaxHeadersSize(int byteCount) {
+		this.maxHeadersSize = byteCount;
+	}
+
+	/**
+	 * Configure the maximum amount of disk space allowed for a file part.
+	 * When the limit is exceeded, parsing is aborted with a
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException DataBufferLimitException}.
+	 * <p>By default this is set to 100M.
+	 * @param maxDiskUsagePerPart the disk limit in bytes, or -1 for unlimited
+	 */
+	public void setMaxDiskUsagePerPart(long maxDiskUsagePerPart) {
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Configure the maximum amount of disk space allowed for all file parts
+	 * of a given multipart request. When the limit is exceeded, parsing is
+	 * aborted with a
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException DataBufferLimitException}.
+	 * <p>By default this is set to 256M.
+	 * @param maxDiskUsagePerRequest the disk limit in bytes, or -1 for unlimited
+	 */
+	public void setMaxDiskUsagePerRequest(long maxDiskUsagePerRequest) {
+		this.maxDiskUsagePerRequest = maxDiskUsagePerRequest;
+	}
+
+	/**
+	 * Specify the maximum number of parts allowed in a given multipart request.
+	 * <p>By default this is set to 128.
+	 * @param maxParts the maximum number of parts, or -1 for unlimited
+	 */
+	public void setMaxParts(int maxParts) {
+		this.maxParts = maxParts;
+	}
+
+	/**
+	 * Set the directory used to store parts larger than
+	 * {@link #setMaxInMemorySize(int) maxInMemorySize}. The directory is
+	 * created if it does not exist yet.
+	 * <p>By default, a new temporary directory is created.
+	 * @param fileStorageDirectory the directory to store temporary files in
+	 * @throws IOException if an I/O error occurs, or the parent directory
+	 * does not exist
+	 */
+	public void setFileStorageDirectory(Path fileStorageDirectory) throws IOException {
+		Assert.notNull(fileStorageDirectory, "FileStorageDirectory must not be null");
+		if (!Files.exists(fileStorageDirectory)) {
+			Files.createDirectory(fileStorageDirectory);
+		}
+		this.fileStorageDirectory = Mono.just(fileStorageDirectory);
+	}
+
+	/**
+	 * Set the Reactor {@link Scheduler} to be used for creating files and
+	 * directories, and writing to files. By default,
+	 * {@link Schedulers#boundedElastic()} is used, but this property allows for
+	 * changing it to an externally managed scheduler.
+	 * <p>Note that the scheduler is also used for blocking operations of the
+	 * parts created by this reader, such as {@link FilePart#transferTo(Path)}
+	 * and {@link Part#delete()}.
+	 * @see Schedulers#newBoundedElastic
+	 */
+	public void setBlockingOperationScheduler(Scheduler blockingOperationScheduler) {
+		Assert.notNull(blockingOperationScheduler, "BlockingOperationScheduler must not be null");
+		this.blockingOperationScheduler = blockingOperationScheduler;
+	}
+
+	/**
+	 * Set the character set used to decode headers.
+	 * <p>By default this is set to UTF-8, as per RFC 7578.
+	 * @param headersCharset the charset to use for decoding headers
+	 */
+	public void setHeadersCharset(Charset headersCharset) {
+		Assert.notNull(headersCharset, "HeadersCharset must not be null");
+		this.headersCharset = headersCharset;
+	}
+
+
+	@Override
+	public List<MediaType> getReadableMediaTypes() {
+		return MultipartHttpMessageReader.MIME_TYPES;
+	}
+
+	@Override
+	public boolean canRead(ResolvableType elementType, @Nullable MediaType mediaType) {
+		if (Part.class.equals(elementType.toClass())) {
+			if (mediaType == null) {
+				return true;
+			}
+			for (MediaType supportedMediaType : getReadableMediaTypes()) {
+				if (supportedMediaType.isCompatibleWith(mediaType)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Flux<Part> read(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Flux.defer(() -> {
+			byte[] boundary = MultipartUtils.boundary(message.getHeaders(), this.headersCharset);
+			if (boundary == null) {
+				return Flux.error(new DecodingException("No multipart boundary found in Content-Type: \"" +
+						message.getHeaders().getContentType() + "\""));
+			}
+			Flux<MultipartParser.Token> tokens = MultipartParser.parse(message.getBody(), boundary,
+					this.maxHeadersSize, this.headersCharset);
+
+			return PartGenerator.createParts(tokens, this.maxInMemorySize, this.maxDiskUsagePerPart,
+					this.maxDiskUsagePerRequest, this.maxParts, this.fileStorageDirectory,
+					this.blockingOperationScheduler)
+					.doOnNext(part -> {
+						if (!Hints.isLoggingSuppressed(hints)) {
+							LogFormatUtils.traceDebug(logger, traceOn -> Hints.getLogPrefix(hints) + "Parsed " +
+									(isEnableLoggingRequestDetails() ?
+											LogFormatUtils.formatValue(part, !traceOn) :
+											"parts '" + part.name() + "' (content masked)"));
+						}
+					});
+		});
+	}
+
+	@Override
+	public Mono<Part> readMono(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Mono.error(new UnsupportedOperationException("Cannot read multipart request body into single Part"));
+	}
+
+
+	private Mono<Path> defaultFileStorageDirectory() {
+		return Mono.fromCallable(() -> {
+			Path tempDirectory = Files.createTempDirectory(IDENTIFIER);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Created temporary storage directory: " + tempDirectory);
+			}
+			return tempDirectory;
+		}).subscribeOn(this.blockingOperationScheduler);
+	}
+
+}
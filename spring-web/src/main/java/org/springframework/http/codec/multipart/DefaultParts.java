@@ -0,0 +1,287 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementations of {@link Part} and subtypes, as created by
+ * {@link DefaultPartHttpMessageReader}.
+ *
+ * @since 5.3
+ */
+abstract class DefaultParts {
+
+	// Static DataBufferFactory to wrap in-memory content or read from files.
+	private static final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+
+	/**
+	 * Create a new {@link FormFieldPart} with the given parameters.
+	 * @param headers the part headers
+	 * @param value the form field value
+	 * @return the created part
+	 */
+	public static FormFieldPart formFieldPart(HttpHeaders headers, String value) {
+		Assert.notNull(headers, "Headers must not be null");
+		Assert.notNull(value, "Value must not be null");
+		return new DefaultFormFieldPart(headers, value);
+	}
+
+	/**
+	 * Create a new {@link Part} or {@link FilePart} with content held in memory.
+	 * @param headers the part headers
+	 * @param content the part content
+	 * @return {@link FilePart} if the headers contain a filename,
+	 * or a plain {@link Part} otherwise
+	 */
+	public static Part part(HttpHeaders headers, byte[] content) {
+		Assert.notNull(content, "Content must not be null");
+		return part(headers, new BytesContent(content));
+	}
+
+	/**
+	 * Create a new {@link Part} or {@link FilePart} with content stored in the
+	 * given file. The file is deleted when {@link Part#delete()} is subscribed to.
+	 * @param headers the part headers
+	 * @param file the file that contains the part content
+	 * @param scheduler the scheduler to perform blocking file operations on
+	 * @return {@link FilePart} if the headers contain a filename,
+	 * or a plain {@link Part} otherwise
+	 */
+	public static Part part(HttpHeaders headers, Path file, Scheduler scheduler) {
+		Assert.notNull(file, "File must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		return part(headers, new FileContent(file, scheduler));
+	}
+
+	private static Part part(HttpHeaders headers, Content content) {
+		Assert.notNull(headers, "Headers must not be null");
+		String filename = MultipartUtils.filename(headers);
+		return (filename != null ?
+				new DefaultFilePart(headers, filename, content) : new DefaultPart(headers, content));
+	}
+
+
+	/**
+	 * Abstract base class for the parts in this class.
+	 */
+	private abstract static class AbstractPart implements Part {
+
+		private final HttpHeaders headers;
+
+		private final String name;
+
+		protected AbstractPart(HttpHeaders headers) {
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.name = MultipartUtils.name(headers);
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FormFieldPart}.
+	 */
+	private static class DefaultFormFieldPart extends AbstractPart implements FormFieldPart {
+
+		private final String value;
+
+		public DefaultFormFieldPart(HttpHeaders headers, String value) {
+			super(headers);
+			this.value = value;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> {
+				byte[] bytes = this.value.getBytes(MultipartUtils.charset(headers()));
+				return Flux.just(bufferFactory.wrap(bytes));
+			});
+		}
+
+		@Override
+		public String value() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "=" + this.value + "'";
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link Part}.
+	 */
+	private static class DefaultPart extends AbstractPart {
+
+		protected final Content content;
+
+		public DefaultPart(HttpHeaders headers, Content content) {
+			super(headers);
+			this.content = content;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return this.content.content();
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return this.content.delete();
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "', headers=" + headers();
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FilePart}.
+	 */
+	private static final class DefaultFilePart extends DefaultPart implements FilePart {
+
+		private final String filename;
+
+		public DefaultFilePart(HttpHeaders headers, String filename, Content content) {
+			super(headers, content);
+			this.filename = filename;
+		}
+
+		@Override
+		public String filename() {
+			return this.filename;
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return this.content.transferTo(dest);
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "', filename='" + this.filename + "'";
+		}
+	}
+
+
+	/**
+	 * Part content abstraction.
+	 */
+	private interface Content {
+
+		Flux<DataBuffer> content();
+
+		Mono<Void> transferTo(Path dest);
+
+		Mono<Void> delete();
+	}
+
+
+	/**
+	 * {@code Content} implementation based on a byte array.
+	 */
+	private static final class BytesContent implements Content {
+
+		private final byte[] bytes;
+
+		public BytesContent(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> Flux.just(bufferFactory.wrap(this.bytes)));
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return DataBufferUtils.write(content(), dest);
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return Mono.empty();
+		}
+	}
+
+
+	/**
+	 * {@code Content} implementation based on a file.
+	 */
+	private static final class FileContent implements Content {
+
+		private final Path file;
+
+		private final Scheduler scheduler;
+
+		public FileContent(Path file, Scheduler scheduler) {
+			this.file = file;
+			this.scheduler = scheduler;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return DataBufferUtils.read(this.file, bufferFactory, 4096, StandardOpenOption.READ);
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return Mono.<Void>fromCallable(() -> {
+				Files.copy(this.file, dest, StandardCopyOption.REPLACE_EXISTING);
+				return null;
+			}).subscribeOn(this.scheduler);
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return Mono.<Void>fromCallable(() -> {
+				Files.deleteIfExists(this.file);
+				return null;
+			}).subscribeOn(this.scheduler);
+		}
+	}
+
+}
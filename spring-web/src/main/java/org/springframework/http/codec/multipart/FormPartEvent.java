@@ -0,0 +1,34 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+/**
+ * Represents a form field in a "multipart/form-data" request, as produced by
+ * {@link PartEventHttpMessageReader}. A form field is always produced as a
+ * single event, for which {@link #isLast()} returns {@code true}.
+ *
+ * @since 5.3
+ * @see PartEventHttpMessageReader
+ */
+public interface FormPartEvent extends PartEvent {
+
+	/**
+	 * Return the form field value.
+	 */
+	String value();
+
+}
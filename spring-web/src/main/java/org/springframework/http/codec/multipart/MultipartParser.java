@@ -0,0 +1,470 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Non-blocking parser that turns a stream of {@link DataBuffer DataBuffers}
+ * with multipart content into a stream of {@link Token Tokens}: a
+ * {@link HeadersToken} at the start of each part, followed by one or more
+ * {@link BodyToken BodyTokens} with the content of that part.
+ *
+ * <p>Body tokens are relayed as they arrive, as retained slices of the input
+ * buffers, holding back only the trailing bytes that could belong to a
+ * boundary spanning buffers. Each part ends with a body token for which
+ * {@link BodyToken#isLast()} returns {@code true}, possibly with an empty
+ * buffer. Parsing is driven by demand for tokens, so that backpressure is
+ * propagated to the input.
+ *
+ * @since 5.3
+ */
+final class MultipartParser {
+
+	private static final byte CR = '\r';
+
+	private static final byte LF = '\n';
+
+	private static final byte HYPHEN = '-';
+
+	private static final byte[] DOUBLE_CR_LF = {CR, LF, CR, LF};
+
+
+	private final byte[] boundary;
+
+	private final int maxHeadersSize;
+
+	private final Charset headersCharset;
+
+	private State state;
+
+
+	private MultipartParser(byte[] boundary, int maxHeadersSize, Charset headersCharset) {
+		this.boundary = boundary;
+		this.maxHeadersSize = maxHeadersSize;
+		this.headersCharset = headersCharset;
+		this.state = new PreambleState();
+	}
+
+
+	/**
+	 * Parse the given stream of data buffers into a stream of tokens.
+	 * @param buffers the input buffers
+	 * @param boundary the multipart boundary, as found in the Content-Type header
+	 * @param maxHeadersSize the maximum size of the headers of a single part
+	 * @param headersCharset the charset to decode part headers with
+	 * @return the stream of tokens
+	 */
+	public static Flux<Token> parse(Flux<DataBuffer> buffers, byte[] boundary, int maxHeadersSize,
+			Charset headersCharset) {
+
+		return Flux.defer(() -> {
+			MultipartParser parser = new MultipartParser(boundary, maxHeadersSize, headersCharset);
+			return buffers
+					.concatMapIterable(parser::onNext)
+					.concatWith(Mono.defer(parser::onComplete))
+					.doFinally(signalType -> parser.dispose())
+					.doOnDiscard(BodyToken.class, token -> DataBufferUtils.release(token.buffer()));
+		});
+	}
+
+
+	private List<Token> onNext(DataBuffer buffer) {
+		List<Token> tokens = new ArrayList<>(2);
+		try {
+			this.state.onNext(buffer, tokens);
+		}
+		catch (RuntimeException ex) {
+			tokens.forEach(Token::release);
+			throw ex;
+		}
+		return tokens;
+	}
+
+	private Mono<Token> onComplete() {
+		if (this.state instanceof EpilogueState) {
+			return Mono.empty();
+		}
+		String message = (this.state instanceof PreambleState ?
+				"Could not find first boundary" : "Could not find end of multipart content");
+		return Mono.error(new DecodingException(message));
+	}
+
+	private void dispose() {
+		this.state.dispose();
+	}
+
+	private void changeState(State newState, DataBuffer remainder, List<Token> tokens) {
+		this.state = newState;
+		if (remainder.readableByteCount() > 0) {
+			newState.onNext(remainder, tokens);
+		}
+		else {
+			DataBufferUtils.release(remainder);
+		}
+	}
+
+	private static DataBuffer sliceFrom(DataBuffer buffer, int index) {
+		int length = buffer.writePosition() - index;
+		return buffer.retainedSlice(index, length);
+	}
+
+
+	/**
+	 * Represents the output of {@link #parse(Flux, byte[], int, Charset)}.
+	 */
+	abstract static class Token {
+
+		public abstract HttpHeaders headers();
+
+		public abstract DataBuffer buffer();
+
+		void release() {
+		}
+	}
+
+
+	/**
+	 * Token that contains the headers of a part.
+	 */
+	static final class HeadersToken extends Token {
+
+		private final HttpHeaders headers;
+
+		HeadersToken(HttpHeaders headers) {
+			this.headers = headers;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+
+		@Override
+		public DataBuffer buffer() {
+			throw new IllegalStateException();
+		}
+	}
+
+
+	/**
+	 * Token that contains (part of) the content of a part.
+	 */
+	static final class BodyToken extends Token {
+
+		private final DataBuffer buffer;
+
+		private final boolean last;
+
+		BodyToken(DataBuffer buffer, boolean last) {
+			this.buffer = buffer;
+			this.last = last;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public DataBuffer buffer() {
+			return this.buffer;
+		}
+
+		/**
+		 * Whether this is the last body token of the current part.
+		 */
+		public boolean isLast() {
+			return this.last;
+		}
+
+		@Override
+		void release() {
+			DataBufferUtils.release(this.buffer);
+		}
+	}
+
+
+	/**
+	 * Represents the internal state of the parser.
+	 */
+	private interface State {
+
+		void onNext(DataBuffer buffer, List<Token> tokens);
+
+		default void dispose() {
+		}
+	}
+
+
+	/**
+	 * The initial state of the parser. Looks for the first boundary, and
+	 * discards anything before it.
+	 */
+	private final class PreambleState implements State {
+
+		private final DataBufferUtils.Matcher firstBoundary;
+
+		PreambleState() {
+			byte[] delimiter = new byte[boundary.length + 2];
+			delimiter[0] = HYPHEN;
+			delimiter[1] = HYPHEN;
+			System.arraycopy(boundary, 0, delimiter, 2, boundary.length);
+			this.firstBoundary = DataBufferUtils.matcher(delimiter);
+		}
+
+		@Override
+		public void onNext(DataBuffer buffer, List<Token> tokens) {
+			int endIdx = this.firstBoundary.match(buffer);
+			if (endIdx == -1) {
+				DataBufferUtils.release(buffer);
+				return;
+			}
+			DataBuffer remainder = sliceFrom(buffer, endIdx + 1);
+			DataBufferUtils.release(buffer);
+			changeState(new HeadersState(), remainder, tokens);
+		}
+	}
+
+
+	/**
+	 * The state of the parser right after a boundary. Either finds the end of
+	 * the multipart content ({@code --}), or collects the part headers up to
+	 * and including the empty line that terminates them.
+	 */
+	private final class HeadersState implements State {
+
+		private final DataBufferUtils.Matcher endHeaders = DataBufferUtils.matcher(DOUBLE_CR_LF);
+
+		private final List<DataBuffer> buffers = new ArrayList<>(1);
+
+		private int byteCount;
+
+		private boolean endChecked;
+
+		@Override
+		public void onNext(DataBuffer buffer, List<Token> tokens) {
+			int endIdx = this.endHeaders.match(buffer);
+			this.buffers.add(buffer);
+			this.byteCount += (endIdx != -1 ?
+					endIdx - buffer.readPosition() + 1 : buffer.readableByteCount());
+
+			if (!this.endChecked && this.byteCount >= 2) {
+				this.endChecked = true;
+				if (byteAt(0) == HYPHEN && byteAt(1) == HYPHEN) {
+					dispose();
+					changeState(new EpilogueState(), buffer.factory().allocateBuffer(0), tokens);
+					return;
+				}
+			}
+			if (this.byteCount > maxHeadersSize) {
+				dispose();
+				throw new DataBufferLimitException("Part headers exceeded the memory usage limit of " +
+						maxHeadersSize + " bytes");
+			}
+			if (endIdx != -1) {
+				DataBuffer remainder = sliceFrom(buffer, endIdx + 1);
+				HttpHeaders headers = parseHeaders(endIdx);
+				dispose();
+				tokens.add(new HeadersToken(headers));
+				changeState(new BodyState(), remainder, tokens);
+			}
+		}
+
+		private byte byteAt(int index) {
+			for (DataBuffer buffer : this.buffers) {
+				int count = buffer.readableByteCount();
+				if (index < count) {
+					return buffer.getByte(buffer.readPosition() + index);
+				}
+				index -= count;
+			}
+			throw new IndexOutOfBoundsException();
+		}
+
+		private HttpHeaders parseHeaders(int endIdx) {
+			byte[] bytes = new byte[this.byteCount];
+			int offset = 0;
+			int lastIdx = this.buffers.size() - 1;
+			for (int i = 0; i < lastIdx; i++) {
+				DataBuffer buffer = this.buffers.get(i);
+				int count = buffer.readableByteCount();
+				buffer.read(bytes, offset, count);
+				offset += count;
+			}
+			DataBuffer last = this.buffers.get(lastIdx);
+			last.read(bytes, offset, endIdx - last.readPosition() + 1);
+
+			HttpHeaders headers = new HttpHeaders();
+			String content = new String(bytes, headersCharset);
+			for (String line : StringUtils.delimitedListToStringArray(content, "\r\n")) {
+				int idx = line.indexOf(':');
+				if (idx > 0) {
+					String name = line.substring(0, idx).trim();
+					String value = line.substring(idx + 1).trim();
+					headers.add(name, value);
+				}
+			}
+			return headers;
+		}
+
+		@Override
+		public void dispose() {
+			this.buffers.forEach(DataBufferUtils::release);
+			this.buffers.clear();
+		}
+	}
+
+
+	/**
+	 * The state of the parser while reading the content of a part. Relays
+	 * content as body tokens, until the next boundary is found.
+	 */
+	private final class BodyState implements State {
+
+		private final DataBufferUtils.Matcher delimiter;
+
+		private final int delimiterLength;
+
+		private final List<DataBuffer> held = new ArrayList<>(2);
+
+		private int heldByteCount;
+
+		BodyState() {
+			byte[] delimiter = new byte[boundary.length + 4];
+			delimiter[0] = CR;
+			delimiter[1] = LF;
+			delimiter[2] = HYPHEN;
+			delimiter[3] = HYPHEN;
+			System.arraycopy(boundary, 0, delimiter, 4, boundary.length);
+			this.delimiter = DataBufferUtils.matcher(delimiter);
+			this.delimiterLength = delimiter.length;
+		}
+
+		@Override
+		public void onNext(DataBuffer buffer, List<Token> tokens) {
+			int endIdx = this.delimiter.match(buffer);
+			if (endIdx == -1) {
+				this.held.add(buffer);
+				this.heldByteCount += buffer.readableByteCount();
+				// Relay all but the bytes that could be the start of a delimiter
+				int emitCount = this.heldByteCount - (this.delimiterLength - 1);
+				while (emitCount > 0) {
+					DataBuffer first = this.held.get(0);
+					int readable = first.readableByteCount();
+					if (readable <= emitCount) {
+						this.held.remove(0);
+						tokens.add(new BodyToken(first, false));
+						this.heldByteCount -= readable;
+						emitCount -= readable;
+					}
+					else {
+						int position = first.readPosition();
+						tokens.add(new BodyToken(first.retainedSlice(position, emitCount), false));
+						this.held.set(0, first.retainedSlice(position + emitCount, readable - emitCount));
+						DataBufferUtils.release(first);
+						this.heldByteCount -= emitCount;
+						emitCount = 0;
+					}
+				}
+				return;
+			}
+
+			int delimiterInBuffer = endIdx - buffer.readPosition() + 1;
+			if (delimiterInBuffer >= this.delimiterLength) {
+				int length = delimiterInBuffer - this.delimiterLength;
+				if (length > 0) {
+					this.held.add(buffer.retainedSlice(buffer.readPosition(), length));
+				}
+			}
+			else {
+				trimHeld(this.delimiterLength - delimiterInBuffer);
+			}
+
+			if (this.held.isEmpty()) {
+				tokens.add(new BodyToken(buffer.factory().allocateBuffer(0), true));
+			}
+			else {
+				int lastIdx = this.held.size() - 1;
+				for (int i = 0; i <= lastIdx; i++) {
+					tokens.add(new BodyToken(this.held.get(i), i == lastIdx));
+				}
+				this.held.clear();
+				this.heldByteCount = 0;
+			}
+
+			DataBuffer remainder = sliceFrom(buffer, endIdx + 1);
+			DataBufferUtils.release(buffer);
+			changeState(new HeadersState(), remainder, tokens);
+		}
+
+		/**
+		 * Remove the given number of bytes, which belong to the delimiter,
+		 * from the end of the held buffers.
+		 */
+		private void trimHeld(int count) {
+			while (count > 0) {
+				Assert.state(!this.held.isEmpty(), "Delimiter not found in held buffers");
+				int lastIdx = this.held.size() - 1;
+				DataBuffer last = this.held.get(lastIdx);
+				int readable = last.readableByteCount();
+				if (readable <= count) {
+					this.held.remove(lastIdx);
+					DataBufferUtils.release(last);
+					count -= readable;
+				}
+				else {
+					this.held.set(lastIdx, last.retainedSlice(last.readPosition(), readable - count));
+					DataBufferUtils.release(last);
+					count = 0;
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			this.held.forEach(DataBufferUtils::release);
+			this.held.clear();
+		}
+	}
+
+
+	/**
+	 * The state of the parser after the closing boundary. Discards the epilogue.
+	 */
+	private static final class EpilogueState implements State {
+
+		@Override
+		public void onNext(DataBuffer buffer, List<Token> tokens) {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Various static utility methods for dealing with multipart parsing.
+ *
+ * @since 5.3
+ */
+abstract class MultipartUtils {
+
+	/**
+	 * Return the character set of the given headers, as defined in the
+	 * {@link HttpHeaders#getContentType()} header, or UTF-8 by default.
+	 */
+	public static Charset charset(HttpHeaders headers) {
+		MediaType contentType = headers.getContentType();
+		if (contentType != null) {
+			Charset charset = contentType.getCharset();
+			if (charset != null) {
+				return charset;
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	/**
+	 * Return the boundary parameter of the given multipart content type, as
+	 * bytes in the given charset, or {@code null} if not available.
+	 */
+	@Nullable
+	public static byte[] boundary(HttpHeaders headers, Charset headersCharset) {
+		MediaType contentType = headers.getContentType();
+		if (contentType != null) {
+			String boundary = contentType.getParameter("boundary");
+			if (boundary != null) {
+				int length = boundary.length();
+				if (length > 2 && boundary.charAt(0) == '"' && boundary.charAt(length - 1) == '"') {
+					boundary = boundary.substring(1, length - 1);
+				}
+				return boundary.getBytes(headersCharset);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the part name from the {@code Content-Disposition} header of the
+	 * given part headers, or an empty String if not available.
+	 */
+	public static String name(HttpHeaders headers) {
+		String name = headers.getContentDisposition().getName();
+		return (name != null ? name : "");
+	}
+
+	/**
+	 * Return the filename from the {@code Content-Disposition} header of the
+	 * given part headers, or {@code null} if not available.
+	 */
+	@Nullable
+	public static String filename(HttpHeaders headers) {
+		return headers.getContentDisposition().getFilename();
+	}
+
+	/**
+	 * Whether the given part headers denote a form field, i.e. a part without
+	 * filename, and without content type or with a {@code text/plain} one.
+	 */
+	public static boolean isFormField(HttpHeaders headers) {
+		MediaType contentType = headers.getContentType();
+		return ((contentType == null || MediaType.TEXT_PLAIN.equalsTypeAndSubtype(contentType)) &&
+				filename(headers) == null);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Represents an event for a "multipart/form-data" request, as produced by
+ * {@link PartEventHttpMessageReader}. Unlike {@link Part}, which represents a
+ * part with all of its content, a part is streamed as a sequence of events:
+ * each event carries the part headers and a single chunk of content, and the
+ * last event of a part is flagged by {@link #isLast()}.
+ *
+ * <p>This allows for handling large uploads without buffering the content in
+ * memory or on disk; for instance, to relay it to another service. Each
+ * {@link #content() content} buffer must be released by the consumer.
+ *
+ * <p>Form fields are not split up, but are produced as a single
+ * {@link FormPartEvent}. Parts with a filename are produced as
+ * {@link FilePartEvent FilePartEvents}.
+ *
+ * @since 5.3
+ * @see FormPartEvent
+ * @see FilePartEvent
+ * @see PartEventHttpMessageReader
+ */
+public interface PartEvent {
+
+	/**
+	 * Return the name of the part in the multipart form.
+	 * @return the name of the part, never {@code null} or empty
+	 */
+	default String name() {
+		return MultipartUtils.name(headers());
+	}
+
+	/**
+	 * Return the headers of the part that this event belongs to.
+	 */
+	HttpHeaders headers();
+
+	/**
+	 * Return the content of this event. The returned buffer must be released
+	 * by the consumer.
+	 */
+	DataBuffer content();
+
+	/**
+	 * Indicates whether this is the last event of a particular part.
+	 */
+	boolean isLast();
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.multipart;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.LimitedDataBufferList;
+import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.LoggingCodecSupport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@code HttpMessageReader} for parsing {@code "multipart/form-data"} requests
+ * to a stream of {@link PartEvent} elements.
+ *
+ * <p>Content is relayed as it is parsed, one event per chunk of content,
+ * without storing parts in memory or on disk. Form fields are the exception:
+ * they are aggregated up to the {@link #setMaxInMemorySize(int) in-memory
+ * limit}, and produced as a single {@link FormPartEvent}. Parts with a
+ * filename are produced as {@link FilePartEvent FilePartEvents}.
+ *
+ * @since 5.3
+ * @see PartEvent
+ * @see DefaultPartHttpMessageReader
+ */
+public class PartEventHttpMessageReader extends LoggingCodecSupport implements HttpMessageReader<PartEvent> {
+
+	private int maxInMemorySize = 256 * 1024;
+
+	private int maxHeadersSize = 8 * 1024;
+
+	private Charset headersCharset = StandardCharsets.UTF_8;
+
+
+	/**
+	 * Configure the maximum amount of memory allowed per form field. When the
+	 * limit is exceeded, form fields are rejected with
+	 * {@link DataBufferLimitException}. Other parts are not affected.
+	 * <p>By default this is set to 256K.
+	 * @param maxInMemorySize the in-memory limit in bytes; if set to -1 this
+	 * limit is not enforced
+	 */
+	public void setMaxInMemorySize(int maxInMemorySize) {
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+	/**
+	 * Get the {@link #setMaxInMemorySize configured} maximum in-memory size.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Configure the maximum amount of memory allowed per headers section of
+	 * each part. When the limit is exceeded, parsing is aborted with a
+	 * {@link DataBufferLimitException}.
+	 * <p>By default this is set to 8K.
+	 * @param byteCount the maximum amount of memory for headers
+	 */
+	public void setMaxHeadersSize(int byteCount) {
+		this.maxHeadersSize = byteCount;
+	}
+
+	/**
+	 * Set the character set used to decode headers.
+	 * <p>By default this is set to UTF-8, as per RFC 7578.
+	 * @param headersCharset the charset to use for decoding headers
+	 */
+	public void setHeadersCharset(Charset headersCharset) {
+		Assert.notNull(headersCharset, "HeadersCharset must not be null");
+		this.headersCharset = headersCharset;
+	}
+
+
+	@Override
+	public List<MediaType> getReadableMediaTypes() {
+		return MultipartHttpMessageReader.MIME_TYPES;
+	}
+
+	@Override
+	public boolean canRead(ResolvableType elementType, @Nullable MediaType mediaType) {
+		if (PartEvent.class.equals(elementType.toClass())) {
+			if (mediaType == null) {
+				return true;
+			}
+			for (MediaType supportedMediaType : getReadableMediaTypes()) {
+				if (supportedMediaType.isCompatibleWith(mediaType)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Flux<PartEvent> read(ResolvableType elementType, ReactiveHttpInputMessage message,
+			Map<String, Object> hints) {
+
+		return Flux.defer(() -> {
+			byte[] boundary = MultipartUtils.boundary(message.getHeaders(), this.headersCharset);
+			if (boundary == null) {
+				return Flux.error(new DecodingException("No multipart boundary found in Content-Type: \"" +
+						message.getHeaders().getContentType() + "\""));
+			}
+			EventGenerator generator = new EventGenerator();
+			return MultipartParser.parse(message.getBody(), boundary, this.maxHeadersSize, this.headersCharset)
+					.<PartEvent>handle(generator::handleToken)
+					.doFinally(signalType -> generator.dispose())
+					.doOnDiscard(PartEvent.class, event -> DataBufferUtils.release(event.content()))
+					.doOnNext(event -> {
+						if (event.isLast() && !Hints.isLoggingSuppressed(hints)) {
+							LogFormatUtils.traceDebug(logger, traceOn -> Hints.getLogPrefix(hints) + "Parsed " +
+									(isEnableLoggingRequestDetails() ?
+											LogFormatUtils.formatValue(event, !traceOn) :
+											"parts '" + event.name() + "' (content masked)"));
+						}
+					});
+		});
+	}
+
+	@Override
+	public Mono<PartEvent> readMono(ResolvableType elementType, ReactiveHttpInputMessage message,
+			Map<String, Object> hints) {
+
+		return Mono.error(new UnsupportedOperationException(
+				"Cannot read multipart request body into single PartEvent"));
+	}
+
+
+	/**
+	 * Turns parser tokens into events, aggregating form fields.
+	 */
+	private class EventGenerator {
+
+		@Nullable
+		private HttpHeaders headers;
+
+		@Nullable
+		private LimitedDataBufferList formField;
+
+		public void handleToken(MultipartParser.Token token, SynchronousSink<PartEvent> sink) {
+			if (token instanceof MultipartParser.HeadersToken) {
+				HttpHeaders headers = token.headers();
+				this.headers = headers;
+				this.formField = (MultipartUtils.isFormField(headers) ?
+						new LimitedDataBufferList(maxInMemorySize) : null);
+				return;
+			}
+			MultipartParser.BodyToken bodyToken = (MultipartParser.BodyToken) token;
+			HttpHeaders headers = this.headers;
+			if (headers == null) {
+				DataBufferUtils.release(bodyToken.buffer());
+				sink.error(new IllegalStateException("Body token received before headers"));
+				return;
+			}
+			LimitedDataBufferList formField = this.formField;
+			if (formField == null) {
+				sink.next(DefaultPartEvents.create(headers, bodyToken.buffer(), bodyToken.isLast()));
+				return;
+			}
+			try {
+				formField.add(bodyToken.buffer());
+			}
+			catch (DataBufferLimitException ex) {
+				// The buffer was added before the limit was checked
+				dispose();
+				sink.error(ex);
+				return;
+			}
+			if (bodyToken.isLast()) {
+				this.formField = null;
+				byte[] bytes = new byte[formField.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+				int offset = 0;
+				for (DataBuffer buffer : formField) {
+					int count = buffer.readableByteCount();
+					buffer.read(bytes, offset, count);
+					offset += count;
+				}
+				formField.releaseAndClear();
+				String value = new String(bytes, MultipartUtils.charset(headers));
+				sink.next(DefaultPartEvents.form(headers, value));
+			}
+		}
+
+		public void dispose() {
+			LimitedDataBufferList formField = this.formField;
+			if (formField != null) {
+				this.formField = null;
+				formField.releaseAndClear();
+			}
+		}
+	}
+
+}
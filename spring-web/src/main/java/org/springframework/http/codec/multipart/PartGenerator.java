@@ -0,0 +1,306 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+/**
+ * Turns a stream of {@link MultipartParser.Token tokens} into a stream of
+ * {@link Part parts}. Part content is kept in memory up to a configurable
+ * size, after which file parts are streamed to a temporary file as the
+ * content arrives, while other parts are rejected. If the stream of parts
+ * terminates with an error, the temporary files of the parts that were
+ * already emitted are deleted, as the consumer will not receive them.
+ *
+ * @since 5.3
+ */
+final class PartGenerator {
+
+	private final int maxInMemorySize;
+
+	private final long maxDiskUsagePerPart;
+
+	private final long maxDiskUsagePerRequest;
+
+	private final int maxParts;
+
+	private final Mono<Path> fileStorageDirectory;
+
+	private final Scheduler blockingOperationScheduler;
+
+	private int partCount;
+
+	private long diskByteCount;
+
+	private final List<Path> files = new ArrayList<>();
+
+	@Nullable
+	private PartStorage storage;
+
+
+	private PartGenerator(int maxInMemorySize, long maxDiskUsagePerPart, long maxDiskUsagePerRequest,
+			int maxParts, Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+
+		this.maxInMemorySize = maxInMemorySize;
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+		this.maxDiskUsagePerRequest = maxDiskUsagePerRequest;
+		this.maxParts = maxParts;
+		this.fileStorageDirectory = fileStorageDirectory;
+		this.blockingOperationScheduler = blockingOperationScheduler;
+	}
+
+
+	/**
+	 * Create parts from the given stream of tokens.
+	 * @param tokens the tokens, as produced by {@link MultipartParser}
+	 * @param maxInMemorySize the maximum in-memory size per part, or -1 for unlimited
+	 * @param maxDiskUsagePerPart the maximum file size per part, or -1 for unlimited
+	 * @param maxDiskUsagePerRequest the maximum total file size of all parts,
+	 * or -1 for unlimited
+	 * @param maxParts the maximum number of parts, or -1 for unlimited
+	 * @param fileStorageDirectory the directory to create temporary files in
+	 * @param blockingOperationScheduler the scheduler to perform file operations on
+	 * @return the stream of parts
+	 */
+	public static Flux<Part> createParts(Flux<MultipartParser.Token> tokens, int maxInMemorySize,
+			long maxDiskUsagePerPart, long maxDiskUsagePerRequest, int maxParts,
+			Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+
+		return Flux.defer(() -> {
+			PartGenerator generator = new PartGenerator(maxInMemorySize, maxDiskUsagePerPart,
+					maxDiskUsagePerRequest, maxParts, fileStorageDirectory, blockingOperationScheduler);
+			return tokens
+					.concatMap(generator::handleToken)
+					.doOnError(ex -> generator.disposeAll())
+					.doOnCancel(generator::dispose);
+		});
+	}
+
+
+	private Mono<Part> handleToken(MultipartParser.Token token) {
+		if (token instanceof MultipartParser.HeadersToken) {
+			if (this.maxParts != -1 && ++this.partCount > this.maxParts) {
+				return Mono.error(new DecodingException("Too many parts (" + this.maxParts + " allowed)"));
+			}
+			this.storage = new PartStorage(token.headers());
+			return Mono.empty();
+		}
+		MultipartParser.BodyToken bodyToken = (MultipartParser.BodyToken) token;
+		PartStorage storage = this.storage;
+		if (storage == null) {
+			DataBufferUtils.release(bodyToken.buffer());
+			return Mono.error(new IllegalStateException("Body token received before headers"));
+		}
+		return storage.add(bodyToken.buffer(), bodyToken.isLast())
+				.doOnNext(part -> this.storage = null);
+	}
+
+	/**
+	 * Release the part currently being collected, if any.
+	 */
+	private void dispose() {
+		PartStorage storage = this.storage;
+		if (storage != null) {
+			this.storage = null;
+			storage.dispose();
+		}
+	}
+
+	/**
+	 * Release the part currently being collected, and delete the files of
+	 * the parts emitted so far.
+	 */
+	private void disposeAll() {
+		dispose();
+		List<Path> files = new ArrayList<>(this.files);
+		this.files.clear();
+		if (!files.isEmpty()) {
+			Mono.fromRunnable(() -> files.forEach(PartGenerator::deleteFile))
+					.subscribeOn(this.blockingOperationScheduler)
+					.subscribe();
+		}
+	}
+
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ignored) {
+		}
+	}
+
+
+	/**
+	 * Collects the content of a single part, in memory or in a file.
+	 */
+	private final class PartStorage {
+
+		private final HttpHeaders headers;
+
+		private final List<DataBuffer> memory = new ArrayList<>();
+
+		private int memoryByteCount;
+
+		@Nullable
+		private Path file;
+
+		@Nullable
+		private FileChannel channel;
+
+		private long fileByteCount;
+
+		PartStorage(HttpHeaders headers) {
+			this.headers = headers;
+		}
+
+		Mono<Part> add(DataBuffer buffer, boolean last) {
+			if (this.file == null && fitsInMemory(buffer.readableByteCount())) {
+				this.memory.add(buffer);
+				this.memoryByteCount += buffer.readableByteCount();
+				return (last ? Mono.just(createInMemoryPart()) : Mono.empty());
+			}
+			if (MultipartUtils.filename(this.headers) == null) {
+				DataBufferUtils.release(buffer);
+				return Mono.error(new DataBufferLimitException(
+						"Part exceeded the in-memory limit of " + maxInMemorySize + " bytes"));
+			}
+			Mono<Void> target = (this.file != null ? Mono.empty() : createFile());
+			return target.doOnError(ex -> DataBufferUtils.release(buffer))
+					.then(Mono.fromCallable(() -> writeToFile(buffer, last))
+					.subscribeOn(blockingOperationScheduler));
+		}
+
+		private boolean fitsInMemory(int byteCount) {
+			return (maxInMemorySize == -1 || this.memoryByteCount + byteCount <= maxInMemorySize);
+		}
+
+		private Part createInMemoryPart() {
+			byte[] bytes = new byte[this.memoryByteCount];
+			int offset = 0;
+			for (DataBuffer buffer : this.memory) {
+				int count = buffer.readableByteCount();
+				buffer.read(bytes, offset, count);
+				offset += count;
+				DataBufferUtils.release(buffer);
+			}
+			this.memory.clear();
+			if (MultipartUtils.isFormField(this.headers)) {
+				String value = new String(bytes, MultipartUtils.charset(this.headers));
+				return DefaultParts.formFieldPart(this.headers, value);
+			}
+			return DefaultParts.part(this.headers, bytes);
+		}
+
+		private Mono<Void> createFile() {
+			return fileStorageDirectory
+					.flatMap(directory -> Mono.<Void>fromCallable(() -> {
+						Path file = Files.createTempFile(directory, null, ".multipart");
+						this.file = file;
+						this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+						while (!this.memory.isEmpty()) {
+							write(this.memory.remove(0));
+						}
+						return null;
+					}).subscribeOn(blockingOperationScheduler));
+		}
+
+		@Nullable
+		private Part writeToFile(DataBuffer buffer, boolean last) throws IOException {
+			write(buffer);
+			if (maxDiskUsagePerPart != -1 && this.fileByteCount > maxDiskUsagePerPart) {
+				throw new DataBufferLimitException(
+						"Part exceeded the disk usage limit of " + maxDiskUsagePerPart + " bytes");
+			}
+			if (maxDiskUsagePerRequest != -1 && diskByteCount > maxDiskUsagePerRequest) {
+				throw new DataBufferLimitException(
+						"Parts exceeded the disk usage limit of " + maxDiskUsagePerRequest + " bytes");
+			}
+			if (!last) {
+				return null;
+			}
+			FileChannel channel = this.channel;
+			Path file = this.file;
+			this.channel = null;
+			if (channel != null) {
+				channel.close();
+			}
+			if (file == null) {
+				return null;
+			}
+			files.add(file);
+			return DefaultParts.part(this.headers, file, blockingOperationScheduler);
+		}
+
+		private void write(DataBuffer buffer) throws IOException {
+			try {
+				FileChannel channel = this.channel;
+				if (channel == null) {
+					throw new IllegalStateException("No file channel opened");
+				}
+				ByteBuffer byteBuffer = buffer.asByteBuffer();
+				while (byteBuffer.hasRemaining()) {
+					int count = channel.write(byteBuffer);
+					this.fileByteCount += count;
+					diskByteCount += count;
+				}
+			}
+			finally {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		void dispose() {
+			this.memory.forEach(DataBufferUtils::release);
+			this.memory.clear();
+			FileChannel channel = this.channel;
+			Path file = this.file;
+			this.channel = null;
+			this.file = null;
+			if (file != null) {
+				Mono.fromRunnable(() -> {
+					try {
+						if (channel != null) {
+							channel.close();
+						}
+					}
+					catch (IOException ignored) {
+					}
+					deleteFile(file);
+				}).subscribeOn(blockingOperationScheduler).subscribe();
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,8 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.LimitedDataBufferList;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentReferenceHashMap;
@@ -141,8 +143,11 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 	public Mono<Message> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		return DataBufferUtils.join(inputStream, this.maxMessageSize)
-				.map(dataBuffer -> decode(dataBuffer, elementType, mimeType, hints));
+		return Flux.from(inputStream)
+				.collect(() -> new LimitedDataBufferList(this.maxMessageSize), LimitedDataBufferList::add)
+				.filter(list -> !list.isEmpty())
+				.map(list -> decode(list, elementType))
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 	}
 
 	@Override
@@ -167,6 +172,42 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 	}
 
 
+	/**
+	 * Decode a message from the given buffers, read in place through
+	 * {@link ByteBuffer} views rather than joined into a single buffer first.
+	 */
+	private Message decode(List<DataBuffer> dataBuffers, ResolvableType targetType) throws DecodingException {
+		try {
+			Message.Builder builder = getMessageBuilder(targetType.toClass());
+			builder.mergeFrom(codedInputStream(dataBuffers), this.extensionRegistry);
+			return builder.build();
+		}
+		catch (IOException ex) {
+			throw new DecodingException("I/O error while parsing input stream", ex);
+		}
+		catch (Exception ex) {
+			throw new DecodingException("Could not read Protobuf message: " + ex.getMessage(), ex);
+		}
+		finally {
+			dataBuffers.forEach(DataBufferUtils::release);
+			dataBuffers.clear();
+		}
+	}
+
+	private static CodedInputStream codedInputStream(List<DataBuffer> dataBuffers) {
+		if (dataBuffers.isEmpty()) {
+			return CodedInputStream.newInstance(new byte[0]);
+		}
+		if (dataBuffers.size() == 1) {
+			return CodedInputStream.newInstance(dataBuffers.get(0).asByteBuffer());
+		}
+		List<ByteBuffer> byteBuffers = new ArrayList<>(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			byteBuffers.add(dataBuffer.asByteBuffer());
+		}
+		return CodedInputStream.newInstance(byteBuffers);
+	}
+
 	/**
 	 * Create a new {@code Message.Builder} instance for the given class.
 	 * <p>This method uses a ConcurrentHashMap for caching method lookups.
@@ -192,8 +233,9 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 
 		private final int maxMessageSize;
 
-		@Nullable
-		private DataBuffer output;
+		private final List<DataBuffer> chunks = new ArrayList<>(1);
+
+		private boolean readingMessage;
 
 		private int messageBytesToRead;
 
@@ -210,11 +252,8 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 		public Iterable<? extends Message> apply(DataBuffer input) {
 			try {
 				List<Message> messages = new ArrayList<>();
-				int remainingBytesToRead;
-				int chunkBytesToRead;
-
 				do {
-					if (this.output == null) {
+					if (!this.readingMessage) {
 						if (!readMessageSize(input)) {
 							return messages;
 						}
@@ -224,35 +263,28 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 											"(" + this.messageBytesToRead + ") exceeds " +
 											"the configured limit (" + this.maxMessageSize + ")");
 						}
-						this.output = input.factory().allocateBuffer(this.messageBytesToRead);
+						this.readingMessage = true;
 					}
 
-					chunkBytesToRead = Math.min(this.messageBytesToRead, input.readableByteCount());
-					remainingBytesToRead = input.readableByteCount() - chunkBytesToRead;
-
-					byte[] bytesToWrite = new byte[chunkBytesToRead];
-					input.read(bytesToWrite, 0, chunkBytesToRead);
-					this.output.write(bytesToWrite);
-					this.messageBytesToRead -= chunkBytesToRead;
+					// Retain a slice of the input rather than copying the message bytes
+					int chunkBytesToRead = Math.min(this.messageBytesToRead, input.readableByteCount());
+					if (chunkBytesToRead > 0) {
+						int readPosition = input.readPosition();
+						this.chunks.add(input.retainedSlice(readPosition, chunkBytesToRead));
+						input.readPosition(readPosition + chunkBytesToRead);
+						this.messageBytesToRead -= chunkBytesToRead;
+					}
 
 					if (this.messageBytesToRead == 0) {
-						CodedInputStream stream = CodedInputStream.newInstance(this.output.asByteBuffer());
-						DataBufferUtils.release(this.output);
-						this.output = null;
-						Message message = getMessageBuilder(this.elementType.toClass())
-								.mergeFrom(stream, extensionRegistry)
-								.build();
-						messages.add(message);
+						this.readingMessage = false;
+						messages.add(decode(this.chunks, this.elementType));
 					}
-				} while (remainingBytesToRead > 0);
+				} while (input.readableByteCount() > 0);
 				return messages;
 			}
 			catch (DecodingException ex) {
 				throw ex;
 			}
-			catch (IOException ex) {
-				throw new DecodingException("I/O error while parsing input stream", ex);
-			}
 			catch (Exception ex) {
 				throw new DecodingException("Could not read Protobuf message: " + ex.getMessage(), ex);
 			}
@@ -313,9 +345,8 @@ public class ProtobufDecoder extends ProtobufCodecSupport implements Decoder<Mes
 		}
 
 		public void discard() {
-			if (this.output != null) {
-				DataBufferUtils.release(this.output);
-			}
+			this.chunks.forEach(DataBufferUtils::release);
+			this.chunks.clear();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -85,16 +86,21 @@ public class ProtobufEncoder extends ProtobufCodecSupport implements HttpMessage
 	}
 
 	private DataBuffer encodeValue(Message message, DataBufferFactory bufferFactory, boolean delimited) {
-
-		DataBuffer buffer = bufferFactory.allocateBuffer();
+		int messageSize = message.getSerializedSize();
+		int size = (delimited ? CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize : messageSize);
+		DataBuffer buffer = bufferFactory.allocateBuffer(size);
 		boolean release = true;
 		try {
+			// Serialize straight into the buffer's memory, sized up front
+			int position = buffer.writePosition();
+			CodedOutputStream output = CodedOutputStream.newInstance(buffer.asByteBuffer(position, size));
 			if (delimited) {
-				message.writeDelimitedTo(buffer.asOutputStream());
-			}
-			else {
-				message.writeTo(buffer.asOutputStream());
+				output.writeUInt32NoTag(messageSize);
 			}
+			message.writeTo(output);
+			output.flush();
+			output.checkNoSpaceLeft();
+			buffer.writePosition(position + size);
 			release = false;
 			return buffer;
 		}
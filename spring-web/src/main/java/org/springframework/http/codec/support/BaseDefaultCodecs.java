@@ -50,8 +50,10 @@ import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.http.codec.json.Jackson2SmileDecoder;
 import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
 import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
 import org.springframework.http.codec.multipart.MultipartHttpMessageWriter;
+import org.springframework.http.codec.multipart.PartEventHttpMessageReader;
 import org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader;
 import org.springframework.http.codec.protobuf.ProtobufDecoder;
 import org.springframework.http.codec.protobuf.ProtobufEncoder;
@@ -296,6 +298,12 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs, CodecConfigure
 				((ServerSentEventHttpMessageReader) codec).setMaxInMemorySize(size);
 				initCodec(((ServerSentEventHttpMessageReader) codec).getDecoder());
 			}
+			if (codec instanceof DefaultPartHttpMessageReader) {
+				((DefaultPartHttpMessageReader) codec).setMaxInMemorySize(size);
+			}
+			if (codec instanceof PartEventHttpMessageReader) {
+				((PartEventHttpMessageReader) codec).setMaxInMemorySize(size);
+			}
 			if (synchronossMultipartPresent) {
 				if (codec instanceof SynchronossPartHttpMessageReader) {
 					((SynchronossPartHttpMessageReader) codec).setMaxInMemorySize(size);
@@ -311,6 +319,12 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs, CodecConfigure
 			if (codec instanceof MultipartHttpMessageReader) {
 				((MultipartHttpMessageReader) codec).setEnableLoggingRequestDetails(enable);
 			}
+			if (codec instanceof DefaultPartHttpMessageReader) {
+				((DefaultPartHttpMessageReader) codec).setEnableLoggingRequestDetails(enable);
+			}
+			if (codec instanceof PartEventHttpMessageReader) {
+				((PartEventHttpMessageReader) codec).setEnableLoggingRequestDetails(enable);
+			}
 			if (synchronossMultipartPresent) {
 				if (codec instanceof SynchronossPartHttpMessageReader) {
 					((SynchronossPartHttpMessageReader) codec).setEnableLoggingRequestDetails(enable);
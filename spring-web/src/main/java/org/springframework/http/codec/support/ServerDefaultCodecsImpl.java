@@ -22,9 +22,10 @@ import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
 import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
+import org.springframework.http.codec.multipart.PartEventHttpMessageReader;
 import org.springframework.http.codec.multipart.PartHttpMessageWriter;
-import org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader;
 import org.springframework.lang.Nullable;
 
 /**
@@ -68,11 +69,10 @@ class ServerDefaultCodecsImpl extends BaseDefaultCodecs implements ServerCodecCo
 			addCodec(typedReaders, this.multipartReader);
 			return;
 		}
-		if (synchronossMultipartPresent) {
-			SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
-			addCodec(typedReaders, partReader);
-			addCodec(typedReaders, new MultipartHttpMessageReader(partReader));
-		}
+		DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+		addCodec(typedReaders, partReader);
+		addCodec(typedReaders, new PartEventHttpMessageReader());
+		addCodec(typedReaders, new MultipartHttpMessageReader(partReader));
 	}
 
 	@Override
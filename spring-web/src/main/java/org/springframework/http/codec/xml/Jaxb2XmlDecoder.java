@@ -108,11 +108,14 @@ public class Jaxb2XmlDecoder extends AbstractDecoder<Object> {
 
 	/**
 	 * Configure a processor function to customize Unmarshaller instances.
+	 * <p>Unmarshaller instances are pooled and reused, so the processor is
+	 * applied once when an instance is created, rather than for every value.
 	 * @param processor the function to use
 	 * @since 5.1.3
 	 */
 	public void setUnmarshallerProcessor(Function<Unmarshaller, Unmarshaller> processor) {
 		this.unmarshallerProcessor = this.unmarshallerProcessor.andThen(processor);
+		this.jaxbContexts.clearPools();
 	}
 
 	/**
@@ -208,15 +211,22 @@ public class Jaxb2XmlDecoder extends AbstractDecoder<Object> {
 
 	private Object unmarshal(List<XMLEvent> events, Class<?> outputClass) {
 		try {
-			Unmarshaller unmarshaller = initUnmarshaller(outputClass);
+			Unmarshaller unmarshaller = this.jaxbContexts.pollUnmarshaller(outputClass);
+			if (unmarshaller == null) {
+				unmarshaller = initUnmarshaller(outputClass);
+			}
 			XMLEventReader eventReader = StaxUtils.createXMLEventReader(events);
+			Object value;
 			if (outputClass.isAnnotationPresent(XmlRootElement.class)) {
-				return unmarshaller.unmarshal(eventReader);
+				value = unmarshaller.unmarshal(eventReader);
 			}
 			else {
 				JAXBElement<?> jaxbElement = unmarshaller.unmarshal(eventReader, outputClass);
-				return jaxbElement.getValue();
+				value = jaxbElement.getValue();
 			}
+			// Only reuse after successful use: a failed unmarshaller may be in an inconsistent state
+			this.jaxbContexts.releaseUnmarshaller(outputClass, unmarshaller);
+			return value;
 		}
 		catch (UnmarshalException ex) {
 			throw new DecodingException("Could not unmarshal XML to " + outputClass, ex);
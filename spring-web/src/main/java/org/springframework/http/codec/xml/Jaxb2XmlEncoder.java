@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,11 +70,14 @@ public class Jaxb2XmlEncoder extends AbstractSingleValueEncoder<Object> {
 
 	/**
 	 * Configure a processor function to customize Marshaller instances.
+	 * <p>Marshaller instances are pooled and reused, so the processor is
+	 * applied once when an instance is created, rather than for every value.
 	 * @param processor the function to use
 	 * @since 5.1.3
 	 */
 	public void setMarshallerProcessor(Function<Marshaller, Marshaller> processor) {
 		this.marshallerProcessor = this.marshallerProcessor.andThen(processor);
+		this.jaxbContexts.clearPools();
 	}
 
 	/**
@@ -122,8 +125,13 @@ public class Jaxb2XmlEncoder extends AbstractSingleValueEncoder<Object> {
 		try {
 			OutputStream outputStream = buffer.asOutputStream();
 			Class<?> clazz = ClassUtils.getUserClass(value);
-			Marshaller marshaller = initMarshaller(clazz);
+			Marshaller marshaller = this.jaxbContexts.pollMarshaller(clazz);
+			if (marshaller == null) {
+				marshaller = initMarshaller(clazz);
+			}
 			marshaller.marshal(value, outputStream);
+			// Only reuse after successful use: a failed marshaller may be in an inconsistent state
+			this.jaxbContexts.releaseMarshaller(clazz, marshaller);
 			release = false;
 			return buffer;
 		}
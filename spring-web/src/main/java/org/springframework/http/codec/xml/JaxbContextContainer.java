@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.http.codec.xml;
 
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -25,9 +27,11 @@ import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 
 import org.springframework.core.codec.CodecException;
+import org.springframework.lang.Nullable;
 
 /**
- * Holder for {@link JAXBContext} instances.
+ * Holder for {@link JAXBContext} instances, along with bounded per-class pools
+ * of idle {@link Marshaller} and {@link Unmarshaller} instances created from them.
  *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
@@ -35,8 +39,16 @@ import org.springframework.core.codec.CodecException;
  */
 final class JaxbContextContainer {
 
+	/** The maximum number of idle marshallers and unmarshallers kept per class. */
+	private static final int POOL_SIZE = 16;
+
+
 	private final ConcurrentMap<Class<?>, JAXBContext> jaxbContexts = new ConcurrentHashMap<>(64);
 
+	private final ConcurrentMap<Class<?>, Queue<Marshaller>> marshallers = new ConcurrentHashMap<>(64);
+
+	private final ConcurrentMap<Class<?>, Queue<Unmarshaller>> unmarshallers = new ConcurrentHashMap<>(64);
+
 
 	public Marshaller createMarshaller(Class<?> clazz) throws CodecException, JAXBException {
 		JAXBContext jaxbContext = getJaxbContext(clazz);
@@ -48,6 +60,53 @@ final class JaxbContextContainer {
 		return jaxbContext.createUnmarshaller();
 	}
 
+	/**
+	 * Return an idle marshaller for the given class from the pool, if any.
+	 * The caller has exclusive use of it until it is
+	 * {@linkplain #releaseMarshaller returned}.
+	 */
+	@Nullable
+	public Marshaller pollMarshaller(Class<?> clazz) {
+		Queue<Marshaller> pool = this.marshallers.get(clazz);
+		return (pool != null ? pool.poll() : null);
+	}
+
+	/**
+	 * Return a marshaller to the pool after successful use. The marshaller is
+	 * discarded if the pool for the given class is full.
+	 */
+	public void releaseMarshaller(Class<?> clazz, Marshaller marshaller) {
+		this.marshallers.computeIfAbsent(clazz, key -> new ArrayBlockingQueue<>(POOL_SIZE)).offer(marshaller);
+	}
+
+	/**
+	 * Return an idle unmarshaller for the given class from the pool, if any.
+	 * The caller has exclusive use of it until it is
+	 * {@linkplain #releaseUnmarshaller returned}.
+	 */
+	@Nullable
+	public Unmarshaller pollUnmarshaller(Class<?> clazz) {
+		Queue<Unmarshaller> pool = this.unmarshallers.get(clazz);
+		return (pool != null ? pool.poll() : null);
+	}
+
+	/**
+	 * Return an unmarshaller to the pool after successful use. The unmarshaller
+	 * is discarded if the pool for the given class is full.
+	 */
+	public void releaseUnmarshaller(Class<?> clazz, Unmarshaller unmarshaller) {
+		this.unmarshallers.computeIfAbsent(clazz, key -> new ArrayBlockingQueue<>(POOL_SIZE)).offer(unmarshaller);
+	}
+
+	/**
+	 * Discard all pooled marshallers and unmarshallers, e.g. after a change
+	 * in the way they are configured.
+	 */
+	public void clearPools() {
+		this.marshallers.clear();
+		this.unmarshallers.clear();
+	}
+
 	private JAXBContext getJaxbContext(Class<?> clazz) throws CodecException {
 		return this.jaxbContexts.computeIfAbsent(clazz, key -> {
 			try {
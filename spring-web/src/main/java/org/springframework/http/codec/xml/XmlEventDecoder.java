@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.http.codec.xml;
 
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +44,8 @@ import org.springframework.core.codec.AbstractDecoder;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.LimitedDataBufferList;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -133,10 +137,16 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 					.doFinally(signalType -> mapper.endOfInput());
 		}
 		else {
-			return DataBufferUtils.join(input, this.maxInMemorySize)
-					.flatMapIterable(buffer -> {
+			// Read the buffers in sequence, rather than joining them into one
+			return Flux.from(input)
+					.collect(() -> new LimitedDataBufferList(this.maxInMemorySize), LimitedDataBufferList::add)
+					.filter(buffers -> !buffers.isEmpty())
+					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release)
+					.flatMapIterable(buffers -> {
 						try {
-							InputStream is = buffer.asInputStream();
+							List<InputStream> streams = new ArrayList<>(buffers.size());
+							buffers.forEach(buffer -> streams.add(buffer.asInputStream()));
+							InputStream is = new SequenceInputStream(Collections.enumeration(streams));
 							Iterator eventReader = inputFactory.createXMLEventReader(is);
 							List<XMLEvent> result = new ArrayList<>();
 							eventReader.forEachRemaining(event -> result.add((XMLEvent) event));
@@ -146,7 +156,7 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 							throw Exceptions.propagate(ex);
 						}
 						finally {
-							DataBufferUtils.release(buffer);
+							buffers.releaseAndClear();
 						}
 					});
 		}
@@ -16,12 +16,20 @@
 
 package org.springframework.http.converter.json;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -31,7 +39,9 @@ import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -58,6 +68,10 @@ import org.springframework.util.TypeUtils;
  *
  * <p>Compatible with Jackson 2.9 and higher, as of Spring 5.0.
  *
+ * <p>As of 5.3, a target type of {@link java.util.stream.Stream Stream&lt;T&gt;}
+ * or {@link Iterator Iterator&lt;T&gt;} is read lazily, deserializing the
+ * elements of a top-level JSON array one at a time as they are consumed.
+ *
  * @author Arjen Poutsma
  * @author Keith Donald
  * @author Rossen Stoyanchev
@@ -84,6 +98,9 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	@Nullable
 	private PrettyPrinter ssePrettyPrinter;
 
+	@Nullable
+	private EncodedValueCache encodedValueCache;
+
 
 	protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
@@ -145,6 +162,22 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		if (this.prettyPrint != null) {
 			this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
 		}
+		if (this.encodedValueCache != null) {
+			this.encodedValueCache.clear();
+		}
+	}
+
+	/**
+	 * Configure a cache for the serialized form of immutable values that are
+	 * written over and over again, such as reference data. Cached bytes are
+	 * copied straight to the response body, without serialization.
+	 * <p>By default this is not set. Values wrapped in a
+	 * {@link MappingJacksonValue} with filters are never cached.
+	 * @param encodedValueCache the cache to use, dedicated to this converter
+	 * @since 5.3
+	 */
+	public void setEncodedValueCache(@Nullable EncodedValueCache encodedValueCache) {
+		this.encodedValueCache = encodedValueCache;
 	}
 
 
@@ -159,6 +192,9 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 			return false;
 		}
 		JavaType javaType = getJavaType(type, contextClass);
+		if (isStreamingType(javaType)) {
+			javaType = javaType.containedTypeOrUnknown(0);
+		}
 		AtomicReference<Throwable> causeRef = new AtomicReference<>();
 		if (this.objectMapper.canDeserialize(javaType, causeRef)) {
 			return true;
@@ -229,12 +265,16 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 	private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
 		try {
+			Class<?> deserializationView = null;
 			if (inputMessage instanceof MappingJacksonInputMessage) {
-				Class<?> deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
-				if (deserializationView != null) {
-					return this.objectMapper.readerWithView(deserializationView).forType(javaType).
-							readValue(inputMessage.getBody());
-				}
+				deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
+			}
+			if (isStreamingType(javaType)) {
+				return readStreamingJavaType(javaType, deserializationView, inputMessage);
+			}
+			if (deserializationView != null) {
+				return this.objectMapper.readerWithView(deserializationView).forType(javaType).
+						readValue(inputMessage.getBody());
 			}
 			return this.objectMapper.readValue(inputMessage.getBody(), javaType);
 		}
@@ -246,27 +286,87 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	/**
+	 * Read a top-level JSON array, or a sequence of root-level values, lazily
+	 * as an {@link Iterator} or {@link Stream} of elements. Elements are
+	 * deserialized one at a time as they are consumed, so that memory use is
+	 * bounded by the size of an element rather than the size of the payload.
+	 * <p>Note that errors in the content of later elements surface while
+	 * iterating, as unchecked {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException}.
+	 */
+	private Object readStreamingJavaType(JavaType javaType, @Nullable Class<?> deserializationView,
+			HttpInputMessage inputMessage) throws IOException {
+
+		ObjectReader reader = (deserializationView != null ?
+				this.objectMapper.readerWithView(deserializationView) : this.objectMapper.reader());
+		MappingIterator<Object> iterator =
+				reader.forType(javaType.containedTypeOrUnknown(0)).readValues(inputMessage.getBody());
+		if (javaType.getRawClass() == Iterator.class) {
+			return iterator;
+		}
+		Spliterator<Object> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				iterator.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
+	/**
+	 * Whether the given type is read lazily, element by element.
+	 * @see #readStreamingJavaType
+	 */
+	private static boolean isStreamingType(JavaType javaType) {
+		Class<?> rawClass = javaType.getRawClass();
+		return (rawClass == Stream.class || rawClass == Iterator.class);
+	}
+
 	@Override
 	protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
 
 		MediaType contentType = outputMessage.getHeaders().getContentType();
+
+		Object value = object;
+		Class<?> serializationView = null;
+		FilterProvider filters = null;
+
+		if (object instanceof MappingJacksonValue) {
+			MappingJacksonValue container = (MappingJacksonValue) object;
+			value = container.getValue();
+			serializationView = container.getSerializationView();
+			filters = container.getFilters();
+		}
+
+		EncodedValueCache cache = this.encodedValueCache;
+		if (cache != null && filters == null && cache.isCacheable(value)) {
+			byte[] bytes = cache.get(value, contentType, type, serializationView);
+			if (bytes == null) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+				writeObject(object, value, type, contentType, serializationView, null, out);
+				bytes = out.toByteArray();
+				cache.put(value, bytes, contentType, type, serializationView);
+			}
+			outputMessage.getBody().write(bytes);
+			return;
+		}
+
+		writeObject(object, value, type, contentType, serializationView, filters, outputMessage.getBody());
+	}
+
+	private void writeObject(Object object, Object value, @Nullable Type type, @Nullable MediaType contentType,
+			@Nullable Class<?> serializationView, @Nullable FilterProvider filters, OutputStream body)
+			throws IOException {
+
 		JsonEncoding encoding = getJsonEncoding(contentType);
-		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputMessage.getBody(), encoding);
+		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(body, encoding);
 		try {
 			writePrefix(generator, object);
 
-			Object value = object;
-			Class<?> serializationView = null;
-			FilterProvider filters = null;
 			JavaType javaType = null;
-
-			if (object instanceof MappingJacksonValue) {
-				MappingJacksonValue container = (MappingJacksonValue) object;
-				value = container.getValue();
-				serializationView = container.getSerializationView();
-				filters = container.getFilters();
-			}
 			if (type != null && TypeUtils.isAssignable(type, value.getClass())) {
 				javaType = getJavaType(type, null);
 			}
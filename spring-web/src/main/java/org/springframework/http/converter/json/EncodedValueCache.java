@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter.json;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Cache for the serialized form of immutable values, for use with
+ * {@link AbstractJackson2HttpMessageConverter} and
+ * {@link org.springframework.http.codec.json.AbstractJackson2Encoder}, in
+ * order to avoid serializing the same value over and over again.
+ *
+ * <p>Entries are keyed by the <em>identity</em> of the value, rather than by
+ * {@code equals}, along with a variant that captures everything else that
+ * affects the output, such as the media type, the declared type and the
+ * serialization view. A new version of a value is therefore expected to be
+ * a new instance, and only values of the {@link #EncodedValueCache(int, Predicate)
+ * configured types} are cached: these must be immutable, at least as far as
+ * their serialized form is concerned.
+ *
+ * <p>The cache is bounded by the total number of bytes held. When full, the
+ * oldest entries are evicted first. A cache instance is meant to be used by
+ * a single encoder or converter, since the configuration of its
+ * {@code ObjectMapper} is not part of the key.
+ *
+ * @since 5.3
+ * @see AbstractJackson2HttpMessageConverter#setEncodedValueCache
+ * @see org.springframework.http.codec.json.AbstractJackson2Encoder#setEncodedValueCache
+ */
+public class EncodedValueCache {
+
+	private final int maxByteCount;
+
+	private final Predicate<Class<?>> cacheableTypes;
+
+	private final ConcurrentHashMap<Key, byte[]> cache = new ConcurrentHashMap<>();
+
+	private final ConcurrentLinkedQueue<Key> queue = new ConcurrentLinkedQueue<>();
+
+	private int byteCount;
+
+
+	/**
+	 * Create a new cache for values of the given types, or their subtypes.
+	 * @param maxByteCount the maximum number of bytes to hold
+	 * @param cacheableTypes the types of immutable values to cache
+	 */
+	public EncodedValueCache(int maxByteCount, Class<?>... cacheableTypes) {
+		this(maxByteCount, type -> {
+			for (Class<?> cacheableType : cacheableTypes) {
+				if (cacheableType.isAssignableFrom(type)) {
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Create a new cache for values whose type matches the given predicate.
+	 * @param maxByteCount the maximum number of bytes to hold
+	 * @param cacheableTypes the predicate that selects the types of immutable
+	 * values to cache
+	 */
+	public EncodedValueCache(int maxByteCount, Predicate<Class<?>> cacheableTypes) {
+		Assert.isTrue(maxByteCount > 0, "Max byte count must be positive");
+		Assert.notNull(cacheableTypes, "Cacheable types predicate must not be null");
+		this.maxByteCount = maxByteCount;
+		this.cacheableTypes = cacheableTypes;
+	}
+
+
+	/**
+	 * Whether the given value may be cached.
+	 */
+	public boolean isCacheable(@Nullable Object value) {
+		return (value != null && this.cacheableTypes.test(value.getClass()));
+	}
+
+	/**
+	 * Return the serialized form of the given value, if cached.
+	 * <p>The returned array is shared, and must not be modified.
+	 * @param value the value
+	 * @param variant further input to serialization that affects its output
+	 * (e.g. media type, declared type, serialization view), possibly {@code null}
+	 * @return the cached bytes, or {@code null} if not found
+	 */
+	@Nullable
+	public byte[] get(Object value, Object... variant) {
+		return this.cache.get(new Key(value, variant));
+	}
+
+	/**
+	 * Add the serialized form of the given value. Entries larger than the
+	 * maximum byte count are ignored.
+	 * <p>The given array is retained, and must not be modified afterwards.
+	 * @param value the value
+	 * @param encoded the serialized form of the value
+	 * @param variant the variant, as for {@link #get(Object, Object...)}
+	 */
+	public void put(Object value, byte[] encoded, Object... variant) {
+		if (encoded.length > this.maxByteCount) {
+			return;
+		}
+		Key key = new Key(value, variant);
+		synchronized (this.queue) {
+			if (this.cache.putIfAbsent(key, encoded) != null) {
+				return;
+			}
+			this.queue.offer(key);
+			this.byteCount += encoded.length;
+			while (this.byteCount > this.maxByteCount) {
+				Key eldest = this.queue.poll();
+				if (eldest == null) {
+					break;
+				}
+				byte[] evicted = this.cache.remove(eldest);
+				if (evicted != null) {
+					this.byteCount -= evicted.length;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the number of bytes currently held.
+	 */
+	public int getByteCount() {
+		synchronized (this.queue) {
+			return this.byteCount;
+		}
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		synchronized (this.queue) {
+			this.cache.clear();
+			this.queue.clear();
+			this.byteCount = 0;
+		}
+	}
+
+
+	private static final class Key {
+
+		private final Object value;
+
+		private final Object[] variant;
+
+		private final int hashCode;
+
+		Key(Object value, Object[] variant) {
+			this.value = value;
+			this.variant = variant;
+			this.hashCode = 31 * System.identityHashCode(value) + Arrays.hashCode(variant);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key otherKey = (Key) other;
+			return (this.value == otherKey.value && ObjectUtils.nullSafeEquals(this.variant, otherKey.variant));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletResponse;
@@ -30,11 +31,13 @@ import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.server.HttpOutput;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 
@@ -87,7 +90,8 @@ public class JettyHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	}
 
 
-	private static final class JettyServerHttpResponse extends ServletServerHttpResponse {
+	private static final class JettyServerHttpResponse extends ServletServerHttpResponse
+			implements ZeroCopyHttpOutputMessage {
 
 		JettyServerHttpResponse(HttpServletResponse response, AsyncContext asyncContext,
 				DataBufferFactory bufferFactory, int bufferSize, ServletServerHttpRequest request)
@@ -133,6 +137,11 @@ public class JettyHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 			((HttpOutput) response.getOutputStream()).write(input);
 			return len;
 		}
+
+		@Override
+		public Mono<Void> writeWith(Path file, long position, long count) {
+			return writeFileRegion(file, position, count);
+		}
 	}
 
 }
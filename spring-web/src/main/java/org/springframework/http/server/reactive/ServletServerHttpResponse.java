@@ -18,7 +18,11 @@ package org.springframework.http.server.reactive;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 import javax.servlet.AsyncContext;
@@ -30,6 +34,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -49,6 +55,12 @@ import org.springframework.util.Assert;
  */
 class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 
+	/**
+	 * The maximum size of a memory-mapped file region written through
+	 * {@link #writeFileRegion(Path, long, long)}.
+	 */
+	private static final long MAPPED_REGION_SIZE = 1024 * 1024;
+
 	private final HttpServletResponse response;
 
 	private final ServletOutputStream outputStream;
@@ -191,6 +203,49 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 		return bytesWritten;
 	}
 
+	/**
+	 * Write the given region of a file as a sequence of memory-mapped
+	 * {@link DataBuffer DataBuffers}. This is intended for sub-classes that
+	 * override {@link #writeToOutputStream(DataBuffer)} to hand a
+	 * {@link java.nio.ByteBuffer} straight to the container, in which case the
+	 * file content is transferred without being copied onto the heap.
+	 * @param file the file to transfer
+	 * @param position the position within the file from which the transfer is to begin
+	 * @param count the number of bytes to be transferred
+	 * @return a publisher that indicates completion or error
+	 * @since 5.3
+	 */
+	protected Mono<Void> writeFileRegion(Path file, long position, long count) {
+		long end = position + count;
+		Flux<DataBuffer> body = Flux.using(
+				() -> FileChannel.open(file, StandardOpenOption.READ),
+				channel -> Flux.<DataBuffer, Long>generate(() -> position, (current, sink) -> {
+					long size = Math.min(end - current, MAPPED_REGION_SIZE);
+					if (size <= 0) {
+						sink.complete();
+						return current;
+					}
+					try {
+						MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, current, size);
+						sink.next(bufferFactory().wrap(region));
+					}
+					catch (IOException ex) {
+						sink.error(ex);
+					}
+					return current + size;
+				}),
+				ServletServerHttpResponse::closeChannel);
+		return writeWith(body);
+	}
+
+	private static void closeChannel(FileChannel channel) {
+		try {
+			channel.close();
+		}
+		catch (IOException ignored) {
+		}
+	}
+
 	private void flush() throws IOException {
 		ServletOutputStream outputStream = this.outputStream;
 		if (outputStream.isReady()) {
@@ -21,6 +21,7 @@ import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletInputStream;
@@ -37,12 +38,14 @@ import org.apache.catalina.connector.RequestFacade;
 import org.apache.catalina.connector.ResponseFacade;
 import org.apache.coyote.Request;
 import org.apache.coyote.Response;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ReflectionUtils;
@@ -165,7 +168,8 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	}
 
 
-	private static final class TomcatServerHttpResponse extends ServletServerHttpResponse {
+	private static final class TomcatServerHttpResponse extends ServletServerHttpResponse
+			implements ZeroCopyHttpOutputMessage {
 
 		private static final Field COYOTE_RESPONSE_FIELD;
 
@@ -241,6 +245,11 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 			((CoyoteOutputStream) response.getOutputStream()).write(input);
 			return len;
 		}
+
+		@Override
+		public Mono<Void> writeWith(Path file, long position, long count) {
+			return writeFileRegion(file, position, count);
+		}
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,11 +22,15 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * 根据映射到路径模式的{@link CorsConfiguration}的集合提供每个请求的{@link CorsConfiguration}实例。
@@ -47,6 +51,12 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	@Nullable
 	private String lookupPathAttributeName;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
+	@Nullable
+	private Map<PathPattern, CorsConfiguration> pathPatternConfigurations;
+
 
 	/**
 	 * Set the PathMatcher implementation to use for matching URL paths
@@ -102,6 +112,24 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		this.urlPathHelper = urlPathHelper;
 	}
 
+	/**
+	 * Enable use of parsed {@link PathPattern}s, instead of String pattern
+	 * matching with a {@link PathMatcher}, matched against the
+	 * {@link ServletRequestPathUtils#parseAndCache parsed request path}.
+	 * <p>When set, the {@link UrlPathHelper} and {@link PathMatcher} related
+	 * properties are ignored, and the patterns are matched against the path
+	 * within the Servlet mapping (for a prefix-based Servlet mapping) or the
+	 * path within the application.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use, or {@code null} to switch back
+	 * to String pattern matching
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		initPathPatterns();
+	}
+
 	/**
 	 * Set CORS configuration based on URL patterns.
 	 */
@@ -110,6 +138,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		if (corsConfigurations != null) {
 			this.corsConfigurations.putAll(corsConfigurations);
 		}
+		initPathPatterns();
 	}
 
 	/**
@@ -124,12 +153,36 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 */
 	public void registerCorsConfiguration(String path, CorsConfiguration config) {
 		this.corsConfigurations.put(path, config);
+		initPathPatterns();
+	}
+
+	private void initPathPatterns() {
+		PathPatternParser parser = this.patternParser;
+		if (parser == null) {
+			this.pathPatternConfigurations = null;
+			return;
+		}
+		Map<PathPattern, CorsConfiguration> result = new LinkedHashMap<>(this.corsConfigurations.size());
+		this.corsConfigurations.forEach((pattern, config) -> result.put(parser.parse(pattern), config));
+		this.pathPatternConfigurations = result;
 	}
 
 
 	@Override
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+		Map<PathPattern, CorsConfiguration> pathPatternConfigurations = this.pathPatternConfigurations;
+		if (pathPatternConfigurations != null) {
+			PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request) :
+					ServletRequestPathUtils.parseAndCache(request)).pathWithinApplication();
+			for (Map.Entry<PathPattern, CorsConfiguration> entry : pathPatternConfigurations.entrySet()) {
+				if (entry.getKey().matches(path)) {
+					return entry.getValue();
+				}
+			}
+			return null;
+		}
 		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, this.lookupPathAttributeName);
 		for (Map.Entry<String, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
 			if (this.pathMatcher.match(entry.getKey(), lookupPath)) {
@@ -0,0 +1,579 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.ContentCompressor;
+import org.springframework.web.util.DeflaterPool;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * {@link javax.servlet.Filter} that compresses response bodies in the "gzip"
+ * or "deflate" content coding, as negotiated through the request's
+ * "Accept-Encoding" header.
+ *
+ * <p>A response is compressed if all of the following match:
+ * <ul>
+ * <li>The request method is not HEAD.</li>
+ * <li>The response status is in the {@code 2xx} series, other than 204 and 206.</li>
+ * <li>The response has no "Content-Encoding" header, which in particular
+ * excludes pre-compressed resources served through an
+ * {@code EncodedResourceResolver}, and its "Cache-Control" header does
+ * not contain "no-transform".</li>
+ * <li>The response content type is included in the
+ * {@link #setMimeTypes MIME types} to compress.</li>
+ * <li>The response body is at least {@link #setMinResponseSize minResponseSize}
+ * bytes long, as per its "Content-Length" header, or as buffered until then.</li>
+ * </ul>
+ *
+ * <p>Compressed data is streamed to the response as it becomes available.
+ * Flushes of an async response, e.g. for server-sent events, also flush the
+ * compressed data. Deflaters are taken from a {@link DeflaterPool}, and a
+ * strong "ETag" set by the handler is turned into a weak one, since it no
+ * longer matches the response bytes.
+ *
+ * @since 5.3
+ * @see org.springframework.web.filter.reactive.CompressionWebFilter
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+	private static final String DIRECTIVE_NO_TRANSFORM = "no-transform";
+
+	private static final List<MediaType> DEFAULT_MIME_TYPES = MediaType.parseMediaTypes(Arrays.asList(
+			"text/html", "text/xml", "text/plain", "text/css", "text/javascript",
+			"application/javascript", "application/json", "application/xml"));
+
+
+	private List<MediaType> mimeTypes = DEFAULT_MIME_TYPES;
+
+	private int minResponseSize = 2048;
+
+	private DeflaterPool deflaterPool = new DeflaterPool();
+
+
+	/**
+	 * Set the MIME types of responses to compress. Wildcards such as
+	 * {@code "text/*"} or {@code "application/*+json"} are supported.
+	 * <p>Should be configured using an {@code <init-param>} for parameter name
+	 * "mimeTypes" in the filter definition in {@code web.xml}.
+	 * <p>By default, HTML, XML, plain text, CSS, JavaScript and JSON responses
+	 * are compressed.
+	 */
+	public void setMimeTypes(String... mimeTypes) {
+		Assert.notNull(mimeTypes, "MIME types must not be null");
+		this.mimeTypes = MediaType.parseMediaTypes(Arrays.asList(mimeTypes));
+	}
+
+	/**
+	 * Return the MIME types of responses to compress.
+	 */
+	public List<MediaType> getMimeTypes() {
+		return Collections.unmodifiableList(this.mimeTypes);
+	}
+
+	/**
+	 * Set the minimum size, in bytes, of response bodies to compress. Smaller
+	 * bodies are not worth the overhead of compression.
+	 * <p>By default this is 2048.
+	 */
+	public void setMinResponseSize(int minResponseSize) {
+		Assert.isTrue(minResponseSize >= 0, "Min response size must not be negative");
+		this.minResponseSize = minResponseSize;
+	}
+
+	/**
+	 * Return the minimum size, in bytes, of response bodies to compress.
+	 */
+	public int getMinResponseSize() {
+		return this.minResponseSize;
+	}
+
+	/**
+	 * Set the compression level, from 0 to 9, or -1 for the default level.
+	 * <p>This is a shortcut for a {@link #setDeflaterPool DeflaterPool}
+	 * with the given level.
+	 */
+	public void setCompressionLevel(int level) {
+		this.deflaterPool = new DeflaterPool(level, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Set the pool of deflaters to compress with, e.g. to share it with
+	 * other filters.
+	 * <p>By default, a pool with the default compression level is used.
+	 */
+	public void setDeflaterPool(DeflaterPool deflaterPool) {
+		Assert.notNull(deflaterPool, "DeflaterPool must not be null");
+		this.deflaterPool = deflaterPool;
+	}
+
+	/**
+	 * Return the pool of deflaters to compress with.
+	 */
+	public DeflaterPool getDeflaterPool() {
+		return this.deflaterPool;
+	}
+
+
+	/**
+	 * The default value is {@code false} so that the filter may finish the
+	 * compressed response in the last asynchronously dispatched thread.
+	 */
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+
+		CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+		HttpServletResponse responseToUse = response;
+		if (wrapper == null && !isAsyncDispatch(request)) {
+			String contentCoding = (HttpMethod.HEAD.matches(request.getMethod()) ? null :
+					ContentCompressor.getPreferredContentCoding(
+							Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))));
+			if (contentCoding != null) {
+				wrapper = new CompressingResponseWrapper(response, request, contentCoding);
+				responseToUse = wrapper;
+			}
+		}
+
+		if (wrapper == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		boolean success = false;
+		try {
+			filterChain.doFilter(request, responseToUse);
+			success = true;
+		}
+		finally {
+			if (!success) {
+				wrapper.release();
+			}
+			else if (!isAsyncStarted(request)) {
+				wrapper.finish();
+			}
+			else if (!isAsyncDispatch(request)) {
+				// Safety net in case the response is not finished in an async dispatch
+				request.getAsyncContext().addListener(new DeflaterReleasingListener(wrapper));
+			}
+		}
+	}
+
+	/**
+	 * Whether a response of the given content type should be compressed.
+	 */
+	private boolean isCompressibleType(@Nullable String contentType) {
+		if (!StringUtils.hasText(contentType)) {
+			return false;
+		}
+		try {
+			MediaType mediaType = MediaType.parseMediaType(contentType);
+			for (MediaType mimeType : this.mimeTypes) {
+				if (mimeType.includes(mediaType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		catch (InvalidMediaTypeException ex) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Returns the deflater of a compressed async response to the pool, if the
+	 * response has not been finished by the end of async processing.
+	 */
+	private static class DeflaterReleasingListener implements AsyncListener {
+
+		private final CompressingResponseWrapper wrapper;
+
+		DeflaterReleasingListener(CompressingResponseWrapper wrapper) {
+			this.wrapper = wrapper;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			this.wrapper.release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+
+	/**
+	 * Response wrapper that buffers the body up to the minimum response size,
+	 * then decides whether to compress it, and from then on writes through.
+	 * The "Content-Length" header is held back until that decision.
+	 */
+	private class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+		private final HttpServletRequest request;
+
+		private final String contentCoding;
+
+		private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(256);
+
+		private long contentLength = -1;
+
+		private boolean decided;
+
+		@Nullable
+		private ContentCompressor compressor;
+
+		@Nullable
+		private ServletOutputStream outputStream;
+
+		@Nullable
+		private PrintWriter writer;
+
+		CompressingResponseWrapper(HttpServletResponse response, HttpServletRequest request, String contentCoding) {
+			super(response);
+			this.request = request;
+			this.contentCoding = contentCoding;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (this.outputStream == null) {
+				this.outputStream = new CompressingServletOutputStream();
+			}
+			return this.outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (this.writer == null) {
+				String characterEncoding = getCharacterEncoding();
+				this.writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+						(characterEncoding != null ? characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING)));
+			}
+			return this.writer;
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			setContentLengthLong(len);
+		}
+
+		// Overrides Servlet 3.1 setContentLengthLong(long) at runtime
+		@Override
+		public void setContentLengthLong(long len) {
+			if (!this.decided) {
+				this.contentLength = len;
+			}
+			else if (this.compressor == null) {
+				super.setContentLengthLong(len);
+			}
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				setContentLengthLong(Long.parseLong(value));
+			}
+			else {
+				super.setHeader(name, value);
+			}
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				setContentLengthLong(Long.parseLong(value));
+			}
+			else {
+				super.addHeader(name, value);
+			}
+		}
+
+		@Override
+		public void setIntHeader(String name, int value) {
+			if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				setContentLengthLong(value);
+			}
+			else {
+				super.setIntHeader(name, value);
+			}
+		}
+
+		@Override
+		public void addIntHeader(String name, int value) {
+			if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				setContentLengthLong(value);
+			}
+			else {
+				super.addIntHeader(name, value);
+			}
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (this.writer != null) {
+				this.writer.flush();
+			}
+			else if (this.outputStream != null) {
+				this.outputStream.flush();
+			}
+			if (this.decided) {
+				super.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			if (this.decided) {
+				super.resetBuffer();
+			}
+			this.buffer.reset();
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (!this.decided) {
+				this.buffer.reset();
+				this.contentLength = -1;
+			}
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			writeThrough();
+			super.sendError(sc);
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		public void sendError(int sc, String msg) throws IOException {
+			writeThrough();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			writeThrough();
+			super.sendRedirect(location);
+		}
+
+		/**
+		 * Complete the response: decide on compression if still undecided,
+		 * and write the remaining compressed data.
+		 */
+		void finish() throws IOException {
+			if (this.writer != null) {
+				this.writer.flush();
+			}
+			if (!this.decided) {
+				decide(true);
+			}
+			if (this.compressor != null) {
+				this.compressor.finish(getResponse().getOutputStream());
+			}
+		}
+
+		/**
+		 * Return the deflater to the pool after a failure.
+		 */
+		void release() {
+			if (this.compressor != null) {
+				this.compressor.release();
+			}
+		}
+
+		private void writeThrough() {
+			if (!this.decided) {
+				this.decided = true;
+				this.buffer.reset();
+			}
+		}
+
+		private void write(byte[] b, int off, int len) throws IOException {
+			if (!this.decided) {
+				if (this.contentLength < 0 && this.buffer.size() + len < minResponseSize) {
+					this.buffer.write(b, off, len);
+					return;
+				}
+				decide(false);
+			}
+			if (this.compressor != null) {
+				this.compressor.compress(b, off, len, getResponse().getOutputStream());
+			}
+			else {
+				getResponse().getOutputStream().write(b, off, len);
+			}
+		}
+
+		private void flush() throws IOException {
+			if (!this.request.isAsyncStarted()) {
+				// Synchronous response: buffer until the minimum size or the end,
+				// and leave it to the deflater when to emit compressed data
+				if (this.decided) {
+					getResponse().getOutputStream().flush();
+				}
+				return;
+			}
+			if (!this.decided) {
+				decide(false);
+			}
+			if (this.compressor != null) {
+				this.compressor.flush(getResponse().getOutputStream());
+			}
+			getResponse().getOutputStream().flush();
+		}
+
+		private void decide(boolean complete) throws IOException {
+			this.decided = true;
+			if (shouldCompress(complete)) {
+				this.compressor = getDeflaterPool().createCompressor(this.contentCoding);
+				super.setHeader(HttpHeaders.CONTENT_ENCODING, this.compressor.getContentCoding());
+				addVaryHeader();
+				String eTag = getHeader(HttpHeaders.ETAG);
+				if (eTag != null && !eTag.startsWith("W/")) {
+					super.setHeader(HttpHeaders.ETAG, "W/" + eTag);
+				}
+			}
+			else if (this.contentLength >= 0) {
+				super.setContentLengthLong(this.contentLength);
+			}
+			else if (complete) {
+				super.setContentLength(this.buffer.size());
+			}
+			if (this.buffer.size() > 0) {
+				byte[] bytes = this.buffer.toByteArrayUnsafe();
+				int size = this.buffer.size();
+				this.buffer.reset();
+				write(bytes, 0, size);
+			}
+		}
+
+		private boolean shouldCompress(boolean complete) {
+			long size = (this.contentLength >= 0 ? this.contentLength : complete ? this.buffer.size() : -1);
+			if (size >= 0 && size < getMinResponseSize()) {
+				return false;
+			}
+			int status = getStatus();
+			if (status < 200 || status >= 300 || status == SC_NO_CONTENT || status == SC_PARTIAL_CONTENT) {
+				return false;
+			}
+			if (getHeader(HttpHeaders.CONTENT_ENCODING) != null || getHeader(HttpHeaders.CONTENT_RANGE) != null) {
+				return false;
+			}
+			String cacheControl = getHeader(HttpHeaders.CACHE_CONTROL);
+			if (cacheControl != null && cacheControl.contains(DIRECTIVE_NO_TRANSFORM)) {
+				return false;
+			}
+			return isCompressibleType(getContentType());
+		}
+
+		private void addVaryHeader() {
+			Collection<String> varyValues = getHeaders(HttpHeaders.VARY);
+			for (String value : varyValues) {
+				for (String token : StringUtils.tokenizeToStringArray(value, ",")) {
+					if ("*".equals(token) || HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(token)) {
+						return;
+					}
+				}
+			}
+			super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		}
+
+
+		private class CompressingServletOutputStream extends ServletOutputStream {
+
+			private final byte[] singleByte = new byte[1];
+
+			@Override
+			public void write(int b) throws IOException {
+				this.singleByte[0] = (byte) b;
+				CompressingResponseWrapper.this.write(this.singleByte, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				CompressingResponseWrapper.this.write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				CompressingResponseWrapper.this.flush();
+			}
+
+			@Override
+			public boolean isReady() {
+				try {
+					return getResponse().getOutputStream().isReady();
+				}
+				catch (IOException ex) {
+					return false;
+				}
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				try {
+					getResponse().getOutputStream().setWriteListener(writeListener);
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		}
+	}
+
+}
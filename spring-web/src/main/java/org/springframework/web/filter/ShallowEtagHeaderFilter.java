@@ -61,6 +61,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private boolean writeWeakETag = false;
 
+	private int streamingThreshold = -1;
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -81,6 +83,33 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set the maximum number of bytes of the response body to buffer for
+	 * computing an ETag. Responses up to that size are handled as usual,
+	 * i.e. with an ETag and possibly a {@code 304 "Not Modified"} status.
+	 * Once a response body exceeds the threshold, the content buffered so far
+	 * is written out, and the rest streams through, without an ETag unless
+	 * the handler sets one.
+	 * <p>This bounds the memory used per request, and the latency to the first
+	 * byte, for large responses.
+	 * <p>Should be configured using an {@code <init-param>} for parameter name
+	 * "streamingThreshold" in the filter definition in {@code web.xml}.
+	 * <p>By default this is -1, meaning that the entire body is buffered.
+	 * @since 5.3
+	 */
+	public void setStreamingThreshold(int streamingThreshold) {
+		this.streamingThreshold = streamingThreshold;
+	}
+
+	/**
+	 * Return the maximum number of bytes of the response body to buffer for
+	 * computing an ETag, or -1 if the entire body is buffered.
+	 * @since 5.3
+	 */
+	public int getStreamingThreshold() {
+		return this.streamingThreshold;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -97,7 +126,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		HttpServletResponse responseToUse = response;
 		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
-			responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+			responseToUse = new ConditionalContentCachingResponseWrapper(response, request, this.streamingThreshold);
 		}
 
 		filterChain.doFilter(request, responseToUse);
@@ -115,7 +144,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		Assert.notNull(wrapper, "ContentCachingResponseWrapper not found");
 		HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
 
-		if (isEligibleForEtag(request, wrapper, wrapper.getStatus(), wrapper.getContentInputStream())) {
+		if (!wrapper.isContentOverflowed() && isEligibleForEtag(request, wrapper, wrapper.getStatus(), wrapper.getContentInputStream())) {
 			String eTag = wrapper.getHeader(HttpHeaders.ETAG);
 			if (!StringUtils.hasText(eTag)) {
 				eTag = generateETagHeaderValue(wrapper.getContentInputStream(), this.writeWeakETag);
@@ -217,8 +246,10 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		private final HttpServletRequest request;
 
 
-		ConditionalContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
-			super(response);
+		ConditionalContentCachingResponseWrapper(
+				HttpServletResponse response, HttpServletRequest request, int contentCacheLimit) {
+
+			super(response, (contentCacheLimit >= 0 ? contentCacheLimit : Integer.MAX_VALUE));
 			this.request = request;
 		}
 
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.ContentCompressor;
+import org.springframework.web.util.DeflaterPool;
+
+/**
+ * {@link WebFilter} that compresses response bodies in the "gzip" or
+ * "deflate" content coding, as negotiated through the request's
+ * "Accept-Encoding" header. This is the reactive equivalent of
+ * {@link org.springframework.web.filter.CompressionFilter}, with the same
+ * conditions for compressing a response, except that the size of a
+ * streamed body of unknown length is not checked against
+ * {@link #setMinResponseSize minResponseSize}.
+ *
+ * <p>Data buffers are compressed as they are written, with a deflater taken
+ * from the {@link DeflaterPool} only once the response body is subscribed to.
+ * For responses written with {@link ServerHttpResponse#writeAndFlushWith},
+ * e.g. server-sent events, compressed data is flushed along with each inner
+ * publisher.
+ *
+ * @since 5.3
+ */
+public class CompressionWebFilter implements WebFilter {
+
+	private static final String DIRECTIVE_NO_TRANSFORM = "no-transform";
+
+	private static final List<MediaType> DEFAULT_MIME_TYPES = MediaType.parseMediaTypes(Arrays.asList(
+			"text/html", "text/xml", "text/plain", "text/css", "text/javascript",
+			"application/javascript", "application/json", "application/xml"));
+
+
+	private List<MediaType> mimeTypes = DEFAULT_MIME_TYPES;
+
+	private int minResponseSize = 2048;
+
+	private DeflaterPool deflaterPool = new DeflaterPool();
+
+
+	/**
+	 * Set the MIME types of responses to compress. Wildcards such as
+	 * {@code "text/*"} or {@code "application/*+json"} are supported.
+	 * <p>By default, HTML, XML, plain text, CSS, JavaScript and JSON responses
+	 * are compressed.
+	 */
+	public void setMimeTypes(String... mimeTypes) {
+		Assert.notNull(mimeTypes, "MIME types must not be null");
+		this.mimeTypes = MediaType.parseMediaTypes(Arrays.asList(mimeTypes));
+	}
+
+	/**
+	 * Return the MIME types of responses to compress.
+	 */
+	public List<MediaType> getMimeTypes() {
+		return Collections.unmodifiableList(this.mimeTypes);
+	}
+
+	/**
+	 * Set the minimum size, in bytes, of response bodies to compress, as per
+	 * their "Content-Length" header, or their single data buffer.
+	 * <p>By default this is 2048.
+	 */
+	public void setMinResponseSize(int minResponseSize) {
+		Assert.isTrue(minResponseSize >= 0, "Min response size must not be negative");
+		this.minResponseSize = minResponseSize;
+	}
+
+	/**
+	 * Return the minimum size, in bytes, of response bodies to compress.
+	 */
+	public int getMinResponseSize() {
+		return this.minResponseSize;
+	}
+
+	/**
+	 * Set the compression level, from 0 to 9, or -1 for the default level.
+	 * <p>This is a shortcut for a {@link #setDeflaterPool DeflaterPool}
+	 * with the given level.
+	 */
+	public void setCompressionLevel(int level) {
+		this.deflaterPool = new DeflaterPool(level, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Set the pool of deflaters to compress with.
+	 * <p>By default, a pool with the default compression level is used.
+	 */
+	public void setDeflaterPool(DeflaterPool deflaterPool) {
+		Assert.notNull(deflaterPool, "DeflaterPool must not be null");
+		this.deflaterPool = deflaterPool;
+	}
+
+	/**
+	 * Return the pool of deflaters to compress with.
+	 */
+	public DeflaterPool getDeflaterPool() {
+		return this.deflaterPool;
+	}
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		if (HttpMethod.HEAD == request.getMethod()) {
+			return chain.filter(exchange);
+		}
+		String contentCoding = ContentCompressor.getPreferredContentCoding(
+				request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+		if (contentCoding == null) {
+			return chain.filter(exchange);
+		}
+		CompressingResponse response = new CompressingResponse(exchange.getResponse(), contentCoding);
+		return chain.filter(exchange.mutate().response(response).build());
+	}
+
+	private static boolean hasContent(DataBuffer buffer) {
+		if (buffer.readableByteCount() > 0) {
+			return true;
+		}
+		DataBufferUtils.release(buffer);
+		return false;
+	}
+
+
+	private class CompressingResponse extends ServerHttpResponseDecorator {
+
+		private final String contentCoding;
+
+		CompressingResponse(ServerHttpResponse delegate, String contentCoding) {
+			super(delegate);
+			this.contentCoding = contentCoding;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			long contentLength = getHeaders().getContentLength();
+			if (contentLength < 0 && body instanceof Mono) {
+				// Check the size of a single buffer against the minimum size
+				Mono<DataBuffer> mono = Mono.from(body);
+				return mono.map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(optional -> {
+					if (!optional.isPresent()) {
+						return super.writeWith(Mono.empty());
+					}
+					DataBuffer buffer = optional.get();
+					return (shouldCompress(buffer.readableByteCount()) ?
+							writeCompressed(Mono.just(buffer)) : super.writeWith(Mono.just(buffer)));
+				});
+			}
+			return (shouldCompress(contentLength) ? writeCompressed(body) : super.writeWith(body));
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			if (!shouldCompress(-1)) {
+				return super.writeAndFlushWith(body);
+			}
+			applyCompressionHeaders();
+			Flux<Publisher<DataBuffer>> compressed = Flux.defer(() -> {
+				ContentCompressor compressor = getDeflaterPool().createCompressor(this.contentCoding);
+				// The outer publisher may complete before the last inner one is written,
+				// so the deflater is returned to the pool by the last inner publisher,
+				// or on error or cancellation
+				return Flux.from(body)
+						.<Publisher<DataBuffer>>map(publisher -> Flux.from(publisher)
+								.map(buffer -> compress(compressor, buffer))
+								.concatWith(Mono.fromCallable(() -> encode(compressor::flush)))
+								.filter(CompressionWebFilter::hasContent))
+						.concatWith(Mono.just(Mono.fromCallable(() -> encode(compressor::finish))
+								.doFinally(signal -> compressor.release())))
+						.doOnError(ex -> compressor.release())
+						.doOnCancel(compressor::release);
+			});
+			return super.writeAndFlushWith(compressed);
+		}
+
+		private Mono<Void> writeCompressed(Publisher<? extends DataBuffer> body) {
+			applyCompressionHeaders();
+			Flux<DataBuffer> compressed = Flux.using(
+					() -> getDeflaterPool().createCompressor(this.contentCoding),
+					compressor -> Flux.from(body)
+							.map(buffer -> compress(compressor, buffer))
+							.concatWith(Mono.fromCallable(() -> encode(compressor::finish)))
+							.filter(CompressionWebFilter::hasContent),
+					ContentCompressor::release);
+			return super.writeWith(compressed);
+		}
+
+		private boolean shouldCompress(long contentLength) {
+			if (contentLength >= 0 && contentLength < getMinResponseSize()) {
+				return false;
+			}
+			Integer status = getRawStatusCode();
+			if (status != null && (status < 200 || status >= 300 || status == 204 || status == 206)) {
+				return false;
+			}
+			HttpHeaders headers = getHeaders();
+			if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+				return false;
+			}
+			String cacheControl = headers.getCacheControl();
+			if (cacheControl != null && cacheControl.contains(DIRECTIVE_NO_TRANSFORM)) {
+				return false;
+			}
+			MediaType contentType = headers.getContentType();
+			if (contentType == null) {
+				return false;
+			}
+			for (MediaType mimeType : getMimeTypes()) {
+				if (mimeType.includes(contentType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void applyCompressionHeaders() {
+			HttpHeaders headers = getHeaders();
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			headers.set(HttpHeaders.CONTENT_ENCODING, this.contentCoding);
+			boolean varyOnAcceptEncoding = headers.getVary().stream().anyMatch(
+					value -> "*".equals(value) || HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(value));
+			if (!varyOnAcceptEncoding) {
+				headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			}
+			String eTag = headers.getETag();
+			if (eTag != null && !eTag.startsWith("W/")) {
+				headers.set(HttpHeaders.ETAG, "W/" + eTag);
+			}
+		}
+
+		private DataBuffer compress(ContentCompressor compressor, DataBuffer buffer) {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			DataBufferUtils.release(buffer);
+			return encode(out -> compressor.compress(bytes, 0, bytes.length, out));
+		}
+
+		private DataBuffer encode(OutputStreamCallback callback) {
+			DataBuffer output = bufferFactory().allocateBuffer();
+			try {
+				callback.writeTo(output.asOutputStream());
+				return output;
+			}
+			catch (IOException ex) {
+				DataBufferUtils.release(output);
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+
+	@FunctionalInterface
+	private interface OutputStreamCallback {
+
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+}
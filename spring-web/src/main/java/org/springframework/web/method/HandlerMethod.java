@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodInvokers;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
@@ -86,6 +87,9 @@ public class HandlerMethod {
 	@Nullable
 	private volatile List<Annotation[][]> interfaceParameterAnnotations;
 
+	@Nullable
+	private volatile MethodInvokers.Invoker invoker;
+
 	private final String description;
 
 
@@ -159,6 +163,7 @@ public class HandlerMethod {
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.description = handlerMethod.description;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
+		this.invoker = handlerMethod.getInvoker();
 	}
 
 	/**
@@ -177,6 +182,7 @@ public class HandlerMethod {
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.resolvedFromHandlerMethod = handlerMethod;
 		this.description = handlerMethod.description;
+		this.invoker = handlerMethod.getInvoker();
 	}
 
 	private MethodParameter[] initMethodParameters() {
@@ -239,6 +245,21 @@ public class HandlerMethod {
 		return this.bridgedMethod;
 	}
 
+	/**
+	 * Return the {@link MethodInvokers.Invoker} for the
+	 * {@link #getBridgedMethod() bridged method}, resolved once and shared
+	 * with copies of this handler method.
+	 * @since 5.3
+	 */
+	protected MethodInvokers.Invoker getInvoker() {
+		MethodInvokers.Invoker invoker = this.invoker;
+		if (invoker == null) {
+			invoker = MethodInvokers.forMethod(this.bridgedMethod);
+			this.invoker = invoker;
+		}
+		return invoker;
+	}
+
 	/**
 	 * Return the method parameters for this handler method.
 	 */
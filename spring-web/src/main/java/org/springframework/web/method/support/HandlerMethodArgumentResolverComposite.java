@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 
 package org.springframework.web.method.support;
 
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -43,6 +45,9 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodClassKey, HandlerMethodArgumentResolver[]> argumentResolversCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
@@ -119,6 +124,39 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return resolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
 	}
 
+	/**
+	 * Return the registered resolvers for the given method parameters, in the
+	 * same order, with a {@code null} element for each parameter that is not
+	 * {@linkplain #supportsParameter supported}.
+	 * <p>The result is cached per method and containing class, so handler
+	 * methods that are invoked repeatedly obtain all of their resolvers with
+	 * a single lookup rather than one lookup per parameter and invocation.
+	 * @param parameters all method parameters of a handler method, in order
+	 * @return the resolvers, not to be modified
+	 * @since 5.3
+	 */
+	public HandlerMethodArgumentResolver[] getArgumentResolvers(MethodParameter[] parameters) {
+		Method method = (parameters.length > 0 ? parameters[0].getMethod() : null);
+		if (method == null) {
+			return resolveArgumentResolvers(parameters);
+		}
+		MethodClassKey key = new MethodClassKey(method, parameters[0].getContainingClass());
+		HandlerMethodArgumentResolver[] result = this.argumentResolversCache.get(key);
+		if (result == null) {
+			result = resolveArgumentResolvers(parameters);
+			this.argumentResolversCache.put(key, result);
+		}
+		return result;
+	}
+
+	private HandlerMethodArgumentResolver[] resolveArgumentResolvers(MethodParameter[] parameters) {
+		HandlerMethodArgumentResolver[] result = new HandlerMethodArgumentResolver[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			result[i] = getArgumentResolver(parameters[i]);
+		}
+		return result;
+	}
+
 	/**
 	 * 查找支持给定方法参数的注册{@link HandlerMethodArgumentResolver}。
 	 */
@@ -96,6 +96,8 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 
 	private volatile boolean notModified;
 
+	private volatile boolean multipartDataRead;
+
 	private Function<String, String> urlTransformer = url -> url;
 
 	@Nullable
@@ -129,7 +131,8 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		this.sessionMono = sessionManager.getSession(this).cache();
 		this.localeContextResolver = localeContextResolver;
 		this.formDataMono = initFormData(request, codecConfigurer, getLogPrefix());
-		this.multipartDataMono = initMultipartData(request, codecConfigurer, getLogPrefix());
+		this.multipartDataMono = initMultipartData(request, codecConfigurer, getLogPrefix())
+				.doOnSubscribe(subscription -> this.multipartDataRead = true);
 		this.applicationContext = applicationContext;
 	}
 
@@ -221,6 +224,26 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		return this.multipartDataMono;
 	}
 
+	/**
+	 * Delete the storage of the multipart data parts, if the multipart data
+	 * was requested during the handling of the exchange.
+	 * <p>Invoked when the handling of the exchange completes, whether
+	 * successfully, with an error, or through cancellation.
+	 * @since 5.3
+	 * @see Part#delete()
+	 */
+	Mono<Void> cleanupMultipart() {
+		if (!this.multipartDataRead) {
+			return Mono.empty();
+		}
+		return this.multipartDataMono
+				.onErrorResume(ex -> Mono.empty())
+				.flatMapIterable(Map::values)
+				.flatMapIterable(parts -> parts)
+				.flatMap(part -> part.delete().onErrorResume(ex -> Mono.empty()))
+				.then();
+	}
+
 	@Override
 	public LocaleContext getLocaleContext() {
 		return this.localeContextResolver.resolveLocaleContext(this);
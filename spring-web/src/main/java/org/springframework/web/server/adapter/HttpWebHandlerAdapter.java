@@ -235,7 +235,8 @@ public class HttpWebHandlerAdapter extends WebHandlerDecorator implements HttpHa
 		return getDelegate().handle(exchange)
 				.doOnSuccess(aVoid -> logResponse(exchange))
 				.onErrorResume(ex -> handleUnresolvedError(exchange, ex))
-				.then(Mono.defer(response::setComplete));
+				.then(Mono.defer(response::setComplete))
+				.doFinally(signalType -> cleanupMultipart(exchange));
 	}
 
 	protected ServerWebExchange createExchange(ServerHttpRequest request, ServerHttpResponse response) {
@@ -298,6 +299,14 @@ public class HttpWebHandlerAdapter extends WebHandlerDecorator implements HttpHa
 		}
 	}
 
+	private void cleanupMultipart(ServerWebExchange exchange) {
+		if (exchange instanceof DefaultServerWebExchange) {
+			((DefaultServerWebExchange) exchange).cleanupMultipart()
+					.subscribe(null, ex -> logger.debug(exchange.getLogPrefix() +
+							"Failed to clean up multipart data: " + ex));
+		}
+	}
+
 	private boolean isDisconnectedClientError(Throwable ex) {
 		String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
 		if (message != null) {
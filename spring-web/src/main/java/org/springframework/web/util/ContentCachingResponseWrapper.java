@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.web.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -35,6 +36,9 @@ import org.springframework.util.FastByteArrayOutputStream;
  * the {@linkplain #getOutputStream() output stream} and {@linkplain #getWriter() writer},
  * and allows this content to be retrieved via a {@link #getContentAsByteArray() byte array}.
  *
+ * <p>A content cache limit may be specified, beyond which the cached content is
+ * copied to the response and any further content is written through.
+ *
  * <p>Used e.g. by {@link org.springframework.web.filter.ShallowEtagHeaderFilter}.
  * Note: As of Spring Framework 5.0, this wrapper is built on the Servlet 3.1 API.
  *
@@ -46,6 +50,11 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	private final FastByteArrayOutputStream content = new FastByteArrayOutputStream(1024);
 
+	@Nullable
+	private final Integer contentCacheLimit;
+
+	private boolean contentOverflowed;
+
 	@Nullable
 	private ServletOutputStream outputStream;
 
@@ -62,6 +71,19 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	 */
 	public ContentCachingResponseWrapper(HttpServletResponse response) {
 		super(response);
+		this.contentCacheLimit = null;
+	}
+
+	/**
+	 * Create a new ContentCachingResponseWrapper for the given servlet response.
+	 * @param response the original servlet response
+	 * @param contentCacheLimit the maximum number of bytes to cache per response
+	 * @since 5.3
+	 * @see #handleContentOverflow(int)
+	 */
+	public ContentCachingResponseWrapper(HttpServletResponse response, int contentCacheLimit) {
+		super(response);
+		this.contentCacheLimit = contentCacheLimit;
 	}
 
 
@@ -117,11 +139,18 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	@Override
 	public void flushBuffer() throws IOException {
 		// do not flush the underlying response as the content as not been copied to it yet
+		if (this.contentOverflowed) {
+			super.flushBuffer();
+		}
 	}
 
 	@Override
 	public void setContentLength(int len) {
-		if (len > this.content.size()) {
+		if (this.contentOverflowed) {
+			super.setContentLength(len);
+			return;
+		}
+		if (len > this.content.size() && isWithinContentCacheLimit(len)) {
 			this.content.resize(len);
 		}
 		this.contentLength = len;
@@ -130,12 +159,16 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	// Overrides Servlet 3.1 setContentLengthLong(long) at runtime
 	@Override
 	public void setContentLengthLong(long len) {
+		if (this.contentOverflowed) {
+			super.setContentLengthLong(len);
+			return;
+		}
 		if (len > Integer.MAX_VALUE) {
 			throw new IllegalArgumentException("Content-Length exceeds ContentCachingResponseWrapper's maximum (" +
 					Integer.MAX_VALUE + "): " + len);
 		}
 		int lenInt = (int) len;
-		if (lenInt > this.content.size()) {
+		if (lenInt > this.content.size() && isWithinContentCacheLimit(lenInt)) {
 			this.content.resize(lenInt);
 		}
 		this.contentLength = lenInt;
@@ -143,13 +176,16 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	@Override
 	public void setBufferSize(int size) {
-		if (size > this.content.size()) {
+		if (size > this.content.size() && isWithinContentCacheLimit(size)) {
 			this.content.resize(size);
 		}
 	}
 
 	@Override
 	public void resetBuffer() {
+		if (this.contentOverflowed) {
+			super.resetBuffer();
+		}
 		this.content.reset();
 	}
 
@@ -191,6 +227,17 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		return this.content.size();
 	}
 
+	/**
+	 * Whether the content exceeded the content cache limit, in which case the
+	 * content cached so far has been copied to the response, and any further
+	 * content has been written through.
+	 * @since 5.3
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	public boolean isContentOverflowed() {
+		return this.contentOverflowed;
+	}
+
 	/**
 	 * Copy the complete cached body content to the response.
 	 * @since 4.2
@@ -220,6 +267,45 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		}
 	}
 
+	/**
+	 * Template method for handling a content overflow: specifically, content
+	 * being written that exceeds the specified content cache limit. This is
+	 * called after the content cached so far has been copied to the response.
+	 * <p>The default implementation is empty.
+	 * @param contentCacheLimit the maximum number of bytes to cache per response
+	 * which has just been exceeded
+	 * @since 5.3
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	protected void handleContentOverflow(int contentCacheLimit) {
+	}
+
+	private boolean isWithinContentCacheLimit(int len) {
+		return (this.contentCacheLimit == null || len <= this.contentCacheLimit);
+	}
+
+	/**
+	 * Return the stream to write the given number of bytes to: the content
+	 * cache, or the response once the content cache limit has been exceeded.
+	 */
+	private OutputStream getContentStream(int len) throws IOException {
+		if (!this.contentOverflowed && this.contentCacheLimit != null &&
+				(long) this.content.size() + len > this.contentCacheLimit) {
+			this.contentOverflowed = true;
+			copyBodyToResponse(false);
+			if (this.contentLength != null) {
+				// Nothing was cached yet: pass the pending content length on as-is
+				HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
+				if (!rawResponse.isCommitted()) {
+					rawResponse.setContentLength(this.contentLength);
+				}
+				this.contentLength = null;
+			}
+			handleContentOverflow(this.contentCacheLimit);
+		}
+		return (this.contentOverflowed ? getResponse().getOutputStream() : this.content);
+	}
+
 
 	private class ResponseServletOutputStream extends ServletOutputStream {
 
@@ -231,12 +317,12 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 		@Override
 		public void write(int b) throws IOException {
-			content.write(b);
+			getContentStream(1).write(b);
 		}
 
 		@Override
 		public void write(byte[] b, int off, int len) throws IOException {
-			content.write(b, off, len);
+			getContentStream(len).write(b, off, len);
 		}
 
 		@Override
@@ -254,7 +340,7 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	private class ResponsePrintWriter extends PrintWriter {
 
 		public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
-			super(new OutputStreamWriter(content, characterEncoding));
+			super(new OutputStreamWriter(new ContentOutputStream(), characterEncoding));
 		}
 
 		@Override
@@ -276,4 +362,18 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		}
 	}
 
+
+	private class ContentOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			getContentStream(1).write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			getContentStream(len).write(b, off, len);
+		}
+	}
+
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compresses a single response body in the "gzip" or "deflate" content
+ * coding, in chunks, writing compressed data to a given {@link OutputStream}
+ * as it becomes available.
+ *
+ * <p>Instances are created by a {@link DeflaterPool}, and return their
+ * {@link Deflater} to it when {@link #finish finished} or
+ * {@link #release() released}. Methods are synchronized, so that a compressor
+ * may be released safely while another thread is still writing, e.g. on
+ * cancellation of a reactive write.
+ *
+ * @since 5.3
+ * @see DeflaterPool#createCompressor
+ */
+public final class ContentCompressor {
+
+	/** The "gzip" content coding. */
+	public static final String GZIP = "gzip";
+
+	/** The "deflate" content coding. */
+	public static final String DEFLATE = "deflate";
+
+	private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+	private static final int BUFFER_SIZE = 8192;
+
+
+	private final DeflaterPool pool;
+
+	private final boolean gzip;
+
+	@Nullable
+	private Deflater deflater;
+
+	@Nullable
+	private final CRC32 crc;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private boolean headerWritten;
+
+
+	ContentCompressor(DeflaterPool pool, boolean gzip) {
+		this.pool = pool;
+		this.gzip = gzip;
+		this.deflater = pool.acquire(gzip);
+		this.crc = (gzip ? new CRC32() : null);
+	}
+
+
+	/**
+	 * Return the content coding of this compressor.
+	 */
+	public String getContentCoding() {
+		return (this.gzip ? GZIP : DEFLATE);
+	}
+
+	/**
+	 * Compress the given bytes, writing whatever compressed data the deflater
+	 * produces to the given output stream. Compressed data may be held back
+	 * until the next call to {@link #flush} or {@link #finish}.
+	 */
+	public synchronized void compress(byte[] bytes, int offset, int length, OutputStream out) throws IOException {
+		Deflater deflater = obtainDeflater();
+		writeHeaderIfNecessary(out);
+		if (length == 0) {
+			return;
+		}
+		if (this.crc != null) {
+			this.crc.update(bytes, offset, length);
+		}
+		deflater.setInput(bytes, offset, length);
+		while (!deflater.needsInput()) {
+			int count = deflater.deflate(this.buffer, 0, this.buffer.length, Deflater.NO_FLUSH);
+			if (count > 0) {
+				out.write(this.buffer, 0, count);
+			}
+		}
+	}
+
+	/**
+	 * Write all data compressed so far to the given output stream, so that it
+	 * can be decompressed by the client, e.g. for streaming responses.
+	 */
+	public synchronized void flush(OutputStream out) throws IOException {
+		Deflater deflater = obtainDeflater();
+		writeHeaderIfNecessary(out);
+		int count;
+		while ((count = deflater.deflate(this.buffer, 0, this.buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+			out.write(this.buffer, 0, count);
+			if (count < this.buffer.length) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Write the remaining compressed data to the given output stream, along
+	 * with the gzip trailer if applicable, and return the deflater to the pool.
+	 */
+	public synchronized void finish(OutputStream out) throws IOException {
+		Deflater deflater = obtainDeflater();
+		try {
+			writeHeaderIfNecessary(out);
+			deflater.finish();
+			while (!deflater.finished()) {
+				int count = deflater.deflate(this.buffer, 0, this.buffer.length);
+				if (count > 0) {
+					out.write(this.buffer, 0, count);
+				}
+			}
+			if (this.crc != null) {
+				writeTrailer(deflater, this.crc, out);
+			}
+		}
+		finally {
+			release();
+		}
+	}
+
+	/**
+	 * Return the deflater to the pool without finishing the compressed data,
+	 * e.g. after a failure to write. Has no effect if already finished or
+	 * released.
+	 */
+	public synchronized void release() {
+		if (this.deflater != null) {
+			this.pool.release(this.deflater, this.gzip);
+			this.deflater = null;
+		}
+	}
+
+	private Deflater obtainDeflater() {
+		Assert.state(this.deflater != null, "Compressor already finished or released");
+		return this.deflater;
+	}
+
+	private void writeHeaderIfNecessary(OutputStream out) throws IOException {
+		if (this.gzip && !this.headerWritten) {
+			out.write(GZIP_HEADER);
+		}
+		this.headerWritten = true;
+	}
+
+	private static void writeTrailer(Deflater deflater, CRC32 crc, OutputStream out) throws IOException {
+		writeInt((int) crc.getValue(), out);
+		writeInt((int) deflater.getBytesRead(), out);
+	}
+
+	private static void writeInt(int value, OutputStream out) throws IOException {
+		// Little-endian, as per RFC 1952
+		out.write(value & 0xff);
+		out.write((value >> 8) & 0xff);
+		out.write((value >> 16) & 0xff);
+		out.write((value >> 24) & 0xff);
+	}
+
+
+	/**
+	 * Determine the content coding to use from the given "Accept-Encoding"
+	 * header values, preferring "gzip" over "deflate" at equal quality.
+	 * @param acceptEncodings the "Accept-Encoding" header values, if any
+	 * @return {@link #GZIP}, {@link #DEFLATE}, or {@code null} if neither
+	 * is acceptable
+	 */
+	@Nullable
+	public static String getPreferredContentCoding(@Nullable List<String> acceptEncodings) {
+		if (CollectionUtils.isEmpty(acceptEncodings)) {
+			return null;
+		}
+		double gzipQuality = -1;
+		double deflateQuality = -1;
+		double anyQuality = -1;
+		for (String acceptEncoding : acceptEncodings) {
+			for (String token : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+				String[] parts = StringUtils.tokenizeToStringArray(token, ";");
+				if (parts.length == 0) {
+					continue;
+				}
+				double quality = getQuality(parts);
+				String coding = parts[0].toLowerCase(Locale.ENGLISH);
+				if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+					gzipQuality = Math.max(gzipQuality, quality);
+				}
+				else if (DEFLATE.equals(coding)) {
+					deflateQuality = Math.max(deflateQuality, quality);
+				}
+				else if ("*".equals(coding)) {
+					anyQuality = Math.max(anyQuality, quality);
+				}
+			}
+		}
+		gzipQuality = (gzipQuality >= 0 ? gzipQuality : anyQuality);
+		deflateQuality = (deflateQuality >= 0 ? deflateQuality : anyQuality);
+		if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+			return GZIP;
+		}
+		return (deflateQuality > 0 ? DEFLATE : null);
+	}
+
+	private static double getQuality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i];
+			if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2));
+				}
+				catch (NumberFormatException ex) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+}
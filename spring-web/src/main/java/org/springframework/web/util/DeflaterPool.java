@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+import org.springframework.util.Assert;
+
+/**
+ * Pool of {@link Deflater} instances for the "gzip" and "deflate" content
+ * codings, from which {@link ContentCompressor}s are created.
+ *
+ * <p>A {@code Deflater} holds native memory, which is expensive to allocate
+ * per response, and only released on {@link Deflater#end()} or finalization.
+ * Deflaters are therefore {@link Deflater#reset() reset} and reused, up to a
+ * maximum number of idle instances per content coding; surplus instances are
+ * ended right away.
+ *
+ * @since 5.3
+ * @see ContentCompressor
+ */
+public class DeflaterPool {
+
+	private final int level;
+
+	private final BlockingQueue<Deflater> gzipDeflaters;
+
+	private final BlockingQueue<Deflater> deflateDeflaters;
+
+
+	/**
+	 * Create a pool with the default compression level, and up to twice as
+	 * many idle deflaters per content coding as there are processors.
+	 */
+	public DeflaterPool() {
+		this(Deflater.DEFAULT_COMPRESSION, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Create a pool with the given compression level and size.
+	 * @param level the compression level, from 0 to 9, or -1 for the default
+	 * @param maxIdle the maximum number of idle deflaters per content coding
+	 */
+	public DeflaterPool(int level, int maxIdle) {
+		Assert.isTrue(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+				"Invalid compression level: " + level);
+		Assert.isTrue(maxIdle > 0, "Max idle must be greater than 0");
+		this.level = level;
+		this.gzipDeflaters = new ArrayBlockingQueue<>(maxIdle);
+		this.deflateDeflaters = new ArrayBlockingQueue<>(maxIdle);
+	}
+
+
+	/**
+	 * Return the compression level of pooled deflaters.
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Create a compressor for a single response body, backed by a deflater
+	 * from this pool until it is finished or released.
+	 * @param contentCoding {@link ContentCompressor#GZIP} or {@link ContentCompressor#DEFLATE}
+	 */
+	public ContentCompressor createCompressor(String contentCoding) {
+		boolean gzip = ContentCompressor.GZIP.equals(contentCoding);
+		Assert.isTrue(gzip || ContentCompressor.DEFLATE.equals(contentCoding),
+				() -> "Unsupported content coding: " + contentCoding);
+		return new ContentCompressor(this, gzip);
+	}
+
+	Deflater acquire(boolean gzip) {
+		Deflater deflater = getDeflaters(gzip).poll();
+		// Raw deflate data for gzip, which has its own header and trailer
+		return (deflater != null ? deflater : new Deflater(this.level, gzip));
+	}
+
+	void release(Deflater deflater, boolean gzip) {
+		deflater.reset();
+		if (!getDeflaters(gzip).offer(deflater)) {
+			deflater.end();
+		}
+	}
+
+	private BlockingQueue<Deflater> getDeflaters(boolean gzip) {
+		return (gzip ? this.gzipDeflaters : this.deflateDeflaters);
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility class to parse the path of an {@link HttpServletRequest} to a
+ * {@link RequestPath} and cache it in a request attribute for further access,
+ * e.g. for matching to {@link org.springframework.web.util.pattern.PathPattern
+ * parsed patterns}.
+ *
+ * <p>The path within the application of the parsed {@code RequestPath} is the
+ * path within the Servlet mapping for a prefix-based Servlet mapping such as
+ * "/api/*", i.e. the Servlet path is treated as part of the context path,
+ * which is consistent with the lookup path of {@link UrlPathHelper}. The
+ * parsed path is not decoded and it includes path parameters.
+ *
+ * @since 5.3
+ */
+public abstract class ServletRequestPathUtils {
+
+	/**
+	 * Name of the request attribute that holds the parsed {@link RequestPath}.
+	 */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the {@link HttpServletRequest#getRequestURI() requestURI} of the
+	 * request and its {@code contextPath} to a {@link RequestPath} and save it
+	 * in the request attribute {@link #PATH_ATTRIBUTE} for subsequent use with
+	 * {@link #getParsedRequestPath(ServletRequest)}.
+	 * <p>The request URI and context path of an include dispatch take
+	 * precedence over those of the request, if present.
+	 * @param request the current request
+	 * @return the parsed {@code RequestPath}
+	 */
+	public static RequestPath parseAndCache(HttpServletRequest request) {
+		RequestPath requestPath = parse(request);
+		request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
+	/**
+	 * Return a {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 * @return the cached {@code RequestPath}
+	 * @throws IllegalArgumentException if not found
+	 */
+	public static RequestPath getParsedRequestPath(ServletRequest request) {
+		RequestPath path = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		if (path == null) {
+			throw new IllegalArgumentException("Expected parsed RequestPath in request attribute \"" +
+					PATH_ATTRIBUTE + "\"");
+		}
+		return path;
+	}
+
+	/**
+	 * Set the cached, parsed {@code RequestPath} to the given value.
+	 * @param requestPath the value to set to, or if {@code null} the cache
+	 * value is cleared
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable RequestPath requestPath, ServletRequest request) {
+		if (requestPath != null) {
+			request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+	/**
+	 * Check for a {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 * @return whether a parsed {@code RequestPath} is present
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Remove the request attribute {@link #PATH_ATTRIBUTE} that holds a
+	 * {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 */
+	public static void clearParsedRequestPath(ServletRequest request) {
+		request.removeAttribute(PATH_ATTRIBUTE);
+	}
+
+
+	private static RequestPath parse(HttpServletRequest request) {
+		String requestUri = (String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
+		String contextPath;
+		String servletPath;
+		String pathInfo;
+		if (requestUri != null) {
+			contextPath = (String) request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE);
+			servletPath = (String) request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE);
+			pathInfo = (String) request.getAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE);
+		}
+		else {
+			requestUri = request.getRequestURI();
+			contextPath = request.getContextPath();
+			servletPath = request.getServletPath();
+			pathInfo = request.getPathInfo();
+		}
+		String servletPathPrefix = getServletPathPrefix(requestUri, contextPath, servletPath, pathInfo);
+		return RequestPath.parse(requestUri, servletPathPrefix != null ? servletPathPrefix : contextPath);
+	}
+
+	/**
+	 * Return the context path followed by the encoded Servlet path, for a
+	 * prefix-based Servlet mapping such as "/api/*", or {@code null} if the
+	 * Servlet is mapped by extension, to the default Servlet, or to "/*".
+	 */
+	@Nullable
+	private static String getServletPathPrefix(String requestUri, @Nullable String contextPath,
+			@Nullable String servletPath, @Nullable String pathInfo) {
+
+		if (pathInfo == null || !StringUtils.hasLength(servletPath)) {
+			return null;
+		}
+		String prefix = (contextPath != null ? contextPath : "") +
+				UriUtils.encodePath(servletPath, StandardCharsets.UTF_8);
+		if (prefix.endsWith("/")) {
+			prefix = prefix.substring(0, prefix.length() - 1);
+		}
+		if (!requestUri.startsWith(prefix) ||
+				(requestUri.length() > prefix.length() && requestUri.charAt(prefix.length()) != '/')) {
+			// Servlet path encoded differently than in the request URI
+			return null;
+		}
+		return prefix;
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+
+/**
+ * An index of values by {@link PathPattern}, to find the values whose pattern
+ * may match a given path, without having to match every pattern.
+ *
+ * <p>Patterns are indexed in a tree by the leading separators and literal
+ * segments they start with, up to their first segment with pattern syntax.
+ * A lookup walks the tree along the elements of the path and returns the
+ * values found on the way. Since a pattern can only match a path that starts
+ * with the same literal elements, the result contains every value whose
+ * pattern matches, or {@linkplain PathPattern#matchStartOfPath matches the
+ * start of} the path, but possibly others as well.
+ *
+ * <p>This class is not thread-safe for writes, but may be read concurrently
+ * once fully populated.
+ *
+ * @since 5.3
+ * @param <T> the type of indexed values
+ */
+public class PathPatternIndex<T> {
+
+	private final Node<T> caseSensitiveRoot = new Node<>();
+
+	private final Node<T> caseInsensitiveRoot = new Node<>();
+
+	private int size;
+
+
+	/**
+	 * Add a value for the given pattern.
+	 * @param pattern the pattern
+	 * @param value the value to return for paths the pattern may match
+	 */
+	public void add(PathPattern pattern, T value) {
+		Node<T> node = (pattern.isCaseSensitive() ? this.caseSensitiveRoot : this.caseInsensitiveRoot);
+		PathElement element = pattern.getHeadSection();
+		while (element instanceof SeparatorPathElement || element instanceof LiteralPathElement) {
+			if (element instanceof SeparatorPathElement) {
+				if (node.separatorChild == null) {
+					node.separatorChild = new Node<>();
+				}
+				node = node.separatorChild;
+			}
+			else {
+				// Lower case already, if case insensitive
+				node = node.literalChildren.computeIfAbsent(new String(element.getChars()), key -> new Node<>());
+			}
+			element = element.next;
+		}
+		node.entries.add(new Entry<>(this.size++, value));
+	}
+
+	/**
+	 * Whether the index has no values.
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Return the values whose pattern may match the given path.
+	 * @param path the path to look up
+	 * @return the candidate values, in the order they were added
+	 */
+	public List<T> getCandidates(PathContainer path) {
+		List<Entry<T>> entries = new ArrayList<>();
+		collectEntries(this.caseSensitiveRoot, path, true, entries);
+		collectEntries(this.caseInsensitiveRoot, path, false, entries);
+		if (entries.size() > 1) {
+			entries.sort(Comparator.comparingInt(entry -> entry.order));
+		}
+		List<T> result = new ArrayList<>(entries.size());
+		for (Entry<T> entry : entries) {
+			result.add(entry.value);
+		}
+		return result;
+	}
+
+	private static <T> void collectEntries(Node<T> root, PathContainer path, boolean caseSensitive,
+			List<Entry<T>> result) {
+
+		Node<T> node = root;
+		result.addAll(node.entries);
+		for (PathContainer.Element element : path.elements()) {
+			if (element instanceof PathContainer.PathSegment) {
+				String value = ((PathContainer.PathSegment) element).valueToMatch();
+				node = node.literalChildren.get(caseSensitive ? value : toLowerCase(value));
+			}
+			else {
+				node = node.separatorChild;
+			}
+			if (node == null) {
+				return;
+			}
+			result.addAll(node.entries);
+		}
+	}
+
+	/**
+	 * Lower case each char, the same as {@link LiteralPathElement} does.
+	 */
+	private static String toLowerCase(String value) {
+		char[] chars = value.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+
+	private static class Node<T> {
+
+		@Nullable
+		private Node<T> separatorChild;
+
+		private final Map<String, Node<T>> literalChildren = new HashMap<>(4);
+
+		private final List<Entry<T>> entries = new ArrayList<>(1);
+	}
+
+
+	private static class Entry<T> {
+
+		private final int order;
+
+		private final T value;
+
+		Entry(int order, T value) {
+			this.order = order;
+			this.value = value;
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.http.codec;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -37,10 +38,12 @@ import org.springframework.core.codec.CharSequenceEncoder;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.testfixture.xml.Pojo;
 
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -175,6 +178,20 @@ class EncoderHttpMessageWriterTests {
 				.block();
 	}
 
+	@Test
+	void setContentLengthForLargeMonoJsonBody() {
+		char[] chars = new char[100 * 1024];
+		Arrays.fill(chars, 'a');
+		String value = new String(chars);
+		HttpMessageWriter<Pojo> writer = new EncoderHttpMessageWriter<>(new Jackson2JsonEncoder());
+		writer.write(Mono.just(new Pojo(value, "bar")), forClass(Pojo.class),
+				MediaType.APPLICATION_JSON, this.response, NO_HINTS).block(Duration.ofSeconds(5));
+
+		String expected = "{\"foo\":\"" + value + "\",\"bar\":\"bar\"}";
+		assertThat(this.response.getHeaders().getContentLength()).isEqualTo(expected.length());
+		StepVerifier.create(this.response.getBodyAsString()).expectNext(expected).verifyComplete();
+	}
+
 	@Test // SPR-17220
 	void emptyBodyWritten() {
 		configureEncoder(MimeTypeUtils.TEXT_PLAIN);
@@ -19,21 +19,26 @@ package org.springframework.http.codec;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.testfixture.io.buffer.AbstractDataBufferAllocatingTests;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.EncodedValueCache;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
 import org.springframework.web.testfixture.xml.Pojo;
@@ -199,6 +204,132 @@ class ServerSentEventHttpMessageWriterTests extends AbstractDataBufferAllocating
 				.verify();
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void writeWithMaxEventsPerFlush(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		this.messageWriter.setMaxEventsPerFlush(2);
+		this.messageWriter.setMaxFlushDelay(Duration.ofMillis(100));
+
+		List<List<DataBuffer>> groups = new ArrayList<>();
+		MockServerHttpResponse outputMessage = new MockServerHttpResponse(super.bufferFactory) {
+			@Override
+			protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+				return Flux.from(body)
+						.concatMap(group -> Flux.<DataBuffer>from(group).collectList())
+						.doOnNext(groups::add)
+						.then();
+			}
+		};
+		Flux<String> source = Flux.just("foo", "bar", "baz");
+		testWrite(source, outputMessage, String.class);
+
+		assertThat(groups).hasSize(2);
+		StepVerifier.create(Flux.fromIterable(groups.get(0)))
+				.consumeNextWith(stringConsumer("data:foo\n\n"))
+				.consumeNextWith(stringConsumer("data:bar\n\n"))
+				.verifyComplete();
+		StepVerifier.create(Flux.fromIterable(groups.get(1)))
+				.consumeNextWith(stringConsumer("data:baz\n\n"))
+				.verifyComplete();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeWithMaxFlushDelayWithoutDemand(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		this.messageWriter.setMaxEventsPerFlush(3);
+		this.messageWriter.setMaxFlushDelay(Duration.ofMillis(100));
+
+		MonoProcessor<Publisher<? extends Publisher<? extends DataBuffer>>> body = MonoProcessor.create();
+		MockServerHttpResponse outputMessage = new MockServerHttpResponse(super.bufferFactory) {
+			@Override
+			protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> groups) {
+				body.onNext(groups);
+				return Mono.never();
+			}
+		};
+
+		// "bar" is flushed after the delay, while there is no demand for it
+		StepVerifier.withVirtualTime(() -> {
+					Flux<String> source = Flux.just("foo")
+							.concatWith(Mono.delay(Duration.ofMillis(200)).thenReturn("bar"))
+							.concatWith(Flux.never());
+					this.messageWriter.write(source, forClass(String.class), MediaType.TEXT_EVENT_STREAM,
+							outputMessage, HINTS).subscribe();
+					return body.flatMapMany(Flux::from);
+				}, 0)
+				.expectSubscription()
+				.thenAwait(Duration.ofMillis(300))
+				.thenRequest(2)
+				.consumeNextWith(group -> StepVerifier.create(group)
+						.consumeNextWith(stringConsumer("data:foo\n\n"))
+						.verifyComplete())
+				.consumeNextWith(group -> StepVerifier.create(group)
+						.consumeNextWith(stringConsumer("data:bar\n\n"))
+						.verifyComplete())
+				.thenCancel()
+				.verify();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeWithMaxFlushDelayAndTooManyPendingFlushes(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		this.messageWriter.setMaxEventsPerFlush(2);
+		this.messageWriter.setMaxFlushDelay(Duration.ofMillis(10));
+
+		MonoProcessor<Publisher<? extends Publisher<? extends DataBuffer>>> body = MonoProcessor.create();
+		MockServerHttpResponse outputMessage = new MockServerHttpResponse(super.bufferFactory) {
+			@Override
+			protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> groups) {
+				body.onNext(groups);
+				return Mono.never();
+			}
+		};
+
+		// Each event is flushed after the delay, while there is no demand
+		StepVerifier.withVirtualTime(() -> {
+					Flux<String> source = Flux.interval(Duration.ofMillis(20)).map(String::valueOf);
+					this.messageWriter.write(source, forClass(String.class), MediaType.TEXT_EVENT_STREAM,
+							outputMessage, HINTS).subscribe();
+					return body.flatMapMany(Flux::from);
+				}, 0)
+				.expectSubscription()
+				.thenAwait(Duration.ofSeconds(10))
+				.thenRequest(Long.MAX_VALUE)
+				.thenConsumeWhile(group -> {
+					Flux.from(group).subscribe(DataBufferUtils::release);
+					return true;
+				})
+				.verifyError(IllegalStateException.class);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeWithEncodedEventCache(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		this.messageWriter.setEncodedEventCache(new EncodedValueCache(1024, ServerSentEvent.class));
+		Pojo pojo = new Pojo("foo", "bar");
+		ServerSentEvent<Pojo> event = ServerSentEvent.builder(pojo).id("1").build();
+
+		MockServerHttpResponse outputMessage = new MockServerHttpResponse(super.bufferFactory);
+		testWrite(Mono.just(event), outputMessage, ServerSentEvent.class);
+		StepVerifier.create(outputMessage.getBody())
+				.consumeNextWith(stringConsumer("id:1\ndata:{\"foo\":\"foo\",\"bar\":\"bar\"}\n\n"))
+				.expectComplete()
+				.verify();
+
+		// Same event instance: encoded only once
+		pojo.setFoo("changed");
+		outputMessage = new MockServerHttpResponse(super.bufferFactory);
+		testWrite(Mono.just(event), outputMessage, ServerSentEvent.class);
+		StepVerifier.create(outputMessage.getBody())
+				.consumeNextWith(stringConsumer("id:1\ndata:{\"foo\":\"foo\",\"bar\":\"bar\"}\n\n"))
+				.expectComplete()
+				.verify();
+	}
+
 
 	private <T> void testWrite(Publisher<T> source, MockServerHttpResponse response, Class<T> clazz) {
 		testWrite(source, MediaType.TEXT_EVENT_STREAM, response, clazz);
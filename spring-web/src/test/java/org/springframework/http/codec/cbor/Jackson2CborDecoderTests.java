@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,23 +16,28 @@
 
 package org.springframework.http.codec.cbor;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.testfixture.codec.AbstractDecoderTests;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.util.MimeType;
 import org.springframework.web.testfixture.xml.Pojo;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.core.ResolvableType.forClass;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
@@ -71,12 +76,64 @@ public class Jackson2CborDecoderTests extends AbstractDecoderTests<Jackson2CborD
 		Flux<DataBuffer> input = Flux.just(this.pojo1, this.pojo2)
 				.map(this::writeObject)
 				.flatMap(this::dataBuffer);
-		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
-				testDecodeAll(input, Pojo.class, step -> step
-						.expectNext(pojo1)
-						.expectNext(pojo2)
-						.verifyComplete()));
+		testDecodeAll(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete());
+	}
+
+	@Test
+	public void decodeArrayElements() {
+		byte[] bytes = writeObject(Arrays.asList(this.pojo1, this.pojo2));
+		Flux<DataBuffer> input = Flux.range(0, bytes.length)
+				.flatMap(i -> dataBuffer(new byte[] {bytes[i]}));
+
+		testDecodeAll(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete());
+	}
+
+	@Test
+	public void decodeIndefiniteLengthArrayElements() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = this.mapper.getFactory().createGenerator(out)) {
+			generator.writeStartArray();  // indefinite length by default
+			generator.writeObject(this.pojo1);
+			generator.writeObject(this.pojo2);
+			generator.writeEndArray();
+		}
+		byte[] bytes = out.toByteArray();
+		Flux<DataBuffer> input = Flux.just(
+				Arrays.copyOfRange(bytes, 0, 5),
+				Arrays.copyOfRange(bytes, 5, bytes.length))
+				.flatMap(this::dataBuffer);
 
+		testDecode(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete());
+	}
+
+	@Test
+	public void decodeIncompleteItem() {
+		byte[] bytes = writeObject(this.pojo1);
+		Flux<DataBuffer> input = dataBuffer(Arrays.copyOf(bytes, bytes.length - 1)).flux();
+
+		testDecode(input, Pojo.class, step -> step
+				.expectError(DecodingException.class)
+				.verify());
+	}
+
+	@Test
+	public void decodeExceedingMaxInMemorySize() {
+		Jackson2CborDecoder decoder = new Jackson2CborDecoder();
+		decoder.setMaxInMemorySize(8);
+		Flux<DataBuffer> input = Flux.just(this.pojo1).map(this::writeObject).flatMap(this::dataBuffer);
+
+		StepVerifier.create(decoder.decode(input, forClass(Pojo.class), null, null))
+				.expectError(DataBufferLimitException.class)
+				.verify();
 	}
 
 	private byte[] writeObject(Object o) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,14 +18,19 @@ package org.springframework.http.codec.cbor;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.testfixture.io.buffer.AbstractLeakCheckingTests;
 import org.springframework.core.testfixture.io.buffer.DataBufferTestUtils;
 import org.springframework.http.codec.ServerSentEvent;
@@ -34,7 +39,6 @@ import org.springframework.util.MimeType;
 import org.springframework.web.testfixture.xml.Pojo;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.core.io.buffer.DataBufferUtils.release;
 import static org.springframework.http.MediaType.APPLICATION_XML;
 
@@ -47,6 +51,8 @@ public class Jackson2CborEncoderTests extends AbstractLeakCheckingTests {
 
 	private final static MimeType CBOR_MIME_TYPE = new MimeType("application", "cbor");
 
+	private final static MimeType CBOR_SEQ_MIME_TYPE = new MimeType("application", "cbor-seq");
+
 	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.cbor().build();
 
 	private final Jackson2CborEncoder encoder = new Jackson2CborEncoder();
@@ -69,6 +75,7 @@ public class Jackson2CborEncoderTests extends AbstractLeakCheckingTests {
 	public void canEncode() {
 		ResolvableType pojoType = ResolvableType.forClass(Pojo.class);
 		assertThat(this.encoder.canEncode(pojoType, CBOR_MIME_TYPE)).isTrue();
+		assertThat(this.encoder.canEncode(pojoType, CBOR_SEQ_MIME_TYPE)).isTrue();
 		assertThat(this.encoder.canEncode(pojoType, null)).isTrue();
 
 		// SPR-15464
@@ -98,7 +105,60 @@ public class Jackson2CborEncoderTests extends AbstractLeakCheckingTests {
 		Pojo pojo3 = new Pojo("foofoofoo", "barbarbar");
 		Flux<Pojo> input = Flux.just(pojo1, pojo2, pojo3);
 		ResolvableType type = ResolvableType.forClass(Pojo.class);
-		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
-				encoder.encode(input, this.bufferFactory, type, CBOR_MIME_TYPE, null));
+
+		Flux<DataBuffer> result = encoder.encode(input, this.bufferFactory, type, CBOR_MIME_TYPE, null);
+
+		StepVerifier.create(DataBufferUtils.join(result).map(this::readList))
+				.assertNext(list -> assertThat(list).containsExactly(pojo1, pojo2, pojo3))
+				.verifyComplete();
+	}
+
+	@Test
+	public void encodeAsStream() {
+		Pojo pojo1 = new Pojo("foo", "bar");
+		Pojo pojo2 = new Pojo("foofoo", "barbar");
+		Pojo pojo3 = new Pojo("foofoofoo", "barbarbar");
+		Flux<Pojo> input = Flux.just(pojo1, pojo2, pojo3);
+		ResolvableType type = ResolvableType.forClass(Pojo.class);
+
+		Flux<DataBuffer> result = encoder.encode(input, this.bufferFactory, type, CBOR_SEQ_MIME_TYPE, null);
+
+		StepVerifier.create(result)
+				.consumeNextWith(pojoConsumer(pojo1))
+				.consumeNextWith(pojoConsumer(pojo2))
+				.consumeNextWith(pojoConsumer(pojo3))
+				.verifyComplete();
+	}
+
+	@Test  // leading byte of -1 in CBOR is a space character
+	public void encodeNegativeNumbersAsStream() {
+		Flux<Integer> input = Flux.just(-1, 1, -1);
+		ResolvableType type = ResolvableType.forClass(Integer.class);
+
+		Flux<DataBuffer> result = encoder.encode(input, this.bufferFactory, type, CBOR_SEQ_MIME_TYPE, null);
+
+		Mono<List<Integer>> values = DataBufferUtils.join(result).map(buffer -> {
+			try {
+				return this.mapper.reader().forType(Integer.class)
+						.<Integer>readValues(buffer.asInputStream(true)).readAll();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+
+		StepVerifier.create(values)
+				.assertNext(list -> assertThat(list).containsExactly(-1, 1, -1))
+				.verifyComplete();
+	}
+
+	private List<Pojo> readList(DataBuffer dataBuffer) {
+		try {
+			return this.mapper.reader().forType(new TypeReference<List<Pojo>>() {})
+					.readValue(dataBuffer.asInputStream(true));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
 	}
 }
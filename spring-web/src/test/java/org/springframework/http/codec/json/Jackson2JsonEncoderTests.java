@@ -39,6 +39,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.codec.json.JacksonViewBean.MyJacksonView1;
 import org.springframework.http.codec.json.JacksonViewBean.MyJacksonView3;
+import org.springframework.http.converter.json.EncodedValueCache;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.testfixture.xml.Pojo;
@@ -219,6 +220,64 @@ public class Jackson2JsonEncoderTests extends AbstractEncoderTests<Jackson2JsonE
 	}
 
 
+	@Test
+	public void encodeLargeMonoValueAsSingleBuffer() {
+		char[] chars = new char[200 * 1024];
+		Arrays.fill(chars, 'a');
+		String value = new String(chars);
+
+		Flux<DataBuffer> result = this.encoder.encode(Mono.just(new Pojo(value, "bar")), this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), MimeTypeUtils.APPLICATION_JSON, Collections.emptyMap());
+
+		StepVerifier.create(result)
+				.consumeNextWith(expectString("{\"foo\":\"" + value + "\",\"bar\":\"bar\"}"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void encodeLargeFluxAcrossMultipleBuffers() {
+		char[] chars = new char[200 * 1024];
+		Arrays.fill(chars, 'a');
+		String value = new String(chars);
+
+		Flux<DataBuffer> result = this.encoder.encode(Flux.just(new Pojo(value, "bar")), this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), MimeTypeUtils.APPLICATION_JSON, Collections.emptyMap());
+
+		StepVerifier.create(DataBufferUtils.join(result.collectList()
+						.doOnNext(buffers -> assertThat(buffers.size()).isGreaterThan(1))
+						.flatMapMany(Flux::fromIterable)))
+				.consumeNextWith(expectString("[{\"foo\":\"" + value + "\",\"bar\":\"bar\"}]"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void encodeWithEncodedValueCache() {
+		EncodedValueCache cache = new EncodedValueCache(1024, Pojo.class);
+		Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+		encoder.setEncodedValueCache(cache);
+		Pojo pojo = new Pojo("foo", "bar");
+		ResolvableType type = ResolvableType.forClass(Pojo.class);
+
+		DataBuffer first = encoder.encodeValue(pojo, this.bufferFactory, type, APPLICATION_JSON, null);
+		expectString("{\"foo\":\"foo\",\"bar\":\"bar\"}").accept(first);
+		assertThat(cache.getByteCount()).isEqualTo(25);
+
+		// Cached by identity: no serialization the second time
+		pojo.setFoo("changed");
+		StepVerifier.create(encoder.encode(Mono.just(pojo), this.bufferFactory, type, APPLICATION_JSON, null))
+				.consumeNextWith(expectString("{\"foo\":\"foo\",\"bar\":\"bar\"}"))
+				.verifyComplete();
+
+		// Different media type
+		MediaType utf16 = new MediaType("application", "json", StandardCharsets.UTF_16BE);
+		DataBuffer other = encoder.encodeValue(pojo, this.bufferFactory, type, utf16, null);
+		assertThat(other.toString(StandardCharsets.UTF_16BE)).isEqualTo("{\"foo\":\"changed\",\"bar\":\"bar\"}");
+		DataBufferUtils.release(other);
+	}
+
+
 	@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
 	private static class ParentClass {
 	}
@@ -185,6 +185,9 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 
 		// SPR-16407
 		testTokenize(asList("[1", ",2,", "3]"), asList("1", "2", "3"), true);
+
+		// nested arrays as elements
+		testTokenize(asList("[[1,2],", "[3],[]]"), asList("[1,2]", "[3]", "[]"), true);
 	}
 
 	private void testTokenize(List<String> input, List<String> output, boolean tokenize) {
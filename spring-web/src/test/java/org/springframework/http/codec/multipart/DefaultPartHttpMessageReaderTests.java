@@ -0,0 +1,245 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.testfixture.io.buffer.AbstractLeakCheckingTests;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link DefaultPartHttpMessageReader}.
+ */
+class DefaultPartHttpMessageReaderTests extends AbstractLeakCheckingTests {
+
+	private static final String LOREM_IPSUM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. " +
+			"Integer iaculis metus id vestibulum nullam.\r\n";
+
+	private static final String MUSPI_MEROL = new StringBuilder(LOREM_IPSUM.trim()).reverse() + "\r\n";
+
+	private static final ResolvableType PART_TYPE = ResolvableType.forClass(Part.class);
+
+
+	private final DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+
+
+	@Test
+	void canRead() {
+		assertThat(this.reader.canRead(PART_TYPE, MediaType.MULTIPART_FORM_DATA)).isTrue();
+		assertThat(this.reader.canRead(PART_TYPE, MediaType.MULTIPART_MIXED)).isTrue();
+		assertThat(this.reader.canRead(PART_TYPE, null)).isTrue();
+		assertThat(this.reader.canRead(PART_TYPE, MediaType.APPLICATION_FORM_URLENCODED)).isFalse();
+		assertThat(this.reader.canRead(ResolvableType.forClass(String.class), MediaType.MULTIPART_FORM_DATA)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 7, 64, 4096})
+	void chrome(int bufferSize) {
+		testBrowser("chrome.multipart", "----WebKitFormBoundaryEveBLvRT65n21fwU", bufferSize);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 7, 64, 4096})
+	void firefox(int bufferSize) {
+		testBrowser("firefox.multipart", "---------------------------18399284482060392383840973206", bufferSize);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 7, 64, 4096})
+	void safari(int bufferSize) {
+		testBrowser("safari.multipart", "----WebKitFormBoundaryG8fJ50opQOML0oGD", bufferSize);
+	}
+
+	@Test
+	void fileStreamedToDisk(@TempDir Path directory) throws IOException {
+		Path storage = Files.createDirectory(directory.resolve("storage"));
+		this.reader.setMaxInMemorySize(16);
+		this.reader.setFileStorageDirectory(storage);
+		ServerHttpRequest request = createRequest("chrome.multipart", "----WebKitFormBoundaryEveBLvRT65n21fwU", 64);
+
+		List<Part> parts = this.reader.read(PART_TYPE, request, emptyMap())
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(parts).hasSize(5);
+		assertThat(fileCount(storage)).isEqualTo(3);
+
+		FilePart part = (FilePart) parts.get(2);
+		assertContent(part, LOREM_IPSUM);
+
+		Path dest = directory.resolve("dest");
+		part.transferTo(dest).block(Duration.ofSeconds(5));
+		assertThat(new String(Files.readAllBytes(dest), UTF_8)).isEqualTo(LOREM_IPSUM);
+
+		Flux.fromIterable(parts).concatMap(Part::delete).blockLast(Duration.ofSeconds(5));
+		assertThat(fileCount(storage)).isEqualTo(0);
+	}
+
+	@Test
+	void noEndBoundary() {
+		ServerHttpRequest request = createRequest("part-no-end-boundary.multipart", "boundary", 4096);
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()))
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	void truncatedContent() {
+		ServerHttpRequest request = createRequest("invalid.multipart", "NbjrKgjbsaMLdnMxMfDpD6myWomYc0qNX0w", 1024);
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()))
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	void noBoundary() {
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(MediaType.MULTIPART_FORM_DATA)
+				.body(Flux.just(this.bufferFactory.wrap("content".getBytes(UTF_8))));
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()))
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	void tooManyParts() {
+		testException(reader -> reader.setMaxParts(2), ex -> assertThat(ex)
+				.isInstanceOf(DecodingException.class)
+				.hasMessage("Too many parts (2 allowed)"));
+	}
+
+	@Test
+	void formFieldTooBig() {
+		testException(reader -> reader.setMaxInMemorySize(0), ex -> assertThat(ex)
+				.isInstanceOf(DataBufferLimitException.class)
+				.hasMessage("Part exceeded the in-memory limit of 0 bytes"));
+	}
+
+	@Test
+	void filePartTooBig() {
+		testException(reader -> {
+			reader.setMaxInMemorySize(1);
+			reader.setMaxDiskUsagePerPart(5);
+		}, ex -> assertThat(ex)
+				.isInstanceOf(DataBufferLimitException.class)
+				.hasMessage("Part exceeded the disk usage limit of 5 bytes"));
+	}
+
+	@Test
+	void filePartsTooBig(@TempDir Path storage) throws IOException {
+		this.reader.setMaxInMemorySize(16);
+		this.reader.setMaxDiskUsagePerRequest(2 * LOREM_IPSUM.length() - 1);
+		this.reader.setFileStorageDirectory(storage);
+		this.reader.setBlockingOperationScheduler(Schedulers.immediate());
+		ServerHttpRequest request = createRequest("chrome.multipart", "----WebKitFormBoundaryEveBLvRT65n21fwU", 64);
+
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()))
+				.expectNextCount(3)
+				.consumeErrorWith(ex -> assertThat(ex)
+						.isInstanceOf(DataBufferLimitException.class)
+						.hasMessage("Parts exceeded the disk usage limit of " + (2 * LOREM_IPSUM.length() - 1) + " bytes"))
+				.verify(Duration.ofSeconds(5));
+
+		assertThat(fileCount(storage)).isEqualTo(0);
+	}
+
+	@Test
+	void headersTooBig() {
+		testException(reader -> reader.setMaxHeadersSize(16), ex -> assertThat(ex)
+				.isInstanceOf(DataBufferLimitException.class)
+				.hasMessage("Part headers exceeded the memory usage limit of 16 bytes"));
+	}
+
+
+	private void testBrowser(String resource, String boundary, int bufferSize) {
+		ServerHttpRequest request = createRequest(resource, boundary, bufferSize);
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()))
+				.assertNext(part -> assertFormFieldPart(part, "text1", "a"))
+				.assertNext(part -> assertFormFieldPart(part, "text2", "b"))
+				.assertNext(part -> assertFilePart(part, "file1", "a.txt", LOREM_IPSUM))
+				.assertNext(part -> assertFilePart(part, "file2", "a.txt", LOREM_IPSUM))
+				.assertNext(part -> assertFilePart(part, "file2", "b.txt", MUSPI_MEROL))
+				.verifyComplete();
+	}
+
+	private void testException(Consumer<DefaultPartHttpMessageReader> configurer, Consumer<Throwable> assertions) {
+		configurer.accept(this.reader);
+		ServerHttpRequest request = createRequest("chrome.multipart", "----WebKitFormBoundaryEveBLvRT65n21fwU", 64);
+		StepVerifier.create(this.reader.read(PART_TYPE, request, emptyMap()).then())
+				.consumeErrorWith(assertions)
+				.verify(Duration.ofSeconds(5));
+	}
+
+	private ServerHttpRequest createRequest(String resource, String boundary, int bufferSize) {
+		Flux<DataBuffer> body = DataBufferUtils.readByteChannel(
+				new ClassPathResource(resource, getClass())::readableChannel, this.bufferFactory, bufferSize);
+		MediaType contentType = new MediaType("multipart", "form-data", singletonMap("boundary", boundary));
+		return MockServerHttpRequest.post("/")
+				.contentType(contentType)
+				.body(body);
+	}
+
+	private static long fileCount(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private static void assertFormFieldPart(Part part, String name, String value) {
+		assertThat(part).isInstanceOf(FormFieldPart.class);
+		assertThat(part.name()).isEqualTo(name);
+		assertThat(((FormFieldPart) part).value()).isEqualTo(value);
+	}
+
+	private static void assertFilePart(Part part, String name, String filename, String content) {
+		assertThat(part).isInstanceOf(FilePart.class);
+		assertThat(part.name()).isEqualTo(name);
+		assertThat(((FilePart) part).filename()).isEqualTo(filename);
+		assertContent(part, content);
+	}
+
+	private static void assertContent(Part part, String expected) {
+		DataBuffer buffer = DataBufferUtils.join(part.content()).block(Duration.ofSeconds(5));
+		assertThat(buffer).isNotNull();
+		assertThat(buffer.toString(UTF_8)).isEqualTo(expected);
+		DataBufferUtils.release(buffer);
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.multipart;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.testfixture.io.buffer.AbstractLeakCheckingTests;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PartEventHttpMessageReader}.
+ */
+class PartEventHttpMessageReaderTests extends AbstractLeakCheckingTests {
+
+	private static final ResolvableType PART_EVENT_TYPE = ResolvableType.forClass(PartEvent.class);
+
+	private static final String BOUNDARY = "----WebKitFormBoundaryEveBLvRT65n21fwU";
+
+
+	private final PartEventHttpMessageReader reader = new PartEventHttpMessageReader();
+
+
+	@Test
+	void canRead() {
+		assertThat(this.reader.canRead(PART_EVENT_TYPE, MediaType.MULTIPART_FORM_DATA)).isTrue();
+		assertThat(this.reader.canRead(PART_EVENT_TYPE, null)).isTrue();
+		assertThat(this.reader.canRead(PART_EVENT_TYPE, MediaType.APPLICATION_JSON)).isFalse();
+		assertThat(this.reader.canRead(ResolvableType.forClass(Part.class), MediaType.MULTIPART_FORM_DATA)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 7, 4096})
+	void chrome(int bufferSize) {
+		Flux<PartEvent> events = this.reader.read(PART_EVENT_TYPE, createRequest(bufferSize), emptyMap());
+
+		StringBuilder file1 = new StringBuilder();
+		StepVerifier.create(events)
+				.assertNext(event -> assertFormEvent(event, "text1", "a"))
+				.assertNext(event -> assertFormEvent(event, "text2", "b"))
+				.thenConsumeWhile(event -> {
+					assertThat(event).isInstanceOf(FilePartEvent.class);
+					if (event.name().equals("file1")) {
+						assertThat(((FilePartEvent) event).filename()).isEqualTo("a.txt");
+						file1.append(event.content().toString(UTF_8));
+					}
+					DataBufferUtils.release(event.content());
+					return true;
+				})
+				.verifyComplete();
+
+		assertThat(file1.toString()).startsWith("Lorem ipsum dolor sit amet").endsWith("nullam.\r\n");
+	}
+
+	@Test
+	void lastEventPerPart() {
+		Flux<PartEvent> events = this.reader.read(PART_EVENT_TYPE, createRequest(16), emptyMap());
+
+		StepVerifier.create(events
+						.doOnNext(event -> DataBufferUtils.release(event.content()))
+						.filter(PartEvent::isLast)
+						.map(PartEvent::name))
+				.expectNext("text1", "text2", "file1", "file2", "file2")
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void formFieldTooBig() {
+		this.reader.setMaxInMemorySize(0);
+		StepVerifier.create(this.reader.read(PART_EVENT_TYPE, createRequest(64), emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+
+	private ServerHttpRequest createRequest(int bufferSize) {
+		Flux<DataBuffer> body = DataBufferUtils.readByteChannel(
+				new ClassPathResource("chrome.multipart", getClass())::readableChannel, this.bufferFactory, bufferSize);
+		MediaType contentType = new MediaType("multipart", "form-data", singletonMap("boundary", BOUNDARY));
+		return MockServerHttpRequest.post("/")
+				.contentType(contentType)
+				.body(body);
+	}
+
+	private static void assertFormEvent(PartEvent event, String name, String value) {
+		assertThat(event).isInstanceOf(FormPartEvent.class);
+		assertThat(event.name()).isEqualTo(name);
+		assertThat(event.isLast()).isTrue();
+		assertThat(((FormPartEvent) event).value()).isEqualTo(value);
+	}
+
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.function.Consumer;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -97,6 +98,23 @@ public class ProtobufEncoderTests extends AbstractEncoderTests<ProtobufEncoder>
 				.verifyComplete());
 	}
 
+	@Test
+	public void encodeIntoExactlySizedBuffers() {
+		DataBuffer buffer = this.encoder.encodeValue(this.msg1, this.bufferFactory, forClass(Msg.class), null, null);
+		assertThat(buffer.readableByteCount()).isEqualTo(this.msg1.getSerializedSize());
+		assertThat(buffer.capacity()).isEqualTo(this.msg1.getSerializedSize());
+		DataBufferUtils.release(buffer);
+
+		int delimitedSize = CodedOutputStream.computeUInt32SizeNoTag(this.msg2.getSerializedSize()) +
+				this.msg2.getSerializedSize();
+		testEncode(Flux.just(this.msg2), Msg.class, step -> step
+				.consumeNextWith(dataBuffer -> {
+					assertThat(dataBuffer.readableByteCount()).isEqualTo(delimitedSize);
+					expect(this.msg2).accept(dataBuffer);
+				})
+				.verifyComplete());
+	}
+
 	protected final Consumer<DataBuffer> expect(Msg msg) {
 		return dataBuffer -> {
 			try {
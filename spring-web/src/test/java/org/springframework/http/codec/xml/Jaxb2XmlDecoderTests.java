@@ -17,10 +17,12 @@
 package org.springframework.http.codec.xml;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.XMLEvent;
@@ -228,6 +230,74 @@ public class Jaxb2XmlDecoderTests extends AbstractLeakCheckingTests {
 				assertThat(Exceptions.unwrap(ex)).isInstanceOf(XMLStreamException.class));
 	}
 
+	@Test
+	public void reuseUnmarshaller() {
+		List<Unmarshaller> created = new ArrayList<>();
+		this.decoder.setUnmarshallerProcessor(unmarshaller -> {
+			created.add(unmarshaller);
+			return unmarshaller;
+		});
+
+		Flux<Object> output = this.decoder.decode(toDataBufferMono(POJO_CHILD),
+				ResolvableType.forClass(Pojo.class), null, HINTS);
+
+		StepVerifier.create(output)
+				.expectNext(new Pojo("foo", "bar"))
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.expectComplete()
+				.verify();
+		assertThat(created).hasSize(1);
+	}
+
+	@Test
+	public void reuseUnmarshallerPerClass() {
+		List<Unmarshaller> created = new ArrayList<>();
+		this.decoder.setUnmarshallerProcessor(unmarshaller -> {
+			created.add(unmarshaller);
+			return unmarshaller;
+		});
+
+		for (int i = 0; i < 2; i++) {
+			StepVerifier.create(this.decoder.decodeToMono(toDataBufferMono(POJO_ROOT),
+					ResolvableType.forClass(Pojo.class), null, HINTS))
+					.expectNext(new Pojo("foofoo", "barbar"))
+					.verifyComplete();
+			StepVerifier.create(this.decoder.decodeToMono(toDataBufferMono(POJO_ROOT),
+					ResolvableType.forClass(TypePojo.class), null, HINTS))
+					.expectNext(new TypePojo("foofoo", "barbar"))
+					.verifyComplete();
+		}
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void noUnmarshallerReuseAfterError() {
+		List<Unmarshaller> created = new ArrayList<>();
+		this.decoder.setUnmarshallerProcessor(unmarshaller -> {
+			created.add(unmarshaller);
+			unmarshaller.setListener(new Unmarshaller.Listener() {
+				@Override
+				public void afterUnmarshal(Object target, Object parent) {
+					if (target instanceof Pojo && "fail".equals(((Pojo) target).getFoo())) {
+						throw new IllegalStateException("Invalid foo");
+					}
+				}
+			});
+			return unmarshaller;
+		});
+
+		Mono<DataBuffer> source = toDataBufferMono("<pojo><foo>fail</foo><bar>bar</bar></pojo>");
+		StepVerifier.create(this.decoder.decodeToMono(source, ResolvableType.forClass(Pojo.class), null, HINTS))
+				.expectError()
+				.verify();
+
+		StepVerifier.create(this.decoder.decodeToMono(toDataBufferMono(POJO_ROOT),
+				ResolvableType.forClass(Pojo.class), null, HINTS))
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.verifyComplete();
+		assertThat(created).hasSize(2);
+	}
+
 	@Test
 	public void toExpectedQName() {
 		assertThat(this.decoder.toQName(Pojo.class)).isEqualTo(new QName("pojo"));
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,12 @@
 
 package org.springframework.http.codec.xml;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
 
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElements;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -29,6 +31,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.testfixture.codec.AbstractEncoderTests;
 import org.springframework.core.testfixture.xml.XmlContent;
@@ -37,6 +40,7 @@ import org.springframework.web.testfixture.xml.Pojo;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.core.io.buffer.DataBufferUtils.release;
 
 /**
@@ -102,6 +106,62 @@ public class Jaxb2XmlEncoderTests extends AbstractEncoderTests<Jaxb2XmlEncoder>
 				.verifyComplete());
 	}
 
+	@Test
+	public void reuseMarshaller() {
+		List<Marshaller> created = new ArrayList<>();
+		this.encoder.setMarshallerProcessor(marshaller -> {
+			created.add(marshaller);
+			return marshaller;
+		});
+
+		String expected = "<?xml version='1.0' encoding='UTF-8' standalone='yes'?>" +
+				"<pojo><bar>barbar</bar><foo>foofoo</foo></pojo>";
+		expectXml(expected).accept(encodeValue(new Pojo("foofoo", "barbar")));
+		expectXml(expected).accept(encodeValue(new Pojo("foofoo", "barbar")));
+		assertThat(created).hasSize(1);
+	}
+
+	@Test
+	public void reuseMarshallerPerClass() {
+		List<Marshaller> created = new ArrayList<>();
+		this.encoder.setMarshallerProcessor(marshaller -> {
+			created.add(marshaller);
+			return marshaller;
+		});
+
+		release(encodeValue(new Pojo("foofoo", "barbar")));
+		release(encodeValue(new Container()));
+		assertThat(created).hasSize(2);
+
+		expectXml("<?xml version='1.0' encoding='UTF-8' standalone='yes'?>" +
+				"<pojo><bar>barbar</bar><foo>foofoo</foo></pojo>")
+				.accept(encodeValue(new Pojo("foofoo", "barbar")));
+		expectXml("<?xml version='1.0' encoding='UTF-8' standalone='yes'?>" +
+				"<container><foo><name>name1</name></foo><bar><title>title1</title></bar></container>")
+				.accept(encodeValue(new Container()));
+		assertThat(created).hasSize(2);
+	}
+
+	@Test
+	public void noMarshallerReuseAfterError() {
+		List<Marshaller> created = new ArrayList<>();
+		this.encoder.setMarshallerProcessor(marshaller -> {
+			created.add(marshaller);
+			return marshaller;
+		});
+
+		// No @XmlRootElement: fails to marshal
+		Jaxb2XmlDecoderTests.TypePojo value = new Jaxb2XmlDecoderTests.TypePojo("foo", "bar");
+		assertThatExceptionOfType(EncodingException.class).isThrownBy(() -> encodeValue(value));
+		assertThatExceptionOfType(EncodingException.class).isThrownBy(() -> encodeValue(value));
+		assertThat(created).hasSize(2);
+	}
+
+	private DataBuffer encodeValue(Object value) {
+		return this.encoder.encodeValue(value, this.bufferFactory,
+				ResolvableType.forInstance(value), MediaType.APPLICATION_XML, null);
+	}
+
 	protected Consumer<DataBuffer> expectXml(String expected) {
 		return dataBuffer -> {
 			byte[] resultBytes = new byte[dataBuffer.readableByteCount()];
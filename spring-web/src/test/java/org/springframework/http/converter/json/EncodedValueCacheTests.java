@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter.json;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link EncodedValueCache}.
+ */
+public class EncodedValueCacheTests {
+
+	private final EncodedValueCache cache = new EncodedValueCache(10, CharSequence.class);
+
+
+	@Test
+	public void cacheable() {
+		assertThat(this.cache.isCacheable("foo")).isTrue();
+		assertThat(this.cache.isCacheable(new StringBuilder())).isTrue();
+		assertThat(this.cache.isCacheable(1)).isFalse();
+		assertThat(this.cache.isCacheable(null)).isFalse();
+	}
+
+	@Test
+	public void keyedByIdentityAndVariant() {
+		String value = "foo";
+		byte[] bytes = {1, 2, 3};
+		this.cache.put(value, bytes, MediaType.APPLICATION_JSON, null);
+
+		assertThat(this.cache.get(value, MediaType.APPLICATION_JSON, null)).isSameAs(bytes);
+		assertThat(this.cache.get(value, MediaType.APPLICATION_XML, null)).isNull();
+		assertThat(this.cache.get(new String(value), MediaType.APPLICATION_JSON, null)).isNull();
+	}
+
+	@Test
+	public void evictOldestWhenFull() {
+		String first = "first";
+		String second = "second";
+		String third = "third";
+		this.cache.put(first, new byte[4]);
+		this.cache.put(second, new byte[4]);
+		assertThat(this.cache.getByteCount()).isEqualTo(8);
+
+		this.cache.put(third, new byte[4]);
+		assertThat(this.cache.get(first)).isNull();
+		assertThat(this.cache.get(second)).isNotNull();
+		assertThat(this.cache.get(third)).isNotNull();
+		assertThat(this.cache.getByteCount()).isEqualTo(8);
+
+		this.cache.put("too large", new byte[11]);
+		assertThat(this.cache.get("too large")).isNull();
+		assertThat(this.cache.getByteCount()).isEqualTo(8);
+
+		this.cache.clear();
+		assertThat(this.cache.get(second)).isNull();
+		assertThat(this.cache.getByteCount()).isEqualTo(0);
+	}
+
+}
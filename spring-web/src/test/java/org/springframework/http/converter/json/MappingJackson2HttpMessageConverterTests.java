@@ -21,8 +21,10 @@ import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonView;
@@ -164,6 +166,34 @@ public class MappingJackson2HttpMessageConverterTests {
 		assertThat(outputMessage.getHeaders().getContentType()).as("Invalid content-type").isEqualTo(MediaType.APPLICATION_JSON);
 	}
 
+	@Test
+	public void writeWithEncodedValueCache() throws IOException {
+		EncodedValueCache cache = new EncodedValueCache(1024, MyBean.class);
+		MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+		converter.setEncodedValueCache(cache);
+		MyBean body = new MyBean();
+		body.setString("Foo");
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(body, null, outputMessage);
+		String result = outputMessage.getBodyAsString(StandardCharsets.UTF_8);
+		assertThat(result).contains("\"string\":\"Foo\"");
+		assertThat(cache.getByteCount()).isEqualTo(result.length());
+
+		// Cached by identity: no serialization the second time
+		body.setString("Bar");
+		outputMessage = new MockHttpOutputMessage();
+		converter.write(body, null, outputMessage);
+		assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(result);
+
+		// Values with filters are not cached
+		MappingJacksonValue value = new MappingJacksonValue(body);
+		value.setFilters(new SimpleFilterProvider().setFailOnUnknownId(false));
+		outputMessage = new MockHttpOutputMessage();
+		converter.write(value, null, outputMessage);
+		assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8)).contains("\"string\":\"Bar\"");
+	}
+
 	@Test
 	public void writeUTF16() throws IOException {
 		MediaType contentType = new MediaType("application", "json", StandardCharsets.UTF_16BE);
@@ -262,6 +292,37 @@ public class MappingJackson2HttpMessageConverterTests {
 		JSONAssert.assertEquals(body, outputMessage.getBodyAsString(StandardCharsets.UTF_8), true);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void readStream() throws Exception {
+		ParameterizedTypeReference<Stream<MyBean>> beanStream = new ParameterizedTypeReference<Stream<MyBean>>() {};
+		assertThat(converter.canRead(beanStream.getType(), null, MediaType.APPLICATION_JSON)).isTrue();
+
+		String body = "[{\"string\":\"Foo\"},{\"string\":\"Bar\"}]";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+		try (Stream<MyBean> results = (Stream<MyBean>) converter.read(beanStream.getType(), null, inputMessage)) {
+			assertThat(results.map(MyBean::getString)).containsExactly("Foo", "Bar");
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void readIterator() throws Exception {
+		ParameterizedTypeReference<Iterator<MyBean>> beanIterator = new ParameterizedTypeReference<Iterator<MyBean>>() {};
+		assertThat(converter.canRead(beanIterator.getType(), null, MediaType.APPLICATION_JSON)).isTrue();
+
+		String body = "[{\"string\":\"Foo\"},{\"string\":\"Bar\"}]";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+		Iterator<MyBean> results = (Iterator<MyBean>) converter.read(beanIterator.getType(), null, inputMessage);
+		assertThat(results.next().getString()).isEqualTo("Foo");
+		assertThat(results.next().getString()).isEqualTo("Bar");
+		assertThat(results.hasNext()).isFalse();
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void writeParameterizedBaseType() throws Exception {
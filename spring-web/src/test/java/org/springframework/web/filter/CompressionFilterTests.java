@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompressionFilter}.
+ */
+public class CompressionFilterTests {
+
+	private static final String CONTENT = StringUtils.collectionToDelimitedString(
+			Collections.nCopies(500, "Hello World"), " ");
+
+	private final CompressionFilter filter = new CompressionFilter();
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+
+	@Test
+	public void gzip() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip, deflate");
+		this.filter.doFilter(this.request, this.response, writeContent("text/plain", CONTENT));
+
+		assertThat(this.response.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(this.response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+		assertThat(this.response.containsHeader("Content-Length")).isFalse();
+		assertThat(gunzip(this.response.getContentAsByteArray())).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void deflate() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip;q=0.5, deflate");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			filterResponse.setContentType("application/json");
+			filterResponse.getWriter().write(CONTENT);
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(this.response.getHeader("Content-Encoding")).isEqualTo("deflate");
+		InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(this.response.getContentAsByteArray()));
+		assertThat(StreamUtils.copyToString(inputStream, StandardCharsets.ISO_8859_1)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void strongETagMadeWeak() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setHeader("ETag", "\"123\"");
+			writeContent("text/html", CONTENT).doFilter(filterRequest, filterResponse);
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(this.response.getHeader("ETag")).isEqualTo("W/\"123\"");
+	}
+
+	@Test
+	public void belowMinResponseSize() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		this.filter.doFilter(this.request, this.response, writeContent("text/plain", "Hello World"));
+
+		assertThat(this.response.containsHeader("Content-Encoding")).isFalse();
+		assertThat(this.response.getContentLength()).isEqualTo(11);
+		assertThat(this.response.getContentAsString()).isEqualTo("Hello World");
+	}
+
+	@Test
+	public void notAcceptedEncoding() throws Exception {
+		this.request.addHeader("Accept-Encoding", "br");
+		this.filter.doFilter(this.request, this.response, writeContent("text/plain", CONTENT));
+
+		assertThat(this.response.containsHeader("Content-Encoding")).isFalse();
+		assertThat(this.response.getContentAsString()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void mimeTypeNotIncluded() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		this.filter.doFilter(this.request, this.response, writeContent("image/png", CONTENT));
+
+		assertThat(this.response.containsHeader("Content-Encoding")).isFalse();
+		assertThat(this.response.getContentAsString()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void alreadyEncoded() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setHeader("Content-Encoding", "br");
+			writeContent("text/css", CONTENT).doFilter(filterRequest, filterResponse);
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(this.response.getHeader("Content-Encoding")).isEqualTo("br");
+		assertThat(this.response.getContentAsString()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void flushAsyncResponse() throws Exception {
+		this.request.setAsyncSupported(true);
+		this.request.addHeader("Accept-Encoding", "deflate");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			filterRequest.startAsync();
+			filterResponse.setContentType("text/plain");
+			filterResponse.getOutputStream().write("Hello World".getBytes(StandardCharsets.UTF_8));
+			filterResponse.flushBuffer();
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(this.response.getHeader("Content-Encoding")).isEqualTo("deflate");
+		assertThat(inflate(this.response.getContentAsByteArray())).isEqualTo("Hello World");
+	}
+
+	@Test
+	public void flushSynchronousResponse() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			filterResponse.setContentType("text/plain");
+			filterResponse.getWriter().write(CONTENT);
+			filterResponse.flushBuffer();
+			filterResponse.getWriter().write(CONTENT);
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+		byte[] flushed = this.response.getContentAsByteArray();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(this.request, response, writeContent("text/plain", CONTENT + CONTENT));
+
+		// Flushing a synchronous response does not emit partial deflate blocks
+		assertThat(flushed).isEqualTo(response.getContentAsByteArray());
+		assertThat(gunzip(flushed)).isEqualTo(CONTENT + CONTENT);
+	}
+
+	@Test
+	public void writeSingleBytes() throws Exception {
+		this.request.addHeader("Accept-Encoding", "gzip");
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			filterResponse.setContentType("text/plain");
+			for (byte b : CONTENT.getBytes(StandardCharsets.UTF_8)) {
+				filterResponse.getOutputStream().write(b);
+			}
+		};
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(this.response.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(gunzip(this.response.getContentAsByteArray())).isEqualTo(CONTENT);
+	}
+
+
+	private static FilterChain writeContent(String contentType, String content) {
+		return (filterRequest, filterResponse) -> {
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			filterResponse.setContentType(contentType);
+			filterResponse.setContentLength(bytes.length);
+			filterResponse.getOutputStream().write(bytes);
+			filterResponse.flushBuffer();
+		};
+	}
+
+	private static String gunzip(byte[] bytes) throws IOException {
+		InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes));
+		return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+	}
+
+	private static String inflate(byte[] bytes) throws DataFormatException {
+		// Decompress the data available so far, which need not be complete
+		Inflater inflater = new Inflater();
+		inflater.setInput(bytes);
+		byte[] result = new byte[1024];
+		int count = inflater.inflate(result);
+		inflater.end();
+		return new String(result, 0, count, StandardCharsets.UTF_8);
+	}
+
+}
@@ -266,4 +266,63 @@ public class ShallowEtagHeaderFilterTests {
 		assertThat(response.getContentAsByteArray()).as("Invalid content").isEqualTo(responseBody);
 	}
 
+	@Test
+	public void filterMatchWithinStreamingThreshold() throws Exception {
+		this.filter.setStreamingThreshold(11);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		String etag = "\"0b10a8db164e0754105b7a99be72e3fe5\"";
+		request.addHeader("If-None-Match", etag);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			byte[] responseBody = "Hello World".getBytes(StandardCharsets.UTF_8);
+			FileCopyUtils.copy(responseBody, filterResponse.getOutputStream());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(304);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo(etag);
+		assertThat(response.getContentAsByteArray()).as("Invalid content").isEmpty();
+	}
+
+	@Test
+	public void filterExceedingStreamingThreshold() throws Exception {
+		this.filter.setStreamingThreshold(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			filterResponse.getWriter().write("Hello ");
+			assertThat(filterResponse.isCommitted()).isFalse();
+			assertThat(response.getContentAsString()).isEmpty();
+			filterResponse.getWriter().write("World");
+			assertThat(response.getContentAsString()).isEqualTo("Hello World");
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isNull();
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
+	@Test
+	public void filterExceedingStreamingThresholdWithContentLength() throws Exception {
+		this.filter.setStreamingThreshold(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			byte[] responseBody = "Hello World".getBytes(StandardCharsets.UTF_8);
+			filterResponse.setContentLength(responseBody.length);
+			filterResponse.getOutputStream().write(responseBody);
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isNull();
+		assertThat(response.getContentLength()).as("Invalid Content-Length header").isEqualTo(11);
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
 }
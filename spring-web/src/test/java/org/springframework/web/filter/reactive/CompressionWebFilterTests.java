@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.testfixture.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompressionWebFilter}.
+ */
+public class CompressionWebFilterTests {
+
+	private static final String CONTENT = StringUtils.collectionToDelimitedString(
+			Collections.nCopies(500, "Hello World"), " ");
+
+	private final CompressionWebFilter filter = new CompressionWebFilter();
+
+
+	@Test
+	public void gzipSingleBuffer() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/").header("Accept-Encoding", "gzip"));
+		this.filter.filter(exchange, writeContent(MediaType.TEXT_PLAIN, CONTENT)).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+		assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly("Accept-Encoding");
+		assertThat(gunzip(exchange)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void gzipMultipleBuffers() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/").header("Accept-Encoding", "gzip"));
+		WebFilterChain filterChain = filterExchange -> {
+			ServerHttpResponse response = filterExchange.getResponse();
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return response.writeWith(Flux.just(CONTENT, CONTENT).map(CompressionWebFilterTests::toDataBuffer));
+		};
+		this.filter.filter(exchange, filterChain).block(Duration.ofSeconds(5));
+
+		assertThat(gunzip(exchange)).isEqualTo(CONTENT + CONTENT);
+	}
+
+	@Test
+	public void gzipWriteAndFlushWith() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/").header("Accept-Encoding", "gzip"));
+		WebFilterChain filterChain = filterExchange -> {
+			ServerHttpResponse response = filterExchange.getResponse();
+			response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+			return response.writeAndFlushWith(Flux.just(CONTENT, CONTENT)
+					.map(content -> Mono.just(toDataBuffer(content))));
+		};
+		this.filter.filter(exchange, filterChain).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+		assertThat(gunzip(exchange)).isEqualTo(CONTENT + CONTENT);
+	}
+
+	@Test
+	public void belowMinResponseSize() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/").header("Accept-Encoding", "gzip"));
+		this.filter.filter(exchange, writeContent(MediaType.TEXT_PLAIN, "Hello World")).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getHeaders().containsKey("Content-Encoding")).isFalse();
+		assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo("Hello World");
+	}
+
+	@Test
+	public void alreadyEncoded() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("/").header("Accept-Encoding", "gzip"));
+		WebFilterChain filterChain = filterExchange -> {
+			filterExchange.getResponse().getHeaders().set("Content-Encoding", "br");
+			return writeContent(MediaType.TEXT_PLAIN, CONTENT).filter(filterExchange);
+		};
+		this.filter.filter(exchange, filterChain).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getHeaders().getFirst("Content-Encoding")).isEqualTo("br");
+		assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(CONTENT);
+	}
+
+	@Test
+	public void noAcceptEncoding() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.filter.filter(exchange, writeContent(MediaType.TEXT_PLAIN, CONTENT)).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getHeaders().containsKey("Content-Encoding")).isFalse();
+		assertThat(exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(CONTENT);
+	}
+
+
+	private static WebFilterChain writeContent(MediaType contentType, String content) {
+		return exchange -> {
+			ServerHttpResponse response = exchange.getResponse();
+			response.getHeaders().setContentType(contentType);
+			return response.writeWith(Mono.just(toDataBuffer(content)));
+		};
+	}
+
+	private static DataBuffer toDataBuffer(String content) {
+		return new DefaultDataBufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String gunzip(MockServerWebExchange exchange) throws IOException {
+		DataBuffer buffer = DataBufferUtils.join(exchange.getResponse().getBody()).block(Duration.ofSeconds(5));
+		byte[] bytes = new byte[buffer.readableByteCount()];
+		buffer.read(bytes);
+		DataBufferUtils.release(buffer);
+		return StreamUtils.copyToString(new GZIPInputStream(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+	}
+
+}
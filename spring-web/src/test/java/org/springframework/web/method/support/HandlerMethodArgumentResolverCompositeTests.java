@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -75,6 +75,29 @@ public class HandlerMethodArgumentResolverCompositeTests {
 		assertThat(resolvedValue).as("Didn't use the first registered resolver").isEqualTo(1);
 	}
 
+	@Test
+	public void getArgumentResolvers() throws Exception {
+		StubArgumentResolver resolver = new StubArgumentResolver(Integer.class);
+		this.resolverComposite.addResolver(resolver);
+		MethodParameter[] parameters = {paramInt, paramStr};
+
+		HandlerMethodArgumentResolver[] resolvers = this.resolverComposite.getArgumentResolvers(parameters);
+		assertThat(resolvers).containsExactly(resolver, null);
+		assertThat(this.resolverComposite.getArgumentResolvers(parameters)).isSameAs(resolvers);
+	}
+
+	@Test
+	public void getArgumentResolversForEqualParameters() throws Exception {
+		this.resolverComposite.addResolver(new StubArgumentResolver(Integer.class));
+		Method method = getClass().getDeclaredMethod("handle", Integer.class, String.class);
+
+		HandlerMethodArgumentResolver[] resolvers = this.resolverComposite.getArgumentResolvers(
+				new MethodParameter[] {new MethodParameter(method, 0), new MethodParameter(method, 1)});
+		assertThat(this.resolverComposite.getArgumentResolvers(
+				new MethodParameter[] {new MethodParameter(method, 0), new MethodParameter(method, 1)}))
+				.isSameAs(resolvers);
+	}
+
 	@Test
 	public void noSuitableArgumentResolver() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.server.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
+import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link HttpWebHandlerAdapter}.
+ */
+public class HttpWebHandlerAdapterTests {
+
+	private static final String BOUNDARY = "----WebKitFormBoundaryEveBLvRT65n21fwU";
+
+
+	@Test
+	public void multipartFilesDeletedAfterHandling(@TempDir Path storage) throws IOException {
+		AtomicLong fileCount = new AtomicLong();
+		WebHandler webHandler = exchange -> exchange.getMultipartData()
+				.doOnNext(data -> fileCount.set(fileCount(storage)))
+				.then();
+
+		MockServerHttpResponse response = new MockServerHttpResponse();
+		createAdapter(webHandler, storage).handle(createMultipartRequest(), response).block(Duration.ofSeconds(5));
+
+		assertThat(fileCount.get()).isEqualTo(3);
+		assertThat(fileCount(storage)).isEqualTo(0);
+	}
+
+	@Test
+	public void multipartFilesDeletedAfterError(@TempDir Path storage) throws IOException {
+		WebHandler webHandler = exchange -> exchange.getMultipartData()
+				.then(Mono.error(new IllegalStateException("boo")));
+
+		MockServerHttpResponse response = new MockServerHttpResponse();
+		createAdapter(webHandler, storage).handle(createMultipartRequest(), response).block(Duration.ofSeconds(5));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(fileCount(storage)).isEqualTo(0);
+	}
+
+
+	private static HttpWebHandlerAdapter createAdapter(WebHandler webHandler, Path storage) throws IOException {
+		DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+		partReader.setMaxInMemorySize(16);
+		partReader.setFileStorageDirectory(storage);
+		partReader.setBlockingOperationScheduler(Schedulers.immediate());
+
+		ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+		configurer.defaultCodecs().multipartReader(new MultipartHttpMessageReader(partReader));
+
+		HttpWebHandlerAdapter adapter = new HttpWebHandlerAdapter(webHandler);
+		adapter.setCodecConfigurer(configurer);
+		return adapter;
+	}
+
+	private static MockServerHttpRequest createMultipartRequest() {
+		Flux<DataBuffer> body = DataBufferUtils.readByteChannel(
+				new ClassPathResource("org/springframework/http/codec/multipart/chrome.multipart")::readableChannel,
+				new DefaultDataBufferFactory(), 64);
+		MediaType contentType = new MediaType("multipart", "form-data", Collections.singletonMap("boundary", BOUNDARY));
+		return MockServerHttpRequest.post("/").contentType(contentType).body(body);
+	}
+
+	private static long fileCount(Path directory) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
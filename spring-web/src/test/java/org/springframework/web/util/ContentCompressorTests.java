@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link ContentCompressor} and {@link DeflaterPool}.
+ */
+public class ContentCompressorTests {
+
+	@Test
+	public void preferredContentCoding() {
+		assertThat(ContentCompressor.getPreferredContentCoding(null)).isNull();
+		assertThat(ContentCompressor.getPreferredContentCoding(Collections.emptyList())).isNull();
+		assertThat(preferredContentCoding("gzip, deflate")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("deflate, gzip")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("deflate")).isEqualTo("deflate");
+		assertThat(preferredContentCoding("x-gzip")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("br")).isNull();
+		assertThat(preferredContentCoding("identity")).isNull();
+	}
+
+	@Test
+	public void preferredContentCodingWithQualityValues() {
+		assertThat(preferredContentCoding("gzip;q=0.5, deflate")).isEqualTo("deflate");
+		assertThat(preferredContentCoding("gzip;q=0.8, deflate;q=0.8")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("gzip;Q=0.2, deflate;q=0.1")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("gzip;q=0, deflate;q=0.1")).isEqualTo("deflate");
+		assertThat(preferredContentCoding("gzip;q=0, deflate;q=0")).isNull();
+		assertThat(preferredContentCoding("gzip;q=invalid")).isNull();
+		assertThat(ContentCompressor.getPreferredContentCoding(
+				Arrays.asList("gzip;q=0.1", "deflate;q=0.9"))).isEqualTo("deflate");
+	}
+
+	@Test
+	public void preferredContentCodingWithWildcard() {
+		assertThat(preferredContentCoding("*")).isEqualTo("gzip");
+		assertThat(preferredContentCoding("*;q=0.5, deflate")).isEqualTo("deflate");
+		assertThat(preferredContentCoding("gzip;q=0, *")).isEqualTo("deflate");
+		assertThat(preferredContentCoding("*;q=0")).isNull();
+	}
+
+	@Test
+	public void compressGzip() throws Exception {
+		DeflaterPool pool = new DeflaterPool();
+		ContentCompressor compressor = pool.createCompressor(ContentCompressor.GZIP);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+		compressor.compress(bytes, 0, 6, out);
+		compressor.compress(bytes, 6, 5, out);
+		compressor.finish(out);
+
+		GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertThat(StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8)).isEqualTo("Hello World");
+		assertThatIllegalStateException().isThrownBy(() -> compressor.flush(out));
+	}
+
+	@Test
+	public void deflaterReturnedToPool() throws Exception {
+		DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, 1);
+		Deflater deflater = pool.acquire(true);
+		pool.release(deflater, true);
+
+		ContentCompressor compressor = pool.createCompressor(ContentCompressor.GZIP);
+		compressor.finish(new ByteArrayOutputStream());
+		assertThat(pool.acquire(true)).isSameAs(deflater);
+
+		pool.release(deflater, true);
+		compressor = pool.createCompressor(ContentCompressor.GZIP);
+		compressor.release();
+		compressor.release();
+		assertThat(pool.acquire(true)).isSameAs(deflater);
+		assertThat(pool.acquire(true)).isNotSameAs(deflater);
+	}
+
+	@Test
+	public void deflaterPooledPerContentCoding() {
+		DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, 1);
+		Deflater deflater = pool.acquire(true);
+		pool.release(deflater, true);
+
+		assertThat(pool.acquire(false)).isNotSameAs(deflater);
+		assertThat(pool.acquire(true)).isSameAs(deflater);
+	}
+
+
+	private static String preferredContentCoding(String acceptEncoding) {
+		return ContentCompressor.getPreferredContentCoding(Collections.singletonList(acceptEncoding));
+	}
+
+}
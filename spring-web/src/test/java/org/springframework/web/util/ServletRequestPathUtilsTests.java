@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ */
+public class ServletRequestPathUtilsTests {
+
+	@Test
+	public void parseAndCache() {
+		// basic
+		testParseAndCache("/app/servlet/a/b/c", "/app", "/servlet", "/a/b/c");
+
+		// contextPath only, servletPathOnly, contextPath and servletPathOnly
+		testParseAndCache("/app/a/b/c", "/app", "", "/a/b/c");
+		testParseAndCache("/servlet/a/b/c", "", "/servlet", "/a/b/c");
+		testParseAndCache("/app1/app2/servlet1/servlet2", "/app1/app2", "/servlet1/servlet2", "");
+
+		// trailing slash
+		testParseAndCache("/app/servlet/a/", "/app", "/servlet", "/a/");
+		testParseAndCache("/app/servlet/a//", "/app", "/servlet", "/a//");
+
+		// encoded characters and path parameters
+		testParseAndCache("/app/servlet/a%20b;c=d", "/app", "/servlet", "/a%20b;c=d");
+	}
+
+	@Test
+	public void parseAndCacheWithServletPathNotInRequestUri() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/serv%6Cet/a");
+		request.setContextPath("/app");
+		request.setServletPath("/servlet/");
+		request.setPathInfo("/a");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.contextPath().value()).isEqualTo("/app");
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/serv%6Cet/a");
+	}
+
+	@Test
+	public void getParsedRequestPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/a");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				ServletRequestPathUtils.getParsedRequestPath(request));
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(requestPath);
+
+		ServletRequestPathUtils.setParsedRequestPath(null, request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+	}
+
+	private void testParseAndCache(
+			String requestUri, String contextPath, String servletPath, String pathWithinApplication) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setContextPath(contextPath);
+		request.setServletPath(servletPath);
+		request.setPathInfo(pathWithinApplication);
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+
+		assertThat(requestPath.contextPath().value()).isEqualTo(contextPath + servletPath);
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo(pathWithinApplication);
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PathPatternIndex}.
+ */
+public class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+
+	@Test
+	public void literalPrefixes() {
+		PathPatternIndex<String> index = createIndex("/foo", "/foo/bar", "/foo/{id}", "/bar/**", "/**", "");
+
+		assertThat(index.getCandidates(toPath("/foo"))).containsExactly("/foo", "/**", "");
+		assertThat(index.getCandidates(toPath("/foo/bar"))).containsExactly("/foo", "/foo/bar", "/foo/{id}", "/**", "");
+		assertThat(index.getCandidates(toPath("/bar/baz"))).containsExactly("/bar/**", "/**", "");
+		assertThat(index.getCandidates(toPath("/baz"))).containsExactly("/**", "");
+		assertThat(index.getCandidates(toPath(""))).containsExactly("/**", "");
+	}
+
+	@Test
+	public void candidatesIncludeAllMatches() {
+		String[] patterns = {"/foo", "/foo/", "/foo/*", "/fo?", "/foo/bar/**", "/{a}/bar", "/*/{*rest}"};
+		PathPatternIndex<String> index = createIndex(patterns);
+		for (String path : new String[] {"/foo", "/foo/", "/foo/bar", "/foo/bar/baz", "/fox/bar", "/"}) {
+			PathContainer container = toPath(path);
+			for (String pattern : patterns) {
+				if (this.parser.parse(pattern).matches(container)) {
+					assertThat(index.getCandidates(container)).as(path).contains(pattern);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void caseInsensitive() {
+		PathPatternParser caseInsensitiveParser = new PathPatternParser();
+		caseInsensitiveParser.setCaseSensitive(false);
+
+		PathPatternIndex<String> index = new PathPatternIndex<>();
+		index.add(caseInsensitiveParser.parse("/Foo/Bar"), "insensitive");
+		index.add(this.parser.parse("/foo/bar"), "sensitive");
+
+		assertThat(index.getCandidates(toPath("/FOO/bar"))).containsExactly("insensitive");
+		assertThat(index.getCandidates(toPath("/foo/bar"))).containsExactly("insensitive", "sensitive");
+	}
+
+	@Test
+	public void encodedPath() {
+		PathPatternIndex<String> index = createIndex("/foo bar");
+		assertThat(index.getCandidates(toPath("/foo%20bar;a=b"))).containsExactly("/foo bar");
+	}
+
+
+	private PathPatternIndex<String> createIndex(String... patterns) {
+		PathPatternIndex<String> index = new PathPatternIndex<>();
+		for (String pattern : patterns) {
+			index.add(this.parser.parse(pattern), pattern);
+		}
+		return index;
+	}
+
+	private static PathContainer toPath(String path) {
+		return PathContainer.parsePath(path);
+	}
+
+}
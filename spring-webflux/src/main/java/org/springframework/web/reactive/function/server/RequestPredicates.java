@@ -325,6 +325,80 @@ public abstract class RequestPredicates {
 
 	}
 
+	/**
+	 * Return the conditions that a request must meet for the given predicate to
+	 * {@linkplain RequestPredicate#test(ServerRequest) test} or
+	 * {@linkplain RequestPredicate#nest(ServerRequest) nest} successfully, as
+	 * far as they can be derived from the HTTP method and path predicates it is
+	 * composed of. Predicates of other types impose no conditions.
+	 * @param predicate the predicate to analyze
+	 * @return the route guard for the predicate
+	 * @since 5.3
+	 * @see RouterFunctions#compile(RouterFunction)
+	 */
+	static RouteGuard routeGuard(RequestPredicate predicate) {
+		if (predicate instanceof HttpMethodPredicate) {
+			return new RouteGuard(((HttpMethodPredicate) predicate).httpMethods, null, true, true);
+		}
+		else if (predicate instanceof PathPatternPredicate) {
+			return new RouteGuard(null, ((PathPatternPredicate) predicate).pattern, false, true);
+		}
+		else if (predicate instanceof AndRequestPredicate) {
+			AndRequestPredicate andPredicate = (AndRequestPredicate) predicate;
+			RouteGuard left = routeGuard(andPredicate.left);
+			if (!left.isPure()) {
+				// The right predicate only runs after the left one, which may have side effects
+				return new RouteGuard(left.getMethods(), left.getPattern(), false, false);
+			}
+			RouteGuard right = routeGuard(andPredicate.right);
+			Set<HttpMethod> methods = left.getMethods();
+			if (methods == null) {
+				methods = right.getMethods();
+			}
+			else if (right.getMethods() != null) {
+				methods = EnumSet.copyOf(methods);
+				methods.retainAll(right.getMethods());
+			}
+			// When nesting, the right predicate sees the path remaining after the left one
+			PathPattern pattern = (left.getPattern() != null || !left.preservesPath() ?
+					left.getPattern() : right.getPattern());
+			return new RouteGuard(methods, pattern, left.preservesPath() && right.preservesPath(), right.isPure());
+		}
+		else if (predicate instanceof OrRequestPredicate) {
+			OrRequestPredicate orPredicate = (OrRequestPredicate) predicate;
+			RouteGuard left = routeGuard(orPredicate.left);
+			RouteGuard right = routeGuard(orPredicate.right);
+			Set<HttpMethod> methods = null;
+			if (left.getMethods() != null && right.getMethods() != null) {
+				methods = EnumSet.copyOf(left.getMethods());
+				methods.addAll(right.getMethods());
+			}
+			PathPattern pattern = (left.getPattern() != null && left.getPattern().equals(right.getPattern()) ?
+					left.getPattern() : null);
+			return new RouteGuard(methods, pattern, left.preservesPath() && right.preservesPath(),
+					left.isPure() && right.isPure());
+		}
+		else if (predicate instanceof NegateRequestPredicate) {
+			RouteGuard delegate = routeGuard(((NegateRequestPredicate) predicate).delegate);
+			return new RouteGuard(null, null, true, delegate.isPure());
+		}
+		else {
+			return new RouteGuard(null, null, false, false);
+		}
+	}
+
+	/**
+	 * Return the HTTP method that {@link #method(HttpMethod) method} predicates
+	 * test the given request against, taking CORS pre-flight requests into account.
+	 * @param request the request
+	 * @return the HTTP method, or {@code null} if not resolvable
+	 * @since 5.3
+	 */
+	@Nullable
+	static HttpMethod routeMethod(ServerRequest request) {
+		return HttpMethodPredicate.method(request);
+	}
+
 
 	/**
 	 * Receives notifications from the logical structure of request predicates.
@@ -893,6 +967,72 @@ public abstract class RequestPredicates {
 	}
 
 
+	/**
+	 * Conditions that a request must meet for a {@link RequestPredicate} to
+	 * match, as returned from {@link #routeGuard(RequestPredicate)}.
+	 * <p>A request that does not meet the conditions is guaranteed not to match
+	 * the predicate, and evaluating the predicate for it would not invoke any
+	 * user-provided code, so the predicate can be skipped for that request.
+	 * @since 5.3
+	 */
+	static final class RouteGuard {
+
+		@Nullable
+		private final Set<HttpMethod> methods;
+
+		@Nullable
+		private final PathPattern pattern;
+
+		private final boolean preservesPath;
+
+		private final boolean pure;
+
+		RouteGuard(@Nullable Set<HttpMethod> methods, @Nullable PathPattern pattern,
+				boolean preservesPath, boolean pure) {
+
+			this.methods = methods;
+			this.pattern = pattern;
+			this.preservesPath = preservesPath;
+			this.pure = pure;
+		}
+
+		/**
+		 * Return the HTTP methods of which a request must have one, as
+		 * determined by {@link #routeMethod(ServerRequest)}, or {@code null}
+		 * if any method is acceptable.
+		 */
+		@Nullable
+		public Set<HttpMethod> getMethods() {
+			return this.methods;
+		}
+
+		/**
+		 * Return the pattern that the request path must match, or match the
+		 * start of when nesting, or {@code null} if any path is acceptable.
+		 */
+		@Nullable
+		public PathPattern getPattern() {
+			return this.pattern;
+		}
+
+		/**
+		 * Whether the predicate {@linkplain RequestPredicate#nest nests} a
+		 * request without changing its path.
+		 */
+		boolean preservesPath() {
+			return this.preservesPath;
+		}
+
+		/**
+		 * Whether the predicate consists of method and path predicates only,
+		 * and therefore never invokes user-provided code.
+		 */
+		public boolean isPure() {
+			return this.pure;
+		}
+	}
+
+
 	private static class SubPathServerRequestWrapper implements ServerRequest {
 
 		private final ServerRequest request;
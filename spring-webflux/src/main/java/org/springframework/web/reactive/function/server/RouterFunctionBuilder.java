@@ -264,15 +264,19 @@ class RouterFunctionBuilder implements RouterFunctions.Builder {
 	/**
 	 * Router function returned by {@link #build()} that simply iterates over the registered routes.
 	 */
-	private static class BuiltRouterFunction extends RouterFunctions.AbstractRouterFunction<ServerResponse> {
+	static class BuiltRouterFunction extends RouterFunctions.AbstractRouterFunction<ServerResponse> {
 
-		private List<RouterFunction<ServerResponse>> routerFunctions;
+		private final List<RouterFunction<ServerResponse>> routerFunctions;
 
 		public BuiltRouterFunction(List<RouterFunction<ServerResponse>> routerFunctions) {
 			Assert.notEmpty(routerFunctions, "RouterFunctions must not be empty");
 			this.routerFunctions = routerFunctions;
 		}
 
+		List<RouterFunction<ServerResponse>> routerFunctions() {
+			return this.routerFunctions;
+		}
+
 		@Override
 		public Mono<HandlerFunction<ServerResponse>> route(ServerRequest request) {
 			return Flux.fromIterable(this.routerFunctions)
@@ -16,6 +16,9 @@
 
 package org.springframework.web.reactive.function.server;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -30,13 +33,16 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.web.reactive.result.view.ViewResolver;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
 import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.util.pattern.PathPatternIndex;
 
 /**
  * <strong>Central entry point to Spring's functional web framework.</strong>
@@ -252,7 +258,93 @@ public abstract class RouterFunctions {
 		Assert.notNull(routerFunction, "RouterFunction must not be null");
 		Assert.notNull(strategies, "HandlerStrategies must not be null");
 
-		return new RouterFunctionWebHandler(strategies, routerFunction);
+		return new RouterFunctionWebHandler(strategies, compile(routerFunction));
+	}
+
+	/**
+	 * Compile the given {@linkplain RouterFunction router function} into an
+	 * equivalent one that routes faster.
+	 * <p>Composed routes, including those registered through a
+	 * {@linkplain #route() builder}, are flattened into a table that is indexed
+	 * by the HTTP methods and the literal path prefixes of their
+	 * {@linkplain RequestPredicates#method(HttpMethod) method} and
+	 * {@linkplain RequestPredicates#path(String) path} predicates. For each
+	 * request, only the routes that can possibly match are consulted, still
+	 * in their original order, and with their full predicate. Nested and
+	 * filtered routes are compiled recursively. Routes with custom predicates,
+	 * and routes that are not created via the various {@code RouterFunctions}
+	 * methods, are always consulted.
+	 * @param routerFunction the router function to compile
+	 * @param <T> the type of response returned by the handler function
+	 * @return the compiled router function
+	 * @since 5.3
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends ServerResponse> RouterFunction<T> compile(RouterFunction<T> routerFunction) {
+		Assert.notNull(routerFunction, "RouterFunction must not be null");
+		if (routerFunction instanceof CompiledRouterFunction) {
+			return routerFunction;
+		}
+		List<RouterFunction<?>> routes = new ArrayList<>();
+		flattenRoutes(routerFunction, routes);
+		return (routes.size() == 1 ? (RouterFunction<T>) routes.get(0) : new CompiledRouterFunction<>(routes));
+	}
+
+	private static void flattenRoutes(RouterFunction<?> routerFunction, List<RouterFunction<?>> result) {
+		if (routerFunction instanceof SameComposedRouterFunction) {
+			SameComposedRouterFunction<?> composed = (SameComposedRouterFunction<?>) routerFunction;
+			flattenRoutes(composed.first, result);
+			flattenRoutes(composed.second, result);
+		}
+		else if (routerFunction instanceof DifferentComposedRouterFunction) {
+			DifferentComposedRouterFunction composed = (DifferentComposedRouterFunction) routerFunction;
+			flattenRoutes(composed.first, result);
+			flattenRoutes(composed.second, result);
+		}
+		else if (routerFunction instanceof RouterFunctionBuilder.BuiltRouterFunction) {
+			for (RouterFunction<?> route : ((RouterFunctionBuilder.BuiltRouterFunction) routerFunction).routerFunctions()) {
+				flattenRoutes(route, result);
+			}
+		}
+		else if (routerFunction instanceof FilteredRouterFunction) {
+			result.add(compileFiltered((FilteredRouterFunction<?, ?>) routerFunction));
+		}
+		else if (routerFunction instanceof DefaultNestedRouterFunction) {
+			result.add(compileNested((DefaultNestedRouterFunction<?>) routerFunction));
+		}
+		else {
+			result.add(routerFunction);
+		}
+	}
+
+	private static <T extends ServerResponse, S extends ServerResponse> RouterFunction<S> compileFiltered(
+			FilteredRouterFunction<T, S> filtered) {
+
+		return new FilteredRouterFunction<>(compile(filtered.routerFunction), filtered.filterFunction);
+	}
+
+	private static <T extends ServerResponse> RouterFunction<T> compileNested(DefaultNestedRouterFunction<T> nested) {
+		return new DefaultNestedRouterFunction<>(nested.predicate, compile(nested.routerFunction));
+	}
+
+	/**
+	 * Return the guard of the predicate that the given route is tested with,
+	 * or {@code null} if the route is not based on a predicate.
+	 */
+	@Nullable
+	private static RequestPredicates.RouteGuard routeGuard(RouterFunction<?> routerFunction) {
+		if (routerFunction instanceof DefaultRouterFunction) {
+			return RequestPredicates.routeGuard(((DefaultRouterFunction<?>) routerFunction).predicate);
+		}
+		else if (routerFunction instanceof DefaultNestedRouterFunction) {
+			return RequestPredicates.routeGuard(((DefaultNestedRouterFunction<?>) routerFunction).predicate);
+		}
+		else if (routerFunction instanceof FilteredRouterFunction) {
+			return routeGuard(((FilteredRouterFunction<?, ?>) routerFunction).routerFunction);
+		}
+		else {
+			return null;
+		}
 	}
 
 	/**
@@ -941,6 +1033,88 @@ public abstract class RouterFunctions {
 	}
 
 
+	/**
+	 * A routing function {@linkplain RouterFunctions#compile(RouterFunction) compiled}
+	 * from a sequence of routes, that invokes the routes which can possibly match the
+	 * request, in order, until one has a result.
+	 * @param <T> the server response type
+	 */
+	static final class CompiledRouterFunction<T extends ServerResponse> extends AbstractRouterFunction<T> {
+
+		private final RouterFunction<?>[] routes;
+
+		private final PathPatternIndex<Integer> pathIndex = new PathPatternIndex<>();
+
+		private final BitSet anyPathRoutes = new BitSet();
+
+		private final Map<HttpMethod, BitSet> methodRoutes = new EnumMap<>(HttpMethod.class);
+
+		private final BitSet anyMethodRoutes = new BitSet();
+
+		public CompiledRouterFunction(List<RouterFunction<?>> routes) {
+			this.routes = routes.toArray(new RouterFunction<?>[0]);
+			for (HttpMethod method : HttpMethod.values()) {
+				this.methodRoutes.put(method, new BitSet());
+			}
+			for (int i = 0; i < this.routes.length; i++) {
+				RequestPredicates.RouteGuard guard = routeGuard(this.routes[i]);
+				if (guard != null && guard.getPattern() != null) {
+					this.pathIndex.add(guard.getPattern(), i);
+				}
+				else {
+					this.anyPathRoutes.set(i);
+				}
+				if (guard != null && guard.getMethods() != null) {
+					for (HttpMethod method : guard.getMethods()) {
+						this.methodRoutes.get(method).set(i);
+					}
+				}
+				else {
+					this.anyMethodRoutes.set(i);
+					for (BitSet routesForMethod : this.methodRoutes.values()) {
+						routesForMethod.set(i);
+					}
+				}
+			}
+		}
+
+		@Override
+		public Mono<HandlerFunction<T>> route(ServerRequest request) {
+			BitSet candidates = getCandidates(request);
+			return Flux.fromStream(candidates.stream().boxed())
+					.concatMap(index -> this.routes[index].route(request))
+					.next()
+					.map(this::cast);
+		}
+
+		private BitSet getCandidates(ServerRequest request) {
+			BitSet candidates = (BitSet) this.anyPathRoutes.clone();
+			if (!this.pathIndex.isEmpty()) {
+				for (Integer index : this.pathIndex.getCandidates(request.pathContainer())) {
+					candidates.set(index);
+				}
+			}
+			if (this.anyMethodRoutes.cardinality() < this.routes.length) {
+				HttpMethod method = RequestPredicates.routeMethod(request);
+				candidates.and(method != null ? this.methodRoutes.get(method) : this.anyMethodRoutes);
+			}
+			return candidates;
+		}
+
+		@SuppressWarnings("unchecked")
+		private HandlerFunction<T> cast(HandlerFunction<?> handlerFunction) {
+			return (HandlerFunction<T>) handlerFunction;
+		}
+
+		@Override
+		public void accept(Visitor visitor) {
+			for (RouterFunction<?> route : this.routes) {
+				route.accept(visitor);
+			}
+		}
+	}
+
+
 	private static class ResourcesRouterFunction extends  AbstractRouterFunction<ServerResponse> {
 
 		private final Function<ServerRequest, Mono<Resource>> lookupFunction;
@@ -27,14 +27,18 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -58,6 +62,10 @@ import org.springframework.web.server.ServerWebExchange;
  * links within CSS files to also contain the appropriate versions generated
  * by this resolver.
  *
+ * <p>Versions may also be precomputed, e.g. content hashes generated at build
+ * time, and provided as a {@link #setVersionManifest version manifest}, to
+ * avoid computing them at runtime.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 5.0
@@ -70,6 +78,11 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 	/** Map from path pattern -> VersionStrategy. */
 	private final Map<String, VersionStrategy> versionStrategyMap = new LinkedHashMap<>();
 
+	/** Map from resource path -> precomputed version. */
+	private final Map<String, String> versionManifest = new ConcurrentHashMap<>();
+
+	private boolean populateVersionManifest;
+
 
 	/**
 	 * Set a Map with URL paths as keys and {@code VersionStrategy} as values.
@@ -154,6 +167,75 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 	}
 
 
+	/**
+	 * Set a manifest of precomputed versions, with resource paths relative to
+	 * the pattern configured with the resource handler as keys, e.g.
+	 * {@code "css/main.css"}, and versions as values, e.g. content hashes
+	 * generated at build time.
+	 * <p>For resources in the manifest, its versions are used instead of the
+	 * ones computed by the {@code VersionStrategy} for the path, which for a
+	 * {@link ContentVersionStrategy} means reading and hashing the content.
+	 * Resolving the URL path of such resources, e.g. through the
+	 * {@link ResourceUrlProvider}, is then a lookup in the manifest, without
+	 * resolving the resource itself. The version strategy for the path still
+	 * determines how the version is added to the path.
+	 * @param manifest a map with resource paths as keys and versions as values
+	 * @since 5.3
+	 */
+	public void setVersionManifest(Map<String, String> manifest) {
+		this.versionManifest.clear();
+		manifest.forEach((path, version) -> this.versionManifest.put(getManifestKey(path), version));
+	}
+
+	/**
+	 * Load a manifest of precomputed versions from the given properties file,
+	 * with resource paths as keys and versions as values, e.g.
+	 * {@code css/main.css=e36d2e05253c6c7085a91522ce43a0b4}.
+	 * @param location the location of the properties file
+	 * @since 5.3
+	 * @see #setVersionManifest(Map)
+	 */
+	public void setVersionManifestLocation(Resource location) {
+		Map<String, String> manifest = new LinkedHashMap<>();
+		try {
+			Properties properties = PropertiesLoaderUtils.loadProperties(location);
+			CollectionUtils.mergePropertiesIntoMap(properties, manifest);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Failed to load version manifest from " + location, ex);
+		}
+		setVersionManifest(manifest);
+	}
+
+	/**
+	 * Return the manifest of precomputed versions keyed by resource path.
+	 * @since 5.3
+	 */
+	public Map<String, String> getVersionManifest() {
+		return this.versionManifest;
+	}
+
+	/**
+	 * Whether to add versions computed at runtime to the
+	 * {@link #setVersionManifest version manifest}, so that the version of a
+	 * resource is only computed once, when it is first resolved.
+	 * <p>This is only appropriate when resources don't change while the
+	 * application is running. By default this is set to {@code false}.
+	 * @since 5.3
+	 */
+	public void setPopulateVersionManifest(boolean populateVersionManifest) {
+		this.populateVersionManifest = populateVersionManifest;
+	}
+
+	/**
+	 * Whether to add versions computed at runtime to the version manifest.
+	 * @since 5.3
+	 */
+	public boolean isPopulateVersionManifest() {
+		return this.populateVersionManifest;
+	}
+
+
 	@Override
 	protected Mono<Resource> resolveResourceInternal(@Nullable ServerWebExchange exchange,
 			String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
@@ -178,7 +260,7 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 
 		String simplePath = versionStrategy.removeVersion(requestPath, candidate);
 		return chain.resolveResource(exchange, simplePath, locations)
-				.filterWhen(resource -> versionStrategy.getResourceVersion(resource)
+				.filterWhen(resource -> getResourceVersion(simplePath, resource, versionStrategy)
 						.map(actual -> {
 							if (candidate.equals(actual)) {
 								return true;
@@ -199,6 +281,14 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 	protected Mono<String> resolveUrlPathInternal(String resourceUrlPath,
 			List<? extends Resource> locations, ResourceResolverChain chain) {
 
+		String manifestVersion = this.versionManifest.get(getManifestKey(resourceUrlPath));
+		if (manifestVersion != null) {
+			VersionStrategy strategy = getStrategyForPath(resourceUrlPath);
+			if (strategy != null) {
+				return Mono.just(strategy.addVersion(resourceUrlPath, manifestVersion));
+			}
+		}
+
 		return chain.resolveUrlPath(resourceUrlPath, locations)
 				.flatMap(baseUrl -> {
 					if (StringUtils.hasText(baseUrl)) {
@@ -207,13 +297,30 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 							return Mono.just(baseUrl);
 						}
 						return chain.resolveResource(null, baseUrl, locations)
-								.flatMap(resource -> strategy.getResourceVersion(resource)
+								.flatMap(resource -> getResourceVersion(baseUrl, resource, strategy)
 										.map(version -> strategy.addVersion(baseUrl, version)));
 					}
 					return Mono.empty();
 				});
 	}
 
+	private Mono<String> getResourceVersion(String path, Resource resource, VersionStrategy versionStrategy) {
+		String key = getManifestKey(path);
+		String version = this.versionManifest.get(key);
+		if (version != null) {
+			return Mono.just(version);
+		}
+		Mono<String> result = versionStrategy.getResourceVersion(resource);
+		if (this.populateVersionManifest) {
+			result = result.doOnNext(actual -> this.versionManifest.put(key, actual));
+		}
+		return result;
+	}
+
+	private static String getManifestKey(String path) {
+		return StringUtils.trimLeadingCharacter(path, '/');
+	}
+
 	/**
 	 * Find a {@code VersionStrategy} for the request path of the requested resource.
 	 * @return an instance of a {@code VersionStrategy} or null if none matches that request path
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.web.reactive.BindingContext;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -36,10 +37,14 @@ import org.springframework.web.server.ServerWebExchange;
  * {@link HandlerMethodArgumentResolver HandlerMethodArgumentResolvers}.
  * Previously resolved method parameters are cached for faster lookups.
  *
+ * <p>As of 5.3 this class is public, so that one instance, and its cache,
+ * can be shared by all {@link InvocableHandlerMethod} instances that use
+ * the same resolvers.
+ *
  * @author Rossen Stoyanchev
  * @since 5.1.3
  */
-class HandlerMethodArgumentResolverComposite implements HandlerMethodArgumentResolver {
+public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgumentResolver {
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -48,6 +53,9 @@ class HandlerMethodArgumentResolverComposite implements HandlerMethodArgumentRes
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodParameter[], HandlerMethodArgumentResolver[]> argumentResolversCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
@@ -123,6 +131,29 @@ class HandlerMethodArgumentResolverComposite implements HandlerMethodArgumentRes
 		return resolver.resolveArgument(parameter, bindingContext, exchange);
 	}
 
+	/**
+	 * Return the registered resolvers for the given method parameters, in the
+	 * same order, with a {@code null} element for each parameter that is not
+	 * {@linkplain #supportsParameter supported}.
+	 * <p>The result is cached by the identity of the given array, which a
+	 * {@link org.springframework.web.method.HandlerMethod HandlerMethod} shares
+	 * with every copy created from it for an invocation.
+	 * @param parameters the method parameters of a handler method
+	 * @return the resolvers, not to be modified
+	 * @since 5.3
+	 */
+	public HandlerMethodArgumentResolver[] getArgumentResolvers(MethodParameter[] parameters) {
+		HandlerMethodArgumentResolver[] result = this.argumentResolversCache.get(parameters);
+		if (result == null) {
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.argumentResolversCache.put(parameters, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports
 	 * the given method parameter.
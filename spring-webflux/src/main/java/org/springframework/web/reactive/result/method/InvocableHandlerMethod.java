@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -90,6 +90,16 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.resolvers.addResolvers(resolvers);
 	}
 
+	/**
+	 * Configure the argument resolvers to use, as a composite that may be
+	 * shared with other handler methods, along with the resolver lookups
+	 * it caches.
+	 * @since 5.3
+	 */
+	public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite resolvers) {
+		this.resolvers = resolvers;
+	}
+
 	/**
 	 * Return the configured argument resolvers.
 	 */
@@ -144,7 +154,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 					value = CoroutinesUtils.invokeSuspendingFunction(method, getBean(), args);
 				}
 				else {
-					value = method.invoke(getBean(), args);
+					value = getInvoker().invoke(getBean(), args);
 				}
 			}
 			catch (IllegalArgumentException ex) {
@@ -185,20 +195,29 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
-		List<Mono<Object>> argMonos = new ArrayList<>(parameters.length);
 		for (MethodParameter parameter : parameters) {
 			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+		}
+		HandlerMethodArgumentResolver[] argumentResolvers = this.resolvers.getArgumentResolvers(parameters);
+		if (isSynchronous(argumentResolvers)) {
+			return getSyncMethodArgumentValues(parameters, argumentResolvers, exchange, bindingContext, providedArgs);
+		}
+
+		List<Mono<Object>> argMonos = new ArrayList<>(parameters.length);
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
 			Object providedArg = findProvidedArgument(parameter, providedArgs);
 			if (providedArg != null) {
 				argMonos.add(Mono.just(providedArg));
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
+			HandlerMethodArgumentResolver resolver = argumentResolvers[i];
+			if (resolver == null) {
 				return Mono.error(new IllegalStateException(
 						formatArgumentError(parameter, "No suitable resolver")));
 			}
 			try {
-				argMonos.add(this.resolvers.resolveArgument(parameter, bindingContext, exchange)
+				argMonos.add(resolver.resolveArgument(parameter, bindingContext, exchange)
 						.defaultIfEmpty(NO_ARG_VALUE)
 						.doOnError(ex -> logArgumentErrorIfNecessary(exchange, parameter, ex)));
 			}
@@ -211,6 +230,46 @@ public class InvocableHandlerMethod extends HandlerMethod {
 				Stream.of(values).map(value -> value != NO_ARG_VALUE ? value : null).toArray());
 	}
 
+	private static boolean isSynchronous(HandlerMethodArgumentResolver[] argumentResolvers) {
+		for (HandlerMethodArgumentResolver resolver : argumentResolvers) {
+			if (resolver != null && !(resolver instanceof SyncHandlerMethodArgumentResolver)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolve all arguments in place, without assembling a {@code Mono} per
+	 * argument, when all resolvers are {@link SyncHandlerMethodArgumentResolver}s.
+	 */
+	private Mono<Object[]> getSyncMethodArgumentValues(MethodParameter[] parameters,
+			HandlerMethodArgumentResolver[] argumentResolvers, ServerWebExchange exchange,
+			BindingContext bindingContext, Object... providedArgs) {
+
+		Object[] args = new Object[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
+			args[i] = findProvidedArgument(parameter, providedArgs);
+			if (args[i] != null) {
+				continue;
+			}
+			SyncHandlerMethodArgumentResolver resolver = (SyncHandlerMethodArgumentResolver) argumentResolvers[i];
+			if (resolver == null) {
+				return Mono.error(new IllegalStateException(
+						formatArgumentError(parameter, "No suitable resolver")));
+			}
+			try {
+				args[i] = resolver.resolveArgumentValue(parameter, bindingContext, exchange);
+			}
+			catch (Exception ex) {
+				logArgumentErrorIfNecessary(exchange, parameter, ex);
+				return Mono.error(ex);
+			}
+		}
+		return Mono.just(args);
+	}
+
 	private void logArgumentErrorIfNecessary(ServerWebExchange exchange, MethodParameter parameter, Throwable ex) {
 		// Leave stack trace for later, if error is not handled...
 		String exMsg = ex.getMessage();
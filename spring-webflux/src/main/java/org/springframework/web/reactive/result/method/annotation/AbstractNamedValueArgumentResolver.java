@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,22 +101,16 @@ public abstract class AbstractNamedValueArgumentResolver extends HandlerMethodAr
 		Model model = bindingContext.getModel();
 
 		return resolveName(resolvedName.toString(), nestedParameter, exchange)
-				.flatMap(arg -> {
-					if ("".equals(arg) && namedValueInfo.defaultValue != null) {
-						arg = resolveStringValue(namedValueInfo.defaultValue);
-					}
-					arg = applyConversion(arg, namedValueInfo, parameter, bindingContext, exchange);
-					handleResolvedValue(arg, namedValueInfo.name, parameter, model, exchange);
-					return Mono.justOrEmpty(arg);
-				})
-				.switchIfEmpty(getDefaultValue(
-						namedValueInfo, parameter, bindingContext, model, exchange));
+				.flatMap(arg -> Mono.justOrEmpty(
+						processValue(arg, namedValueInfo, parameter, bindingContext, model, exchange)))
+				.switchIfEmpty(Mono.fromSupplier(() ->
+						getDefaultValue(namedValueInfo, parameter, bindingContext, model, exchange)));
 	}
 
 	/**
 	 * Obtain the named value for the given method parameter.
 	 */
-	private NamedValueInfo getNamedValueInfo(MethodParameter parameter) {
+	NamedValueInfo getNamedValueInfo(MethodParameter parameter) {
 		NamedValueInfo namedValueInfo = this.namedValueInfoCache.get(parameter);
 		if (namedValueInfo == null) {
 			namedValueInfo = createNamedValueInfo(parameter);
@@ -158,7 +152,7 @@ public abstract class AbstractNamedValueArgumentResolver extends HandlerMethodAr
 	 * potentially containing placeholders and expressions.
 	 */
 	@Nullable
-	private Object resolveStringValue(String value) {
+	Object resolveStringValue(String value) {
 		if (this.configurableBeanFactory == null || this.expressionContext == null) {
 			return value;
 		}
@@ -200,25 +194,40 @@ public abstract class AbstractNamedValueArgumentResolver extends HandlerMethodAr
 		return value;
 	}
 
+	/**
+	 * Process a resolved value: apply the default value for an empty String,
+	 * convert it, and pass it to {@link #handleResolvedValue}.
+	 */
+	@Nullable
+	Object processValue(Object value, NamedValueInfo namedValueInfo, MethodParameter parameter,
+			BindingContext bindingContext, Model model, ServerWebExchange exchange) {
+
+		if ("".equals(value) && namedValueInfo.defaultValue != null) {
+			value = resolveStringValue(namedValueInfo.defaultValue);
+		}
+		value = applyConversion(value, namedValueInfo, parameter, bindingContext, exchange);
+		handleResolvedValue(value, namedValueInfo.name, parameter, model, exchange);
+		return value;
+	}
+
 	/**
 	 * Resolve the default value, if any.
 	 */
-	private Mono<Object> getDefaultValue(NamedValueInfo namedValueInfo, MethodParameter parameter,
+	@Nullable
+	Object getDefaultValue(NamedValueInfo namedValueInfo, MethodParameter parameter,
 			BindingContext bindingContext, Model model, ServerWebExchange exchange) {
 
-		return Mono.fromSupplier(() -> {
-			Object value = null;
-			if (namedValueInfo.defaultValue != null) {
-				value = resolveStringValue(namedValueInfo.defaultValue);
-			}
-			else if (namedValueInfo.required && !parameter.isOptional()) {
-				handleMissingValue(namedValueInfo.name, parameter, exchange);
-			}
-			value = handleNullValue(namedValueInfo.name, value, parameter.getNestedParameterType());
-			value = applyConversion(value, namedValueInfo, parameter, bindingContext, exchange);
-			handleResolvedValue(value, namedValueInfo.name, parameter, model, exchange);
-			return value;
-		});
+		Object value = null;
+		if (namedValueInfo.defaultValue != null) {
+			value = resolveStringValue(namedValueInfo.defaultValue);
+		}
+		else if (namedValueInfo.required && !parameter.isOptional()) {
+			handleMissingValue(namedValueInfo.name, parameter, exchange);
+		}
+		value = handleNullValue(namedValueInfo.name, value, parameter.getNestedParameterType());
+		value = applyConversion(value, namedValueInfo, parameter, bindingContext, exchange);
+		handleResolvedValue(value, namedValueInfo.name, parameter, model, exchange);
+		return value;
 	}
 
 	/**
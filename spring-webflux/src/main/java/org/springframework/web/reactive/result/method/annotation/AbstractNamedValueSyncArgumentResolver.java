@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.lang.Nullable;
+import org.springframework.ui.Model;
 import org.springframework.web.reactive.BindingContext;
 import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
 import org.springframework.web.server.ServerWebExchange;
@@ -65,11 +66,28 @@ public abstract class AbstractNamedValueSyncArgumentResolver extends AbstractNam
 	}
 
 	@Override
+	@Nullable
 	public Object resolveArgumentValue(
 			MethodParameter parameter, BindingContext context, ServerWebExchange exchange) {
 
-		// This won't block since resolveName below doesn't
-		return resolveArgument(parameter, context, exchange).block();
+		// Same steps as the (async) super.resolveArgument, without a Mono per argument
+
+		NamedValueInfo namedValueInfo = getNamedValueInfo(parameter);
+		MethodParameter nestedParameter = parameter.nestedIfOptional();
+
+		Object resolvedName = resolveStringValue(namedValueInfo.name);
+		if (resolvedName == null) {
+			throw new IllegalArgumentException(
+					"Specified name must not resolve to null: [" + namedValueInfo.name + "]");
+		}
+
+		Model model = context.getModel();
+
+		Object value = resolveNamedValue(resolvedName.toString(), nestedParameter, exchange);
+		if (value != null) {
+			value = processValue(value, namedValueInfo, parameter, context, model, exchange);
+		}
+		return (value != null ? value : getDefaultValue(namedValueInfo, parameter, context, model, exchange));
 	}
 
 	@Override
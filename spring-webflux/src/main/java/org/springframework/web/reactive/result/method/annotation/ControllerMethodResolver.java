@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,7 @@ import org.springframework.web.method.ControllerAdviceBean;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolverComposite;
 import org.springframework.web.reactive.result.method.InvocableHandlerMethod;
 import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
 import org.springframework.web.reactive.result.method.SyncInvocableHandlerMethod;
@@ -87,11 +88,11 @@ class ControllerMethodResolver {
 
 	private final List<SyncHandlerMethodArgumentResolver> initBinderResolvers;
 
-	private final List<HandlerMethodArgumentResolver> modelAttributeResolvers;
+	private final HandlerMethodArgumentResolverComposite modelAttributeResolvers;
 
-	private final List<HandlerMethodArgumentResolver> requestMappingResolvers;
+	private final HandlerMethodArgumentResolverComposite requestMappingResolvers;
 
-	private final List<HandlerMethodArgumentResolver> exceptionHandlerResolvers;
+	private final HandlerMethodArgumentResolverComposite exceptionHandlerResolvers;
 
 	private final ReactiveAdapterRegistry reactiveAdapterRegistry;
 
@@ -122,9 +123,12 @@ class ControllerMethodResolver {
 		Assert.notNull(readers, "HttpMessageReader List is required");
 
 		this.initBinderResolvers = initBinderResolvers(customResolvers, adapterRegistry, context);
-		this.modelAttributeResolvers = modelMethodResolvers(customResolvers, adapterRegistry, context);
-		this.requestMappingResolvers = requestMappingResolvers(customResolvers, adapterRegistry, context, readers);
-		this.exceptionHandlerResolvers = exceptionHandlerResolvers(customResolvers, adapterRegistry, context);
+		this.modelAttributeResolvers = new HandlerMethodArgumentResolverComposite()
+				.addResolvers(modelMethodResolvers(customResolvers, adapterRegistry, context));
+		this.requestMappingResolvers = new HandlerMethodArgumentResolverComposite()
+				.addResolvers(requestMappingResolvers(customResolvers, adapterRegistry, context, readers));
+		this.exceptionHandlerResolvers = new HandlerMethodArgumentResolverComposite()
+				.addResolvers(exceptionHandlerResolvers(customResolvers, adapterRegistry, context));
 		this.reactiveAdapterRegistry = adapterRegistry;
 
 		initControllerAdviceCaches(context);
@@ -261,7 +265,7 @@ class ControllerMethodResolver {
 	 */
 	public InvocableHandlerMethod getRequestMappingMethod(HandlerMethod handlerMethod) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod);
-		invocable.setArgumentResolvers(this.requestMappingResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.requestMappingResolvers);
 		invocable.setReactiveAdapterRegistry(this.reactiveAdapterRegistry);
 		return invocable;
 	}
@@ -328,7 +332,7 @@ class ControllerMethodResolver {
 
 	private InvocableHandlerMethod createAttributeMethod(Object bean, Method method) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(bean, method);
-		invocable.setArgumentResolvers(this.modelAttributeResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.modelAttributeResolvers);
 		return invocable;
 	}
 
@@ -365,7 +369,7 @@ class ControllerMethodResolver {
 		}
 
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(targetBean, targetMethod);
-		invocable.setArgumentResolvers(this.exceptionHandlerResolvers);
+		invocable.setHandlerMethodArgumentResolvers(this.exceptionHandlerResolvers);
 		return invocable;
 	}
 
@@ -19,6 +19,7 @@ package org.springframework.web.reactive.function.server;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
@@ -28,6 +29,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.lang.Nullable;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ResponseStatusException;
@@ -37,6 +39,7 @@ import org.springframework.web.server.WebFilterChain;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
 import org.springframework.web.testfixture.server.MockServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -297,4 +300,81 @@ public class RouterFunctionsTests {
 		assertThat(filterInvoked.get()).isTrue();
 	}
 
+	@Test
+	public void compile() {
+		HandlerFunction<ServerResponse> getFoo = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> postFoo = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> getBaz = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> fallback = request -> ServerResponse.ok().build();
+
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/foo", getFoo)
+				.POST("/foo", postFoo)
+				.path("/bar", builder -> builder.GET("/{baz}", getBaz))
+				.route(request -> request.path().endsWith("/qux"), fallback)
+				.build();
+		RouterFunction<ServerResponse> compiled = RouterFunctions.compile(routerFunction);
+
+		assertThat(compiled).isNotSameAs(routerFunction);
+		assertThat(compiled.toString()).isEqualTo(routerFunction.toString());
+		assertThat(RouterFunctions.compile(compiled)).isSameAs(compiled);
+
+		assertRoute(compiled, MockServerHttpRequest.get("https://example.com/foo"), getFoo);
+		assertRoute(compiled, MockServerHttpRequest.post("https://example.com/foo"), postFoo);
+		assertRoute(compiled, MockServerHttpRequest.put("https://example.com/foo"), null);
+		assertRoute(compiled, MockServerHttpRequest.get("https://example.com/bar/baz"), getBaz);
+		assertRoute(compiled, MockServerHttpRequest.post("https://example.com/bar/baz"), null);
+		assertRoute(compiled, MockServerHttpRequest.get("https://example.com/bar/qux"), getBaz);
+		assertRoute(compiled, MockServerHttpRequest.post("https://example.com/bar/qux"), fallback);
+	}
+
+	@Test
+	public void compileKeepsRouteOrder() {
+		HandlerFunction<ServerResponse> first = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> second = request -> ServerResponse.ok().build();
+		AtomicInteger predicateCount = new AtomicInteger();
+
+		RouterFunction<ServerResponse> routerFunction =
+				RouterFunctions.route(request -> predicateCount.incrementAndGet() > 1, first)
+						.andRoute(RequestPredicates.GET("/foo/{id}"), second)
+						.andRoute(RequestPredicates.GET("/foo/bar"), first);
+		RouterFunction<ServerResponse> compiled = RouterFunctions.compile(routerFunction);
+
+		assertRoute(compiled, MockServerHttpRequest.get("https://example.com/foo/bar"), second);
+		assertRoute(compiled, MockServerHttpRequest.get("https://example.com/baz"), first);
+		assertThat(predicateCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void compileNestedAttributes() {
+		HandlerFunction<ServerResponse> handlerFunction = request -> ServerResponse.ok().build();
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.nest(RequestPredicates.path("/foo"),
+				RouterFunctions.route(RequestPredicates.GET("/bar"), handlerFunction)
+						.andRoute(RequestPredicates.GET("/{baz}"), handlerFunction));
+
+		MockServerHttpRequest mockRequest = MockServerHttpRequest.get("https://example.com/foo/qux").build();
+		ServerRequest request = new DefaultServerRequest(MockServerWebExchange.from(mockRequest), Collections.emptyList());
+		StepVerifier.create(RouterFunctions.compile(routerFunction).route(request))
+				.expectNext(handlerFunction)
+				.expectComplete()
+				.verify();
+
+		PathPattern pattern = (PathPattern) request.attributes().get(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+		assertThat(pattern.getPatternString()).isEqualTo("/foo/{baz}");
+		assertThat(request.pathVariables()).containsEntry("baz", "qux");
+	}
+
+	private void assertRoute(RouterFunction<ServerResponse> routerFunction,
+			MockServerHttpRequest.BaseBuilder<?> requestBuilder, @Nullable HandlerFunction<ServerResponse> expected) {
+
+		MockServerHttpRequest mockRequest = requestBuilder.build();
+		ServerRequest request = new DefaultServerRequest(MockServerWebExchange.from(mockRequest), Collections.emptyList());
+		if (expected != null) {
+			StepVerifier.create(routerFunction.route(request)).expectNext(expected).expectComplete().verify();
+		}
+		else {
+			StepVerifier.create(routerFunction.route(request)).expectComplete().verify();
+		}
+	}
+
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.testfixture.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest.get;
+
+/**
+ * Unit tests for {@link ContentCachingResourceResolver}.
+ */
+public class ContentCachingResourceResolverTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+
+	private final ContentCachingResourceResolver resolver = new ContentCachingResourceResolver();
+
+	private ResourceResolverChain chain;
+
+	private List<Resource> locations;
+
+
+	@BeforeEach
+	public void setup() {
+		List<ResourceResolver> resolvers = new ArrayList<>();
+		resolvers.add(this.resolver);
+		resolvers.add(new PathResourceResolver());
+		this.chain = new DefaultResourceResolverChain(resolvers);
+
+		this.locations = new ArrayList<>();
+		this.locations.add(new ClassPathResource("test/", getClass()));
+	}
+
+
+	@Test
+	public void resolveResourceContent() throws Exception {
+		Resource original = new ClassPathResource("test/bar.css", getClass());
+		byte[] content = FileCopyUtils.copyToByteArray(original.getInputStream());
+
+		Resource resource = resolve("bar.css");
+
+		assertThat(resource).isInstanceOf(HttpResource.class);
+		assertThat(FileCopyUtils.copyToByteArray(resource.getInputStream())).isEqualTo(content);
+		assertThat(resource.contentLength()).isEqualTo(content.length);
+		assertThat(resource.lastModified()).isEqualTo(original.lastModified());
+		assertThat(resource.getFilename()).isEqualTo("bar.css");
+		assertThat(((HttpResource) resource).getResponseHeaders().getETag())
+				.isEqualTo("\"" + DigestUtils.md5DigestAsHex(content) + "\"");
+		assertThat(this.resolver.getCacheSize()).isEqualTo(content.length);
+	}
+
+	@Test
+	public void resolveResourceContentFromCache() {
+		Resource resource = resolve("bar.css");
+
+		assertThat(resolve("bar.css")).isSameAs(resource);
+	}
+
+	@Test
+	public void resolveResourceNoMatch() {
+		assertThat(resolve("invalid.css")).isNull();
+		assertThat(this.resolver.getCacheSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void resolveResourceLargerThanMaxEntrySize() {
+		this.resolver.setMaxEntrySize(10);
+		Resource resource = resolve("bar.css");
+
+		assertThat(resource).isEqualTo(new ClassPathResource("test/bar.css", getClass()));
+		assertThat(this.resolver.getCacheSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed() throws Exception {
+		long barSize = new ClassPathResource("test/bar.css", getClass()).contentLength();
+		long fooSize = new ClassPathResource("test/foo.css", getClass()).contentLength();
+		this.resolver.setMaxCacheSize(barSize + fooSize);
+
+		Resource bar = resolve("bar.css");
+		Resource foo = resolve("foo.css");
+		assertThat(resolve("bar.css")).isSameAs(bar);
+		resolve("foo.txt");
+
+		assertThat(resolve("bar.css")).isSameAs(bar);
+		assertThat(resolve("foo.css")).isNotSameAs(foo);
+		assertThat(this.resolver.getCacheSize()).isLessThanOrEqualTo(this.resolver.getMaxCacheSize());
+	}
+
+	@Test
+	public void resolveVersionedResource() {
+		List<ResourceResolver> resolvers = Arrays.asList(this.resolver,
+				new VersionResourceResolver().addFixedVersionStrategy("versionString", "/**"),
+				new PathResourceResolver());
+		this.chain = new DefaultResourceResolverChain(resolvers);
+
+		Resource resource = resolve("versionString/foo.css");
+
+		assertThat(((HttpResource) resource).getResponseHeaders().getETag()).isEqualTo("W/\"versionString\"");
+	}
+
+	@Test
+	public void resolvePrecompressedResource(@TempDir File dir) throws Exception {
+		String css = StringUtils.collectionToDelimitedString(Collections.nCopies(100, "h1 { color:red; }"), "\n");
+		Files.write(new File(dir, "main.css").toPath(), css.getBytes(StandardCharsets.UTF_8));
+		this.locations = Collections.singletonList(new FileSystemResource(dir.getAbsolutePath() + "/"));
+		this.resolver.setPrecompress(true);
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("main.css"));
+		AtomicReference<String> threadName = new AtomicReference<>();
+		Resource resource = this.chain.resolveResource(exchange, "main.css", this.locations)
+				.doOnNext(loaded -> threadName.set(Thread.currentThread().getName()))
+				.block(TIMEOUT);
+		assertThat(threadName.get()).startsWith("boundedElastic");
+
+		exchange = MockServerWebExchange.from(get("main.css").header("Accept-Encoding", "gzip, deflate"));
+		Resource gzipped = this.chain.resolveResource(exchange, "main.css", this.locations).block(TIMEOUT);
+
+		HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+		assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+		assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+
+		HttpHeaders gzipHeaders = ((HttpResource) gzipped).getResponseHeaders();
+		assertThat(gzipHeaders.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(gzipHeaders.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+		assertThat(gzipHeaders.getETag()).isNotEqualTo(headers.getETag());
+		assertThat(gzipped.contentLength()).isLessThan(resource.contentLength());
+		assertThat(gzipped.lastModified()).isEqualTo(resource.lastModified());
+		assertThat(gzipped.getFilename()).isEqualTo("main.css");
+
+		byte[] bytes = FileCopyUtils.copyToByteArray(gzipped.getInputStream());
+		GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes));
+		assertThat(FileCopyUtils.copyToString(new InputStreamReader(input, StandardCharsets.UTF_8)))
+				.isEqualTo(css);
+		assertThat(this.resolver.getCacheSize()).isEqualTo(resource.contentLength() + gzipped.contentLength());
+	}
+
+	@Test
+	public void resolvePrecompressedResourceNotSmaller() {
+		this.resolver.setPrecompress(true);
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("bar.css").header("Accept-Encoding", "gzip"));
+		Resource resource = this.chain.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		assertThat(((HttpResource) resource).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+	}
+
+	private Resource resolve(String requestPath) {
+		return this.chain.resolveResource(null, requestPath, this.locations).block(TIMEOUT);
+	}
+
+}
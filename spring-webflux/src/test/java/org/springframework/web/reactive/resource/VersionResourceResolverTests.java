@@ -27,6 +27,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.web.server.ServerWebExchange;
@@ -39,6 +40,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for {@link VersionResourceResolver}.
@@ -221,5 +223,71 @@ public class VersionResourceResolverTests {
 		assertThat(resolved).isEqualTo("/foo.css");
 	}
 
+	@Test
+	public void resolveResourceWithVersionManifest() {
+		String versionFile = "bar-version.css";
+		String version = "version";
+		String file = "bar.css";
+		Resource expected = new ClassPathResource("test/" + file, getClass());
+		given(this.chain.resolveResource(null, versionFile, this.locations)).willReturn(Mono.empty());
+		given(this.chain.resolveResource(null, file, this.locations)).willReturn(Mono.just(expected));
+		given(this.versionStrategy.extractVersion(versionFile)).willReturn(version);
+		given(this.versionStrategy.removeVersion(versionFile, version)).willReturn(file);
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setVersionManifest(Collections.singletonMap("/bar.css", version));
+		Resource actual = this.resolver
+				.resolveResourceInternal(null, versionFile, this.locations, this.chain)
+				.block(Duration.ofMillis(5000));
+
+		assertThat(actual.getFilename()).isEqualTo(expected.getFilename());
+		verify(this.versionStrategy, never()).getResourceVersion(expected);
+	}
+
+	@Test
+	public void resolveUrlPathWithVersionManifest() {
+		given(this.versionStrategy.addVersion("css/bar.css", "version")).willReturn("css/bar-version.css");
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setVersionManifest(Collections.singletonMap("css/bar.css", "version"));
+		String resolved = this.resolver.resolveUrlPathInternal("css/bar.css", this.locations, this.chain)
+				.block(Duration.ofMillis(1000));
+
+		assertThat(resolved).isEqualTo("css/bar-version.css");
+		verifyNoInteractions(this.chain);
+	}
+
+	@Test
+	public void populateVersionManifest() {
+		String file = "bar.css";
+		Resource expected = new ClassPathResource("test/" + file, getClass());
+		given(this.chain.resolveUrlPath(file, this.locations)).willReturn(Mono.just(file));
+		given(this.chain.resolveResource(null, file, this.locations)).willReturn(Mono.just(expected));
+		given(this.versionStrategy.getResourceVersion(expected)).willReturn(Mono.just("version"));
+		given(this.versionStrategy.addVersion(file, "version")).willReturn("bar-version.css");
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setPopulateVersionManifest(true);
+		for (int i = 0; i < 2; i++) {
+			String resolved = this.resolver.resolveUrlPathInternal(file, this.locations, this.chain)
+					.block(Duration.ofMillis(1000));
+			assertThat(resolved).isEqualTo("bar-version.css");
+		}
+
+		assertThat(this.resolver.getVersionManifest()).containsEntry(file, "version");
+		verify(this.versionStrategy, times(1)).getResourceVersion(expected);
+	}
+
+	@Test
+	public void setVersionManifestLocation() {
+		String properties = "/css/main.css=e36d2e05253c6c7085a91522ce43a0b4\njs/main.js=1a2b3c\n";
+		this.resolver.setVersionManifestLocation(new ByteArrayResource(properties.getBytes()));
+
+		assertThat(this.resolver.getVersionManifest())
+				.containsEntry("css/main.css", "e36d2e05253c6c7085a91522ce43a0b4")
+				.containsEntry("js/main.js", "1a2b3c")
+				.hasSize(2);
+	}
+
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,6 +48,8 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest.get;
 
 /**
@@ -91,6 +93,19 @@ public class InvocableHandlerMethodTests {
 		assertHandlerResultValue(mono, "success");
 	}
 
+	@Test
+	public void resolveSyncArg() {
+		SyncHandlerMethodArgumentResolver resolver = mock(SyncHandlerMethodArgumentResolver.class);
+		given(resolver.supportsParameter(any())).willReturn(true);
+		given(resolver.resolveArgumentValue(any(), any(), any())).willReturn("value1");
+		this.resolvers.add(resolver);
+		Method method = ResolvableMethod.on(TestController.class).mockCall(o -> o.singleArg(null)).method();
+		Mono<HandlerResult> mono = invoke(new TestController(), method);
+
+		assertHandlerResultValue(mono, "success:value1");
+		verify(resolver, never()).resolveArgument(any(), any(), any());
+	}
+
 	@Test
 	public void cannotResolveArg() {
 		Method method = ResolvableMethod.on(TestController.class).mockCall(o -> o.singleArg(null)).method();
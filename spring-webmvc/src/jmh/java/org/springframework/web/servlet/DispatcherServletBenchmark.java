@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import javax.servlet.ServletException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+import org.springframework.web.testfixture.servlet.MockServletConfig;
+import org.springframework.web.testfixture.servlet.MockServletContext;
+
+/**
+ * Benchmarks for dispatching a {@code @ResponseBody} request through the
+ * {@link DispatcherServlet}, with and without
+ * {@link DispatcherServlet#setLeanDispatch lean dispatch}.
+ * Run with {@code -prof gc} to compare the allocation rate per request.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DispatcherServletBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class DispatcherData {
+
+		@Param({"false", "true"})
+		public boolean leanDispatch;
+
+		public DispatcherServlet servlet;
+
+		@Setup(Level.Trial)
+		public void createServlet() throws ServletException {
+			AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+			context.register(WebConfig.class);
+			this.servlet = new DispatcherServlet(context);
+			this.servlet.setLeanDispatch(this.leanDispatch);
+			this.servlet.init(new MockServletConfig(new MockServletContext(), "benchmark"));
+		}
+
+		@TearDown(Level.Trial)
+		public void destroyServlet() {
+			this.servlet.destroy();
+		}
+	}
+
+	@Benchmark
+	public void responseBody(DispatcherData data, Blackhole bh) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greeting");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		data.servlet.service(request, response);
+		bh.consume(response.getContentAsString());
+	}
+
+
+	@Configuration
+	@EnableWebMvc
+	static class WebConfig {
+
+		@Bean
+		public GreetingController greetingController() {
+			return new GreetingController();
+		}
+
+		@Bean
+		public CookieLocaleResolver localeResolver() {
+			return new CookieLocaleResolver();
+		}
+	}
+
+
+	@RestController
+	static class GreetingController {
+
+		@GetMapping("/greeting")
+		public String greeting() {
+			return "Hello";
+		}
+	}
+
+}
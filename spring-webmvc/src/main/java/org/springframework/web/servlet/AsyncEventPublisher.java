@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Hands events over to a bounded buffer from which a background thread
+ * publishes them in batches, so that the calling thread does not wait for
+ * listeners. Events that do not fit into the buffer are dropped and counted.
+ *
+ * @since 5.3
+ * @see FrameworkServlet#setPublishEventsAsync
+ */
+class AsyncEventPublisher {
+
+	private static final int MAX_BATCH_SIZE = 256;
+
+	private static final long POLL_TIMEOUT_MILLIS = 100;
+
+	private static final Log logger = LogFactory.getLog(AsyncEventPublisher.class);
+
+
+	private final ApplicationEventPublisher publisher;
+
+	private final BlockingQueue<ApplicationEvent> buffer;
+
+	private final AtomicLong droppedEventCount = new AtomicLong();
+
+	private final Thread thread;
+
+	private volatile boolean running = true;
+
+	/** Dropped events already logged: only accessed by the publishing thread. */
+	private long loggedDroppedEventCount;
+
+
+	/**
+	 * Create an instance and start its publishing thread.
+	 * @param publisher the publisher to delegate to
+	 * @param capacity the maximum number of events to buffer
+	 * @param threadName the name for the publishing thread
+	 */
+	AsyncEventPublisher(ApplicationEventPublisher publisher, int capacity, String threadName) {
+		this.publisher = publisher;
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+		this.thread = new Thread(this::publishEvents, threadName);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+
+	/**
+	 * Buffer the given event for publication, or drop it if the buffer is full.
+	 */
+	public void publishEvent(ApplicationEvent event) {
+		if (!this.buffer.offer(event)) {
+			this.droppedEventCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Return the number of events dropped so far because the buffer was full.
+	 */
+	public long getDroppedEventCount() {
+		return this.droppedEventCount.get();
+	}
+
+	/**
+	 * Stop the publishing thread, after it has published the buffered events.
+	 * @param timeoutMillis how long to wait for the publishing thread
+	 */
+	public void close(long timeoutMillis) {
+		this.running = false;
+		try {
+			this.thread.join(timeoutMillis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void publishEvents() {
+		List<ApplicationEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+		while (this.running) {
+			try {
+				ApplicationEvent event = this.buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (event != null) {
+					batch.add(event);
+					this.buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+					publishBatch(batch);
+				}
+			}
+			catch (InterruptedException ex) {
+				break;
+			}
+			logDroppedEventsIfNecessary();
+		}
+		this.buffer.drainTo(batch);
+		publishBatch(batch);
+		logDroppedEventsIfNecessary();
+	}
+
+	private void publishBatch(List<ApplicationEvent> batch) {
+		for (ApplicationEvent event : batch) {
+			try {
+				this.publisher.publishEvent(event);
+			}
+			catch (Throwable ex) {
+				logger.error("Failed to publish " + event, ex);
+			}
+		}
+		batch.clear();
+	}
+
+	private void logDroppedEventsIfNecessary() {
+		long count = this.droppedEventCount.get();
+		if (count != this.loggedDroppedEventCount) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Dropped " + (count - this.loggedDroppedEventCount) + " event(s) since the buffer " +
+						"of " + (this.buffer.size() + this.buffer.remainingCapacity()) + " events was full " +
+						"(" + count + " in total)");
+			}
+			this.loggedDroppedEventCount = count;
+		}
+	}
+
+}
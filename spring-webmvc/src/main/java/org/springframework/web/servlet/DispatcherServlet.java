@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TimeZone;
 import java.util.stream.Collectors;
 
 import javax.servlet.DispatcherType;
@@ -46,10 +47,12 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.server.RequestPath;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.ui.context.ThemeSource;
@@ -63,6 +66,7 @@ import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.util.NestedServletException;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
 
 /**
@@ -292,6 +296,9 @@ public class DispatcherServlet extends FrameworkServlet {
 	/** Perform cleanup of request attributes after include request?. */
 	private boolean cleanupAfterInclude = true;
 
+	/** Create per-request state only when handlers ask for it?. */
+	private boolean leanDispatch = false;
+
 	/** MultipartResolver used by this servlet. */
 	@Nullable
 	private MultipartResolver multipartResolver;
@@ -324,6 +331,9 @@ public class DispatcherServlet extends FrameworkServlet {
 	@Nullable
 	private FlashMapManager flashMapManager;
 
+	/** Whether any HandlerMapping uses parsed PathPatterns. */
+	private boolean parseRequestPath;
+
 	/** List of ViewResolvers used by this servlet. */
 	@Nullable
 	private List<ViewResolver> viewResolvers;
@@ -464,6 +474,22 @@ public class DispatcherServlet extends FrameworkServlet {
 		this.cleanupAfterInclude = cleanupAfterInclude;
 	}
 
+	/**
+	 * Set whether to create per-request state only when handlers ask for it,
+	 * rather than up front for every request. This suits applications that
+	 * mostly write the response directly, e.g. through {@code @ResponseBody}
+	 * methods, and rarely need flash attributes or the current locale.
+	 * <p>In this mode, the "output" {@link FlashMap} is created on first
+	 * access through {@link org.springframework.web.servlet.support.RequestContextUtils#getOutputFlashMap},
+	 * and the {@link LocaleContext} of a {@link LocaleContextResolver} is
+	 * resolved on first access to the locale or time zone.
+	 * <p>Default is "false".
+	 * @since 5.3
+	 */
+	public void setLeanDispatch(boolean leanDispatch) {
+		this.leanDispatch = leanDispatch;
+	}
+
 
 	/**
 	 * This implementation calls {@link #initStrategies}.
@@ -600,6 +626,13 @@ public class DispatcherServlet extends FrameworkServlet {
 						"': using default strategies from DispatcherServlet.properties");
 			}
 		}
+
+		for (HandlerMapping mapping : this.handlerMappings) {
+			if (mapping.usesPathPatterns()) {
+				this.parseRequestPath = true;
+				break;
+			}
+		}
 	}
 
 	/**
@@ -918,10 +951,19 @@ public class DispatcherServlet extends FrameworkServlet {
 				// 保存到请求属性中
 				request.setAttribute(INPUT_FLASH_MAP_ATTRIBUTE, Collections.unmodifiableMap(inputFlashMap));
 			}
-			request.setAttribute(OUTPUT_FLASH_MAP_ATTRIBUTE, new FlashMap());
+			if (!this.leanDispatch) {
+				request.setAttribute(OUTPUT_FLASH_MAP_ATTRIBUTE, new FlashMap());
+			}
 			request.setAttribute(FLASH_MAP_MANAGER_ATTRIBUTE, this.flashMapManager);
 		}
 
+		// Parse the request path once, for all HandlerMappings using PathPatterns
+		RequestPath previousRequestPath = null;
+		if (this.parseRequestPath) {
+			previousRequestPath = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+			ServletRequestPathUtils.parseAndCache(request);
+		}
+
 		try {
 			doDispatch(request, response);
 		}
@@ -932,6 +974,9 @@ public class DispatcherServlet extends FrameworkServlet {
 					restoreAttributesAfterInclude(request, attributesSnapshot);
 				}
 			}
+			if (this.parseRequestPath) {
+				ServletRequestPathUtils.setParsedRequestPath(previousRequestPath, request);
+			}
 		}
 	}
 
@@ -1143,6 +1188,9 @@ public class DispatcherServlet extends FrameworkServlet {
 	protected LocaleContext buildLocaleContext(final HttpServletRequest request) {
 		LocaleResolver lr = this.localeResolver;
 		if (lr instanceof LocaleContextResolver) {
+			if (this.leanDispatch) {
+				return new LazyLocaleContext((LocaleContextResolver) lr, request);
+			}
 			return ((LocaleContextResolver) lr).resolveLocaleContext(request);
 		}
 		else {
@@ -1469,4 +1517,47 @@ public class DispatcherServlet extends FrameworkServlet {
 		return uri;
 	}
 
+
+	/**
+	 * {@link TimeZoneAwareLocaleContext} that resolves the actual LocaleContext
+	 * on first access, for {@link #setLeanDispatch lean dispatch}.
+	 */
+	private static class LazyLocaleContext implements TimeZoneAwareLocaleContext {
+
+		private final LocaleContextResolver localeContextResolver;
+
+		private final HttpServletRequest request;
+
+		@Nullable
+		private LocaleContext localeContext;
+
+		LazyLocaleContext(LocaleContextResolver localeContextResolver, HttpServletRequest request) {
+			this.localeContextResolver = localeContextResolver;
+			this.request = request;
+		}
+
+		@Override
+		@Nullable
+		public Locale getLocale() {
+			return getLocaleContext().getLocale();
+		}
+
+		@Override
+		@Nullable
+		public TimeZone getTimeZone() {
+			LocaleContext localeContext = getLocaleContext();
+			return (localeContext instanceof TimeZoneAwareLocaleContext ?
+					((TimeZoneAwareLocaleContext) localeContext).getTimeZone() : null);
+		}
+
+		private LocaleContext getLocaleContext() {
+			LocaleContext localeContext = this.localeContext;
+			if (localeContext == null) {
+				localeContext = this.localeContextResolver.resolveLocaleContext(this.request);
+				this.localeContext = localeContext;
+			}
+			return localeContext;
+		}
+	}
+
 }
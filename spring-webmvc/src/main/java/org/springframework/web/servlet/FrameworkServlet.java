@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,7 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -187,6 +188,12 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 	/** Should we publish a ServletRequestHandledEvent at the end of each request?. */
 	private boolean publishEvents = true;
 
+	/** Should we publish ServletRequestHandledEvents from a background thread?. */
+	private boolean publishEventsAsync = false;
+
+	/** Maximum number of ServletRequestHandledEvents to buffer for the background thread. */
+	private int eventBufferCapacity = 1024;
+
 	/** Expose LocaleContext and RequestAttributes as inheritable for child threads?. */
 	private boolean threadContextInheritable = false;
 
@@ -212,6 +219,13 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 	/** Monitor for synchronized onRefresh execution. */
 	private final Object onRefreshMonitor = new Object();
 
+	/** Publisher of ServletRequestHandledEvents from a background thread, if enabled. */
+	@Nullable
+	private AsyncEventPublisher asyncEventPublisher;
+
+	/** Stateless interceptor to bind the context holders for async processing. */
+	private final RequestBindingInterceptor requestBindingInterceptor = new RequestBindingInterceptor();
+
 
 	/**
 	 * 创建一个新的{@code FrameworkServlet}，它将根据servlet 默认值和init-params提供的值创建自己
@@ -400,6 +414,43 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 		this.publishEvents = publishEvents;
 	}
 
+	/**
+	 * Set whether to publish ServletRequestHandledEvents from a background
+	 * thread, so that request threads do not wait for the listeners.
+	 * <p>Events are buffered up to the {@link #setEventBufferCapacity capacity}
+	 * of the buffer and published in batches, in the order of completion of
+	 * their requests. If the listeners fall behind and the buffer is full,
+	 * further events are dropped and logged as warning by count, see
+	 * {@link #getDroppedEventCount()}.
+	 * <p>Default is "false". Takes effect when the servlet is initialized.
+	 * @since 5.3
+	 * @see #setPublishEvents
+	 */
+	public void setPublishEventsAsync(boolean publishEventsAsync) {
+		this.publishEventsAsync = publishEventsAsync;
+	}
+
+	/**
+	 * Set the maximum number of ServletRequestHandledEvents to buffer when
+	 * {@link #setPublishEventsAsync publishing asynchronously}.
+	 * <p>Default is 1024.
+	 * @since 5.3
+	 */
+	public void setEventBufferCapacity(int eventBufferCapacity) {
+		Assert.isTrue(eventBufferCapacity > 0, "Event buffer capacity must be greater than 0");
+		this.eventBufferCapacity = eventBufferCapacity;
+	}
+
+	/**
+	 * Return the number of ServletRequestHandledEvents that were dropped so
+	 * far because the buffer was full, when
+	 * {@link #setPublishEventsAsync publishing asynchronously}.
+	 * @since 5.3
+	 */
+	public long getDroppedEventCount() {
+		return (this.asyncEventPublisher != null ? this.asyncEventPublisher.getDroppedEventCount() : 0);
+	}
+
 	/**
 	 * Set whether to expose the LocaleContext and RequestAttributes as inheritable
 	 * for child threads (using an {@link java.lang.InheritableThreadLocal}).
@@ -498,6 +549,10 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 
 		try {
 			this.webApplicationContext = initWebApplicationContext();
+			if (this.publishEvents && this.publishEventsAsync) {
+				this.asyncEventPublisher = new AsyncEventPublisher(
+						this.webApplicationContext, this.eventBufferCapacity, getServletName() + "-events");
+			}
 			initFrameworkServlet();
 		}
 		catch (ServletException | RuntimeException ex) {
@@ -834,6 +889,11 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 	@Override
 	public void destroy() {
 		getServletContext().log("Destroying Spring FrameworkServlet '" + getServletName() + "'");
+		// Publish buffered events while the context is still active
+		if (this.asyncEventPublisher != null) {
+			this.asyncEventPublisher.close(5000);
+			this.asyncEventPublisher = null;
+		}
 		// Only call close() on WebApplicationContext if locally managed...
 		if (this.webApplicationContext instanceof ConfigurableApplicationContext && !this.webApplicationContextInjected) {
 			((ConfigurableApplicationContext) this.webApplicationContext).close();
@@ -971,7 +1031,7 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 		ServletRequestAttributes requestAttributes = buildRequestAttributes(request, response, previousAttributes);
 
 		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), new RequestBindingInterceptor());
+		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), this.requestBindingInterceptor);
 
 		initContextHolders(request, localeContext, requestAttributes);
 
@@ -1111,12 +1171,18 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 		if (this.publishEvents && this.webApplicationContext != null) {
 			// Whether or not we succeeded, publish an event.
 			long processingTime = System.currentTimeMillis() - startTime;
-			this.webApplicationContext.publishEvent(
-					new ServletRequestHandledEvent(this,
-							request.getRequestURI(), request.getRemoteAddr(),
-							request.getMethod(), getServletConfig().getServletName(),
-							WebUtils.getSessionId(request), getUsernameForRequest(request),
-							processingTime, failureCause, response.getStatus()));
+			ServletRequestHandledEvent event = new ServletRequestHandledEvent(this,
+					request.getRequestURI(), request.getRemoteAddr(),
+					request.getMethod(), getServletConfig().getServletName(),
+					WebUtils.getSessionId(request), getUsernameForRequest(request),
+					processingTime, failureCause, response.getStatus());
+			AsyncEventPublisher asyncEventPublisher = this.asyncEventPublisher;
+			if (asyncEventPublisher != null) {
+				asyncEventPublisher.publishEvent(event);
+			}
+			else {
+				this.webApplicationContext.publishEvent(event);
+			}
 		}
 	}
 
@@ -24,6 +24,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -61,6 +62,9 @@ public class PathMatchConfigurer {
 	@Nullable
 	private Map<String, Predicate<Class<?>>> pathPrefixes;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 
 	/**
 	 * Whether to use suffix pattern match (".*") when matching patterns to
@@ -147,6 +151,24 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Enable use of parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} in all HandlerMappings configured through the MVC config,
+	 * as an alternative to String path matching with a {@link PathMatcher}.
+	 * <p>When enabled, the request path is parsed once per request by the
+	 * {@link org.springframework.web.servlet.DispatcherServlet DispatcherServlet}
+	 * and the {@link #setPathMatcher PathMatcher} is no longer used for request
+	 * mapping. The {@link #setUseSuffixPatternMatch suffix pattern} and
+	 * {@link #setUseTrailingSlashMatch trailing slash} options do not apply,
+	 * with trailing slash matching controlled through the given parser.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		return this;
+	}
+
 
 	/**
 	 * Whether to use registered suffixes for pattern matching.
@@ -189,4 +211,14 @@ public class PathMatchConfigurer {
 	protected Map<String, Predicate<Class<?>>> getPathPrefixes() {
 		return this.pathPrefixes;
 	}
+
+	/**
+	 * Return the {@link #setPatternParser configured} {@code PathPatternParser},
+	 * or {@code null} if String path matching is used.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
 }
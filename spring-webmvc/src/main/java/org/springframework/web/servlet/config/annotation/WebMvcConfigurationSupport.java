@@ -101,6 +101,7 @@ import org.springframework.web.servlet.resource.ResourceUrlProviderExposingInter
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.servlet.view.ViewResolverComposite;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * This is the main class providing the configuration behind the MVC Java config.
@@ -289,6 +290,11 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 
 		PathMatchConfigurer configurer = getPathMatchConfigurer();
 
+		PathPatternParser patternParser = configurer.getPatternParser();
+		if (patternParser != null) {
+			mapping.setPatternParser(patternParser);
+		}
+
 		Boolean useSuffixPatternMatch = configurer.isUseSuffixPatternMatch();
 		if (useSuffixPatternMatch != null) {
 			mapping.setUseSuffixPatternMatch(useSuffixPatternMatch);
@@ -353,6 +359,17 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 	protected void addInterceptors(InterceptorRegistry registry) {
 	}
 
+	/**
+	 * Apply the {@link PathMatchConfigurer#setPatternParser PathPatternParser},
+	 * if configured, to the given URL-based handler mapping.
+	 */
+	private void initPatternParser(AbstractHandlerMapping mapping) {
+		PathPatternParser patternParser = getPathMatchConfigurer().getPatternParser();
+		if (patternParser != null) {
+			mapping.setPatternParser(patternParser);
+		}
+	}
+
 	/**
 	 * Callback for building the {@link PathMatchConfigurer}.
 	 * Delegates to {@link #configurePathMatch}.
@@ -464,6 +481,7 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		}
 		handlerMapping.setPathMatcher(pathMatcher);
 		handlerMapping.setUrlPathHelper(urlPathHelper);
+		initPatternParser(handlerMapping);
 		handlerMapping.setInterceptors(getInterceptors(conversionService, resourceUrlProvider));
 		handlerMapping.setCorsConfigurations(getCorsConfigurations());
 		return handlerMapping;
@@ -487,6 +505,7 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 
 		BeanNameUrlHandlerMapping mapping = new BeanNameUrlHandlerMapping();
 		mapping.setOrder(2);
+		initPatternParser(mapping);
 		mapping.setInterceptors(getInterceptors(conversionService, resourceUrlProvider));
 		mapping.setCorsConfigurations(getCorsConfigurations());
 		return mapping;
@@ -543,6 +562,7 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		}
 		handlerMapping.setPathMatcher(pathMatcher);
 		handlerMapping.setUrlPathHelper(urlPathHelper);
+		initPatternParser(handlerMapping);
 		handlerMapping.setInterceptors(getInterceptors(conversionService, resourceUrlProvider));
 		handlerMapping.setCorsConfigurations(getCorsConfigurations());
 		return handlerMapping;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -116,6 +116,9 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 		if (this.routerFunction == null) {
 			initRouterFunction();
 		}
+		if (this.routerFunction != null) {
+			this.routerFunction = RouterFunctions.compile(this.routerFunction);
+		}
 		if (CollectionUtils.isEmpty(this.messageConverters)) {
 			initMessageConverters();
 		}
@@ -30,6 +30,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -48,7 +49,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * {@link org.springframework.web.servlet.HandlerMapping}实现的抽象基类。 
@@ -71,9 +74,15 @@ import org.springframework.web.util.UrlPathHelper;
 public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		implements HandlerMapping, Ordered, BeanNameAware {
 
+	/** Used to remove ";" content from the raw path, when using parsed patterns. */
+	static final UrlPathHelper rawPathHelper = new UrlPathHelper();
+
 	@Nullable
 	private Object defaultHandler;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private UrlPathHelper urlPathHelper = new UrlPathHelper();
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
@@ -109,6 +118,40 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.defaultHandler;
 	}
 
+	/**
+	 * Enable use of pre-parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} as an alternative to String pattern matching with
+	 * {@link AntPathMatcher}. The syntax is largely the same but the
+	 * {@code PathPattern} syntax is more tailored for web applications, and
+	 * its implementation is more efficient.
+	 * <p>Patterns are matched against the request path that is
+	 * {@link ServletRequestPathUtils#parseAndCache parsed} once per request,
+	 * instead of the lookup path computed by the {@link UrlPathHelper}, and
+	 * the {@link PathMatcher} and {@code UrlPathHelper} related properties
+	 * are then no longer used for mapping purposes.
+	 * <p>This property also applies to {@link MappedInterceptor} path patterns,
+	 * and to the {@link #setCorsConfigurations global CORS configuration}.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		if (this.corsConfigurationSource instanceof UrlBasedCorsConfigurationSource) {
+			((UrlBasedCorsConfigurationSource) this.corsConfigurationSource).setPatternParser(patternParser);
+		}
+	}
+
+	/**
+	 * Return the {@link #setPatternParser(PathPatternParser) configured}
+	 * {@code PathPatternParser}, or {@code null}.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Shortcut to same property on underlying {@link #setUrlPathHelper UrlPathHelper}.
 	 * 底层{@link #setUrlPathHelper UrlPathHelper}上相同属性的快捷方式。
@@ -214,6 +257,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 			source.setPathMatcher(this.pathMatcher);
 			source.setUrlPathHelper(this.urlPathHelper);
 			source.setLookupPathAttributeName(LOOKUP_PATH);
+			source.setPatternParser(this.patternParser);
 			this.corsConfigurationSource = source;
 		}
 		else {
@@ -380,6 +424,53 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	}
 
 
+	/**
+	 * Return "true" if this {@code HandlerMapping} has been
+	 * {@link #setPatternParser enabled} to use parsed {@code PathPattern}s.
+	 * @since 5.3
+	 */
+	@Override
+	public boolean usesPathPatterns() {
+		return (getPatternParser() != null);
+	}
+
+	/**
+	 * Initialize the path to use for request mapping.
+	 * <p>When {@link #usesPathPatterns() parsed patterns} are enabled, the
+	 * {@link ServletRequestPathUtils#parseAndCache parsed request path} is
+	 * expected to have been cached by the
+	 * {@link org.springframework.web.servlet.DispatcherServlet DispatcherServlet}
+	 * and is otherwise parsed and cached here. The returned lookup path is then
+	 * the path within the application, still encoded, without ";" content.
+	 * <p>Otherwise the lookup path is obtained through the configured
+	 * {@link #getUrlPathHelper() UrlPathHelper} and cached in the
+	 * {@link #LOOKUP_PATH} request attribute.
+	 * @param request the current request
+	 * @return the lookup path
+	 * @since 5.3
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		if (usesPathPatterns()) {
+			// Not computed through the UrlPathHelper: do not expose it to its users
+			request.removeAttribute(LOOKUP_PATH);
+			RequestPath requestPath = getParsedRequestPath(request);
+			return rawPathHelper.removeSemicolonContent(requestPath.pathWithinApplication().value());
+		}
+		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		request.setAttribute(LOOKUP_PATH, lookupPath);
+		return lookupPath;
+	}
+
+	/**
+	 * Return the {@link ServletRequestPathUtils#parseAndCache parsed request path},
+	 * parsing and caching it first if necessary.
+	 */
+	static RequestPath getParsedRequestPath(HttpServletRequest request) {
+		return (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+				ServletRequestPathUtils.getParsedRequestPath(request) :
+				ServletRequestPathUtils.parseAndCache(request));
+	}
+
 	/**
 	 * Look up a handler for the given request, falling back to the default
 	 * handler if no specific one is found.
@@ -462,12 +553,16 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
-		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
+		PathPatternParser patternParser = this.patternParser;
+		RequestPath requestPath = (patternParser != null ? getParsedRequestPath(request) : null);
+		String lookupPath = (requestPath == null ? this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH) : null);
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
 				// 获取匹配url拦截器
-				if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+				if (requestPath != null ?
+						mappedInterceptor.matches(requestPath.pathWithinApplication(), patternParser) :
+						mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
 					chain.addInterceptor(mappedInterceptor.getInterceptor());
 				}
 			}
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,11 +44,13 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.KotlinDetector;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
@@ -105,6 +108,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	private final MappingRegistry mappingRegistry = new MappingRegistry();
 
+	private boolean pathPrefixIndexEnabled;
+
 
 	/**
 	 * Whether to detect handler methods in beans in ancestor ApplicationContexts.
@@ -205,6 +210,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	public void afterPropertiesSet() {
+		this.pathPrefixIndexEnabled = usePathPrefixIndex();
 		initHandlerMethods();
 	}
 
@@ -363,8 +369,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
+		String lookupPath = initLookupPath(request);
 		this.mappingRegistry.acquireReadLock();
 		try {
 			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
@@ -391,8 +396,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (this.pathPrefixIndexEnabled) {
+				// Only go through mappings whose literal leading path segments match...
+				List<String> pathSegments = getLookupPathSegments(lookupPath, request);
+				addMatchingMappings(this.mappingRegistry.getMappingsByPathPrefix(pathSegments), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -428,6 +440,22 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	private List<String> getLookupPathSegments(String lookupPath, HttpServletRequest request) {
+		List<String> segments = new ArrayList<>();
+		if (usesPathPatterns()) {
+			// Decoded, without path parameters, as matched by PathPattern
+			for (PathContainer.Element element : getParsedRequestPath(request).pathWithinApplication().elements()) {
+				if (element instanceof PathContainer.PathSegment) {
+					segments.add(((PathContainer.PathSegment) element).valueToMatch());
+				}
+			}
+		}
+		else {
+			segments.addAll(Arrays.asList(StringUtils.delimitedListToStringArray(lookupPath, "/")));
+		}
+		return segments;
+	}
+
 	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
 		for (T mapping : mappings) {
 			T match = getMatchingMapping(mapping, request);
@@ -508,6 +536,46 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
+	/**
+	 * Return the request mapping paths that are not patterns, and can
+	 * therefore be looked up directly by the lookup path of a request.
+	 * <p>By default, these are the {@link #getMappingPathPatterns paths}
+	 * that are not a pattern according to the configured
+	 * {@link #getPathMatcher() PathMatcher}.
+	 * @since 5.3
+	 */
+	protected Set<String> getDirectPaths(T mapping) {
+		Set<String> urls = Collections.emptySet();
+		for (String path : getMappingPathPatterns(mapping)) {
+			if (!getPathMatcher().isPattern(path)) {
+				urls = (urls.isEmpty() ? new HashSet<>(1) : urls);
+				urls.add(path);
+			}
+		}
+		return urls;
+	}
+
+	/**
+	 * Whether mappings that are not matched directly by URL may be looked up
+	 * through an index of the literal leading segments of their
+	 * {@link #getMappingPathPatterns path patterns}, rather than by checking
+	 * every registered mapping against the request.
+	 * <p>This requires that a mapping can only match requests whose lookup path
+	 * matches one of its path patterns, where pattern segments are separated
+	 * by "/", and a segment without "*", "?", or "{" only matches the same
+	 * path segment, ignoring case, whitespace around it, and empty segments.
+	 * The last segment of a pattern is never indexed, which leaves room for
+	 * suffix and trailing slash matching. Mappings without patterns are
+	 * always checked.
+	 * <p>The index is used if this method returns "true" when the
+	 * {@link #afterPropertiesSet() mapping is initialized}. By default, this
+	 * method returns "false".
+	 * @since 5.3
+	 */
+	protected boolean usePathPrefixIndex() {
+		return false;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -544,6 +612,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
+		private final PathPrefixIndex<T> pathPrefixIndex = new PathPrefixIndex<>();
+
+		private long registrationCount;
+
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 
 		/**
@@ -563,6 +635,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose path patterns may match the given lookup
+		 * path segments, in registration order. Not thread-safe.
+		 * @see #usePathPrefixIndex()
+		 * @see #acquireReadLock()
+		 */
+		public List<T> getMappingsByPathPrefix(List<String> pathSegments) {
+			return this.pathPrefixIndex.getMappings(pathSegments);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -607,6 +689,13 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				validateMethodMapping(handlerMethod, mapping); // 查看是否已经存在该映射
 				this.mappingLookup.put(mapping, handlerMethod);
 
+				// Keep the position of a re-registered mapping, as the mappingLookup does
+				MappingRegistration<T> existing = this.registry.get(mapping);
+				long order = (existing != null ? existing.getOrder() : this.registrationCount++);
+				if (existing != null) {
+					this.pathPrefixIndex.remove(existing);
+				}
+
 				List<String> directUrls = getDirectUrls(mapping); // 获取非模式url
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
@@ -624,7 +713,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, directUrls, name));
+				MappingRegistration<T> registration = new MappingRegistration<>(
+						mapping, handlerMethod, directUrls, name, getMappingPathPatterns(mapping), order);
+				this.pathPrefixIndex.add(registration);
+				this.registry.put(mapping, registration);
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -643,13 +735,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		private List<String> getDirectUrls(T mapping) {
-			List<String> urls = new ArrayList<>(1);
-			for (String path : getMappingPathPatterns(mapping)) {
-				if (!getPathMatcher().isPattern(path)) {
-					urls.add(path);
-				}
-			}
-			return urls;
+			return new ArrayList<>(getDirectPaths(mapping));
 		}
 
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
@@ -690,6 +776,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				this.pathPrefixIndex.remove(definition);
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -735,8 +823,12 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		@Nullable
 		private final String mappingName;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable List<String> directUrls, @Nullable String mappingName) {
+		private final Set<String> pathPatterns;
+
+		private final long order;
+
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable List<String> directUrls,
+				@Nullable String mappingName, Set<String> pathPatterns, long order) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
@@ -744,6 +836,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			this.handlerMethod = handlerMethod;
 			this.directUrls = (directUrls != null ? directUrls : Collections.emptyList());
 			this.mappingName = mappingName;
+			this.pathPatterns = pathPatterns;
+			this.order = order;
 		}
 
 		public T getMapping() {
@@ -762,6 +856,153 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		public String getMappingName() {
 			return this.mappingName;
 		}
+
+		public Set<String> getPathPatterns() {
+			return this.pathPatterns;
+		}
+
+		public long getOrder() {
+			return this.order;
+		}
+	}
+
+
+	/**
+	 * A tree of path segments where each node holds the mappings whose path
+	 * patterns start with the literal segments leading to it, for the purpose
+	 * of narrowing down the mappings to check for a given lookup path.
+	 * @see #usePathPrefixIndex()
+	 */
+	private static class PathPrefixIndex<T> {
+
+		private final Node<T> root = new Node<>();
+
+		public void add(MappingRegistration<T> registration) {
+			if (registration.getPathPatterns().isEmpty()) {
+				this.root.add(registration);
+				return;
+			}
+			for (String pattern : registration.getPathPatterns()) {
+				Node<T> node = this.root;
+				for (String segment : getLiteralPrefix(pattern)) {
+					node = node.children.computeIfAbsent(segment, key -> new Node<>());
+				}
+				node.add(registration);
+			}
+		}
+
+		public void remove(MappingRegistration<T> registration) {
+			if (registration.getPathPatterns().isEmpty()) {
+				this.root.registrations.remove(registration);
+				return;
+			}
+			for (String pattern : registration.getPathPatterns()) {
+				remove(this.root, getLiteralPrefix(pattern), 0, registration);
+			}
+		}
+
+		private void remove(Node<T> node, List<String> prefix, int index, MappingRegistration<T> registration) {
+			if (index == prefix.size()) {
+				node.registrations.remove(registration);
+				return;
+			}
+			Node<T> child = node.children.get(prefix.get(index));
+			if (child != null) {
+				remove(child, prefix, index + 1, registration);
+				if (child.isEmpty()) {
+					node.children.remove(prefix.get(index));
+				}
+			}
+		}
+
+		/**
+		 * Return the mappings along the path of the given segments, in
+		 * registration order and without duplicates.
+		 */
+		public List<T> getMappings(List<String> pathSegments) {
+			List<MappingRegistration<T>> registrations = new ArrayList<>(this.root.registrations);
+			Node<T> node = this.root;
+			for (String segment : pathSegments) {
+				segment = normalize(segment);
+				if (segment.isEmpty()) {
+					continue;
+				}
+				node = node.children.get(segment);
+				if (node == null) {
+					break;
+				}
+				registrations.addAll(node.registrations);
+			}
+			registrations.sort(Comparator.comparingLong(MappingRegistration::getOrder));
+			List<T> result = new ArrayList<>(registrations.size());
+			MappingRegistration<T> previous = null;
+			for (MappingRegistration<T> registration : registrations) {
+				if (registration != previous) {
+					result.add(registration.getMapping());
+				}
+				previous = registration;
+			}
+			return result;
+		}
+
+		/**
+		 * Return the normalized segments of the given pattern that precede both
+		 * its first segment with pattern syntax and its last segment.
+		 */
+		private static List<String> getLiteralPrefix(String pattern) {
+			List<String> result = new ArrayList<>();
+			for (String segment : StringUtils.delimitedListToStringArray(pattern, "/")) {
+				segment = normalize(segment);
+				if (segment.isEmpty()) {
+					continue;
+				}
+				if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+					return result;
+				}
+				result.add(segment);
+			}
+			if (!result.isEmpty()) {
+				result.remove(result.size() - 1);
+			}
+			return result;
+		}
+
+		/**
+		 * Trim and case-fold the given segment, such that segments that are
+		 * equal ignoring case are also equal after normalization.
+		 */
+		private static String normalize(String segment) {
+			String trimmed = segment.trim();
+			for (int i = 0; i < trimmed.length(); i++) {
+				char c = trimmed.charAt(i);
+				if (Character.isSurrogate(c) || Character.toLowerCase(Character.toUpperCase(c)) != c) {
+					StringBuilder sb = new StringBuilder(trimmed.length());
+					trimmed.codePoints().forEach(codePoint ->
+							sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+					return sb.toString();
+				}
+			}
+			return trimmed;
+		}
+
+
+		private static class Node<T> {
+
+			private final Map<String, Node<T>> children = new HashMap<>(4);
+
+			private final List<MappingRegistration<T>> registrations = new ArrayList<>(1);
+
+			void add(MappingRegistration<T> registration) {
+				// A mapping may have several patterns with the same literal prefix
+				if (!this.registrations.contains(registration)) {
+					this.registrations.add(registration);
+				}
+			}
+
+			boolean isEmpty() {
+				return (this.registrations.isEmpty() && this.children.isEmpty());
+			}
+		}
 	}
 
 
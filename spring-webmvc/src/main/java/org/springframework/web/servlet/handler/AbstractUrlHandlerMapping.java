@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,10 +28,14 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * URL映射的{@link org.springframework.web.servlet.HandlerMapping}实现的抽象基类。 
@@ -59,6 +63,22 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<>();
 
+	private final Map<PathPattern, Object> pathPatternHandlerMap = new LinkedHashMap<>();
+
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The parser must be set before any handlers are registered, as their
+	 * URL paths are parsed at registration time. The
+	 * {@link #setUseTrailingSlashMatch trailing slash match} option does not
+	 * apply, as it is a property of the parser instead.
+	 */
+	@Override
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		Assert.state(this.handlerMap.isEmpty(),
+				"PathPatternParser must be set before the registration of any mappings");
+		super.setPatternParser(patternParser);
+	}
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -116,9 +136,10 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
-		Object handler = lookupHandler(lookupPath, request);
+		String lookupPath = initLookupPath(request);
+		Object handler = (usesPathPatterns() ?
+				lookupHandler(getParsedRequestPath(request), lookupPath, request) :
+				lookupHandler(lookupPath, request));
 		if (handler == null) {
 			// We need to care for the default handler directly, since we need to
 			// expose the PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE for it as well.
@@ -157,16 +178,9 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	 */
 	@Nullable
 	protected Object lookupHandler(String urlPath, HttpServletRequest request) throws Exception {
-		// Direct match?
-		Object handler = this.handlerMap.get(urlPath);
+		Object handler = getDirectMatch(urlPath, request);
 		if (handler != null) {
-			// Bean name or resolved handler?
-			if (handler instanceof String) {
-				String handlerName = (String) handler;
-				handler = obtainApplicationContext().getBean(handlerName);
-			}
-			validateHandler(handler, request);
-			return buildPathExposingHandler(handler, urlPath, urlPath, null);
+			return handler;
 		}
 
 		// Pattern match?
@@ -230,6 +244,81 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return null;
 	}
 
+	/**
+	 * Look up a handler instance for the given URL path, using parsed
+	 * {@link PathPattern}s, when {@link #setPatternParser a parser} is set.
+	 * <p>Supports direct matches by the lookup path, and otherwise selects
+	 * the most specific of the matching patterns as defined by
+	 * {@link PathPattern#SPECIFICITY_COMPARATOR}.
+	 * @param path the parsed request path
+	 * @param lookupPath the lookup path for a direct match
+	 * @param request current HTTP request (to expose the path within the mapping to)
+	 * @return the associated handler instance, or {@code null} if not found
+	 * @since 5.3
+	 */
+	@Nullable
+	protected Object lookupHandler(RequestPath path, String lookupPath, HttpServletRequest request)
+			throws Exception {
+
+		Object handler = getDirectMatch(lookupPath, request);
+		if (handler != null) {
+			return handler;
+		}
+
+		PathContainer pathWithinApplication = path.pathWithinApplication();
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : this.pathPatternHandlerMap.keySet()) {
+			if (pattern.matches(pathWithinApplication)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return null;
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Matching patterns " + matches);
+			}
+		}
+		PathPattern pattern = matches.get(0);
+		handler = this.pathPatternHandlerMap.get(pattern);
+		// Bean name or resolved handler?
+		if (handler instanceof String) {
+			String handlerName = (String) handler;
+			handler = obtainApplicationContext().getBean(handlerName);
+		}
+		validateHandler(handler, request);
+
+		// Decoded and without ";" content, as with the lookup path of the UrlPathHelper
+		String pathWithinMapping = pattern.extractPathWithinPattern(pathWithinApplication).value();
+		pathWithinMapping = getUrlPathHelper().decodeRequestString(request,
+				rawPathHelper.removeSemicolonContent(pathWithinMapping));
+
+		PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(pathWithinApplication);
+		Map<String, String> uriTemplateVariables = (matchInfo != null ? matchInfo.getUriVariables() : null);
+		if (logger.isTraceEnabled() && !CollectionUtils.isEmpty(uriTemplateVariables)) {
+			logger.trace("URI variables " + uriTemplateVariables);
+		}
+		return buildPathExposingHandler(handler, pattern.getPatternString(), pathWithinMapping, uriTemplateVariables);
+	}
+
+	@Nullable
+	private Object getDirectMatch(String urlPath, HttpServletRequest request) throws Exception {
+		Object handler = this.handlerMap.get(urlPath);
+		if (handler != null) {
+			// Bean name or resolved handler?
+			if (handler instanceof String) {
+				String handlerName = (String) handler;
+				handler = obtainApplicationContext().getBean(handlerName);
+			}
+			validateHandler(handler, request);
+			return buildPathExposingHandler(handler, urlPath, urlPath, null);
+		}
+		return null;
+	}
+
 	/**
 	 * Validate the given handler against the current request.
 	 * <p>The default implementation is empty. Can be overridden in subclasses,
@@ -289,6 +378,12 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	public RequestMatchResult match(HttpServletRequest request, String pattern) {
+		PathPatternParser patternParser = getPatternParser();
+		if (patternParser != null) {
+			PathPattern pathPattern = patternParser.parse(pattern);
+			PathContainer path = getParsedRequestPath(request).pathWithinApplication();
+			return (pathPattern.matches(path) ? new RequestMatchResult(pathPattern, path) : null);
+		}
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request, LOOKUP_PATH);
 		if (getPathMatcher().match(pattern, lookupPath)) {
 			return new RequestMatchResult(pattern, lookupPath, getPathMatcher());
@@ -360,6 +455,10 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				PathPatternParser patternParser = getPatternParser();
+				if (patternParser != null) {
+					this.pathPatternHandlerMap.put(patternParser.parse(urlPath), resolvedHandler);
+				}
 				if (logger.isTraceEnabled()) {
 					logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
 				}
@@ -382,6 +481,16 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return Collections.unmodifiableMap(this.handlerMap);
 	}
 
+	/**
+	 * Identical to {@link #getHandlerMap()} but populated only when
+	 * {@link #setPatternParser parsed patterns} are enabled, with the parsed
+	 * pattern as key.
+	 * @since 5.3
+	 */
+	public final Map<PathPattern, Object> getPathPatternHandlerMap() {
+		return Collections.unmodifiableMap(this.pathPatternHandlerMap);
+	}
+
 	/**
 	 * Indicates whether this handler mapping support type-level mappings. Default to {@code false}.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,12 +19,15 @@ package org.springframework.web.servlet.handler;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.context.request.WebRequestInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * 带有路径模式匹配的{@link HandlerInterceptor},也提供了匹配逻辑来测试拦截器是否适用于一个给定的请求路径
@@ -52,6 +55,9 @@ public final class MappedInterceptor implements HandlerInterceptor {
 	@Nullable
 	private PathMatcher pathMatcher;
 
+	@Nullable
+	private volatile ParsedPatterns parsedPatterns;
+
 
 	/**
 	 * Create a new MappedInterceptor instance.
@@ -160,6 +166,26 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		return false;
 	}
 
+	/**
+	 * Determine a match for the given request path, with the include and
+	 * exclude patterns parsed to {@link PathPattern}s by the given parser.
+	 * <p>The patterns are parsed once and then re-used for as long as the
+	 * same parser is passed in. A {@link #setPathMatcher PathMatcher}
+	 * configured on this interceptor does not apply.
+	 * @param path the path within the application of the current request
+	 * @param parser the parser for the include and exclude patterns
+	 * @return {@code true} if the interceptor applies to the given request path
+	 * @since 5.3
+	 */
+	public boolean matches(PathContainer path, PathPatternParser parser) {
+		ParsedPatterns patterns = this.parsedPatterns;
+		if (patterns == null || patterns.parser != parser) {
+			patterns = new ParsedPatterns(parser, this.includePatterns, this.excludePatterns);
+			this.parsedPatterns = patterns;
+		}
+		return patterns.matches(path);
+	}
+
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
@@ -181,4 +207,55 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		this.interceptor.afterCompletion(request, response, handler, ex);
 	}
 
+
+	/**
+	 * Include and exclude patterns parsed with a given parser.
+	 */
+	private static final class ParsedPatterns {
+
+		private static final PathPattern[] NO_PATTERNS = new PathPattern[0];
+
+		private final PathPatternParser parser;
+
+		private final PathPattern[] includePatterns;
+
+		private final PathPattern[] excludePatterns;
+
+		ParsedPatterns(PathPatternParser parser, @Nullable String[] includePatterns,
+				@Nullable String[] excludePatterns) {
+
+			this.parser = parser;
+			this.includePatterns = parse(parser, includePatterns);
+			this.excludePatterns = parse(parser, excludePatterns);
+		}
+
+		private static PathPattern[] parse(PathPatternParser parser, @Nullable String[] patterns) {
+			if (ObjectUtils.isEmpty(patterns)) {
+				return NO_PATTERNS;
+			}
+			PathPattern[] result = new PathPattern[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				result[i] = parser.parse(patterns[i]);
+			}
+			return result;
+		}
+
+		boolean matches(PathContainer path) {
+			for (PathPattern pattern : this.excludePatterns) {
+				if (pattern.matches(path)) {
+					return false;
+				}
+			}
+			if (this.includePatterns.length == 0) {
+				return true;
+			}
+			for (PathPattern pattern : this.includePatterns) {
+				if (pattern.matches(path)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 }
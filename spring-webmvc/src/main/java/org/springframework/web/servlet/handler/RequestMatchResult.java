@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,14 @@
 
 package org.springframework.web.servlet.handler;
 
+import java.util.Collections;
 import java.util.Map;
 
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Container for the result from request pattern matching via
@@ -31,13 +35,38 @@ import org.springframework.util.PathMatcher;
  */
 public class RequestMatchResult {
 
+	@Nullable
+	private final PathPattern pathPattern;
+
+	@Nullable
+	private final PathContainer lookupPathContainer;
+
+	@Nullable
 	private final String matchingPattern;
 
+	@Nullable
 	private final String lookupPath;
 
+	@Nullable
 	private final PathMatcher pathMatcher;
 
 
+	/**
+	 * Create an instance with the matched {@code PathPattern}.
+	 * @param pathPattern the pattern that was matched
+	 * @param lookupPath the mapping path
+	 * @since 5.3
+	 */
+	public RequestMatchResult(PathPattern pathPattern, PathContainer lookupPath) {
+		Assert.notNull(pathPattern, "PathPattern is required");
+		Assert.notNull(lookupPath, "PathContainer is required");
+		this.pathPattern = pathPattern;
+		this.lookupPathContainer = lookupPath;
+		this.matchingPattern = null;
+		this.lookupPath = null;
+		this.pathMatcher = null;
+	}
+
 	/**
 	 * Create an instance with a matching pattern.
 	 * @param matchingPattern the matching pattern, possibly not the same as the
@@ -49,6 +78,8 @@ public class RequestMatchResult {
 		Assert.hasText(matchingPattern, "'matchingPattern' is required");
 		Assert.hasText(lookupPath, "'lookupPath' is required");
 		Assert.notNull(pathMatcher, "'pathMatcher' is required");
+		this.pathPattern = null;
+		this.lookupPathContainer = null;
 		this.matchingPattern = matchingPattern;
 		this.lookupPath = lookupPath;
 		this.pathMatcher = pathMatcher;
@@ -57,10 +88,16 @@ public class RequestMatchResult {
 
 	/**
 	 * Extract URI template variables from the matching pattern as defined in
-	 * {@link PathMatcher#extractUriTemplateVariables}.
+	 * {@link PathMatcher#extractUriTemplateVariables}, or through the matched
+	 * {@link PathPattern}, if any.
 	 * @return a map with URI template variables
 	 */
+	@SuppressWarnings("ConstantConditions")
 	public Map<String, String> extractUriTemplateVariables() {
+		if (this.pathPattern != null) {
+			PathPattern.PathMatchInfo info = this.pathPattern.matchAndExtract(this.lookupPathContainer);
+			return (info != null ? info.getUriVariables() : Collections.emptyMap());
+		}
 		return this.pathMatcher.extractUriTemplateVariables(this.matchingPattern, this.lookupPath);
 	}
 
@@ -23,6 +23,7 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -30,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.mvc.condition.ConsumesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.HeadersRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ParamsRequestCondition;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestCondition;
@@ -37,11 +39,13 @@ import org.springframework.web.servlet.mvc.condition.RequestConditionHolder;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * 请求映射信息。 封装以下请求映射条件：
  * <ol>
- * <li>{@link PatternsRequestCondition}
+ * <li>{@link PatternsRequestCondition}, or {@link PathPatternsRequestCondition}
+ * if {@link BuilderConfiguration#setPatternParser parsed patterns} are enabled
  * <li>{@link RequestMethodsRequestCondition}
  * <li>{@link ParamsRequestCondition}
  * <li>{@link HeadersRequestCondition}
@@ -59,6 +63,10 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	@Nullable
 	private final String name;
 
+	@Nullable
+	private final PathPatternsRequestCondition pathPatternsCondition;
+
+	@Nullable
 	private final PatternsRequestCondition patternsCondition;
 
 	private final RequestMethodsRequestCondition methodsCondition;
@@ -79,8 +87,32 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			@Nullable HeadersRequestCondition headers, @Nullable ConsumesRequestCondition consumes,
 			@Nullable ProducesRequestCondition produces, @Nullable RequestCondition<?> custom) {
 
+		this(name, null, (patterns != null ? patterns : new PatternsRequestCondition()),
+				methods, params, headers, consumes, produces, custom);
+	}
+
+	/**
+	 * Creates a new instance with parsed {@link PathPatternsRequestCondition path patterns}.
+	 * @since 5.3
+	 */
+	public RequestMappingInfo(@Nullable String name, PathPatternsRequestCondition pathPatterns,
+			@Nullable RequestMethodsRequestCondition methods, @Nullable ParamsRequestCondition params,
+			@Nullable HeadersRequestCondition headers, @Nullable ConsumesRequestCondition consumes,
+			@Nullable ProducesRequestCondition produces, @Nullable RequestCondition<?> custom) {
+
+		this(name, pathPatterns, null, methods, params, headers, consumes, produces, custom);
+	}
+
+	private RequestMappingInfo(@Nullable String name,
+			@Nullable PathPatternsRequestCondition pathPatterns, @Nullable PatternsRequestCondition patterns,
+			@Nullable RequestMethodsRequestCondition methods, @Nullable ParamsRequestCondition params,
+			@Nullable HeadersRequestCondition headers, @Nullable ConsumesRequestCondition consumes,
+			@Nullable ProducesRequestCondition produces, @Nullable RequestCondition<?> custom) {
+
+		Assert.isTrue(pathPatterns != null || patterns != null, "Neither PathPatterns nor String patterns condition");
 		this.name = (StringUtils.hasText(name) ? name : null);
-		this.patternsCondition = (patterns != null ? patterns : new PatternsRequestCondition());
+		this.pathPatternsCondition = pathPatterns;
+		this.patternsCondition = patterns;
 		this.methodsCondition = (methods != null ? methods : new RequestMethodsRequestCondition());
 		this.paramsCondition = (params != null ? params : new ParamsRequestCondition());
 		this.headersCondition = (headers != null ? headers : new HeadersRequestCondition());
@@ -104,8 +136,9 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	 * Re-create a RequestMappingInfo with the given custom request condition.
 	 */
 	public RequestMappingInfo(RequestMappingInfo info, @Nullable RequestCondition<?> customRequestCondition) {
-		this(info.name, info.patternsCondition, info.methodsCondition, info.paramsCondition, info.headersCondition,
-				info.consumesCondition, info.producesCondition, customRequestCondition);
+		this(info.name, info.pathPatternsCondition, info.patternsCondition, info.methodsCondition,
+				info.paramsCondition, info.headersCondition, info.consumesCondition, info.producesCondition,
+				customRequestCondition);
 	}
 
 
@@ -118,13 +151,51 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	}
 
 	/**
-	 * Return the URL patterns of this {@link RequestMappingInfo};
-	 * or instance with 0 patterns (never {@code null}).
+	 * Return the String URL patterns of this {@link RequestMappingInfo},
+	 * or {@code null} if {@link #getPathPatternsCondition() parsed patterns}
+	 * are in use instead.
 	 */
+	@Nullable
 	public PatternsRequestCondition getPatternsCondition() {
 		return this.patternsCondition;
 	}
 
+	/**
+	 * Return the parsed URL patterns of this {@link RequestMappingInfo},
+	 * or {@code null} if {@link #getPatternsCondition() String patterns}
+	 * are in use instead.
+	 * @since 5.3
+	 * @see BuilderConfiguration#setPatternParser
+	 */
+	@Nullable
+	public PathPatternsRequestCondition getPathPatternsCondition() {
+		return this.pathPatternsCondition;
+	}
+
+	/**
+	 * Return the URL patterns condition in use, either
+	 * {@link #getPathPatternsCondition()} or {@link #getPatternsCondition()}.
+	 * @since 5.3
+	 */
+	public RequestCondition<?> getActivePatternsCondition() {
+		return (this.pathPatternsCondition != null ? this.pathPatternsCondition : getPatternsConditionInternal());
+	}
+
+	/**
+	 * Return the URL patterns of the {@link #getActivePatternsCondition()
+	 * active patterns condition} as Strings.
+	 * @since 5.3
+	 */
+	public Set<String> getPatternValues() {
+		return (this.pathPatternsCondition != null ?
+				this.pathPatternsCondition.getPatternValues() : getPatternsConditionInternal().getPatterns());
+	}
+
+	private PatternsRequestCondition getPatternsConditionInternal() {
+		Assert.state(this.patternsCondition != null, "No patterns condition");
+		return this.patternsCondition;
+	}
+
 	/**
 	 * Return the HTTP request methods of this {@link RequestMappingInfo};
 	 * or instance with 0 request methods (never {@code null}).
@@ -182,7 +253,14 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	@Override
 	public RequestMappingInfo combine(RequestMappingInfo other) {
 		String name = combineNames(other);
-		PatternsRequestCondition patterns = this.patternsCondition.combine(other.patternsCondition);
+		PathPatternsRequestCondition pathPatterns =
+				(this.pathPatternsCondition != null && other.pathPatternsCondition != null ?
+						this.pathPatternsCondition.combine(other.pathPatternsCondition) : null);
+		PatternsRequestCondition patterns =
+				(this.patternsCondition != null && other.patternsCondition != null ?
+						this.patternsCondition.combine(other.patternsCondition) : null);
+		Assert.state(pathPatterns != null || patterns != null,
+				"Cannot combine RequestMappingInfo with String patterns and with parsed PathPatterns");
 		RequestMethodsRequestCondition methods = this.methodsCondition.combine(other.methodsCondition);
 		ParamsRequestCondition params = this.paramsCondition.combine(other.paramsCondition);
 		HeadersRequestCondition headers = this.headersCondition.combine(other.headersCondition);
@@ -190,7 +268,7 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		ProducesRequestCondition produces = this.producesCondition.combine(other.producesCondition);
 		RequestConditionHolder custom = this.customConditionHolder.combine(other.customConditionHolder);
 
-		return new RequestMappingInfo(name, patterns,
+		return new RequestMappingInfo(name, pathPatterns, patterns,
 				methods, params, headers, consumes, produces, custom.getCondition());
 	}
 
@@ -238,16 +316,26 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		if (produces == null) {
 			return null;
 		}
-		PatternsRequestCondition patterns = this.patternsCondition.getMatchingCondition(request);
-		if (patterns == null) {
-			return null;
+		PathPatternsRequestCondition pathPatterns = null;
+		PatternsRequestCondition patterns = null;
+		if (this.pathPatternsCondition != null) {
+			pathPatterns = this.pathPatternsCondition.getMatchingCondition(request);
+			if (pathPatterns == null) {
+				return null;
+			}
+		}
+		else {
+			patterns = getPatternsConditionInternal().getMatchingCondition(request);
+			if (patterns == null) {
+				return null;
+			}
 		}
 		RequestConditionHolder custom = this.customConditionHolder.getMatchingCondition(request);
 		if (custom == null) {
 			return null;
 		}
 
-		return new RequestMappingInfo(this.name, patterns,
+		return new RequestMappingInfo(this.name, pathPatterns, patterns,
 				methods, params, headers, consumes, produces, custom.getCondition());
 	}
 
@@ -267,7 +355,16 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 				return result;
 			}
 		}
-		result = this.patternsCondition.compareTo(other.getPatternsCondition(), request);
+		if (this.pathPatternsCondition != null && other.pathPatternsCondition != null) {
+			result = this.pathPatternsCondition.compareTo(other.pathPatternsCondition, request);
+		}
+		else if (this.patternsCondition != null && other.patternsCondition != null) {
+			result = this.patternsCondition.compareTo(other.patternsCondition, request);
+		}
+		else {
+			throw new IllegalStateException(
+					"Cannot compare RequestMappingInfo with String patterns and with parsed PathPatterns");
+		}
 		if (result != 0) {
 			return result;
 		}
@@ -308,7 +405,7 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			return false;
 		}
 		RequestMappingInfo otherInfo = (RequestMappingInfo) other;
-		return (this.patternsCondition.equals(otherInfo.patternsCondition) &&
+		return (getActivePatternsCondition().equals(otherInfo.getActivePatternsCondition()) &&
 				this.methodsCondition.equals(otherInfo.methodsCondition) &&
 				this.paramsCondition.equals(otherInfo.paramsCondition) &&
 				this.headersCondition.equals(otherInfo.headersCondition) &&
@@ -319,7 +416,7 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 
 	@Override
 	public int hashCode() {
-		return (this.patternsCondition.hashCode() * 31 +  // primary differentiation
+		return (getActivePatternsCondition().hashCode() * 31 +  // primary differentiation
 				this.methodsCondition.hashCode() + this.paramsCondition.hashCode() +
 				this.headersCondition.hashCode() + this.consumesCondition.hashCode() +
 				this.producesCondition.hashCode() + this.customConditionHolder.hashCode());
@@ -332,8 +429,8 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			Set<RequestMethod> httpMethods = this.methodsCondition.getMethods();
 			builder.append(httpMethods.size() == 1 ? httpMethods.iterator().next() : httpMethods);
 		}
-		if (!this.patternsCondition.isEmpty()) {
-			Set<String> patterns = this.patternsCondition.getPatterns();
+		Set<String> patterns = getPatternValues();
+		if (!patterns.isEmpty()) {
 			builder.append(" ").append(patterns.size() == 1 ? patterns.iterator().next() : patterns);
 		}
 		if (!this.paramsCondition.isEmpty()) {
@@ -510,12 +607,20 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		public RequestMappingInfo build() {
 			ContentNegotiationManager manager = this.options.getContentNegotiationManager();
 
-			PatternsRequestCondition patternsCondition = new PatternsRequestCondition(
-					this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
-					this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
-					this.options.getFileExtensions());
+			PathPatternsRequestCondition pathPatternsCondition = null;
+			PatternsRequestCondition patternsCondition = null;
+			PathPatternParser parser = this.options.getPatternParser();
+			if (parser != null) {
+				pathPatternsCondition = new PathPatternsRequestCondition(parser, this.paths);
+			}
+			else {
+				patternsCondition = new PatternsRequestCondition(
+						this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
+						this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
+						this.options.getFileExtensions());
+			}
 
-			return new RequestMappingInfo(this.mappingName, patternsCondition,
+			return new RequestMappingInfo(this.mappingName, pathPatternsCondition, patternsCondition,
 					new RequestMethodsRequestCondition(this.methods),
 					new ParamsRequestCondition(this.params),
 					new HeadersRequestCondition(this.headers),
@@ -534,6 +639,9 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	 */
 	public static class BuilderConfiguration {
 
+		@Nullable
+		private PathPatternParser patternParser;
+
 		@Nullable
 		private UrlPathHelper urlPathHelper;
 
@@ -549,6 +657,30 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@Nullable
 		private ContentNegotiationManager contentNegotiationManager;
 
+		/**
+		 * Enable use of parsed {@link org.springframework.web.util.pattern.PathPattern
+		 * PathPatterns} through a {@link PathPatternsRequestCondition}, instead
+		 * of String pattern matching through a {@link PatternsRequestCondition}.
+		 * <p>When set, the {@link #setUrlPathHelper UrlPathHelper},
+		 * {@link #setPathMatcher PathMatcher}, trailing slash, and suffix pattern
+		 * options are not used. Trailing slash matching is a property of the
+		 * parser instead.
+		 * <p>By default this is not set.
+		 * @since 5.3
+		 */
+		public void setPatternParser(@Nullable PathPatternParser patternParser) {
+			this.patternParser = patternParser;
+		}
+
+		/**
+		 * Return the {@link #setPatternParser configured} {@code PathPatternParser}, if any.
+		 * @since 5.3
+		 */
+		@Nullable
+		public PathPatternParser getPatternParser() {
+			return this.patternParser;
+		}
+
 		/**
 		 * Set a custom UrlPathHelper to use for the PatternsRequestCondition.
 		 * <p>By default this is not set.
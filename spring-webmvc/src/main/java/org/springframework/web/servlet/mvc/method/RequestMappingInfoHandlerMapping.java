@@ -33,8 +33,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -45,8 +49,12 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * {@link RequestMappingInfo}定义了请求和处理器方法之间的映射的类的抽象基类。
@@ -80,7 +88,28 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	 */
 	@Override
 	protected Set<String> getMappingPathPatterns(RequestMappingInfo info) {
-		return info.getPatternsCondition().getPatterns();
+		return info.getPatternValues();
+	}
+
+	@Override
+	protected Set<String> getDirectPaths(RequestMappingInfo info) {
+		PathPatternsRequestCondition pathPatterns = info.getPathPatternsCondition();
+		return (pathPatterns != null ? pathPatterns.getDirectPaths() : super.getDirectPaths(info));
+	}
+
+	/**
+	 * Use the path prefix index if patterns are matched case-sensitively with
+	 * {@link PathPattern}s, or with an {@link AntPathMatcher} that uses the
+	 * default "/" path separator.
+	 */
+	@Override
+	protected boolean usePathPrefixIndex() {
+		PathPatternParser patternParser = getPatternParser();
+		if (patternParser != null) {
+			return (patternParser.isCaseSensitive() && patternParser.getPathOptions().separator() == '/');
+		}
+		PathMatcher pathMatcher = getPathMatcher();
+		return (pathMatcher.getClass() == AntPathMatcher.class && "/a/b".equals(pathMatcher.combine("/a", "b")));
 	}
 
 	/**
@@ -124,10 +153,24 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	protected void handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request) {
 		super.handleMatch(info, lookupPath, request);
 
+		PathPatternsRequestCondition pathPatterns = info.getPathPatternsCondition();
+		if (pathPatterns != null) {
+			extractMatchDetails(pathPatterns, lookupPath, request);
+		}
+		else {
+			extractMatchDetails(info.getPatternValues(), lookupPath, request);
+		}
+
+		// 获取accept中媒体类型，并存入请求属性中
+		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
+			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
+			request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
+		}
+	}
+
+	private void extractMatchDetails(Set<String> patterns, String lookupPath, HttpServletRequest request) {
 		String bestPattern;
 		Map<String, String> uriVariables;
-
-		Set<String> patterns = info.getPatternsCondition().getPatterns();
 		if (patterns.isEmpty()) {
 			bestPattern = lookupPath;
 			uriVariables = Collections.emptyMap();
@@ -149,12 +192,25 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		Map<String, String> decodedUriVariables = getUrlPathHelper().decodePathVariables(request, uriVariables);
 		// 放入到请求属性中
 		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, decodedUriVariables);
+	}
 
-		// 获取accept中媒体类型，并存入请求属性中
-		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
-			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
-			request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
+	private void extractMatchDetails(
+			PathPatternsRequestCondition condition, String lookupPath, HttpServletRequest request) {
+
+		if (condition.getPatterns().isEmpty()) {
+			request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, lookupPath);
+			request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.emptyMap());
+			return;
 		}
+		PathPattern bestPattern = condition.getPatterns().iterator().next();
+		PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+		PathPattern.PathMatchInfo result = bestPattern.matchAndExtract(path);
+		Assert.notNull(result, () -> "Expected bestPattern: " + bestPattern + " to match lookupPath " + path);
+
+		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern.getPatternString());
+		// Variables are decoded, and matrix variables are removed from them, by the PathPattern
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, result.getUriVariables());
+		request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, result.getMatrixVariables());
 	}
 
 	private boolean isMatrixVariableContentAvailable() {
@@ -255,7 +311,7 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 
 		public PartialMatchHelper(Set<RequestMappingInfo> infos, HttpServletRequest request) {
 			for (RequestMappingInfo info : infos) {
-				if (info.getPatternsCondition().getMatchingCondition(request) != null) {
+				if (info.getActivePatternsCondition().getMatchingCondition(request) != null) {
 					this.partialMatches.add(new PartialMatch(info, request));
 				}
 			}
@@ -21,10 +21,14 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
@@ -56,6 +60,9 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.FixedContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
@@ -91,6 +98,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 			new ParameterizedTypeReference<List<ResourceRegion>>() { }.getType();
 
 
+	private static final int NEGOTIATION_CACHE_LIMIT = 256;
+
 	private static final UrlPathHelper decodingUrlPathHelper = new UrlPathHelper();
 
 	private static final UrlPathHelper rawUrlPathHelper = new UrlPathHelper();
@@ -105,6 +114,10 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<>();
 
+	/* Negotiation results, if those only depend on the Accept header */
+	@Nullable
+	private final Map<NegotiationKey, Negotiation> negotiationCache;
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -134,6 +147,18 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		this.contentNegotiationManager = (manager != null ? manager : new ContentNegotiationManager());
 		this.safeExtensions.addAll(this.contentNegotiationManager.getAllFileExtensions());
 		this.safeExtensions.addAll(WHITELISTED_EXTENSIONS);
+		this.negotiationCache = (isAcceptHeaderBased(this.contentNegotiationManager) ?
+				new ConcurrentHashMap<>(64) : null);
+	}
+
+	private static boolean isAcceptHeaderBased(ContentNegotiationManager manager) {
+		for (ContentNegotiationStrategy strategy : manager.getStrategies()) {
+			if (!(strategy instanceof HeaderContentNegotiationStrategy ||
+					strategy instanceof FixedContentNegotiationStrategy)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 
@@ -213,6 +238,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 
 		MediaType selectedMediaType = null;
+		HttpMessageConverter<?> selectedConverter = null;
+		NegotiationKey negotiationKey = null;
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		boolean isContentTypePreset = contentType != null && contentType.isConcrete();
 		if (isContentTypePreset) {
@@ -223,80 +250,96 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 		else {
 			HttpServletRequest request = inputMessage.getServletRequest();
-			List<MediaType> acceptableTypes = getAcceptableMediaTypes(request);
-			List<MediaType> producibleTypes = getProducibleMediaTypes(request, valueType, targetType);
-
-			if (body != null && producibleTypes.isEmpty()) {
-				throw new HttpMessageNotWritableException(
-						"No converter found for return value of type: " + valueType);
+			Negotiation negotiation = null;
+			if (this.negotiationCache != null) {
+				negotiationKey = getNegotiationKey(request, valueType, targetType);
+				negotiation = (negotiationKey != null ? this.negotiationCache.get(negotiationKey) : null);
 			}
-			List<MediaType> mediaTypesToUse = new ArrayList<>();
-			for (MediaType requestedType : acceptableTypes) {
-				for (MediaType producibleType : producibleTypes) {
-					if (requestedType.isCompatibleWith(producibleType)) {
-						mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
-					}
+			if (negotiation != null) {
+				selectedMediaType = negotiation.mediaType;
+				selectedConverter = negotiation.converter;
+				negotiationKey = null;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Using '" + selectedMediaType + "' (cached negotiation result)");
 				}
 			}
-			if (mediaTypesToUse.isEmpty()) {
-				if (body != null) {
-					throw new HttpMediaTypeNotAcceptableException(producibleTypes);
+			else {
+				List<MediaType> acceptableTypes = getAcceptableMediaTypes(request);
+				List<MediaType> producibleTypes = getProducibleMediaTypes(request, valueType, targetType);
+
+				if (body != null && producibleTypes.isEmpty()) {
+					throw new HttpMessageNotWritableException(
+							"No converter found for return value of type: " + valueType);
 				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("No match for " + acceptableTypes + ", supported: " + producibleTypes);
+				List<MediaType> mediaTypesToUse = new ArrayList<>();
+				for (MediaType requestedType : acceptableTypes) {
+					for (MediaType producibleType : producibleTypes) {
+						if (requestedType.isCompatibleWith(producibleType)) {
+							mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
+						}
+					}
+				}
+				if (mediaTypesToUse.isEmpty()) {
+					if (body != null) {
+						throw new HttpMediaTypeNotAcceptableException(producibleTypes);
+					}
+					if (logger.isDebugEnabled()) {
+						logger.debug("No match for " + acceptableTypes + ", supported: " + producibleTypes);
+					}
+					return;
 				}
-				return;
-			}
 
-			MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
+				MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
 
-			for (MediaType mediaType : mediaTypesToUse) {
-				if (mediaType.isConcrete()) {
-					selectedMediaType = mediaType;
-					break;
-				}
-				else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
-					selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
-					break;
+				for (MediaType mediaType : mediaTypesToUse) {
+					if (mediaType.isConcrete()) {
+						selectedMediaType = mediaType;
+						break;
+					}
+					else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
+						selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
+						break;
+					}
 				}
-			}
 
-			if (logger.isDebugEnabled()) {
-				logger.debug("Using '" + selectedMediaType + "', given " +
-						acceptableTypes + " and supported " + producibleTypes);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Using '" + selectedMediaType + "', given " +
+							acceptableTypes + " and supported " + producibleTypes);
+				}
 			}
 		}
 
 		if (selectedMediaType != null) {
 			selectedMediaType = selectedMediaType.removeQualityValue();
-			for (HttpMessageConverter<?> converter : this.messageConverters) {
+			HttpMessageConverter<?> converter = (selectedConverter != null ? selectedConverter :
+					findConverter(targetType, valueType, selectedMediaType));
+			if (converter != null) {
+				if (negotiationKey != null) {
+					cacheNegotiation(negotiationKey, new Negotiation(selectedMediaType, converter));
+				}
 				GenericHttpMessageConverter genericConverter = (converter instanceof GenericHttpMessageConverter ?
 						(GenericHttpMessageConverter<?>) converter : null);
-				if (genericConverter != null ?
-						((GenericHttpMessageConverter) converter).canWrite(targetType, valueType, selectedMediaType) :
-						converter.canWrite(valueType, selectedMediaType)) {
-					body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
-							(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
-							inputMessage, outputMessage);
-					if (body != null) {
-						Object theBody = body;
-						LogFormatUtils.traceDebug(logger, traceOn ->
-								"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
-						addContentDispositionHeader(inputMessage, outputMessage);
-						if (genericConverter != null) {
-							genericConverter.write(body, targetType, selectedMediaType, outputMessage);
-						}
-						else {
-							((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
-						}
+				body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
+						(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
+						inputMessage, outputMessage);
+				if (body != null) {
+					Object theBody = body;
+					LogFormatUtils.traceDebug(logger, traceOn ->
+							"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
+					addContentDispositionHeader(inputMessage, outputMessage);
+					if (genericConverter != null) {
+						genericConverter.write(body, targetType, selectedMediaType, outputMessage);
 					}
 					else {
-						if (logger.isDebugEnabled()) {
-							logger.debug("Nothing to write: null body");
-						}
+						((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
 					}
-					return;
 				}
+				else {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Nothing to write: null body");
+					}
+				}
+				return;
 			}
 		}
 
@@ -313,6 +356,48 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 	}
 
+	@Nullable
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private HttpMessageConverter<?> findConverter(Type targetType, Class<?> valueType, MediaType mediaType) {
+		for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (converter instanceof GenericHttpMessageConverter ?
+					((GenericHttpMessageConverter) converter).canWrite(targetType, valueType, mediaType) :
+					converter.canWrite(valueType, mediaType)) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the key under which to cache the outcome of content negotiation,
+	 * or {@code null} if the request has more than one {@code Accept} header.
+	 */
+	@Nullable
+	private NegotiationKey getNegotiationKey(HttpServletRequest request, Class<?> valueType, Type targetType) {
+		Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT);
+		String accept = "";
+		if (values != null && values.hasMoreElements()) {
+			accept = values.nextElement();
+			if (values.hasMoreElements()) {
+				return null;
+			}
+		}
+		Object producibleTypes = request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+		return new NegotiationKey(valueType, targetType, producibleTypes, accept);
+	}
+
+	private void cacheNegotiation(NegotiationKey key, Negotiation negotiation) {
+		Map<NegotiationKey, Negotiation> cache = this.negotiationCache;
+		if (cache != null) {
+			if (cache.size() >= NEGOTIATION_CACHE_LIMIT) {
+				// Start over rather than keep stale or one-off entries
+				cache.clear();
+			}
+			cache.put(key, negotiation);
+		}
+	}
+
 	/**
 	 * Return the type of the value to be written to the response. Typically this is
 	 * a simple check via getClass on the value but if the value is null, then the
@@ -495,4 +580,67 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+
+	/**
+	 * The inputs of content negotiation for a return value, when the
+	 * acceptable media types only depend on the {@code Accept} header.
+	 */
+	private static final class NegotiationKey {
+
+		private final Class<?> valueType;
+
+		private final Type targetType;
+
+		@Nullable
+		private final Object producibleTypes;
+
+		private final String accept;
+
+		private final int hashCode;
+
+		NegotiationKey(Class<?> valueType, Type targetType, @Nullable Object producibleTypes, String accept) {
+			this.valueType = valueType;
+			this.targetType = targetType;
+			this.producibleTypes = producibleTypes;
+			this.accept = accept;
+			this.hashCode = Objects.hash(valueType, targetType, producibleTypes, accept);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof NegotiationKey)) {
+				return false;
+			}
+			NegotiationKey otherKey = (NegotiationKey) other;
+			return (this.valueType == otherKey.valueType && this.targetType.equals(otherKey.targetType) &&
+					Objects.equals(this.producibleTypes, otherKey.producibleTypes) &&
+					this.accept.equals(otherKey.accept));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * The outcome of content negotiation: the media type and converter to use.
+	 */
+	private static final class Negotiation {
+
+		final MediaType mediaType;
+
+		final HttpMessageConverter<?> converter;
+
+		Negotiation(MediaType mediaType, HttpMessageConverter<?> converter) {
+			this.mediaType = mediaType;
+			this.converter = converter;
+		}
+	}
+
 }
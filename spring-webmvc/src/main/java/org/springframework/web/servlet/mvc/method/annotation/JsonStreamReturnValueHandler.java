@@ -0,0 +1,325 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Handles {@code @ResponseBody} return values of type {@link Stream} and
+ * {@link Iterator}, by writing their elements one at a time, either as a JSON
+ * array or, if requested, as newline delimited JSON
+ * ({@code application/x-ndjson} or {@code application/stream+json}).
+ * Other {@link Iterable} types are not handled, since many of them, e.g.
+ * Jackson's {@code JsonNode}, are meant to be written as a whole.
+ *
+ * <p>Each element is serialized with the first {@link HttpMessageConverter}
+ * that can write it as {@code application/json}, and the elements are
+ * consumed lazily, so that large results, e.g. backed by a database cursor,
+ * are written in constant memory. The source is closed at the end, if it is
+ * {@link AutoCloseable}, including in case of failure.
+ *
+ * <p>Unlike {@link RequestResponseBodyMethodProcessor}, this handler only
+ * writes JSON, and does not apply {@link ResponseBodyAdvice}. It is therefore
+ * not registered by default, see
+ * {@link RequestMappingHandlerAdapter#setStreamJsonReturnValues}.
+ *
+ * @since 5.3
+ */
+public class JsonStreamReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private static final List<MediaType> SUPPORTED_MEDIA_TYPES = Arrays.asList(
+			MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_STREAM_JSON);
+
+	private static final byte[] ARRAY_START = {'['};
+
+	private static final byte[] ARRAY_END = {']'};
+
+	private static final byte[] ARRAY_SEPARATOR = {','};
+
+	private static final byte[] LINE_SEPARATOR = {'\n'};
+
+	private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+
+	private final List<HttpMessageConverter<?>> messageConverters;
+
+	private final ContentNegotiationManager contentNegotiationManager;
+
+
+	/**
+	 * Simple constructor with message converters only.
+	 * @param messageConverters converters to write elements with
+	 */
+	public JsonStreamReturnValueHandler(List<HttpMessageConverter<?>> messageConverters) {
+		this(messageConverters, new ContentNegotiationManager());
+	}
+
+	/**
+	 * Complete constructor with message converters and a
+	 * {@link ContentNegotiationManager} to choose between a JSON array and
+	 * newline delimited JSON.
+	 * @param messageConverters converters to write elements with
+	 * @param manager for detecting the requested media type
+	 */
+	public JsonStreamReturnValueHandler(List<HttpMessageConverter<?>> messageConverters,
+			ContentNegotiationManager manager) {
+
+		Assert.notEmpty(messageConverters, "HttpMessageConverter List must not be empty");
+		Assert.notNull(manager, "ContentNegotiationManager is required");
+		this.messageConverters = messageConverters;
+		this.contentNegotiationManager = manager;
+	}
+
+
+	@Override
+	public boolean supportsReturnType(MethodParameter returnType) {
+		Class<?> type = returnType.getParameterType();
+		boolean isStreamType = (Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type));
+		return (isStreamType &&
+				(AnnotatedElementUtils.hasAnnotation(returnType.getContainingClass(), ResponseBody.class) ||
+				returnType.hasMethodAnnotation(ResponseBody.class)));
+	}
+
+	@Override
+	public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+			ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+
+		mavContainer.setRequestHandled(true);
+		if (returnValue == null) {
+			return;
+		}
+
+		try {
+			MediaType mediaType = getMediaType(webRequest);
+			boolean lineDelimited = !MediaType.APPLICATION_JSON.isCompatibleWith(mediaType);
+
+			HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+			Assert.state(response != null, "No HttpServletResponse");
+			ServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+			outputMessage.getHeaders().setContentType(mediaType);
+
+			Type elementType = getElementType(returnType);
+			writeElements(getIterator(returnValue), elementType, lineDelimited, outputMessage);
+			outputMessage.flush();
+		}
+		finally {
+			if (returnValue instanceof AutoCloseable) {
+				((AutoCloseable) returnValue).close();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private MediaType getMediaType(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		Collection<MediaType> mediaTypes = (Collection<MediaType>) request.getAttribute(
+				HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (CollectionUtils.isEmpty(mediaTypes)) {
+			mediaTypes = this.contentNegotiationManager.resolveMediaTypes(request);
+		}
+		for (MediaType mediaType : mediaTypes) {
+			if (mediaType.isConcrete() && (MediaType.APPLICATION_NDJSON.includes(mediaType) ||
+					MediaType.APPLICATION_STREAM_JSON.includes(mediaType))) {
+				return mediaType;
+			}
+			if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+				return MediaType.APPLICATION_JSON;
+			}
+		}
+		throw new HttpMediaTypeNotAcceptableException(SUPPORTED_MEDIA_TYPES);
+	}
+
+	@Nullable
+	private static Type getElementType(MethodParameter returnType) {
+		ResolvableType type = ResolvableType.forMethodParameter(returnType);
+		ResolvableType elementType = (Stream.class.isAssignableFrom(returnType.getParameterType()) ?
+				type.as(Stream.class) : type.as(Iterator.class)).getGeneric();
+		return (elementType.resolve() != null ? elementType.getType() : null);
+	}
+
+	private static Iterator<?> getIterator(Object returnValue) {
+		if (returnValue instanceof Stream) {
+			return ((Stream<?>) returnValue).iterator();
+		}
+		return (Iterator<?>) returnValue;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void writeElements(Iterator<?> elements, @Nullable Type elementType, boolean lineDelimited,
+			ServerHttpResponse outputMessage) throws IOException {
+
+		ElementOutputMessage elementMessage = new ElementOutputMessage(outputMessage);
+		OutputStream body = outputMessage.getBody();
+		if (!lineDelimited) {
+			body.write(ARRAY_START);
+		}
+		Class<?> lastElementClass = null;
+		HttpMessageConverter<?> converter = null;
+		boolean first = true;
+		while (elements.hasNext()) {
+			Object element = elements.next();
+			if (!first && !lineDelimited) {
+				body.write(ARRAY_SEPARATOR);
+			}
+			first = false;
+			if (element == null) {
+				body.write(NULL);
+			}
+			else {
+				if (element.getClass() != lastElementClass) {
+					converter = getConverter(element.getClass(), elementType);
+					lastElementClass = element.getClass();
+				}
+				if (converter instanceof GenericHttpMessageConverter) {
+					((GenericHttpMessageConverter) converter).write(
+							element, elementType, MediaType.APPLICATION_JSON, elementMessage);
+				}
+				else {
+					((HttpMessageConverter) converter).write(element, MediaType.APPLICATION_JSON, elementMessage);
+				}
+			}
+			if (lineDelimited) {
+				body.write(LINE_SEPARATOR);
+			}
+		}
+		if (!lineDelimited) {
+			body.write(ARRAY_END);
+		}
+	}
+
+	/**
+	 * Find the first converter for the given element class that explicitly
+	 * supports JSON, as opposed to one that writes any media type as is.
+	 */
+	private HttpMessageConverter<?> getConverter(Class<?> elementClass, @Nullable Type elementType) {
+		for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (!supportsJson(converter)) {
+				continue;
+			}
+			if (converter instanceof GenericHttpMessageConverter) {
+				if (((GenericHttpMessageConverter<?>) converter).canWrite(
+						elementType, elementClass, MediaType.APPLICATION_JSON)) {
+					return converter;
+				}
+			}
+			else if (converter.canWrite(elementClass, MediaType.APPLICATION_JSON)) {
+				return converter;
+			}
+		}
+		throw new HttpMessageNotWritableException(
+				"No JSON converter for stream element of type [" + elementClass.getName() + "]");
+	}
+
+	private static boolean supportsJson(HttpMessageConverter<?> converter) {
+		for (MediaType mediaType : converter.getSupportedMediaTypes()) {
+			if (!mediaType.isWildcardType() && mediaType.includes(MediaType.APPLICATION_JSON)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Wrap the response for writing a single element: header changes by
+	 * converters are ignored, and so are flushes, which are left to the
+	 * Servlet container's response buffer.
+	 */
+	private static class ElementOutputMessage implements ServerHttpResponse {
+
+		private final ServerHttpResponse delegate;
+
+		private final HttpHeaders mutableHeaders = new HttpHeaders();
+
+		@Nullable
+		private OutputStream body;
+
+		public ElementOutputMessage(ServerHttpResponse delegate) {
+			this.delegate = delegate;
+			this.mutableHeaders.putAll(delegate.getHeaders());
+		}
+
+		@Override
+		public void setStatusCode(HttpStatus status) {
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.mutableHeaders;
+		}
+
+		@Override
+		public OutputStream getBody() throws IOException {
+			if (this.body == null) {
+				this.body = new FilterOutputStream(this.delegate.getBody()) {
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						this.out.write(b, off, len);
+					}
+					@Override
+					public void flush() {
+					}
+					@Override
+					public void close() {
+					}
+				};
+			}
+			return this.body;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
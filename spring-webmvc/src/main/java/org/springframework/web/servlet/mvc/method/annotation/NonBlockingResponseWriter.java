@@ -0,0 +1,267 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes chunks of bytes to a {@link ServletOutputStream} in non-blocking
+ * mode, through a Servlet 3.1 {@link WriteListener}, buffering up to a
+ * maximum number of bytes while the output stream is not ready.
+ *
+ * <p>The buffer has room as long as it holds less than the maximum number of
+ * bytes, so a chunk admitted just below the limit may take the buffer past it.
+ * Writers of chunks are never blocked as long as the buffer has room.
+ * Callers that can defer producing the next chunk, such as a subscriber to a
+ * Reactive Streams publisher, use {@link #onWritable} to wait for room
+ * without blocking. Other callers are blocked in {@link #write} while the
+ * buffer is full, until it drains or the writer is {@link #close() closed}.
+ *
+ * @since 5.3
+ */
+class NonBlockingResponseWriter implements WriteListener {
+
+	private final ServletOutputStream outputStream;
+
+	private final int maxBufferSize;
+
+	private final Consumer<Throwable> errorCallback;
+
+	private final Deque<byte[]> buffer = new ArrayDeque<>();
+
+	private int bufferSize;
+
+	private boolean flushPending;
+
+	@Nullable
+	private Runnable completionCallback;
+
+	private final List<Runnable> writableCallbacks = new ArrayList<>(1);
+
+	@Nullable
+	private Throwable error;
+
+	private boolean closed;
+
+
+	/**
+	 * Create a writer for the given output stream, and register it as the
+	 * stream's {@link WriteListener}, which switches the stream to
+	 * non-blocking mode.
+	 * @param outputStream the output stream of a request in async mode
+	 * @param maxBufferSize the maximum number of bytes to buffer
+	 * @param errorCallback callback for a failure to write
+	 */
+	NonBlockingResponseWriter(ServletOutputStream outputStream, int maxBufferSize,
+			Consumer<Throwable> errorCallback) {
+
+		this.outputStream = outputStream;
+		this.maxBufferSize = maxBufferSize;
+		this.errorCallback = errorCallback;
+		outputStream.setWriteListener(this);
+	}
+
+
+	/**
+	 * Buffer the given chunk and write it as soon as the output stream is
+	 * ready, blocking while the buffer is full.
+	 * @param chunk the bytes to write
+	 * @throws IOException if the writer is closed or a previous write failed
+	 */
+	public void write(byte[] chunk) throws IOException {
+		List<Runnable> callbacks;
+		synchronized (this) {
+			while (!hasRoom()) {
+				try {
+					wait();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while waiting to write", ex);
+				}
+			}
+			assertOpen();
+			this.buffer.add(chunk);
+			this.bufferSize += chunk.length;
+			callbacks = drain();
+		}
+		runAll(callbacks);
+	}
+
+	/**
+	 * Run the given callback once the buffer has room for more chunks,
+	 * which may be immediately.
+	 */
+	public void onWritable(Runnable callback) {
+		synchronized (this) {
+			if (!hasRoom()) {
+				this.writableCallbacks.add(callback);
+				return;
+			}
+		}
+		callback.run();
+	}
+
+	/**
+	 * Run the given callback once all buffered chunks are written and
+	 * flushed, which may be immediately, or right away if the writer has
+	 * been closed.
+	 * @throws IOException if a previous write failed
+	 */
+	public void complete(Runnable callback) throws IOException {
+		List<Runnable> callbacks;
+		synchronized (this) {
+			if (this.error != null) {
+				throw new IOException("Write failed", this.error);
+			}
+			if (this.closed) {
+				callbacks = new ArrayList<>(1);
+				callbacks.add(callback);
+			}
+			else {
+				this.completionCallback = callback;
+				callbacks = drain();
+			}
+		}
+		runAll(callbacks);
+	}
+
+	/**
+	 * Close this writer, e.g. on timeout, discarding buffered chunks and
+	 * releasing callers blocked in {@link #write}.
+	 */
+	public void close() {
+		List<Runnable> callbacks;
+		synchronized (this) {
+			this.closed = true;
+			this.buffer.clear();
+			this.bufferSize = 0;
+			this.completionCallback = null;
+			callbacks = releaseWaiters();
+		}
+		runAll(callbacks);
+	}
+
+	@Override
+	public void onWritePossible() {
+		List<Runnable> callbacks;
+		synchronized (this) {
+			callbacks = drain();
+		}
+		runAll(callbacks);
+	}
+
+	@Override
+	public void onError(Throwable ex) {
+		synchronized (this) {
+			this.error = ex;
+		}
+		close();
+		this.errorCallback.accept(ex);
+	}
+
+	/**
+	 * Write buffered chunks while the output stream is ready.
+	 * @return the callbacks to run, outside of the lock
+	 */
+	private List<Runnable> drain() {
+		try {
+			while (!this.closed && this.outputStream.isReady()) {
+				byte[] chunk = this.buffer.poll();
+				if (chunk != null) {
+					this.bufferSize -= chunk.length;
+					this.outputStream.write(chunk);
+					this.flushPending = true;
+				}
+				else if (this.flushPending) {
+					this.flushPending = false;
+					this.outputStream.flush();
+				}
+				else {
+					Runnable completionCallback = this.completionCallback;
+					if (completionCallback != null) {
+						this.completionCallback = null;
+						this.closed = true;
+						List<Runnable> callbacks = releaseWaiters();
+						callbacks.add(completionCallback);
+						return callbacks;
+					}
+					break;
+				}
+			}
+		}
+		catch (IOException ex) {
+			this.error = ex;
+			this.closed = true;
+			this.buffer.clear();
+			this.bufferSize = 0;
+			this.completionCallback = null;
+			List<Runnable> callbacks = releaseWaiters();
+			callbacks.add(() -> this.errorCallback.accept(ex));
+			return callbacks;
+		}
+		return releaseWaiters();
+	}
+
+	/**
+	 * Wake up blocked writers and return the writable callbacks to run,
+	 * if the buffer has room.
+	 */
+	private List<Runnable> releaseWaiters() {
+		notifyAll();
+		if (this.writableCallbacks.isEmpty() || !hasRoom()) {
+			return new ArrayList<>(1);
+		}
+		List<Runnable> callbacks = new ArrayList<>(this.writableCallbacks);
+		this.writableCallbacks.clear();
+		return callbacks;
+	}
+
+	/**
+	 * Whether a chunk may be buffered without waiting, which is the same
+	 * condition for {@link #write} and {@link #onWritable} callers.
+	 */
+	private boolean hasRoom() {
+		return (this.bufferSize < this.maxBufferSize || this.closed);
+	}
+
+	private void assertOpen() throws IOException {
+		if (this.error != null) {
+			throw new IOException("Write failed", this.error);
+		}
+		if (this.closed) {
+			throw new IOException("Writer closed");
+		}
+	}
+
+	private static void runAll(List<Runnable> callbacks) {
+		for (Runnable callback : callbacks) {
+			callback.run();
+		}
+	}
+
+}
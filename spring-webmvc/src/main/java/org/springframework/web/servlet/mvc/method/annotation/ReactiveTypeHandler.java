@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -306,7 +306,8 @@ class ReactiveTypeHandler {
 				Assert.state(this.subscription != null, "No subscription");
 				try {
 					send(element);
-					this.subscription.request(1);
+					Subscription subscription = this.subscription;
+					this.emitter.onWritable(() -> subscription.request(1));
 				}
 				catch (final Throwable ex) {
 					if (logger.isTraceEnabled()) {
@@ -166,6 +166,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private ReactiveAdapterRegistry reactiveAdapterRegistry = ReactiveAdapterRegistry.getSharedInstance();
 
+	private boolean nonBlockingStreaming = false;
+
+	private boolean streamJsonReturnValues = false;
+
 	private boolean ignoreDefaultModelOnRedirect = false;
 
 	private int cacheSecondsForSessionAttributeHandlers = 0;
@@ -451,6 +455,30 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return this.reactiveAdapterRegistry;
 	}
 
+	/**
+	 * Whether to write streaming return values, i.e. {@link ResponseBodyEmitter},
+	 * {@link SseEmitter} and reactive types, with Servlet 3.1 non-blocking I/O.
+	 * <p>Default is "false".
+	 * @since 5.3
+	 * @see ResponseBodyEmitterReturnValueHandler#setNonBlockingWrites
+	 */
+	public void setNonBlockingStreaming(boolean nonBlockingStreaming) {
+		this.nonBlockingStreaming = nonBlockingStreaming;
+	}
+
+	/**
+	 * Whether to write {@code @ResponseBody} return values of type
+	 * {@link java.util.stream.Stream Stream} and {@link java.util.Iterator Iterator}
+	 * element by element, as a JSON array or newline delimited JSON.
+	 * <p>Such values are then written as JSON only, and without applying
+	 * {@link ResponseBodyAdvice}. Default is "false".
+	 * @since 5.3
+	 * @see JsonStreamReturnValueHandler
+	 */
+	public void setStreamJsonReturnValues(boolean streamJsonReturnValues) {
+		this.streamJsonReturnValues = streamJsonReturnValues;
+	}
+
 	/**
 	 * By default the content of the "default" model is used both during
 	 * rendering and redirect scenarios. Alternatively a controller method
@@ -717,9 +745,14 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		handlers.add(new ModelAndViewMethodReturnValueHandler());
 		handlers.add(new ModelMethodProcessor());
 		handlers.add(new ViewMethodReturnValueHandler());
-		handlers.add(new ResponseBodyEmitterReturnValueHandler(getMessageConverters(),
-				this.reactiveAdapterRegistry, this.taskExecutor, this.contentNegotiationManager));
+		ResponseBodyEmitterReturnValueHandler emitterHandler = new ResponseBodyEmitterReturnValueHandler(
+				getMessageConverters(), this.reactiveAdapterRegistry, this.taskExecutor, this.contentNegotiationManager);
+		emitterHandler.setNonBlockingWrites(this.nonBlockingStreaming);
+		handlers.add(emitterHandler);
 		handlers.add(new StreamingResponseBodyReturnValueHandler());
+		if (this.streamJsonReturnValues) {
+			handlers.add(new JsonStreamReturnValueHandler(getMessageConverters(), this.contentNegotiationManager));
+		}
 		handlers.add(new HttpEntityMethodProcessor(getMessageConverters(),
 				this.contentNegotiationManager, this.requestResponseBodyAdvice));
 		handlers.add(new HttpHeadersReturnValueHandler());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -272,6 +272,25 @@ public class ResponseBodyEmitter {
 		this.completionCallback.setDelegate(callback);
 	}
 
+	/**
+	 * Run the given callback once the underlying response can take more
+	 * data, e.g. to request the next element from a reactive source only
+	 * when it can be written without blocking.
+	 * @since 5.3
+	 */
+	void onWritable(Runnable callback) {
+		Handler handler;
+		synchronized (this) {
+			handler = this.handler;
+		}
+		if (handler != null) {
+			handler.onWritable(callback);
+		}
+		else {
+			callback.run();
+		}
+	}
+
 
 	@Override
 	public String toString() {
@@ -295,6 +314,15 @@ public class ResponseBodyEmitter {
 		void onError(Consumer<Throwable> callback);
 
 		void onCompletion(Runnable callback);
+
+		/**
+		 * Run the given callback once the handler can take more data,
+		 * which by default is immediately.
+		 * @since 5.3
+		 */
+		default void onWritable(Runnable callback) {
+			callback.run();
+		}
 	}
 
 
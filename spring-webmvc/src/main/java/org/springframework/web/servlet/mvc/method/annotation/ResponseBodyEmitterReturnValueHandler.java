@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -40,6 +41,7 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.FastByteArrayOutputStream;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.async.DeferredResult;
@@ -67,6 +69,10 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 
 	private final ReactiveTypeHandler reactiveHandler;
 
+	private boolean nonBlockingWrites = false;
+
+	private int maxBufferSize = 64 * 1024;
+
 
 	/**
 	 * Simple constructor with reactive type support based on a default instance of
@@ -98,6 +104,37 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		this.reactiveHandler = new ReactiveTypeHandler(registry, executor, manager);
 	}
 
+	/**
+	 * Set whether to write streamed items with Servlet 3.1 non-blocking I/O,
+	 * through a {@link javax.servlet.WriteListener}, rather than with blocking
+	 * writes on the thread that emits the items.
+	 * <p>In this mode, each item is serialized to a buffer of up to
+	 * {@link #setMaxBufferSize maxBufferSize} bytes per response, from which it
+	 * is written when the Servlet container signals that the response can take
+	 * more data. Subscribers to reactive types request the next item only once
+	 * the buffer has room, while {@link ResponseBodyEmitter#send} blocks only
+	 * while the buffer is full, e.g. for a slow client.
+	 * <p>Filters and response wrappers in the chain must support
+	 * non-blocking I/O on the {@link javax.servlet.ServletOutputStream}.
+	 * <p>Default is "false".
+	 * @since 5.3
+	 */
+	public void setNonBlockingWrites(boolean nonBlockingWrites) {
+		this.nonBlockingWrites = nonBlockingWrites;
+	}
+
+	/**
+	 * Set the maximum number of bytes to buffer per response in
+	 * {@link #setNonBlockingWrites non-blocking} mode. A single item larger
+	 * than that is buffered as a whole.
+	 * <p>Default is 64K.
+	 * @since 5.3
+	 */
+	public void setMaxBufferSize(int maxBufferSize) {
+		Assert.isTrue(maxBufferSize > 0, "Max buffer size must be greater than 0");
+		this.maxBufferSize = maxBufferSize;
+	}
+
 	private static List<HttpMessageConverter<?>> initSseConverters(List<HttpMessageConverter<?>> converters) {
 		for (HttpMessageConverter<?> converter : converters) {
 			if (converter.canWrite(String.class, MediaType.TEXT_PLAIN)) {
@@ -179,7 +216,17 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		DeferredResult<?> deferredResult = new DeferredResult<>(emitter.getTimeout());
 		WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(deferredResult, mavContainer);
 
-		HttpMessageConvertingHandler handler = new HttpMessageConvertingHandler(outputMessage, deferredResult);
+		NonBlockingResponseWriter writer = null;
+		if (this.nonBlockingWrites && request.isAsyncStarted()) {
+			// Write headers, and switch the output stream to non-blocking mode
+			OutputStream body = outputMessage.getBody();
+			if (body instanceof ServletOutputStream) {
+				writer = new NonBlockingResponseWriter(
+						(ServletOutputStream) body, this.maxBufferSize, deferredResult::setErrorResult);
+			}
+		}
+
+		HttpMessageConvertingHandler handler = new HttpMessageConvertingHandler(outputMessage, deferredResult, writer);
 		emitter.initialize(handler);
 	}
 
@@ -193,9 +240,15 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 
 		private final DeferredResult<?> deferredResult;
 
-		public HttpMessageConvertingHandler(ServerHttpResponse outputMessage, DeferredResult<?> deferredResult) {
+		@Nullable
+		private final NonBlockingResponseWriter writer;
+
+		public HttpMessageConvertingHandler(ServerHttpResponse outputMessage, DeferredResult<?> deferredResult,
+				@Nullable NonBlockingResponseWriter writer) {
+
 			this.outputMessage = outputMessage;
 			this.deferredResult = deferredResult;
+			this.writer = writer;
 		}
 
 		@Override
@@ -207,6 +260,12 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		private <T> void sendInternal(T data, @Nullable MediaType mediaType) throws IOException {
 			for (HttpMessageConverter<?> converter : ResponseBodyEmitterReturnValueHandler.this.sseMessageConverters) {
 				if (converter.canWrite(data.getClass(), mediaType)) {
+					if (this.writer != null) {
+						BufferingServerHttpResponse buffer = new BufferingServerHttpResponse(this.outputMessage);
+						((HttpMessageConverter<T>) converter).write(data, mediaType, buffer);
+						this.writer.write(buffer.toByteArray());
+						return;
+					}
 					((HttpMessageConverter<T>) converter).write(data, mediaType, this.outputMessage);
 					this.outputMessage.flush();
 					return;
@@ -218,6 +277,10 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		@Override
 		public void complete() {
 			try {
+				if (this.writer != null) {
+					this.writer.complete(() -> this.deferredResult.setResult(null));
+					return;
+				}
 				this.outputMessage.flush();
 				this.deferredResult.setResult(null);
 			}
@@ -228,22 +291,47 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 
 		@Override
 		public void completeWithError(Throwable failure) {
+			if (this.writer != null) {
+				this.writer.close();
+			}
 			this.deferredResult.setErrorResult(failure);
 		}
 
 		@Override
 		public void onTimeout(Runnable callback) {
-			this.deferredResult.onTimeout(callback);
+			NonBlockingResponseWriter writer = this.writer;
+			this.deferredResult.onTimeout(writer != null ? () -> {
+				writer.close();
+				callback.run();
+			} : callback);
 		}
 
 		@Override
 		public void onError(Consumer<Throwable> callback) {
-			this.deferredResult.onError(callback);
+			NonBlockingResponseWriter writer = this.writer;
+			this.deferredResult.onError(writer != null ? ex -> {
+				writer.close();
+				callback.accept(ex);
+			} : callback);
 		}
 
 		@Override
 		public void onCompletion(Runnable callback) {
-			this.deferredResult.onCompletion(callback);
+			NonBlockingResponseWriter writer = this.writer;
+			this.deferredResult.onCompletion(writer != null ? () -> {
+				writer.close();
+				callback.run();
+			} : callback);
+		}
+
+		@Override
+		public void onWritable(Runnable callback) {
+			if (this.writer != null) {
+				this.writer.onWritable(callback);
+			}
+			else {
+				callback.run();
+			}
 		}
 	}
 
@@ -289,4 +377,47 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		}
 	}
 
+
+	/**
+	 * Collect what an HttpMessageConverter writes for one item, for
+	 * {@link NonBlockingResponseWriter non-blocking} writes. Like
+	 * {@link StreamingServletServerHttpResponse}, ignore header changes.
+	 */
+	private static class BufferingServerHttpResponse implements ServerHttpResponse {
+
+		private final HttpHeaders mutableHeaders = new HttpHeaders();
+
+		private final FastByteArrayOutputStream body = new FastByteArrayOutputStream(256);
+
+		public BufferingServerHttpResponse(ServerHttpResponse response) {
+			this.mutableHeaders.putAll(response.getHeaders());
+		}
+
+		@Override
+		public void setStatusCode(HttpStatus status) {
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.mutableHeaders;
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return this.body;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		public byte[] toByteArray() {
+			return this.body.toByteArrayUnsafe();
+		}
+	}
+
 }
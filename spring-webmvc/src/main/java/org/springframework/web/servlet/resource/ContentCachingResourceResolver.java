@@ -0,0 +1,358 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.util.ContentCompressor;
+import org.springframework.web.util.DeflaterPool;
+
+/**
+ * A {@link ResourceResolver} that keeps the contents of resolved resources in
+ * memory, so that frequently requested static resources are served without
+ * reading them from disk on every request. Unlike a {@link CachingResourceResolver},
+ * which caches resolved {@code Resource} handles, this resolver caches their
+ * contents, along with their "Last-Modified" time and a strong ETag.
+ *
+ * <p>The ETag is derived from an MD5 hash of the content, unless the resource
+ * already has one, e.g. from a {@link VersionResourceResolver}. If
+ * {@link #setPrecompress precompression} is enabled, a gzip variant is created
+ * when the content is loaded, and served with a "Content-Encoding" header to
+ * clients that accept it, making an {@link EncodedResourceResolver} unnecessary.
+ * Resources that are already resolved with a content coding further down the
+ * chain are not cached.
+ *
+ * <p>The cache is bounded by the total number of bytes it holds, evicting
+ * least recently used entries first. Resources larger than
+ * {@link #setMaxEntrySize maxEntrySize} are not cached, and are served from
+ * their original location as usual. Cached contents are not checked for
+ * modifications, so this resolver is meant for resources that don't change
+ * while the application is running.
+ *
+ * @since 5.3
+ * @see CachingResourceResolver
+ */
+public class ContentCachingResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default maximum number of bytes held in the cache.
+	 */
+	public static final long DEFAULT_MAX_CACHE_SIZE = 32 * 1024 * 1024;
+
+	/**
+	 * The default maximum size, in bytes, of a single cached resource.
+	 */
+	public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+
+	private long maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+	private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+	private boolean precompress;
+
+	private final DeflaterPool deflaterPool = new DeflaterPool(Deflater.BEST_COMPRESSION, 1);
+
+	private final Map<String, CachedContent> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long cacheSize;
+
+
+	/**
+	 * Set the maximum number of bytes to hold in the cache, including gzip
+	 * variants.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_CACHE_SIZE} (32 MB).
+	 */
+	public void setMaxCacheSize(long maxCacheSize) {
+		Assert.isTrue(maxCacheSize > 0, "Max cache size must be greater than 0");
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of bytes to hold in the cache.
+	 */
+	public long getMaxCacheSize() {
+		return this.maxCacheSize;
+	}
+
+	/**
+	 * Set the maximum size, in bytes, of a resource to cache.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_ENTRY_SIZE} (1 MB).
+	 */
+	public void setMaxEntrySize(int maxEntrySize) {
+		Assert.isTrue(maxEntrySize > 0, "Max entry size must be greater than 0");
+		this.maxEntrySize = maxEntrySize;
+	}
+
+	/**
+	 * Return the maximum size, in bytes, of a resource to cache.
+	 */
+	public int getMaxEntrySize() {
+		return this.maxEntrySize;
+	}
+
+	/**
+	 * Whether to create a gzip variant of each cached resource, to serve to
+	 * clients that accept the "gzip" content coding. Variants that are not
+	 * significantly smaller than the original content, e.g. for images, are
+	 * discarded.
+	 * <p>By default this is set to {@code false}.
+	 */
+	public void setPrecompress(boolean precompress) {
+		this.precompress = precompress;
+	}
+
+	/**
+	 * Whether to create a gzip variant of each cached resource.
+	 */
+	public boolean isPrecompress() {
+		return this.precompress;
+	}
+
+	/**
+	 * Return the number of bytes currently held in the cache.
+	 */
+	public long getCacheSize() {
+		synchronized (this.cache) {
+			return this.cacheSize;
+		}
+	}
+
+
+	@Override
+	protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		CachedContent content;
+		synchronized (this.cache) {
+			content = this.cache.get(requestPath);
+		}
+
+		if (content != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Resource content resolved from cache");
+			}
+		}
+		else {
+			Resource resource = chain.resolveResource(request, requestPath, locations);
+			if (resource == null) {
+				return null;
+			}
+			content = loadContent(resource);
+			if (content == null) {
+				return resource;
+			}
+			putContent(requestPath, content);
+		}
+
+		return content.getResource(request != null && acceptsGzip(request));
+	}
+
+	@Nullable
+	private CachedContent loadContent(Resource resource) {
+		HttpHeaders headers = new HttpHeaders();
+		if (resource instanceof HttpResource) {
+			headers.putAll(((HttpResource) resource).getResponseHeaders());
+		}
+		if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+			return null;
+		}
+		try {
+			if (resource.contentLength() > this.maxEntrySize) {
+				return null;
+			}
+			long lastModified = resource.lastModified();
+			byte[] content = FileCopyUtils.copyToByteArray(resource.getInputStream());
+			if (content.length > this.maxEntrySize) {
+				return null;
+			}
+			byte[] gzipContent = (this.precompress ? gzip(content) : null);
+			return new CachedContent(resource, headers, content, gzipContent, lastModified);
+		}
+		catch (IOException ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Not caching content of [" + resource.getDescription() + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	@Nullable
+	private byte[] gzip(byte[] content) throws IOException {
+		ContentCompressor compressor = this.deflaterPool.createCompressor(ContentCompressor.GZIP);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+		try {
+			compressor.compress(content, 0, content.length, out);
+			compressor.finish(out);
+		}
+		finally {
+			compressor.release();
+		}
+		// Not worth the "Content-Encoding" unless it saves at least 10%
+		return (out.size() < content.length * 0.9 ? out.toByteArray() : null);
+	}
+
+	private void putContent(String requestPath, CachedContent content) {
+		if (content.size() > this.maxCacheSize) {
+			return;
+		}
+		synchronized (this.cache) {
+			CachedContent previous = this.cache.put(requestPath, content);
+			this.cacheSize += content.size() - (previous != null ? previous.size() : 0);
+			Iterator<CachedContent> iterator = this.cache.values().iterator();
+			while (this.cacheSize > this.maxCacheSize && iterator.hasNext()) {
+				this.cacheSize -= iterator.next().size();
+				iterator.remove();
+			}
+		}
+	}
+
+	private boolean acceptsGzip(HttpServletRequest request) {
+		List<String> acceptEncodings = Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING));
+		return ContentCompressor.GZIP.equals(ContentCompressor.getPreferredContentCoding(acceptEncodings));
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * Cached content of a resource, with its gzip variant if any.
+	 */
+	private static final class CachedContent {
+
+		private final CachedResource resource;
+
+		@Nullable
+		private final CachedResource gzipResource;
+
+		CachedContent(Resource original, HttpHeaders headers,
+				byte[] content, @Nullable byte[] gzipContent, long lastModified) {
+
+			String eTag = headers.getETag();
+			if (eTag == null) {
+				eTag = "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+			}
+			if (gzipContent != null) {
+				HttpHeaders gzipHeaders = new HttpHeaders();
+				gzipHeaders.putAll(headers);
+				gzipHeaders.set(HttpHeaders.CONTENT_ENCODING, ContentCompressor.GZIP);
+				gzipHeaders.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+				// A distinct strong ETag, as the gzip variant is a different representation
+				gzipHeaders.setETag(eTag.substring(0, eTag.length() - 1) + "-gzip\"");
+				this.gzipResource = new CachedResource(original, gzipHeaders, gzipContent, lastModified);
+				headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			}
+			else {
+				this.gzipResource = null;
+			}
+			headers.setETag(eTag);
+			this.resource = new CachedResource(original, headers, content, lastModified);
+		}
+
+		Resource getResource(boolean gzip) {
+			return (gzip && this.gzipResource != null ? this.gzipResource : this.resource);
+		}
+
+		long size() {
+			long size = this.resource.contentLength();
+			return (this.gzipResource != null ? size + this.gzipResource.contentLength() : size);
+		}
+	}
+
+
+	/**
+	 * An in-memory resource with the cached content of an original resource.
+	 */
+	private static final class CachedResource extends ByteArrayResource implements HttpResource {
+
+		private final Resource original;
+
+		private final HttpHeaders headers;
+
+		private final long lastModified;
+
+		CachedResource(Resource original, HttpHeaders headers, byte[] content, long lastModified) {
+			super(content);
+			this.original = original;
+			this.headers = headers;
+			this.lastModified = lastModified;
+		}
+
+		@Override
+		public long lastModified() {
+			return this.lastModified;
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.original.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.original.getURI();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		public String getDescription() {
+			String contentCoding = this.headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+			return "Cached " + (contentCoding != null ? contentCoding + " " : "") + this.original.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			headers.putAll(this.headers);
+			return headers;
+		}
+	}
+
+}
@@ -494,7 +494,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		checkRequest(request);
 
 		// Header phase
-		if (new ServletWebRequest(request, response).checkNotModified(resource.lastModified())) {
+		String eTag = (resource instanceof HttpResource ?
+				((HttpResource) resource).getResponseHeaders().getETag() : null);
+		if (new ServletWebRequest(request, response).checkNotModified(eTag, resource.lastModified())) {
 			logger.trace("Resource not modified");
 			return;
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -235,12 +235,20 @@ public abstract class RequestContextUtils {
 
 	/**
 	 * Return "output" FlashMap to save attributes for request after redirect.
+	 * <p>As of 5.3, the FlashMap is created on first access if the
+	 * {@code DispatcherServlet} has not created it up front, as in
+	 * {@link DispatcherServlet#setLeanDispatch lean dispatch} mode.
 	 * @param request current request
 	 * @return a {@link FlashMap} instance, never {@code null} within a
 	 * {@code DispatcherServlet}-handled request
 	 */
 	public static FlashMap getOutputFlashMap(HttpServletRequest request) {
-		return (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
+		FlashMap flashMap = (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
+		if (flashMap == null && getFlashMapManager(request) != null) {
+			flashMap = new FlashMap();
+			request.setAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE, flashMap);
+		}
+		return flashMap;
 	}
 
 	/**
@@ -266,7 +274,7 @@ public abstract class RequestContextUtils {
 	 * @since 5.0
 	 */
 	public static void saveOutputFlashMap(String location, HttpServletRequest request, HttpServletResponse response) {
-		FlashMap flashMap = getOutputFlashMap(request);
+		FlashMap flashMap = (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
 		if (CollectionUtils.isEmpty(flashMap)) {
 			return;
 		}
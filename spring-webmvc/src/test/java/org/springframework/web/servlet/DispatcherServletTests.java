@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.RequestPath;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
 import org.springframework.web.context.ConfigurableWebEnvironment;
 import org.springframework.web.context.ContextLoader;
@@ -51,12 +52,15 @@ import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.servlet.handler.SimpleMappingExceptionResolver;
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.servlet.mvc.Controller;
+import org.springframework.web.servlet.support.RequestContextUtils;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
 import org.springframework.web.testfixture.servlet.MockServletConfig;
 import org.springframework.web.testfixture.servlet.MockServletContext;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -131,6 +135,20 @@ public class DispatcherServletTests {
 		assertThat(response.getStatus() == HttpServletResponse.SC_NOT_FOUND).as("correct error code").isTrue();
 	}
 
+	@Test
+	public void leanDispatchCreatesOutputFlashMapOnDemand() throws Exception {
+		simpleDispatcherServlet.setLeanDispatch(true);
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/invalid.do");
+		simpleDispatcherServlet.service(request, new MockHttpServletResponse());
+
+		assertThat(request.getAttribute(DispatcherServlet.FLASH_MAP_MANAGER_ATTRIBUTE)).isNotNull();
+		assertThat(request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE)).isNull();
+
+		FlashMap flashMap = RequestContextUtils.getOutputFlashMap(request);
+		assertThat(flashMap).isNotNull();
+		assertThat(RequestContextUtils.getOutputFlashMap(request)).isSameAs(flashMap);
+	}
+
 	@Test
 	public void requestHandledEvent() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/locale.do");
@@ -154,6 +172,25 @@ public class DispatcherServletTests {
 		assertThat(listener.counter).isEqualTo(0);
 	}
 
+	@Test
+	public void publishEventsAsync() throws Exception {
+		DispatcherServlet servlet = new DispatcherServlet();
+		servlet.setContextClass(ComplexWebApplicationContext.class);
+		servlet.setNamespace("test");
+		servlet.setPublishEventsAsync(true);
+		servlet.init(new MockServletConfig(getServletContext(), "async"));
+		ComplexWebApplicationContext.TestApplicationListener listener =
+				(ComplexWebApplicationContext.TestApplicationListener) servlet
+						.getWebApplicationContext().getBean("testListener");
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/locale.do");
+		servlet.service(request, new MockHttpServletResponse());
+		servlet.destroy();
+
+		assertThat(listener.counter).isEqualTo(1);
+		assertThat(servlet.getDroppedEventCount()).isEqualTo(0);
+	}
+
 	@Test
 	public void parameterizableViewController() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/view.do");
@@ -651,6 +688,34 @@ public class DispatcherServletTests {
 		assertThat(request.getAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE)).isSameAs(wac);
 	}
 
+	@Test
+	public void parsedRequestPathWithPathPatterns() throws Exception {
+		StaticWebApplicationContext wac = new StaticWebApplicationContext();
+		wac.registerSingleton("pathHandler", RequestPathController.class, new MutablePropertyValues());
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue(new PropertyValue("patternParser", new PathPatternParser()));
+		pvs.addPropertyValue(new PropertyValue("mappings", "/path/{id}=pathHandler"));
+		wac.registerSingleton("pathMapping", SimpleUrlHandlerMapping.class, pvs);
+
+		DispatcherServlet servlet = new DispatcherServlet(wac);
+		servlet.init(servletConfig);
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/path/42");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("/path/42");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+
+		RequestPath previousPath = ServletRequestPathUtils.parseAndCache(
+				new MockHttpServletRequest(getServletContext(), "GET", "/previous"));
+		request = new MockHttpServletRequest(getServletContext(), "GET", "/path/43");
+		ServletRequestPathUtils.setParsedRequestPath(previousPath, request);
+		response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertThat(response.getContentAsString()).isEqualTo("/path/43");
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(previousPath);
+	}
+
 	@Test
 	public void servletHandlerAdapter() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/servlet.do");
@@ -847,6 +912,16 @@ public class DispatcherServletTests {
 	}
 
 
+	public static class RequestPathController implements Controller {
+
+		@Override
+		public ModelAndView handleRequest(HttpServletRequest request, HttpServletResponse response) throws Exception {
+			response.getWriter().write(ServletRequestPathUtils.getParsedRequestPath(request).value());
+			return null;
+		}
+	}
+
+
 	private static class TestWebContextInitializer
 			implements ApplicationContextInitializer<ConfigurableWebApplicationContext> {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,13 @@ package org.springframework.web.servlet.function;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.lang.Nullable;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.pattern.PathPattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -101,4 +104,73 @@ public class RouterFunctionsTests {
 		assertThat(resultHandlerFunction.isPresent()).isFalse();
 	}
 
+	@Test
+	public void compile() {
+		HandlerFunction<ServerResponse> getFoo = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> postFoo = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> getBaz = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> fallback = request -> ServerResponse.ok().build();
+
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/foo", getFoo)
+				.POST("/foo", postFoo)
+				.path("/bar", builder -> builder.GET("/{baz}", getBaz))
+				.route(request -> request.path().endsWith("/qux"), fallback)
+				.build();
+		RouterFunction<ServerResponse> compiled = RouterFunctions.compile(routerFunction);
+
+		assertThat(compiled).isNotSameAs(routerFunction);
+		assertThat(compiled.toString()).isEqualTo(routerFunction.toString());
+		assertThat(RouterFunctions.compile(compiled)).isSameAs(compiled);
+
+		assertRoute(compiled, "GET", "/foo", getFoo);
+		assertRoute(compiled, "POST", "/foo", postFoo);
+		assertRoute(compiled, "PUT", "/foo", null);
+		assertRoute(compiled, "GET", "/bar/baz", getBaz);
+		assertRoute(compiled, "POST", "/bar/baz", null);
+		assertRoute(compiled, "GET", "/bar/qux", getBaz);
+		assertRoute(compiled, "POST", "/bar/qux", fallback);
+	}
+
+	@Test
+	public void compileKeepsRouteOrder() {
+		HandlerFunction<ServerResponse> first = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> second = request -> ServerResponse.ok().build();
+		AtomicInteger predicateCount = new AtomicInteger();
+
+		RouterFunction<ServerResponse> routerFunction =
+				RouterFunctions.route(request -> predicateCount.incrementAndGet() > 1, first)
+						.andRoute(RequestPredicates.GET("/foo/{id}"), second)
+						.andRoute(RequestPredicates.GET("/foo/bar"), first);
+		RouterFunction<ServerResponse> compiled = RouterFunctions.compile(routerFunction);
+
+		assertRoute(compiled, "GET", "/foo/bar", second);
+		assertRoute(compiled, "GET", "/baz", first);
+		assertThat(predicateCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void compileNestedAttributes() {
+		HandlerFunction<ServerResponse> handlerFunction = request -> ServerResponse.ok().build();
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.nest(RequestPredicates.path("/foo"),
+				RouterFunctions.route(RequestPredicates.GET("/bar"), handlerFunction)
+						.andRoute(RequestPredicates.GET("/{baz}"), handlerFunction));
+
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/foo/qux");
+		ServerRequest request = new DefaultServerRequest(servletRequest, Collections.emptyList());
+		assertThat(RouterFunctions.compile(routerFunction).route(request)).contains(handlerFunction);
+
+		PathPattern pattern = (PathPattern) request.attributes().get(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+		assertThat(pattern.getPatternString()).isEqualTo("/foo/{baz}");
+		assertThat(request.pathVariables()).containsEntry("baz", "qux");
+	}
+
+	private void assertRoute(RouterFunction<ServerResponse> routerFunction, String method, String path,
+			@Nullable HandlerFunction<ServerResponse> expected) {
+
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest(method, path);
+		ServerRequest request = new DefaultServerRequest(servletRequest, Collections.emptyList());
+		assertThat(routerFunction.route(request)).isEqualTo(Optional.ofNullable(expected));
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,13 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +48,8 @@ public class MappedInterceptorTests {
 
 	private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
+	private final PathPatternParser patternParser = new PathPatternParser();
+
 	@BeforeEach
 	public void setup() {
 		this.interceptor = new LocaleChangeInterceptor();
@@ -79,6 +83,16 @@ public class MappedInterceptorTests {
 		assertThat(mappedInterceptor.matches("/admin/foo", pathMatcher)).isFalse();
 	}
 
+	@Test
+	public void includeAndExcludePathPatterns() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(
+				new String[] { "/**" }, new String[] { "/admin/**" }, this.interceptor);
+
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/foo"), this.patternParser)).isTrue();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin/foo"), this.patternParser)).isFalse();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin;q=1/foo"), this.patternParser)).isFalse();
+	}
+
 	@Test
 	public void includeAndExcludePatterns() {
 		MappedInterceptor mappedInterceptor = new MappedInterceptor(
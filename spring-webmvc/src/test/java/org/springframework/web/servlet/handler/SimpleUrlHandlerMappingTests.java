@@ -17,6 +17,8 @@
 package org.springframework.web.servlet.handler;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,7 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockServletContext;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -69,6 +72,42 @@ public class SimpleUrlHandlerMappingTests {
 		checkMappings("urlMappingWithProps");
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void urlMappingWithPathPatterns() throws Exception {
+		Object mainController = new Object();
+		Object otherController = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/welcome.html", mainController);
+		urlMap.put("/show/{id}", mainController);
+		urlMap.put("/docs/**", otherController);
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(urlMap);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/welcome.html");
+		HandlerExecutionChain chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(mainController);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("/welcome.html");
+
+		request = new MockHttpServletRequest("GET", "/show/42");
+		chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(mainController);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/show/{id}");
+		Map<String, String> uriVariables =
+				(Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		assertThat(uriVariables).containsEntry("id", "42");
+
+		request = new MockHttpServletRequest("GET", "/app/docs/a/b.html");
+		request.setContextPath("/app");
+		chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(otherController);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/docs/**");
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("a/b.html");
+
+		assertThat(handlerMapping.getHandler(new MockHttpServletRequest("GET", "/other"))).isNull();
+	}
+
 	@Test
 	public void testNewlineInRequest() throws Exception {
 		Object controller = new Object();
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.condition;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PathPatternsRequestCondition}.
+ */
+public class PathPatternsRequestConditionTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+
+	@Test
+	public void prependSlash() {
+		assertThat(createCondition("foo").getPatternValues()).containsExactly("/foo");
+	}
+
+	@Test
+	public void combineEmptySets() {
+		PathPatternsRequestCondition c1 = createCondition();
+		PathPatternsRequestCondition c2 = createCondition();
+
+		assertThat(c1.combine(c2)).isEqualTo(createCondition(""));
+	}
+
+	@Test
+	public void combineOnePatternWithEmptySet() {
+		PathPatternsRequestCondition c1 = createCondition("/type1", "/type2");
+		PathPatternsRequestCondition c2 = createCondition();
+
+		assertThat(c1.combine(c2)).isEqualTo(createCondition("/type1", "/type2"));
+		assertThat(c2.combine(c1)).isEqualTo(createCondition("/type1", "/type2"));
+	}
+
+	@Test
+	public void combineMultiplePatterns() {
+		PathPatternsRequestCondition c1 = createCondition("/t1", "/t2");
+		PathPatternsRequestCondition c2 = createCondition("/m1", "/m2");
+
+		assertThat(c1.combine(c2)).isEqualTo(createCondition("/t1/m1", "/t1/m2", "/t2/m1", "/t2/m2"));
+	}
+
+	@Test
+	public void directPaths() {
+		PathPatternsRequestCondition condition = createCondition("/foo", "/bar/{id}", "/baz/*");
+		assertThat(condition.getDirectPaths()).containsExactly("/foo");
+		assertThat(createCondition("/{id}").getDirectPaths()).isEmpty();
+	}
+
+	@Test
+	public void matchEmptyCondition() {
+		PathPatternsRequestCondition condition = createCondition();
+
+		assertThat(condition.getPatterns()).isEmpty();
+		assertThat(condition.getMatchingCondition(createRequest("/foo"))).isSameAs(condition);
+		assertThat(condition.getMatchingCondition(createRequest(""))).isSameAs(condition);
+	}
+
+	@Test
+	public void matchDirectPath() {
+		PathPatternsRequestCondition condition = createCondition("/foo");
+		PathPatternsRequestCondition match = condition.getMatchingCondition(createRequest("/foo"));
+
+		assertThat(match).isNotNull();
+		assertThat(condition.getMatchingCondition(createRequest("/bar"))).isNull();
+	}
+
+	@Test
+	public void matchPattern() {
+		PathPatternsRequestCondition condition = createCondition("/foo/*");
+		PathPatternsRequestCondition match = condition.getMatchingCondition(createRequest("/foo/bar"));
+
+		assertThat(match).isNotNull();
+	}
+
+	@Test
+	public void matchSortPatterns() {
+		PathPatternsRequestCondition condition = createCondition("/**", "/foo/bar", "/foo/*");
+		PathPatternsRequestCondition match = condition.getMatchingCondition(createRequest("/foo/bar"));
+
+		assertThat(match).isNotNull();
+		assertThat(match.getPatternValues()).containsExactly("/foo/bar", "/foo/*", "/**");
+	}
+
+	@Test
+	public void matchIgnoresPathParameters() {
+		PathPatternsRequestCondition condition = createCondition("/foo/{id}");
+		PathPatternsRequestCondition match = condition.getMatchingCondition(createRequest("/foo;q=1/bar;s=2"));
+
+		assertThat(match).isNotNull();
+	}
+
+	@Test
+	public void matchWithinServletMapping() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/foo");
+		request.setContextPath("/app");
+		request.setServletPath("/api");
+		request.setPathInfo("/foo");
+		ServletRequestPathUtils.parseAndCache(request);
+
+		assertThat(createCondition("/foo").getMatchingCondition(request)).isNotNull();
+		assertThat(createCondition("/api/foo").getMatchingCondition(request)).isNull();
+	}
+
+	@Test
+	public void matchTrailingSlash() {
+		HttpServletRequest request = createRequest("/foo/");
+		assertThat(createCondition("/foo").getMatchingCondition(request)).isNotNull();
+
+		PathPatternParser strictParser = new PathPatternParser();
+		strictParser.setMatchOptionalTrailingSeparator(false);
+		assertThat(new PathPatternsRequestCondition(strictParser, "/foo").getMatchingCondition(request)).isNull();
+	}
+
+	@Test
+	public void compareToConsistentWithEquals() {
+		PathPatternsRequestCondition c1 = createCondition("/foo*");
+		PathPatternsRequestCondition c2 = createCondition("/foo*");
+
+		assertThat(c1.compareTo(c2, createRequest("/foo"))).isEqualTo(0);
+	}
+
+	@Test
+	public void compareToMoreSpecificFirst() {
+		HttpServletRequest request = createRequest("/foo");
+		PathPatternsRequestCondition c1 = createCondition("/fo*").getMatchingCondition(request);
+		PathPatternsRequestCondition c2 = createCondition("/foo").getMatchingCondition(request);
+
+		assertThat(c1).isNotNull();
+		assertThat(c2).isNotNull();
+		assertThat(c1.compareTo(c2, request)).isGreaterThan(0);
+		assertThat(c2.compareTo(c1, request)).isLessThan(0);
+	}
+
+	@Test
+	public void compareToMorePatternsFirst() {
+		HttpServletRequest request = createRequest("/foo");
+		PathPatternsRequestCondition c1 = createCondition("/fo*").getMatchingCondition(request);
+		PathPatternsRequestCondition c2 = createCondition("/fo*", "/**").getMatchingCondition(request);
+
+		assertThat(c1).isNotNull();
+		assertThat(c2).isNotNull();
+		assertThat(c1.compareTo(c2, request)).isEqualTo(1);
+		assertThat(c2.compareTo(c1, request)).isEqualTo(-1);
+	}
+
+
+	private PathPatternsRequestCondition createCondition(String... patterns) {
+		return new PathPatternsRequestCondition(this.parser, patterns);
+	}
+
+	private HttpServletRequest createRequest(String requestUri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		ServletRequestPathUtils.parseAndCache(request);
+		return request;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,11 +53,14 @@ import org.springframework.web.servlet.handler.MappedInterceptor;
 import org.springframework.web.servlet.mvc.condition.ConsumesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.HeadersRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ParamsRequestCondition;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -133,6 +136,41 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(handlerMethod.getMethod()).isEqualTo(this.emptyMethod.getMethod());
 	}
 
+	@Test
+	public void getHandlerWithPathPatterns() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = createPathPatternsMapping();
+
+		HandlerMethod handlerMethod = getHandler(mapping, new MockHttpServletRequest("GET", "/foo"));
+		assertThat(handlerMethod.getMethod()).isEqualTo(this.fooMethod.getMethod());
+
+		handlerMethod = getHandler(mapping, new MockHttpServletRequest("GET", "/bar"));
+		assertThat(handlerMethod.getMethod()).isEqualTo(this.barMethod.getMethod());
+
+		handlerMethod = getHandler(mapping, new MockHttpServletRequest("GET", "/"));
+		assertThat(handlerMethod.getMethod()).isEqualTo(this.emptyMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		request.setParameter("p", "anything");
+		handlerMethod = getHandler(mapping, request);
+		assertThat(handlerMethod.getMethod()).isEqualTo(this.fooParamMethod.getMethod());
+	}
+
+	@Test
+	public void getHandlerWithPathPatternsNoPatternsDefined() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		PathPatternParser parser = new PathPatternParser();
+		mapping.setPatternParser(parser);
+		RequestMappingInfo info = new RequestMappingInfo(
+				null, new PathPatternsRequestCondition(parser), null, null, null, null, null, null);
+		mapping.registerMapping(info, new TestController(), this.fooMethod.getMethod());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/any/path");
+		HandlerMethod handlerMethod = getHandler(mapping, request);
+
+		assertThat(handlerMethod.getMethod()).isEqualTo(this.fooMethod.getMethod());
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/any/path");
+	}
+
 	@Test
 	public void getHandlerBestMatch() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
@@ -289,6 +327,23 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo(path);
 	}
 
+	@Test
+	public void handleMatchWithPathPatterns() {
+		PathPatternsRequestCondition patterns = new PathPatternsRequestCondition(new PathPatternParser(), "/{cars}/{year}");
+		RequestMappingInfo info = new RequestMappingInfo(null, patterns, null, null, null, null, null, null);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars;colors=red,blue/2012");
+		ServletRequestPathUtils.parseAndCache(request);
+		this.handlerMapping.handleMatch(info, "/cars/2012", request);
+
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/{cars}/{year}");
+		Map<String, String> uriVariables = getUriTemplateVariables(request);
+		assertThat(uriVariables.get("cars")).isEqualTo("cars");
+		assertThat(uriVariables.get("year")).isEqualTo("2012");
+		MultiValueMap<String, String> matrixVariables = getMatrixVariables(request, "cars");
+		assertThat(matrixVariables).isNotNull();
+		assertThat(matrixVariables.get("colors")).containsExactly("red", "blue");
+	}
+
 	@Test
 	public void handleMatchMatrixVariables() {
 		MockHttpServletRequest request;
@@ -367,13 +422,67 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(uriVariables.get("cars")).isEqualTo("cars");
 	}
 
+	@Test
+	public void pathPrefixIndex() throws Exception {
+		TestRequestMappingInfoHandlerMapping indexedMapping = new TestRequestMappingInfoHandlerMapping();
+		indexedMapping.setApplicationContext(new StaticWebApplicationContext());
+		indexedMapping.afterPropertiesSet();
+		indexedMapping.registerHandler(new PathController());
+		assertThat(indexedMapping.usePathPrefixIndex()).isTrue();
+
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.registerHandler(new PathController());
+
+		String[] paths = {"/users", "/users.json", "/users/1", "/users/1/", "/users/1/orders",
+				"/users/1/orders/2", "/users/1/x/y", "/users//1/orders", "/accounts/1/orders",
+				"/accounts/1", "/USERS/1", "/", ""};
+
+		for (String path : paths) {
+			HandlerExecutionChain expected = mapping.getHandler(new MockHttpServletRequest("GET", path));
+			HandlerExecutionChain actual = indexedMapping.getHandler(new MockHttpServletRequest("GET", path));
+			if (expected == null) {
+				assertThat(actual).as(path).isNull();
+			}
+			else {
+				assertThat(actual).as(path).isNotNull();
+				assertThat(actual.getHandler()).as(path).isEqualTo(expected.getHandler());
+			}
+		}
+
+		HandlerExecutionChain chain = indexedMapping.getHandler(new MockHttpServletRequest("GET", "/users/1/orders"));
+		assertThat(chain).isNotNull();
+		assertThat(((HandlerMethod) chain.getHandler()).getMethod().getName()).isEqualTo("orders");
+
+		RequestMappingInfo ordersInfo = indexedMapping.getHandlerMethods().entrySet().stream()
+				.filter(entry -> entry.getValue().getMethod().getName().equals("orders"))
+				.map(Map.Entry::getKey).findFirst().orElseThrow(IllegalStateException::new);
+		indexedMapping.unregisterMapping(ordersInfo);
+
+		chain = indexedMapping.getHandler(new MockHttpServletRequest("GET", "/users/1/orders"));
+		assertThat(chain).isNotNull();
+		assertThat(((HandlerMethod) chain.getHandler()).getMethod().getName()).isEqualTo("resourceOrders");
+	}
+
 
 	private HandlerMethod getHandler(MockHttpServletRequest request) throws Exception {
-		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+		return getHandler(this.handlerMapping, request);
+	}
+
+	private HandlerMethod getHandler(
+			TestRequestMappingInfoHandlerMapping mapping, MockHttpServletRequest request) throws Exception {
+
+		HandlerExecutionChain chain = mapping.getHandler(request);
 		assertThat(chain).isNotNull();
 		return (HandlerMethod) chain.getHandler();
 	}
 
+	private TestRequestMappingInfoHandlerMapping createPathPatternsMapping() {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setPatternParser(new PathPatternParser());
+		mapping.registerHandler(new TestController());
+		return mapping;
+	}
+
 	private void testHttpMediaTypeNotSupportedException(String url) throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest("PUT", url);
 		request.setContentType("application/json");
@@ -479,6 +588,36 @@ public class RequestMappingInfoHandlerMappingTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	@Controller
+	private static class PathController {
+
+		@RequestMapping("/users")
+		public void users() {
+		}
+
+		@RequestMapping("/users/{id}")
+		public void user() {
+		}
+
+		@RequestMapping("/users/{id}/orders")
+		public void orders() {
+		}
+
+		@RequestMapping("/users/*/orders/{orderId}")
+		public void order() {
+		}
+
+		@RequestMapping("/users/**")
+		public void usersFallback() {
+		}
+
+		@RequestMapping("/{resource}/{id}/orders")
+		public void resourceOrders() {
+		}
+	}
+
+
 	@SuppressWarnings("unused")
 	@Controller
 	private static class UserController {
@@ -507,7 +646,16 @@ public class RequestMappingInfoHandlerMappingTests {
 		@Override
 		protected RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType) {
 			RequestMapping annot = AnnotationUtils.findAnnotation(method, RequestMapping.class);
-			if (annot != null) {
+			if (annot != null && getPatternParser() != null) {
+				return new RequestMappingInfo(null,
+					new PathPatternsRequestCondition(getPatternParser(), annot.value()),
+					new RequestMethodsRequestCondition(annot.method()),
+					new ParamsRequestCondition(annot.params()),
+					new HeadersRequestCondition(annot.headers()),
+					new ConsumesRequestCondition(annot.consumes(), annot.headers()),
+					new ProducesRequestCondition(annot.produces(), annot.headers()), null);
+			}
+			else if (annot != null) {
 				return new RequestMappingInfo(
 					new PatternsRequestCondition(annot.value(), getUrlPathHelper(), getPathMatcher(), true, true),
 					new RequestMethodsRequestCondition(annot.method()),
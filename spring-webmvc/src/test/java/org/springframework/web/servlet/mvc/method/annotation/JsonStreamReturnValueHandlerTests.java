@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link JsonStreamReturnValueHandler}.
+ */
+public class JsonStreamReturnValueHandlerTests {
+
+	private final List<HttpMessageConverter<?>> converters =
+			Arrays.asList(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter());
+
+	private final JsonStreamReturnValueHandler handler = new JsonStreamReturnValueHandler(this.converters);
+
+	private final ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/path");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	private final NativeWebRequest webRequest = new ServletWebRequest(this.request, this.response);
+
+
+	@Test
+	public void supportsReturnType() throws Exception {
+		assertThat(this.handler.supportsReturnType(returnType("handleStream"))).isTrue();
+		assertThat(this.handler.supportsReturnType(returnType("handleIterator"))).isTrue();
+		assertThat(this.handler.supportsReturnType(returnType("handleIterable"))).isFalse();
+		assertThat(this.handler.supportsReturnType(returnType("handleIterableBean"))).isFalse();
+		assertThat(this.handler.supportsReturnType(returnType("handleJsonNode"))).isFalse();
+		assertThat(this.handler.supportsReturnType(returnType("handleList"))).isFalse();
+		assertThat(this.handler.supportsReturnType(returnType("handleStreamWithoutResponseBody"))).isFalse();
+	}
+
+	@Test
+	public void jsonArray() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		Stream<Bean> stream = Stream.of(new Bean("foo"), null, new Bean("bar")).onClose(() -> closed.set(true));
+		this.handler.handleReturnValue(stream, returnType("handleStream"), this.mavContainer, this.webRequest);
+
+		assertThat(this.mavContainer.isRequestHandled()).isTrue();
+		assertThat(this.response.getContentType()).isEqualTo("application/json");
+		assertThat(this.response.getContentAsString()).isEqualTo("[{\"name\":\"foo\"},null,{\"name\":\"bar\"}]");
+		assertThat(closed).isTrue();
+	}
+
+	@Test
+	public void emptyJsonArray() throws Exception {
+		this.handler.handleReturnValue(Collections.emptyIterator(),
+				returnType("handleIterator"), this.mavContainer, this.webRequest);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("[]");
+	}
+
+	@Test
+	public void jsonArrayOfStrings() throws Exception {
+		Iterator<String> iterator = Arrays.asList("foo", "bar").iterator();
+		this.handler.handleReturnValue(iterator, returnType("handleStringIterator"), this.mavContainer, this.webRequest);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("[\"foo\",\"bar\"]");
+	}
+
+	@Test
+	public void ndjson() throws Exception {
+		this.request.addHeader("Accept", "application/x-ndjson");
+		Stream<Bean> stream = Stream.of(new Bean("foo"), new Bean("bar"));
+		this.handler.handleReturnValue(stream, returnType("handleStream"), this.mavContainer, this.webRequest);
+
+		assertThat(this.response.getContentType()).isEqualTo("application/x-ndjson");
+		assertThat(this.response.getContentAsString()).isEqualTo("{\"name\":\"foo\"}\n{\"name\":\"bar\"}\n");
+	}
+
+	@Test
+	public void notAcceptableClosesStream() throws Exception {
+		this.request.addHeader("Accept", "application/xml");
+		AtomicBoolean closed = new AtomicBoolean();
+		Stream<Bean> stream = Stream.of(new Bean("foo")).onClose(() -> closed.set(true));
+
+		assertThatExceptionOfType(HttpMediaTypeNotAcceptableException.class).isThrownBy(() ->
+				this.handler.handleReturnValue(stream, returnType("handleStream"), this.mavContainer, this.webRequest));
+		assertThat(closed).isTrue();
+	}
+
+
+	private static MethodParameter returnType(String methodName) throws NoSuchMethodException {
+		Method method = TestController.class.getDeclaredMethod(methodName);
+		return new MethodParameter(method, -1);
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class TestController {
+
+		@ResponseBody
+		private Stream<Bean> handleStream() {
+			return null;
+		}
+
+		@ResponseBody
+		private Iterator<Bean> handleIterator() {
+			return null;
+		}
+
+		@ResponseBody
+		private Iterator<String> handleStringIterator() {
+			return null;
+		}
+
+		@ResponseBody
+		private Iterable<String> handleIterable() {
+			return null;
+		}
+
+		@ResponseBody
+		private IterableBean handleIterableBean() {
+			return null;
+		}
+
+		@ResponseBody
+		private JsonNode handleJsonNode() {
+			return null;
+		}
+
+		@ResponseBody
+		private List<Bean> handleList() {
+			return null;
+		}
+
+		private Stream<Bean> handleStreamWithoutResponseBody() {
+			return null;
+		}
+	}
+
+
+	private interface IterableBean extends Iterable<String> {
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class Bean {
+
+		private final String name;
+
+		Bean(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
+}
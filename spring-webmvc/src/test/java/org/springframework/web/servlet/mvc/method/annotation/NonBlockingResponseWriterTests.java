@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Unit tests for {@link NonBlockingResponseWriter}.
+ */
+public class NonBlockingResponseWriterTests {
+
+	private final TestServletOutputStream outputStream = new TestServletOutputStream();
+
+	private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+	private final NonBlockingResponseWriter writer =
+			new NonBlockingResponseWriter(this.outputStream, 8, this.error::set);
+
+
+	@Test
+	public void registersWriteListener() {
+		assertThat(this.outputStream.listener).isSameAs(this.writer);
+	}
+
+	@Test
+	public void writeWhenReady() throws Exception {
+		this.writer.write(bytes("foo"));
+		this.writer.write(bytes("bar"));
+
+		assertThat(this.outputStream.getContent()).isEqualTo("foobar");
+		assertThat(this.outputStream.flushCount).isEqualTo(2);
+	}
+
+	@Test
+	public void bufferWhenNotReady() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foo"));
+		this.writer.write(bytes("bar"));
+		assertThat(this.outputStream.getContent()).isEmpty();
+
+		this.outputStream.ready = true;
+		this.writer.onWritePossible();
+		assertThat(this.outputStream.getContent()).isEqualTo("foobar");
+		assertThat(this.outputStream.flushCount).isEqualTo(1);
+	}
+
+	@Test
+	public void onWritableDeferredWhileBufferFull() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foobarbaz"));
+
+		AtomicBoolean writable = new AtomicBoolean();
+		this.writer.onWritable(() -> writable.set(true));
+		assertThat(writable).isFalse();
+
+		this.outputStream.ready = true;
+		this.writer.onWritePossible();
+		assertThat(writable).isTrue();
+		assertThat(this.outputStream.getContent()).isEqualTo("foobarbaz");
+	}
+
+	@Test
+	public void onWritableImmediatelyWhileBufferHasRoom() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foo"));
+
+		AtomicBoolean writable = new AtomicBoolean();
+		this.writer.onWritable(() -> writable.set(true));
+		assertThat(writable).isTrue();
+	}
+
+	@Test
+	public void writeChunkCrossingLimitWhileBufferHasRoom() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foo"));
+
+		AtomicBoolean writable = new AtomicBoolean();
+		this.writer.onWritable(() -> writable.set(true));
+		assertThat(writable).isTrue();
+
+		// Admitted by onWritable, so it must not block past the limit
+		Thread thread = new Thread(() -> {
+			try {
+				this.writer.write(bytes("barbaz"));
+			}
+			catch (IOException ex) {
+				this.error.set(ex);
+			}
+		});
+		thread.start();
+		thread.join(5000);
+		if (thread.isAlive()) {
+			this.writer.close();
+		}
+		assertThat(thread.isAlive()).isFalse();
+		assertThat(this.error.get()).isNull();
+
+		writable.set(false);
+		this.writer.onWritable(() -> writable.set(true));
+		assertThat(writable).isFalse();
+
+		this.outputStream.ready = true;
+		this.writer.onWritePossible();
+		assertThat(writable).isTrue();
+		assertThat(this.outputStream.getContent()).isEqualTo("foobarbaz");
+	}
+
+	@Test
+	public void completeAfterBufferDrained() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foo"));
+
+		AtomicBoolean completed = new AtomicBoolean();
+		this.writer.complete(() -> completed.set(true));
+		assertThat(completed).isFalse();
+
+		this.outputStream.ready = true;
+		this.writer.onWritePossible();
+		assertThat(completed).isTrue();
+		assertThat(this.outputStream.getContent()).isEqualTo("foo");
+	}
+
+	@Test
+	public void closeReleasesBlockedWriter() throws Exception {
+		this.outputStream.ready = false;
+		this.writer.write(bytes("foobarbaz"));
+
+		AtomicReference<Throwable> writeFailure = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				this.writer.write(bytes("qux"));
+			}
+			catch (IOException ex) {
+				writeFailure.set(ex);
+			}
+		});
+		thread.start();
+		thread.join(100);
+		assertThat(thread.isAlive()).isTrue();
+
+		this.writer.close();
+		thread.join(5000);
+		assertThat(thread.isAlive()).isFalse();
+		assertThat(writeFailure.get()).isInstanceOf(IOException.class);
+		assertThat(this.outputStream.getContent()).isEmpty();
+	}
+
+	@Test
+	public void writeAfterError() {
+		IllegalStateException failure = new IllegalStateException("Connection reset");
+		this.writer.onError(failure);
+
+		assertThat(this.error.get()).isSameAs(failure);
+		assertThatIOException().isThrownBy(() -> this.writer.write(bytes("foo")));
+		assertThatIOException().isThrownBy(() -> this.writer.complete(() -> {}));
+	}
+
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+
+	private static class TestServletOutputStream extends ServletOutputStream {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		volatile boolean ready = true;
+
+		int flushCount;
+
+		WriteListener listener;
+
+		@Override
+		public boolean isReady() {
+			return this.ready;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void write(int b) {
+			this.content.write(b);
+		}
+
+		@Override
+		public void flush() {
+			this.flushCount++;
+		}
+
+		String getContent() {
+			return new String(this.content.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+}
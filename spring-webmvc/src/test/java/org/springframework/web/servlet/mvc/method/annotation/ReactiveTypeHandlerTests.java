@@ -264,6 +264,25 @@ public class ReactiveTypeHandlerTests {
 		assertThat(emitterHandler.getValuesAsText()).isEqualTo("The quick brown fox jumps over the lazy dog");
 	}
 
+	@Test
+	public void requestNextWhenWritable() throws Exception {
+
+		EmitterProcessor<String> processor = EmitterProcessor.create();
+		ResponseBodyEmitter emitter = handleValue(processor, Flux.class, forClass(String.class));
+
+		DeferredWritableEmitterHandler emitterHandler = new DeferredWritableEmitterHandler();
+		emitter.initialize(emitterHandler);
+
+		processor.onNext("foo");
+		processor.onNext("bar");
+		assertThat(emitterHandler.getValues()).isEqualTo(Collections.singletonList("foo"));
+		assertThat(emitterHandler.writableCallbacks).hasSize(1);
+
+		emitterHandler.writableCallbacks.remove(0).run();
+		assertThat(emitterHandler.getValues()).isEqualTo(Arrays.asList("foo", "bar"));
+		assertThat(emitterHandler.writableCallbacks).hasSize(1);
+	}
+
 	@Test
 	public void writeFluxOfString() throws Exception {
 
@@ -378,6 +397,16 @@ public class ReactiveTypeHandlerTests {
 		}
 	}
 
+	private static class DeferredWritableEmitterHandler extends EmitterHandler {
+
+		private final List<Runnable> writableCallbacks = new ArrayList<>();
+
+		@Override
+		public void onWritable(Runnable callback) {
+			this.writableCallbacks.add(callback);
+		}
+	}
+
 	private static class Bar {
 
 		private final String value;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,13 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +48,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.method.HandlerMethod;
@@ -272,6 +276,47 @@ public class RequestMappingHandlerAdapterTests {
 		assertThat(this.response.getContentAsString()).isEqualTo("{\"status\":400,\"message\":\"body\"}");
 	}
 
+	@Test
+	public void streamJsonReturnValuesIsOptIn() {
+		this.handlerAdapter.afterPropertiesSet();
+		assertThat(this.handlerAdapter.getReturnValueHandlers())
+				.noneMatch(handler -> handler instanceof JsonStreamReturnValueHandler);
+
+		RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+		adapter.setApplicationContext(this.webAppContext);
+		adapter.setStreamJsonReturnValues(true);
+		adapter.afterPropertiesSet();
+		assertThat(adapter.getReturnValueHandlers())
+				.anyMatch(handler -> handler instanceof JsonStreamReturnValueHandler);
+	}
+
+	@Test
+	public void jsonNodeResponseBody() throws Exception {
+		MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+		this.handlerAdapter.setMessageConverters(Collections.singletonList(converter));
+		this.handlerAdapter.setStreamJsonReturnValues(true);
+		this.handlerAdapter.afterPropertiesSet();
+
+		HandlerMethod handlerMethod = handlerMethod(new SimpleController(), "handleJsonNode");
+		this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("{\"a\":1}");
+	}
+
+	@Test
+	public void iterableBeanResponseBody() throws Exception {
+		MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+		this.handlerAdapter.setMessageConverters(Collections.singletonList(converter));
+		this.handlerAdapter.setStreamJsonReturnValues(true);
+		this.handlerAdapter.afterPropertiesSet();
+
+		HandlerMethod handlerMethod = handlerMethod(new SimpleController(), "handleIterableBean");
+		this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+		String expected = converter.getObjectMapper().writeValueAsString(new IterableBean());
+		assertThat(this.response.getContentAsString()).isEqualTo(expected);
+	}
+
 	private HandlerMethod handlerMethod(Object handler, String methodName, Class<?>... paramTypes) throws Exception {
 		Method method = handler.getClass().getDeclaredMethod(methodName, paramTypes);
 		return new InvocableHandlerMethod(handler, method);
@@ -305,6 +350,34 @@ public class RequestMappingHandlerAdapterTests {
 			return new ResponseEntity<>("body", HttpStatus.BAD_REQUEST);
 		}
 
+		@ResponseBody
+		public JsonNode handleJsonNode() {
+			return JsonNodeFactory.instance.objectNode().put("a", 1);
+		}
+
+		@ResponseBody
+		public IterableBean handleIterableBean() {
+			return new IterableBean();
+		}
+
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class IterableBean implements Iterable<String> {
+
+		public String getName() {
+			return "items";
+		}
+
+		public int getTotal() {
+			return 2;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return Arrays.asList("foo", "bar").iterator();
+		}
 	}
 
 
@@ -16,11 +16,17 @@
 
 package org.springframework.web.servlet.mvc.method.annotation;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.EmitterProcessor;
@@ -221,6 +227,86 @@ public class ResponseBodyEmitterReturnValueHandlerTests {
 						"\n"));
 	}
 
+	@Test
+	public void responseBodyEmitterWithNonBlockingWrites() throws Exception {
+		NonBlockingMockHttpServletResponse response = initNonBlockingWrites();
+
+		MethodParameter type = on(TestController.class).resolveReturnType(ResponseBodyEmitter.class);
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+		this.handler.handleReturnValue(emitter, type, this.mavContainer, this.webRequest);
+
+		assertThat(this.request.isAsyncStarted()).isTrue();
+		assertThat(response.writeListener).isInstanceOf(NonBlockingResponseWriter.class);
+
+		response.ready = false;
+		emitter.send("foo");
+		emitter.send("bar");
+		assertThat(response.getContentAsString()).isEqualTo("");
+
+		response.ready = true;
+		response.writeListener.onWritePossible();
+		assertThat(response.getContentAsString()).isEqualTo("foobar");
+	}
+
+	@Test
+	public void responseBodyEmitterWithNonBlockingWritesCompletesAfterDrain() throws Exception {
+		NonBlockingMockHttpServletResponse response = initNonBlockingWrites();
+
+		MethodParameter type = on(TestController.class).resolveReturnType(ResponseBodyEmitter.class);
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+		this.handler.handleReturnValue(emitter, type, this.mavContainer, this.webRequest);
+		MockAsyncContext asyncContext = (MockAsyncContext) this.request.getAsyncContext();
+
+		response.ready = false;
+		emitter.send("foo");
+		emitter.complete();
+		assertThat(asyncContext.getDispatchedPath()).isNull();
+
+		response.ready = true;
+		response.writeListener.onWritePossible();
+		assertThat(response.getContentAsString()).isEqualTo("foo");
+		assertThat(asyncContext.getDispatchedPath()).isNotNull();
+	}
+
+	@Test
+	public void responseBodyEmitterWithNonBlockingWritesReleasesSendOnTimeout() throws Exception {
+		NonBlockingMockHttpServletResponse response = initNonBlockingWrites();
+		this.handler.setMaxBufferSize(3);
+
+		MethodParameter type = on(TestController.class).resolveReturnType(ResponseBodyEmitter.class);
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+		Runnable timeoutCallback = mock(Runnable.class);
+		emitter.onTimeout(timeoutCallback);
+		this.handler.handleReturnValue(emitter, type, this.mavContainer, this.webRequest);
+		MockAsyncContext asyncContext = (MockAsyncContext) this.request.getAsyncContext();
+
+		response.ready = false;
+		emitter.send("foo");
+
+		AtomicReference<Throwable> sendFailure = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				emitter.send("bar");
+			}
+			catch (Throwable ex) {
+				sendFailure.set(ex);
+			}
+		});
+		thread.start();
+		thread.join(100);
+		assertThat(thread.isAlive()).isTrue();
+
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onTimeout(new AsyncEvent(asyncContext));
+		}
+		thread.join(5000);
+
+		assertThat(thread.isAlive()).isFalse();
+		assertThat(sendFailure.get()).isInstanceOf(IOException.class);
+		verify(timeoutCallback).run();
+		assertThat(response.getContentAsString()).isEqualTo("");
+	}
+
 	@Test
 	public void responseBodyFlux() throws Exception {
 
@@ -324,6 +410,17 @@ public class ResponseBodyEmitterReturnValueHandlerTests {
 	}
 
 
+	private NonBlockingMockHttpServletResponse initNonBlockingWrites() {
+		NonBlockingMockHttpServletResponse response = new NonBlockingMockHttpServletResponse();
+		this.response = response;
+		this.webRequest = new ServletWebRequest(this.request, this.response);
+		AsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(this.request, this.response);
+		WebAsyncUtils.getAsyncManager(this.webRequest).setAsyncWebRequest(asyncWebRequest);
+		this.handler.setNonBlockingWrites(true);
+		return response;
+	}
+
+
 	@SuppressWarnings("unused")
 	private static class TestController {
 
@@ -373,4 +470,53 @@ public class ResponseBodyEmitterReturnValueHandlerTests {
 		}
 	}
 
+
+	/**
+	 * Response with an output stream that supports a {@link WriteListener}
+	 * and whose readiness is controlled by the test.
+	 */
+	private static class NonBlockingMockHttpServletResponse extends MockHttpServletResponse {
+
+		volatile boolean ready = true;
+
+		WriteListener writeListener;
+
+		private ServletOutputStream outputStream;
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			if (this.outputStream == null) {
+				ServletOutputStream delegate = super.getOutputStream();
+				this.outputStream = new ServletOutputStream() {
+
+					@Override
+					public boolean isReady() {
+						return ready;
+					}
+
+					@Override
+					public void setWriteListener(WriteListener writeListener) {
+						NonBlockingMockHttpServletResponse.this.writeListener = writeListener;
+					}
+
+					@Override
+					public void write(int b) throws IOException {
+						delegate.write(b);
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						delegate.write(b, off, len);
+					}
+
+					@Override
+					public void flush() throws IOException {
+						delegate.flush();
+					}
+				};
+			}
+			return this.outputStream;
+		}
+	}
+
 }
@@ -24,6 +24,7 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
@@ -34,6 +35,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for {@link VersionResourceResolver}
@@ -191,5 +193,62 @@ public class VersionResourceResolverTests {
 		assertThat(resolved).isEqualTo("/foo.css");
 	}
 
+	@Test
+	public void resolveResourceWithVersionManifest() throws Exception {
+		String versionFile = "bar-version.css";
+		String version = "version";
+		String file = "bar.css";
+		Resource expected = new ClassPathResource("test/" + file, getClass());
+		given(this.chain.resolveResource(null, versionFile, this.locations)).willReturn(null);
+		given(this.chain.resolveResource(null, file, this.locations)).willReturn(expected);
+		given(this.versionStrategy.extractVersion(versionFile)).willReturn(version);
+		given(this.versionStrategy.removeVersion(versionFile, version)).willReturn(file);
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setVersionManifest(Collections.singletonMap("/bar.css", version));
+		Resource actual = this.resolver.resolveResourceInternal(null, versionFile, this.locations, this.chain);
+		assertThat(actual.getFilename()).isEqualTo(expected.getFilename());
+		verify(this.versionStrategy, never()).getResourceVersion(expected);
+	}
+
+	@Test
+	public void resolveUrlPathWithVersionManifest() throws Exception {
+		given(this.versionStrategy.addVersion("css/bar.css", "version")).willReturn("css/bar-version.css");
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setVersionManifest(Collections.singletonMap("css/bar.css", "version"));
+		String resolved = this.resolver.resolveUrlPathInternal("css/bar.css", this.locations, this.chain);
+		assertThat(resolved).isEqualTo("css/bar-version.css");
+		verifyNoInteractions(this.chain);
+	}
+
+	@Test
+	public void populateVersionManifest() throws Exception {
+		String file = "bar.css";
+		Resource expected = new ClassPathResource("test/" + file, getClass());
+		given(this.chain.resolveUrlPath(file, this.locations)).willReturn(file);
+		given(this.chain.resolveResource(null, file, this.locations)).willReturn(expected);
+		given(this.versionStrategy.getResourceVersion(expected)).willReturn("version");
+		given(this.versionStrategy.addVersion(file, "version")).willReturn("bar-version.css");
+
+		this.resolver.setStrategyMap(Collections.singletonMap("/**", this.versionStrategy));
+		this.resolver.setPopulateVersionManifest(true);
+		assertThat(this.resolver.resolveUrlPathInternal(file, this.locations, this.chain)).isEqualTo("bar-version.css");
+		assertThat(this.resolver.resolveUrlPathInternal(file, this.locations, this.chain)).isEqualTo("bar-version.css");
+		assertThat(this.resolver.getVersionManifest()).containsEntry(file, "version");
+		verify(this.versionStrategy, times(1)).getResourceVersion(expected);
+	}
+
+	@Test
+	public void setVersionManifestLocation() {
+		String properties = "/css/main.css=e36d2e05253c6c7085a91522ce43a0b4\njs/main.js=1a2b3c\n";
+		this.resolver.setVersionManifestLocation(new ByteArrayResource(properties.getBytes()));
+
+		assertThat(this.resolver.getVersionManifest())
+				.containsEntry("css/main.css", "e36d2e05253c6c7085a91522ce43a0b4")
+				.containsEntry("js/main.js", "1a2b3c")
+				.hasSize(2);
+	}
+
 
 }